@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.aggregation;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.mongodb.microbenchmark.AbstractMicrobenchmark;
+
+/**
+ * Benchmark rendering wide aggregation pipelines resolving field references through chained
+ * {@link AggregationOperationContext}s.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+public class AggregationRenderingBenchmark extends AbstractMicrobenchmark {
+
+	@Param({ "20", "200" }) int fieldCount;
+	@Param({ "3", "15" }) int stageCount;
+
+	private Aggregation projectingAggregation;
+	private Aggregation inheritingAggregation;
+
+	@Setup
+	public void setUp() {
+
+		String[] fieldNames = new String[fieldCount];
+
+		for (int i = 0; i < fieldCount; i++) {
+			fieldNames[i] = "field" + i;
+		}
+
+		List<AggregationOperation> projections = new ArrayList<>();
+		List<AggregationOperation> lookups = new ArrayList<>();
+
+		for (int stage = 0; stage < stageCount; stage++) {
+
+			projections.add(project(fieldNames).and(fieldNames[stage % fieldCount]).as("computed" + stage));
+			lookups.add(lookup("other", fieldNames[stage % fieldCount], "_id", "joined" + stage));
+		}
+
+		projections.add(group(fieldNames[0]).count().as("count"));
+		lookups.add(project(fieldNames));
+
+		projectingAggregation = newAggregation(projections);
+		inheritingAggregation = newAggregation(lookups);
+	}
+
+	@Benchmark
+	public Document renderProjectionStages() {
+		return projectingAggregation.toDocument("collection", DEFAULT_CONTEXT);
+	}
+
+	@Benchmark
+	public Document renderProjectionAfterLookupStages() {
+		return inheritingAggregation.toDocument("collection", DEFAULT_CONTEXT);
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import org.springframework.util.Assert;
+
+/**
+ * Bounds for cursor batch sizes derived from subscriber demand. With an {@link AdaptiveBatchSize} configured,
+ * {@link ReactiveMongoTemplate} does not apply a fixed batch size to find cursors but requests documents from the
+ * driver in slices following downstream {@link org.reactivestreams.Subscription#request(long) request(n)} signals,
+ * each slice sized at least {@link #getMin()} and at most {@link #getMax()} documents. As the driver sizes each
+ * {@code find}/{@code getMore} by its outstanding demand, unbounded subscribers cause large batches and few round-trips
+ * while rate-limited subscribers cause small batches and buffers. Documents fetched beyond the current demand are
+ * buffered, so at most {@link #getMin()} documents are held back.
+ *
+ * @author agent
+ * @since 2.0
+ */
+public class AdaptiveBatchSize {
+
+	private final int min;
+	private final int max;
+
+	private AdaptiveBatchSize(int min, int max) {
+
+		this.min = min;
+		this.max = max;
+	}
+
+	/**
+	 * Create new {@link AdaptiveBatchSize} requesting between {@code min} and {@code max} documents per cursor batch.
+	 *
+	 * @param min must be greater than zero.
+	 * @param max must be greater than or equal to {@code min}.
+	 * @return new {@link AdaptiveBatchSize}.
+	 */
+	public static AdaptiveBatchSize between(int min, int max) {
+
+		Assert.isTrue(min > 0, "Min batch size must be greater than zero!");
+		Assert.isTrue(max >= min, "Max batch size must be greater than or equal to min batch size!");
+
+		return new AdaptiveBatchSize(min, max);
+	}
+
+	/**
+	 * @return the minimum number of documents requested per cursor batch.
+	 */
+	public int getMin() {
+		return min;
+	}
+
+	/**
+	 * @return the maximum number of documents requested per cursor batch.
+	 */
+	public int getMax() {
+		return max;
+	}
+
+	/**
+	 * Compute the size of the next cursor batch for the given outstanding demand.
+	 *
+	 * @param demand outstanding downstream demand.
+	 * @return the demand bounded by {@link #getMin()} and {@link #getMax()}.
+	 */
+	int batchSizeFor(long demand) {
+		return (int) Math.max(min, Math.min(demand, max));
+	}
+}
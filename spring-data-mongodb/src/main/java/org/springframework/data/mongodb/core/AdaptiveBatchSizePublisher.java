@@ -0,0 +1,242 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Publisher} translating downstream demand into upstream requests bounded by an {@link AdaptiveBatchSize}.
+ * Upstream is requested one slice at a time, the next slice being requested once the previous one has been received
+ * completely and downstream demand is left. Elements received beyond downstream demand are buffered.
+ *
+ * @author agent
+ * @since 2.0
+ */
+class AdaptiveBatchSizePublisher<T> implements Publisher<T> {
+
+	private final Publisher<T> source;
+	private final AdaptiveBatchSize batchSize;
+
+	/**
+	 * Creates a new {@link AdaptiveBatchSizePublisher}.
+	 *
+	 * @param source must not be {@literal null}.
+	 * @param batchSize must not be {@literal null}.
+	 */
+	AdaptiveBatchSizePublisher(Publisher<T> source, AdaptiveBatchSize batchSize) {
+
+		Assert.notNull(source, "Source must not be null!");
+		Assert.notNull(batchSize, "AdaptiveBatchSize must not be null!");
+
+		this.source = source;
+		this.batchSize = batchSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.reactivestreams.Publisher#subscribe(org.reactivestreams.Subscriber)
+	 */
+	@Override
+	public void subscribe(Subscriber<? super T> subscriber) {
+		source.subscribe(new AdaptiveBatchSizeSubscriber<>(subscriber, batchSize));
+	}
+
+	static class AdaptiveBatchSizeSubscriber<T> implements Subscriber<T>, Subscription {
+
+		private final Subscriber<? super T> actual;
+		private final AdaptiveBatchSize batchSize;
+		private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+		private final AtomicLong requested = new AtomicLong();
+		private final AtomicLong outstanding = new AtomicLong();
+		private final AtomicInteger wip = new AtomicInteger();
+
+		private volatile Subscription upstream;
+		private volatile boolean done;
+		private volatile boolean cancelled;
+		private Throwable error;
+
+		AdaptiveBatchSizeSubscriber(Subscriber<? super T> actual, AdaptiveBatchSize batchSize) {
+
+			this.actual = actual;
+			this.batchSize = batchSize;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.reactivestreams.Subscriber#onSubscribe(org.reactivestreams.Subscription)
+		 */
+		@Override
+		public void onSubscribe(Subscription subscription) {
+
+			this.upstream = subscription;
+			actual.onSubscribe(this);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.reactivestreams.Subscriber#onNext(java.lang.Object)
+		 */
+		@Override
+		public void onNext(T element) {
+
+			queue.offer(element);
+			outstanding.decrementAndGet();
+			drain();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.reactivestreams.Subscriber#onError(java.lang.Throwable)
+		 */
+		@Override
+		public void onError(Throwable throwable) {
+
+			this.error = throwable;
+			this.done = true;
+			drain();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.reactivestreams.Subscriber#onComplete()
+		 */
+		@Override
+		public void onComplete() {
+
+			this.done = true;
+			drain();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.reactivestreams.Subscription#request(long)
+		 */
+		@Override
+		public void request(long n) {
+
+			if (n <= 0) {
+				cancel();
+				actual.onError(new IllegalArgumentException("Demand must be greater than zero!"));
+				return;
+			}
+
+			requested.accumulateAndGet(n, (current, additional) -> {
+				long sum = current + additional;
+				return sum < 0 ? Long.MAX_VALUE : sum;
+			});
+			drain();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.reactivestreams.Subscription#cancel()
+		 */
+		@Override
+		public void cancel() {
+
+			if (cancelled) {
+				return;
+			}
+
+			cancelled = true;
+			upstream.cancel();
+
+			if (wip.getAndIncrement() == 0) {
+				queue.clear();
+			}
+		}
+
+		private void drain() {
+
+			if (wip.getAndIncrement() != 0) {
+				return;
+			}
+
+			int missed = 1;
+
+			do {
+
+				long demand = requested.get();
+				long emitted = 0;
+
+				while (emitted != demand) {
+
+					if (cancelled) {
+						queue.clear();
+						return;
+					}
+
+					boolean terminated = done;
+					T next = queue.poll();
+
+					if (next == null) {
+
+						if (terminated) {
+							terminate();
+							return;
+						}
+						break;
+					}
+
+					actual.onNext(next);
+					emitted++;
+				}
+
+				if (cancelled) {
+					queue.clear();
+					return;
+				}
+
+				if (done && queue.isEmpty()) {
+					terminate();
+					return;
+				}
+
+				if (emitted != 0 && demand != Long.MAX_VALUE) {
+					demand = requested.addAndGet(-emitted);
+				}
+
+				if (demand > 0 && queue.isEmpty() && outstanding.get() == 0) {
+
+					int next = batchSize.batchSizeFor(demand);
+					outstanding.set(next);
+					upstream.request(next);
+				}
+
+				missed = wip.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void terminate() {
+
+			cancelled = true;
+
+			if (error != null) {
+				actual.onError(error);
+			} else {
+				actual.onComplete();
+			}
+		}
+	}
+}
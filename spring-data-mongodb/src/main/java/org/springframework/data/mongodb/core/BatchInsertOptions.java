@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import org.springframework.util.Assert;
+
+/**
+ * Options controlling how batch inserts are split into chunks. Elements are grouped by target collection and each
+ * group is written in chunks bounded by {@link #getMaxChunkSize() element count} and
+ * {@link #getMaxChunkBytes() estimated BSON size}. With a {@link #getParallelism() parallelism} greater than one,
+ * chunks are converted and written unordered and concurrently, keeping at most {@code parallelism} chunks in flight.
+ * <p>
+ * When inserting a {@link org.reactivestreams.Publisher} via {@link ReactiveMongoOperations}, a chunk is additionally
+ * written once {@link #getMaxWait() max wait} elapsed since its first element arrived, and inserted elements are
+ * emitted in their original order regardless of the parallelism.
+ *
+ * @author agent
+ * @since 2.0
+ */
+public class BatchInsertOptions {
+
+	private static final BatchInsertOptions DEFAULTS = new BatchInsertOptions(1000, 16 * 1024 * 1024, 1, null,
+			Duration.ofMillis(100));
+
+	private final int maxChunkSize;
+	private final long maxChunkBytes;
+	private final int parallelism;
+	private final Executor executor;
+	private final Duration maxWait;
+
+	private BatchInsertOptions(int maxChunkSize, long maxChunkBytes, int parallelism, Executor executor,
+			Duration maxWait) {
+
+		this.maxChunkSize = maxChunkSize;
+		this.maxChunkBytes = maxChunkBytes;
+		this.parallelism = parallelism;
+		this.executor = executor;
+		this.maxWait = maxWait;
+	}
+
+	/**
+	 * Create new {@link BatchInsertOptions} writing ordered chunks of at most {@literal 1000} elements or
+	 * {@literal 16 MB} estimated payload one after another. Streamed chunks are written at the latest {@literal 100 ms}
+	 * after their first element arrived.
+	 *
+	 * @return the default {@link BatchInsertOptions}.
+	 */
+	public static BatchInsertOptions defaults() {
+		return DEFAULTS;
+	}
+
+	/**
+	 * Create new {@link BatchInsertOptions} with already given settings and {@code maxChunkSize} set to given value.
+	 *
+	 * @param maxChunkSize must be greater than zero.
+	 * @return new {@link BatchInsertOptions}.
+	 */
+	public BatchInsertOptions maxChunkSize(int maxChunkSize) {
+
+		Assert.isTrue(maxChunkSize > 0, "Max chunk size must be greater than zero!");
+
+		return new BatchInsertOptions(maxChunkSize, maxChunkBytes, parallelism, executor, maxWait);
+	}
+
+	/**
+	 * Create new {@link BatchInsertOptions} with already given settings and {@code maxChunkBytes} set to given value.
+	 *
+	 * @param maxChunkBytes must be greater than zero.
+	 * @return new {@link BatchInsertOptions}.
+	 */
+	public BatchInsertOptions maxChunkBytes(long maxChunkBytes) {
+
+		Assert.isTrue(maxChunkBytes > 0, "Max chunk bytes must be greater than zero!");
+
+		return new BatchInsertOptions(maxChunkSize, maxChunkBytes, parallelism, executor, maxWait);
+	}
+
+	/**
+	 * Create new {@link BatchInsertOptions} with already given settings and {@code parallelism} set to given value. A
+	 * value greater than one writes chunks unordered and concurrently.
+	 *
+	 * @param parallelism must be greater than zero.
+	 * @return new {@link BatchInsertOptions}.
+	 */
+	public BatchInsertOptions parallelism(int parallelism) {
+
+		Assert.isTrue(parallelism > 0, "Parallelism must be greater than zero!");
+
+		return new BatchInsertOptions(maxChunkSize, maxChunkBytes, parallelism, executor, maxWait);
+	}
+
+	/**
+	 * Create new {@link BatchInsertOptions} with already given settings using the given {@link Executor} to write chunks
+	 * concurrently. If no {@link Executor} is configured, a pool bounded by {@link #getParallelism()} is created for the
+	 * duration of each batch insert.
+	 *
+	 * @param executor must not be {@literal null}.
+	 * @return new {@link BatchInsertOptions}.
+	 */
+	public BatchInsertOptions executor(Executor executor) {
+
+		Assert.notNull(executor, "Executor must not be null!");
+
+		return new BatchInsertOptions(maxChunkSize, maxChunkBytes, parallelism, executor, maxWait);
+	}
+
+	/**
+	 * Create new {@link BatchInsertOptions} with already given settings and {@code maxWait} set to given value. Applies
+	 * to streamed inserts only.
+	 *
+	 * @param maxWait must not be {@literal null} and must be positive.
+	 * @return new {@link BatchInsertOptions}.
+	 */
+	public BatchInsertOptions maxWait(Duration maxWait) {
+
+		Assert.notNull(maxWait, "Max wait must not be null!");
+		Assert.isTrue(!maxWait.isNegative() && !maxWait.isZero(), "Max wait must be positive!");
+
+		return new BatchInsertOptions(maxChunkSize, maxChunkBytes, parallelism, executor, maxWait);
+	}
+
+	/**
+	 * @return the maximum number of elements per chunk.
+	 */
+	public int getMaxChunkSize() {
+		return maxChunkSize;
+	}
+
+	/**
+	 * @return the maximum estimated BSON size of a single {@code insertMany} call.
+	 */
+	public long getMaxChunkBytes() {
+		return maxChunkBytes;
+	}
+
+	/**
+	 * @return the maximum number of chunks in flight.
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * @return {@literal true} if chunks are written unordered and concurrently.
+	 */
+	public boolean isParallel() {
+		return parallelism > 1;
+	}
+
+	/**
+	 * @return the {@link Executor} to write chunks with. {@link Optional#empty()} if not set.
+	 */
+	public Optional<Executor> getExecutor() {
+		return Optional.ofNullable(executor);
+	}
+
+	/**
+	 * @return the maximum time to wait for a streamed chunk to fill up.
+	 */
+	public Duration getMaxWait() {
+		return maxWait;
+	}
+}
@@ -0,0 +1,735 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.springframework.data.mongodb.core.query.Criteria.*;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.util.BsonUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+
+/**
+ * Write-behind decorator for {@link MongoOperations} that buffers single-entity writes per collection and flushes them
+ * as {@link BulkOperations}. A buffer is flushed once it reaches the operation count or estimated byte size configured
+ * via {@link WriteBufferOptions}, or when the flush interval elapses. Flushes triggered by a threshold are executed on
+ * the calling thread which naturally throttles fast producers. Flushes of the same buffer are serialized, so writes are
+ * applied in the order they were buffered across flushes.
+ * <p>
+ * Within a flush, writes are sent as an {@link BulkMode#UNORDERED unordered} bulk if each of them targets a distinct
+ * document id. If several writes target the same id, e.g. an insert followed by an update of the same document, or a
+ * write selects its documents by a {@link Query} other than an id equality, the flush uses an
+ * {@link BulkMode#ORDERED ordered} bulk, so the writes are applied in the order they were buffered.
+ * <p>
+ * Each write returns a {@link CompletableFuture} that completes once the bulk containing the write was acknowledged.
+ * A failing write does not affect the remaining writes of the same flush: only the futures of the failed writes
+ * complete exceptionally. Writes an ordered bulk skipped after a failing write are written by a subsequent bulk.
+ * <p>
+ * <strong>NOTE</strong> Writes bypass the {@link org.springframework.data.mongodb.core.mapping.event.MongoMappingEvent
+ * mapping events} published by {@link MongoTemplate} and do not participate in optimistic locking. Buffered writes are
+ * lost if the application terminates without calling {@link #flush()} or {@link #destroy()}.
+ *
+ * @author agent
+ * @since 2.0
+ * @see WriteBufferOptions
+ */
+public class BufferingMongoOperations implements DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(BufferingMongoOperations.class);
+	private static final String ID_FIELD = "_id";
+
+	private final MongoOperations mongoOperations;
+	private final WriteBufferOptions options;
+	private final PersistenceExceptionTranslator exceptionTranslator = new MongoExceptionTranslator();
+	private final QueryMapper queryMapper;
+	private final Map<BufferKey, WriteBuffer> buffers = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * Creates a new {@link BufferingMongoOperations} for the given {@link MongoOperations} using
+	 * {@link WriteBufferOptions#defaults() default options}.
+	 *
+	 * @param mongoOperations must not be {@literal null}.
+	 */
+	public BufferingMongoOperations(MongoOperations mongoOperations) {
+		this(mongoOperations, WriteBufferOptions.defaults());
+	}
+
+	/**
+	 * Creates a new {@link BufferingMongoOperations} for the given {@link MongoOperations} and
+	 * {@link WriteBufferOptions}.
+	 *
+	 * @param mongoOperations must not be {@literal null}.
+	 * @param options must not be {@literal null}.
+	 */
+	public BufferingMongoOperations(MongoOperations mongoOperations, WriteBufferOptions options) {
+
+		Assert.notNull(mongoOperations, "MongoOperations must not be null!");
+		Assert.notNull(options, "WriteBufferOptions must not be null!");
+
+		this.mongoOperations = mongoOperations;
+		this.options = options;
+		this.queryMapper = new QueryMapper(mongoOperations.getConverter());
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("mongo-write-buffer-");
+		threadFactory.setDaemon(true);
+
+		long interval = options.getFlushInterval().toMillis();
+
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		this.scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Buffer the insert of the given object into the collection of its entity type.
+	 *
+	 * @param objectToSave must not be {@literal null}.
+	 * @return a {@link CompletableFuture} emitting the inserted object with its id populated.
+	 */
+	public <T> CompletableFuture<T> insert(T objectToSave) {
+
+		Assert.notNull(objectToSave, "Object to insert must not be null!");
+
+		return insert(objectToSave, mongoOperations.getCollectionName(objectToSave.getClass()));
+	}
+
+	/**
+	 * Buffer the insert of the given object into the given collection.
+	 *
+	 * @param objectToSave must not be {@literal null}.
+	 * @param collectionName must not be {@literal null} or empty.
+	 * @return a {@link CompletableFuture} emitting the inserted object with its id populated.
+	 */
+	public <T> CompletableFuture<T> insert(T objectToSave, String collectionName) {
+
+		Assert.notNull(objectToSave, "Object to insert must not be null!");
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+
+		initializeVersionProperty(objectToSave);
+		Document document = toDocument(objectToSave);
+
+		// a generated id does not collide with the target of any other write
+		Object target = document.containsKey(ID_FIELD) ? document.get(ID_FIELD) : new Object();
+
+		return enqueue(collectionName, objectToSave.getClass(), target, BsonUtils.estimateSize(document),
+				bulk -> bulk.insert(document), () -> {
+
+					populateIdIfNecessary(objectToSave, document.get(ID_FIELD));
+					return objectToSave;
+				});
+	}
+
+	/**
+	 * Buffer the save of the given object into the collection of its entity type. Objects with an id replace the
+	 * existing document (inserting it if absent), objects without an id are inserted.
+	 *
+	 * @param objectToSave must not be {@literal null}.
+	 * @return a {@link CompletableFuture} emitting the saved object with its id populated.
+	 * @throws InvalidDataAccessApiUsageException if the object is a versioned entity.
+	 */
+	public <T> CompletableFuture<T> save(T objectToSave) {
+
+		Assert.notNull(objectToSave, "Object to save must not be null!");
+
+		return save(objectToSave, mongoOperations.getCollectionName(objectToSave.getClass()));
+	}
+
+	/**
+	 * Buffer the save of the given object into the given collection. Objects with an id replace the existing document
+	 * (inserting it if absent), objects without an id are inserted.
+	 *
+	 * @param objectToSave must not be {@literal null}.
+	 * @param collectionName must not be {@literal null} or empty.
+	 * @return a {@link CompletableFuture} emitting the saved object with its id populated.
+	 * @throws InvalidDataAccessApiUsageException if the object is a versioned entity.
+	 */
+	public <T> CompletableFuture<T> save(T objectToSave, String collectionName) {
+
+		Assert.notNull(objectToSave, "Object to save must not be null!");
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+
+		MongoPersistentEntity<?> entity = getPersistentEntity(objectToSave.getClass());
+
+		if (entity != null && entity.hasVersionProperty()) {
+			throw new InvalidDataAccessApiUsageException(
+					String.format("Cannot buffer save of versioned entity %s! Use MongoOperations.save(…) instead.",
+							objectToSave.getClass().getName()));
+		}
+
+		Document document = toDocument(objectToSave);
+
+		if (!document.containsKey(ID_FIELD)) {
+			return insert(objectToSave, collectionName);
+		}
+
+		Query query = new Query(where(ID_FIELD).is(document.get(ID_FIELD)));
+
+		return enqueue(collectionName, objectToSave.getClass(), document.get(ID_FIELD),
+				BsonUtils.estimateSize(document), bulk -> bulk.replaceOne(query, document, true), () -> objectToSave);
+	}
+
+	/**
+	 * Buffer an update of the first document matching the given {@link Query}.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param update must not be {@literal null}.
+	 * @param entityClass must not be {@literal null}.
+	 * @return a {@link CompletableFuture} completing once the update was applied.
+	 */
+	public CompletableFuture<Void> updateFirst(Query query, Update update, Class<?> entityClass) {
+
+		Assert.notNull(entityClass, "Entity class must not be null!");
+
+		return updateFirst(query, update, entityClass, mongoOperations.getCollectionName(entityClass));
+	}
+
+	/**
+	 * Buffer an update of the first document matching the given {@link Query} in the given collection.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param update must not be {@literal null}.
+	 * @param collectionName must not be {@literal null} or empty.
+	 * @return a {@link CompletableFuture} completing once the update was applied.
+	 */
+	public CompletableFuture<Void> updateFirst(Query query, Update update, String collectionName) {
+		return updateFirst(query, update, null, collectionName);
+	}
+
+	/**
+	 * Buffer an update of the first document matching the given {@link Query} in the given collection, mapping
+	 * {@link Query} and {@link Update} against the given entity class.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param update must not be {@literal null}.
+	 * @param entityClass can be {@literal null}.
+	 * @param collectionName must not be {@literal null} or empty.
+	 * @return a {@link CompletableFuture} completing once the update was applied.
+	 */
+	public CompletableFuture<Void> updateFirst(Query query, Update update, Class<?> entityClass,
+			String collectionName) {
+
+		Assert.notNull(query, "Query must not be null!");
+		Assert.notNull(update, "Update must not be null!");
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+
+		return enqueue(collectionName, entityClass, getTargetId(query, entityClass), estimateSize(query, update),
+				bulk -> bulk.updateOne(query, update), () -> null);
+	}
+
+	/**
+	 * Buffer an update of all documents matching the given {@link Query}.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param update must not be {@literal null}.
+	 * @param entityClass must not be {@literal null}.
+	 * @return a {@link CompletableFuture} completing once the update was applied.
+	 */
+	public CompletableFuture<Void> updateMulti(Query query, Update update, Class<?> entityClass) {
+
+		Assert.notNull(entityClass, "Entity class must not be null!");
+
+		return updateMulti(query, update, entityClass, mongoOperations.getCollectionName(entityClass));
+	}
+
+	/**
+	 * Buffer an update of all documents matching the given {@link Query} in the given collection, mapping {@link Query}
+	 * and {@link Update} against the given entity class.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param update must not be {@literal null}.
+	 * @param entityClass can be {@literal null}.
+	 * @param collectionName must not be {@literal null} or empty.
+	 * @return a {@link CompletableFuture} completing once the update was applied.
+	 */
+	public CompletableFuture<Void> updateMulti(Query query, Update update, Class<?> entityClass,
+			String collectionName) {
+
+		Assert.notNull(query, "Query must not be null!");
+		Assert.notNull(update, "Update must not be null!");
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+
+		return enqueue(collectionName, entityClass, getTargetId(query, entityClass), estimateSize(query, update),
+				bulk -> bulk.updateMulti(query, update), () -> null);
+	}
+
+	/**
+	 * Buffer the removal of all documents matching the given {@link Query}.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param entityClass must not be {@literal null}.
+	 * @return a {@link CompletableFuture} completing once the documents were removed.
+	 */
+	public CompletableFuture<Void> remove(Query query, Class<?> entityClass) {
+
+		Assert.notNull(entityClass, "Entity class must not be null!");
+
+		return remove(query, entityClass, mongoOperations.getCollectionName(entityClass));
+	}
+
+	/**
+	 * Buffer the removal of all documents matching the given {@link Query} in the given collection.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param entityClass can be {@literal null}.
+	 * @param collectionName must not be {@literal null} or empty.
+	 * @return a {@link CompletableFuture} completing once the documents were removed.
+	 */
+	public CompletableFuture<Void> remove(Query query, Class<?> entityClass, String collectionName) {
+
+		Assert.notNull(query, "Query must not be null!");
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+
+		return enqueue(collectionName, entityClass, getTargetId(query, entityClass), estimateSize(query, null),
+				bulk -> bulk.remove(query), () -> null);
+	}
+
+	/**
+	 * Flush all buffered writes. Returns once every non-empty buffer was written.
+	 */
+	public void flush() {
+
+		for (WriteBuffer buffer : buffers.values()) {
+			buffer.flush();
+		}
+	}
+
+	/**
+	 * Flush all buffered writes and stop the periodic flush.
+	 */
+	@Override
+	public void destroy() {
+
+		scheduler.shutdown();
+		flush();
+	}
+
+	private <T> CompletableFuture<T> enqueue(String collectionName, Class<?> entityType, Object target, long size,
+			Consumer<BulkOperations> operation, ResultSupplier<T> onSuccess) {
+
+		Assert.state(!scheduler.isShutdown(), "BufferingMongoOperations is already destroyed!");
+
+		BufferedWrite<T> write = new BufferedWrite<>(operation, onSuccess, target, size);
+		WriteBuffer buffer = buffers.computeIfAbsent(new BufferKey(collectionName, entityType), WriteBuffer::new);
+
+		if (buffer.add(write)) {
+			buffer.flush();
+		}
+
+		return write.future;
+	}
+
+	/**
+	 * Write the given {@link BufferedWrite}s. Completes the futures of all writes, failing only those reported as
+	 * erroneous by the server. Writes skipped by an ordered bulk after a failing write are written by another bulk.
+	 *
+	 * @param buffer the {@link WriteBuffer} the writes were drained from.
+	 * @param writes the writes to execute.
+	 */
+	private void execute(WriteBuffer buffer, List<BufferedWrite<?>> writes) {
+
+		List<BufferedWrite<?>> pending = writes;
+
+		while (!pending.isEmpty()) {
+			pending = executeBulk(buffer.key, pending);
+		}
+	}
+
+	/**
+	 * Write the given {@link BufferedWrite}s as a single bulk, using an {@link BulkMode#ORDERED ordered} bulk if the
+	 * writes might target the same document.
+	 *
+	 * @param key the {@link BufferKey} of the writes.
+	 * @param writes the writes to execute.
+	 * @return the writes skipped by an ordered bulk after a failing write.
+	 */
+	private List<BufferedWrite<?>> executeBulk(BufferKey key, List<BufferedWrite<?>> writes) {
+
+		BulkMode mode = getBulkMode(writes);
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Flushing {} buffered writes to collection {} as {} bulk", writes.size(), key.collectionName,
+					mode);
+		}
+
+		try {
+
+			BulkOperations bulk = mongoOperations.bulkOps(mode, key.entityType, key.collectionName);
+			writes.forEach(write -> write.operation.accept(bulk));
+			bulk.execute();
+
+			writes.forEach(BufferedWrite::complete);
+
+		} catch (RuntimeException o_O) {
+
+			MongoBulkWriteException bulkWriteException = getBulkWriteException(o_O);
+
+			if (bulkWriteException == null) {
+
+				RuntimeException toThrow = translateException(o_O);
+				writes.forEach(write -> write.fail(toThrow));
+				return Collections.emptyList();
+			}
+
+			return completePartially(writes, mode, bulkWriteException, key.collectionName);
+		}
+
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Complete the given writes after a partially failed bulk. Writes reported in
+	 * {@link MongoBulkWriteException#getWriteErrors()} fail individually while the others complete, unless the server
+	 * reported a write concern error which applies to all of them. An ordered bulk stops at the first failing write, so
+	 * that the writes following it are not completed but returned.
+	 *
+	 * @param writes the executed writes in bulk order.
+	 * @param mode the {@link BulkMode} the writes were executed with.
+	 * @param exception the reported {@link MongoBulkWriteException}.
+	 * @param collectionName the target collection name.
+	 * @return the writes not executed by an ordered bulk.
+	 */
+	private List<BufferedWrite<?>> completePartially(List<BufferedWrite<?>> writes, BulkMode mode,
+			MongoBulkWriteException exception, String collectionName) {
+
+		boolean[] failed = new boolean[writes.size()];
+		int executed = writes.size();
+
+		for (BulkWriteError error : exception.getWriteErrors()) {
+
+			failed[error.getIndex()] = true;
+			writes.get(error.getIndex()).fail(translate(error, collectionName));
+
+			if (mode == BulkMode.ORDERED) {
+				executed = error.getIndex() + 1;
+			}
+		}
+
+		RuntimeException writeConcernError = exception.getWriteConcernError() != null ? translateException(exception)
+				: null;
+
+		for (int i = 0; i < executed; i++) {
+
+			if (failed[i]) {
+				continue;
+			}
+
+			if (writeConcernError != null) {
+				writes.get(i).fail(writeConcernError);
+			} else {
+				writes.get(i).complete();
+			}
+		}
+
+		return writes.subList(executed, writes.size());
+	}
+
+	/**
+	 * Use an {@link BulkMode#UNORDERED unordered} bulk only if the given writes target distinct documents, so that
+	 * their order of execution does not matter.
+	 */
+	private static BulkMode getBulkMode(List<BufferedWrite<?>> writes) {
+
+		if (writes.size() < 2) {
+			return BulkMode.UNORDERED;
+		}
+
+		Set<Object> targets = new HashSet<>(writes.size());
+
+		for (BufferedWrite<?> write : writes) {
+			if (write.target == null || !targets.add(write.target)) {
+				return BulkMode.ORDERED;
+			}
+		}
+
+		return BulkMode.UNORDERED;
+	}
+
+	/**
+	 * Return the id of the single document the given {@link Query} selects by id equality.
+	 *
+	 * @return {@literal null} if the {@link Query} does not select by id equality only.
+	 */
+	private Object getTargetId(Query query, Class<?> entityType) {
+
+		Document mapped = queryMapper.getMappedObject(query.getQueryObject(), getPersistentEntity(entityType));
+
+		if (mapped.size() != 1 || !mapped.containsKey(ID_FIELD)) {
+			return null;
+		}
+
+		Object id = mapped.get(ID_FIELD);
+
+		if (id instanceof Document && ((Document) id).keySet().stream().anyMatch(it -> it.startsWith("$"))) {
+			return null;
+		}
+
+		return id;
+	}
+
+	private RuntimeException translateException(RuntimeException source) {
+
+		try {
+			return MongoTemplate.potentiallyConvertRuntimeException(source, exceptionTranslator);
+		} catch (RuntimeException translated) {
+			return translated;
+		}
+	}
+
+	private static MongoBulkWriteException getBulkWriteException(Throwable source) {
+
+		Throwable current = source;
+
+		while (current != null) {
+
+			if (current instanceof MongoBulkWriteException) {
+				return (MongoBulkWriteException) current;
+			}
+
+			current = current.getCause() == current ? null : current.getCause();
+		}
+
+		return null;
+	}
+
+	private void flushQuietly() {
+
+		try {
+			flush();
+		} catch (RuntimeException o_O) {
+			LOGGER.warn("Periodic flush of buffered writes failed", o_O);
+		}
+	}
+
+	private static RuntimeException translate(BulkWriteError error, String collectionName) {
+
+		String message = String.format("Buffered write at bulk index %s to collection %s failed: %s", error.getIndex(),
+				collectionName, error.getMessage());
+
+		return error.getCode() == 11000 ? new DuplicateKeyException(message)
+				: new DataIntegrityViolationException(message);
+	}
+
+	private static long estimateSize(Query query, Update update) {
+		return BsonUtils.estimateSize(query.getQueryObject())
+				+ (update != null ? BsonUtils.estimateSize(update.getUpdateObject()) : 0);
+	}
+
+	private Document toDocument(Object source) {
+
+		if (source instanceof Document) {
+			return (Document) source;
+		}
+
+		Document document = new Document();
+		mongoOperations.getConverter().write(source, document);
+
+		if (document.containsKey(ID_FIELD) && document.get(ID_FIELD) == null) {
+			document.remove(ID_FIELD);
+		}
+
+		return document;
+	}
+
+	private void initializeVersionProperty(Object source) {
+
+		MongoPersistentEntity<?> entity = getPersistentEntity(source.getClass());
+
+		if (entity != null && entity.hasVersionProperty()) {
+
+			MongoConverter converter = mongoOperations.getConverter();
+			new ConvertingPropertyAccessor(entity.getPropertyAccessor(source), converter.getConversionService())
+					.setProperty(entity.getRequiredVersionProperty(), 0);
+		}
+	}
+
+	private void populateIdIfNecessary(Object savedObject, Object id) {
+
+		if (id == null) {
+			return;
+		}
+
+		if (savedObject instanceof Document) {
+			((Document) savedObject).put(ID_FIELD, id);
+			return;
+		}
+
+		MongoPersistentEntity<?> entity = getPersistentEntity(savedObject.getClass());
+
+		if (entity == null || !entity.hasIdProperty()) {
+			return;
+		}
+
+		MongoPersistentProperty idProperty = entity.getRequiredIdProperty();
+		PersistentPropertyAccessor accessor = entity.getPropertyAccessor(savedObject);
+
+		if (accessor.getProperty(idProperty) == null) {
+			new ConvertingPropertyAccessor(accessor, mongoOperations.getConverter().getConversionService())
+					.setProperty(idProperty, id);
+		}
+	}
+
+	private MongoPersistentEntity<?> getPersistentEntity(Class<?> type) {
+		return type == null || Document.class.isAssignableFrom(type) ? null
+				: mongoOperations.getConverter().getMappingContext().getPersistentEntity(type);
+	}
+
+	/**
+	 * Callback to compute the value of a successfully written {@link BufferedWrite}.
+	 */
+	interface ResultSupplier<T> {
+		T get();
+	}
+
+	/**
+	 * Collection and entity type buffered writes are grouped by.
+	 */
+	@RequiredArgsConstructor
+	@EqualsAndHashCode
+	private static class BufferKey {
+
+		private final String collectionName;
+		private final Class<?> entityType;
+	}
+
+	/**
+	 * A single buffered write along with the {@link CompletableFuture} handed out to the caller.
+	 */
+	private static class BufferedWrite<T> {
+
+		private final Consumer<BulkOperations> operation;
+		private final ResultSupplier<T> onSuccess;
+		private final Object target;
+		private final long size;
+		private final CompletableFuture<T> future = new CompletableFuture<>();
+
+		/**
+		 * @param operation adds the write to a {@link BulkOperations}.
+		 * @param onSuccess computes the value of the future.
+		 * @param target the id of the document written or {@literal null} if the write selects documents by query.
+		 * @param size the estimated size of the write in bytes.
+		 */
+		BufferedWrite(Consumer<BulkOperations> operation, ResultSupplier<T> onSuccess, Object target, long size) {
+
+			this.operation = operation;
+			this.onSuccess = onSuccess;
+			this.target = target;
+			this.size = size;
+		}
+
+		void complete() {
+
+			try {
+				future.complete(onSuccess.get());
+			} catch (RuntimeException o_O) {
+				future.completeExceptionally(o_O);
+			}
+		}
+
+		void fail(Throwable cause) {
+			future.completeExceptionally(cause);
+		}
+	}
+
+	/**
+	 * Buffer of pending writes for a single {@link BufferKey}.
+	 */
+	private class WriteBuffer {
+
+		private final BufferKey key;
+		private final Object flushMonitor = new Object();
+		private List<BufferedWrite<?>> writes = new ArrayList<>();
+		private long bytes;
+
+		WriteBuffer(BufferKey key) {
+			this.key = key;
+		}
+
+		/**
+		 * Add the given write to the buffer.
+		 *
+		 * @param write must not be {@literal null}.
+		 * @return {@literal true} if a threshold is reached and the buffer should be flushed.
+		 */
+		synchronized boolean add(BufferedWrite<?> write) {
+
+			writes.add(write);
+			bytes += write.size;
+
+			return writes.size() >= options.getMaxOperations() || bytes >= options.getMaxBytes();
+		}
+
+		/**
+		 * Drain and write the buffered writes. Flushes of the same buffer, e.g. a threshold flush and the periodic
+		 * flush, are serialized so that writes drained earlier are written before writes drained later. Writes can be
+		 * added while a flush is in progress.
+		 */
+		void flush() {
+
+			synchronized (flushMonitor) {
+				execute(this, drain());
+			}
+		}
+
+		synchronized List<BufferedWrite<?>> drain() {
+
+			if (writes.isEmpty()) {
+				return Collections.emptyList();
+			}
+
+			List<BufferedWrite<?>> drained = writes;
+
+			this.writes = new ArrayList<>();
+			this.bytes = 0;
+
+			return drained;
+		}
+	}
+}
@@ -119,6 +119,30 @@ public interface BulkOperations {
 	 */
 	BulkOperations upsert(List<Pair<Query, Update>> updates);
 
+	/**
+	 * Add a single replace operation to the bulk operation. The first document matching the given {@link Query} is
+	 * replaced by the given {@code replacement}.
+	 *
+	 * @param query replacement criteria, must not be {@literal null}.
+	 * @param replacement the replacement document or entity, must not be {@literal null}.
+	 * @return the current {@link BulkOperations} instance with the replacement added, will never be {@literal null}.
+	 * @since 2.0
+	 */
+	BulkOperations replaceOne(Query query, Object replacement);
+
+	/**
+	 * Add a single replace operation to the bulk operation. The first document matching the given {@link Query} is
+	 * replaced by the given {@code replacement}, inserting it if no document matches and {@code upsert} is
+	 * {@literal true}.
+	 *
+	 * @param query replacement criteria, must not be {@literal null}.
+	 * @param replacement the replacement document or entity, must not be {@literal null}.
+	 * @param upsert whether to insert the replacement if no document matches.
+	 * @return the current {@link BulkOperations} instance with the replacement added, will never be {@literal null}.
+	 * @since 2.0
+	 */
+	BulkOperations replaceOne(Query query, Object replacement, boolean upsert);
+
 	/**
 	 * Add a single remove operation to the bulk operation.
 	 *
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * {@link OptimisticLockingFailureException} raised when saving multiple versioned entities in a single bulk write
+ * detected concurrent modifications for some of them. All other entities of the batch have been saved. Each conflict is
+ * reported individually via {@link #getFailures()} and the affected entities are available via
+ * {@link #getFailedObjects()}.
+ *
+ * @author agent
+ * @since 2.0
+ */
+public class BulkOptimisticLockingFailureException extends OptimisticLockingFailureException {
+
+	private static final long serialVersionUID = 3837476470364707040L;
+
+	private final List<Object> failedObjects;
+	private final List<OptimisticLockingFailureException> failures;
+
+	/**
+	 * Creates a new {@link BulkOptimisticLockingFailureException}.
+	 *
+	 * @param failedObjects the entities that could not be saved, must not be {@literal null}.
+	 * @param failures the individual failures in the order of {@code failedObjects}, must not be {@literal null}.
+	 */
+	public BulkOptimisticLockingFailureException(List<?> failedObjects, List<OptimisticLockingFailureException> failures) {
+
+		super(String.format("Cannot save %d entities. Have they been modified meanwhile?", failures.size()));
+
+		this.failedObjects = Collections.unmodifiableList(new ArrayList<Object>(failedObjects));
+		this.failures = Collections.unmodifiableList(failures);
+
+		failures.forEach(this::addSuppressed);
+	}
+
+	/**
+	 * @return the entities that could not be saved due to concurrent modification.
+	 */
+	public List<Object> getFailedObjects() {
+		return failedObjects;
+	}
+
+	/**
+	 * @return the individual {@link OptimisticLockingFailureException}s, one per failed entity.
+	 */
+	public List<OptimisticLockingFailureException> getFailures() {
+		return failures;
+	}
+}
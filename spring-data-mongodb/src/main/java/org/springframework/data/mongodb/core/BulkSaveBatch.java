@@ -0,0 +1,390 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.util.ObjectUtils;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+
+/**
+ * Write models of a bulk {@code saveAll} shared by {@link MongoTemplate} and {@link ReactiveMongoTemplate}. New
+ * entities are inserted, existing ones are upserted by their id. Existing versioned entities are replaced by id and
+ * previous version without upserting, so that entities deleted meanwhile are not re-created. As a bulk write does not
+ * report which replacements matched, the stored versions are read back to identify conflicts if fewer versioned
+ * documents matched than expected. Bumped versions of conflicting entities are rolled back. As the bulk write is
+ * unordered, a {@link MongoBulkWriteException} only fails the models it reports write errors for, all other objects
+ * are saved.
+ *
+ * @author agent
+ * @since 2.0
+ */
+class BulkSaveBatch<T> {
+
+	private static final String ID_FIELD = "_id";
+
+	private final String collectionName;
+	private final ConversionService conversionService;
+	private final List<T> objects = new ArrayList<T>();
+	private final List<Document> documents = new ArrayList<Document>();
+	private final List<WriteModel<Document>> models = new ArrayList<WriteModel<Document>>();
+	private final Map<Integer, VersionedEntity> versioned = new LinkedHashMap<Integer, VersionedEntity>();
+	private final Set<Integer> upserts = new HashSet<Integer>();
+	private final Set<Integer> failed = new HashSet<Integer>();
+	private MongoBulkWriteException writeFailure;
+
+	/**
+	 * Creates a new {@link BulkSaveBatch}.
+	 *
+	 * @param collectionName the collection to save to.
+	 * @param conversionService the {@link ConversionService} to access version properties.
+	 */
+	BulkSaveBatch(String collectionName, ConversionService conversionService) {
+
+		this.collectionName = collectionName;
+		this.conversionService = conversionService;
+	}
+
+	/**
+	 * Add the given object to the batch bumping its version if versioned.
+	 *
+	 * @param object the object to save.
+	 * @param entity the {@link MongoPersistentEntity} of the object, can be {@literal null}.
+	 * @param converter converts the object into the {@link Document} to save after the version has been bumped.
+	 */
+	void add(T object, MongoPersistentEntity<?> entity, Function<T, Document> converter) {
+
+		int index = objects.size();
+		VersionedEntity version = entity != null && entity.hasVersionProperty()
+				? new VersionedEntity(object, entity, conversionService) : null;
+
+		Document document;
+
+		try {
+			document = converter.apply(object);
+		} catch (RuntimeException e) {
+
+			if (version != null) {
+				version.rollback();
+			}
+
+			rollbackVersions();
+			throw e;
+		}
+
+		if (version != null) {
+
+			versioned.put(index, version);
+
+			if (version.previous == null) {
+				models.add(new InsertOneModel<Document>(document));
+			} else {
+
+				Document filter = new Document(ID_FIELD, document.get(ID_FIELD)).append(version.getFieldName(),
+						version.previous);
+
+				models.add(new ReplaceOneModel<Document>(filter, document));
+			}
+		} else if (document.containsKey(ID_FIELD)) {
+
+			models.add(new ReplaceOneModel<Document>(new Document(ID_FIELD, document.get(ID_FIELD)), document,
+					new UpdateOptions().upsert(true)));
+			upserts.add(index);
+		} else {
+			models.add(new InsertOneModel<Document>(document));
+		}
+
+		objects.add(object);
+		documents.add(document);
+	}
+
+	/**
+	 * @return {@literal true} if no objects have been added.
+	 */
+	boolean isEmpty() {
+		return objects.isEmpty();
+	}
+
+	/**
+	 * @return the write models in the order the objects have been added.
+	 */
+	List<WriteModel<Document>> getWriteModels() {
+		return models;
+	}
+
+	/**
+	 * Record the models the given {@link MongoBulkWriteException} reports write errors for as failed and roll back the
+	 * versions of their objects. Models without write error have been written and are treated like the models of a
+	 * successful bulk write.
+	 *
+	 * @param exception the {@link MongoBulkWriteException} thrown by the bulk write.
+	 * @return the {@link BulkWriteResult} of the models written.
+	 */
+	BulkWriteResult failed(MongoBulkWriteException exception) {
+
+		this.writeFailure = exception;
+
+		for (BulkWriteError error : exception.getWriteErrors()) {
+
+			failed.add(error.getIndex());
+
+			VersionedEntity version = versioned.get(error.getIndex());
+
+			if (version != null) {
+				version.rollback();
+			}
+		}
+
+		return exception.getWriteResult();
+	}
+
+	/**
+	 * @return the {@link MongoBulkWriteException} recorded by {@link #failed(MongoBulkWriteException)} to be rethrown
+	 *         once the written objects are completed or {@literal null} if the bulk write succeeded.
+	 */
+	MongoBulkWriteException getWriteFailure() {
+		return writeFailure;
+	}
+
+	/**
+	 * Create the query reading back the stored versions of the replaced versioned entities if the given
+	 * {@link BulkWriteResult} matched fewer of them than expected.
+	 *
+	 * @param result the {@link BulkWriteResult} of the bulk write.
+	 * @return {@literal null} if all versioned replacements matched.
+	 */
+	Document getConflictQuery(BulkWriteResult result) {
+
+		List<Integer> replacements = getVersionedReplacements();
+
+		if (replacements.isEmpty() || !result.wasAcknowledged()) {
+			return null;
+		}
+
+		int upsertsWritten = 0;
+
+		for (Integer index : upserts) {
+			if (!failed.contains(index)) {
+				upsertsWritten++;
+			}
+		}
+
+		int upsertsMatched = upsertsWritten - result.getUpserts().size();
+
+		if (result.getMatchedCount() - upsertsMatched >= replacements.size()) {
+			return null;
+		}
+
+		List<Object> ids = new ArrayList<Object>(replacements.size());
+
+		for (Integer index : replacements) {
+			ids.add(documents.get(index).get(ID_FIELD));
+		}
+
+		return new Document(ID_FIELD, new Document("$in", ids));
+	}
+
+	/**
+	 * @return the projection of {@link #getConflictQuery(BulkWriteResult)} reading ids and versions only.
+	 */
+	Document getConflictProjection() {
+
+		Document projection = new Document(ID_FIELD, 1);
+
+		for (VersionedEntity version : versioned.values()) {
+			projection.append(version.getFieldName(), 1);
+		}
+
+		return projection;
+	}
+
+	/**
+	 * Determine the indexes of versioned replacements that did not match, that is whose stored document is absent or
+	 * carries a version lower than the one just written. A higher stored version stems from a concurrent update
+	 * following the replacement and does not indicate a conflict. The documents should be read from the primary, as a
+	 * lagging secondary reports outdated versions.
+	 *
+	 * @param stored the documents read by {@link #getConflictQuery(BulkWriteResult)}.
+	 * @return the indexes of conflicting objects.
+	 */
+	Set<Integer> getConflicts(Iterable<Document> stored) {
+
+		Map<Object, Document> storedById = new HashMap<Object, Document>();
+
+		for (Document document : stored) {
+			storedById.put(document.get(ID_FIELD), document);
+		}
+
+		Set<Integer> conflicts = new HashSet<Integer>();
+
+		for (Integer index : getVersionedReplacements()) {
+
+			Document written = documents.get(index);
+			Document current = storedById.get(written.get(ID_FIELD));
+			String field = versioned.get(index).getFieldName();
+
+			if (current == null || isLower(current.get(field), written.get(field))) {
+				conflicts.add(index);
+			}
+		}
+
+		return conflicts;
+	}
+
+	/**
+	 * Invoke the given callback for each saved object, that is every object except the given conflicts and the objects
+	 * whose write failed.
+	 *
+	 * @param conflicts indexes of conflicting objects.
+	 * @param callback invoked with the saved object and the {@link Document} written.
+	 * @return the saved objects.
+	 */
+	List<T> forEachSaved(Set<Integer> conflicts, BiConsumer<T, Document> callback) {
+
+		List<T> saved = new ArrayList<T>(objects.size());
+
+		for (int i = 0; i < objects.size(); i++) {
+
+			if (!conflicts.contains(i) && !failed.contains(i)) {
+
+				callback.accept(objects.get(i), documents.get(i));
+				saved.add(objects.get(i));
+			}
+		}
+
+		return saved;
+	}
+
+	/**
+	 * Roll back the versions of the given conflicting objects.
+	 *
+	 * @param conflicts indexes of conflicting objects.
+	 * @return the {@link BulkOptimisticLockingFailureException} reporting the conflicts or {@literal null} if there
+	 *         are none.
+	 */
+	BulkOptimisticLockingFailureException rollbackConflicts(Set<Integer> conflicts) {
+
+		if (conflicts.isEmpty()) {
+			return null;
+		}
+
+		List<Object> failedObjects = new ArrayList<Object>(conflicts.size());
+		List<OptimisticLockingFailureException> failures = new ArrayList<OptimisticLockingFailureException>(
+				conflicts.size());
+
+		for (int i = 0; i < objects.size(); i++) {
+
+			if (!conflicts.contains(i)) {
+				continue;
+			}
+
+			VersionedEntity version = versioned.get(i);
+			version.rollback();
+
+			failedObjects.add(objects.get(i));
+			failures.add(new OptimisticLockingFailureException(String.format(
+					"Cannot save entity %s with version %s to collection %s. Has it been modified meanwhile?",
+					documents.get(i).get(ID_FIELD), version.previous, collectionName)));
+		}
+
+		return new BulkOptimisticLockingFailureException(failedObjects, failures);
+	}
+
+	/**
+	 * Roll back the versions of all versioned objects, e.g. if the bulk write failed.
+	 */
+	void rollbackVersions() {
+
+		for (VersionedEntity version : versioned.values()) {
+			version.rollback();
+		}
+	}
+
+	/**
+	 * @return the indexes of versioned replacements, that is versioned entities saved with a previous version, whose
+	 *         write did not fail.
+	 */
+	private List<Integer> getVersionedReplacements() {
+
+		List<Integer> replacements = new ArrayList<Integer>(versioned.size());
+
+		for (Entry<Integer, VersionedEntity> entry : versioned.entrySet()) {
+			if (entry.getValue().previous != null && !failed.contains(entry.getKey())) {
+				replacements.add(entry.getKey());
+			}
+		}
+
+		return replacements;
+	}
+
+	private static boolean isLower(Object stored, Object written) {
+
+		if (!(stored instanceof Number) || !(written instanceof Number)) {
+			return !ObjectUtils.nullSafeEquals(stored, written);
+		}
+
+		return ((Number) stored).longValue() < ((Number) written).longValue();
+	}
+
+	/**
+	 * Bumped version of a versioned entity retaining the previous version for rollback.
+	 */
+	private static class VersionedEntity {
+
+		private final ConvertingPropertyAccessor accessor;
+		private final MongoPersistentProperty property;
+		private final Number previous;
+
+		VersionedEntity(Object object, MongoPersistentEntity<?> entity, ConversionService conversionService) {
+
+			this.accessor = new ConvertingPropertyAccessor(entity.getPropertyAccessor(object), conversionService);
+			this.property = entity.getRequiredVersionProperty();
+			this.previous = accessor.getProperty(property, Number.class);
+
+			accessor.setProperty(property, previous == null ? 0 : previous.longValue() + 1);
+		}
+
+		String getFieldName() {
+			return property.getFieldName();
+		}
+
+		void rollback() {
+			accessor.setProperty(property, previous);
+		}
+	}
+}
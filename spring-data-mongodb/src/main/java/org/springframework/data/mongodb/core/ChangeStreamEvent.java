@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.Optional;
+
+import org.bson.Document;
+
+/**
+ * Value object representing a single change stream event with its {@link #getBody() full document} mapped to the
+ * requested domain type.
+ *
+ * @author agent
+ * @since 2.0
+ * @see ReactiveMongoOperations#changeStream(Class, org.springframework.data.mongodb.core.query.Criteria)
+ */
+public class ChangeStreamEvent<T> {
+
+	private final Document raw;
+	private final Optional<T> body;
+
+	ChangeStreamEvent(Document raw, Optional<T> body) {
+
+		this.raw = raw;
+		this.body = body;
+	}
+
+	/**
+	 * @return the resume token of this event, to be passed to {@link ChangeStreamOptions#resumeAfter(Document)}.
+	 */
+	public Document getResumeToken() {
+		return raw.get("_id", Document.class);
+	}
+
+	/**
+	 * @return the type of change, such as {@literal insert}, {@literal update}, {@literal replace} or
+	 *         {@literal delete}.
+	 */
+	public String getOperationType() {
+		return raw.getString("operationType");
+	}
+
+	/**
+	 * @return the {@literal _id} (and shard key) of the changed document.
+	 */
+	public Document getDocumentKey() {
+		return raw.get("documentKey", Document.class);
+	}
+
+	/**
+	 * @return the changed document mapped to the domain type. {@link Optional#empty()} for deletes and for updates if the
+	 *         full document is not looked up.
+	 */
+	public Optional<T> getBody() {
+		return body;
+	}
+
+	/**
+	 * @return the raw change stream event.
+	 */
+	public Document getRaw() {
+		return raw;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("ChangeStreamEvent: %s %s", getOperationType(), getDocumentKey());
+	}
+}
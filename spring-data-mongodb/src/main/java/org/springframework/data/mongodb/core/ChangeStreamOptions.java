@@ -0,0 +1,260 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.bson.Document;
+import org.springframework.util.Assert;
+
+import com.mongodb.MongoCursorNotFoundException;
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+
+/**
+ * Options for change streams opened via {@link ReactiveMongoOperations}. A change stream starts at the current time
+ * unless a {@link #resumeAfter(Document) resume token} is given or a {@link #persistResumeToken(ResumeTokenStore,
+ * String) resume token store} holds a token for the configured key. Tokens are saved to the store once the event
+ * carrying them has been emitted.
+ * <p>
+ * After a resumable error, e.g. a network error or a replica set election, the change stream is reopened after the
+ * resume token of the last received event. Backoff grows exponentially from {@link #getMinBackoff()} to
+ * {@link #getMaxBackoff()} and is reset once an event is received. Reopening gives up after {@link #getMaxRetries()}
+ * consecutive attempts without receiving an event.
+ *
+ * @author agent
+ * @since 2.0
+ */
+public class ChangeStreamOptions {
+
+	private static final Set<Integer> RESUMABLE_CODES = new HashSet<>(Arrays.asList(6, 7, 43, 63, 89, 91, 133, 150,
+			189, 234, 262, 9001, 10107, 11600, 11602, 13388, 13435, 13436));
+
+	private static final ResumePolicy RESUME_POLICY = ResumePolicy.resumingOn(RESUMABLE_CODES,
+			MongoSocketException.class, MongoNotPrimaryException.class, MongoNodeIsRecoveringException.class,
+			MongoCursorNotFoundException.class);
+
+	private static final ChangeStreamOptions DEFAULTS = new ChangeStreamOptions(null, true, null, null, RESUME_POLICY);
+
+	private final Document resumeToken;
+	private final boolean fullDocumentLookup;
+	private final ResumeTokenStore resumeTokenStore;
+	private final String resumeTokenKey;
+	private final ResumePolicy resumePolicy;
+
+	private ChangeStreamOptions(Document resumeToken, boolean fullDocumentLookup, ResumeTokenStore resumeTokenStore,
+			String resumeTokenKey, ResumePolicy resumePolicy) {
+
+		this.resumeToken = resumeToken;
+		this.fullDocumentLookup = fullDocumentLookup;
+		this.resumeTokenStore = resumeTokenStore;
+		this.resumeTokenKey = resumeTokenKey;
+		this.resumePolicy = resumePolicy;
+	}
+
+	/**
+	 * Create new {@link ChangeStreamOptions} starting at the current time and looking up the full document for updates,
+	 * resuming with a backoff between {@literal 100 ms} and {@literal 10 s} and giving up after {@literal 10}
+	 * consecutive attempts.
+	 *
+	 * @return the default {@link ChangeStreamOptions}.
+	 */
+	public static ChangeStreamOptions defaults() {
+		return DEFAULTS;
+	}
+
+	/**
+	 * Create new {@link ChangeStreamOptions} with already given settings resuming after the event identified by the given
+	 * token. Takes precedence over a token held by a {@link ResumeTokenStore}.
+	 *
+	 * @param resumeToken must not be {@literal null}.
+	 * @return new {@link ChangeStreamOptions}.
+	 */
+	public ChangeStreamOptions resumeAfter(Document resumeToken) {
+
+		Assert.notNull(resumeToken, "Resume token must not be null!");
+
+		return new ChangeStreamOptions(resumeToken, fullDocumentLookup, resumeTokenStore, resumeTokenKey,
+				resumePolicy);
+	}
+
+	/**
+	 * Create new {@link ChangeStreamOptions} with already given settings and {@code fullDocumentLookup} set to given
+	 * value. Without lookup, update events carry the update description only and no {@link ChangeStreamEvent#getBody()
+	 * body}.
+	 *
+	 * @param fullDocumentLookup whether to look up the current version of updated documents.
+	 * @return new {@link ChangeStreamOptions}.
+	 */
+	public ChangeStreamOptions fullDocumentLookup(boolean fullDocumentLookup) {
+		return new ChangeStreamOptions(resumeToken, fullDocumentLookup, resumeTokenStore, resumeTokenKey,
+				resumePolicy);
+	}
+
+	/**
+	 * Create new {@link ChangeStreamOptions} with already given settings loading the initial resume token from and saving
+	 * the resume token of each emitted event to the given {@link ResumeTokenStore} under the given key.
+	 *
+	 * @param resumeTokenStore must not be {@literal null}.
+	 * @param key must not be {@literal null} or empty.
+	 * @return new {@link ChangeStreamOptions}.
+	 */
+	public ChangeStreamOptions persistResumeToken(ResumeTokenStore resumeTokenStore, String key) {
+
+		Assert.notNull(resumeTokenStore, "ResumeTokenStore must not be null!");
+		Assert.hasText(key, "Key must not be null or empty!");
+
+		return new ChangeStreamOptions(resumeToken, fullDocumentLookup, resumeTokenStore, key, resumePolicy);
+	}
+
+	/**
+	 * Create new {@link ChangeStreamOptions} with already given settings and backoff bounds set to given values.
+	 *
+	 * @param minBackoff must not be {@literal null} or negative.
+	 * @param maxBackoff must not be {@literal null} and not be shorter than {@code minBackoff}.
+	 * @return new {@link ChangeStreamOptions}.
+	 */
+	public ChangeStreamOptions backoff(Duration minBackoff, Duration maxBackoff) {
+		return new ChangeStreamOptions(resumeToken, fullDocumentLookup, resumeTokenStore, resumeTokenKey,
+				resumePolicy.backoff(minBackoff, maxBackoff));
+	}
+
+	/**
+	 * Create new {@link ChangeStreamOptions} with already given settings and {@code maxRetries} set to given value.
+	 *
+	 * @param maxRetries must not be negative.
+	 * @return new {@link ChangeStreamOptions}.
+	 */
+	public ChangeStreamOptions maxRetries(long maxRetries) {
+		return new ChangeStreamOptions(resumeToken, fullDocumentLookup, resumeTokenStore, resumeTokenKey,
+				resumePolicy.maxRetries(maxRetries));
+	}
+
+	/**
+	 * @return the token to resume after. {@link Optional#empty()} if not set.
+	 */
+	public Optional<Document> getResumeToken() {
+		return Optional.ofNullable(resumeToken);
+	}
+
+	/**
+	 * @return {@literal true} if the full document is looked up for updates.
+	 */
+	public boolean isFullDocumentLookup() {
+		return fullDocumentLookup;
+	}
+
+	/**
+	 * @return the {@link ResumeTokenStore} to use. {@link Optional#empty()} if not set.
+	 */
+	public Optional<ResumeTokenStore> getResumeTokenStore() {
+		return Optional.ofNullable(resumeTokenStore);
+	}
+
+	/**
+	 * @return the key to store resume tokens under. {@literal null} if no {@link ResumeTokenStore} is set.
+	 */
+	public String getResumeTokenKey() {
+		return resumeTokenKey;
+	}
+
+	/**
+	 * @return the backoff before the first attempt to reopen the change stream.
+	 */
+	public Duration getMinBackoff() {
+		return resumePolicy.getMinBackoff();
+	}
+
+	/**
+	 * @return the maximum backoff between attempts to reopen the change stream.
+	 */
+	public Duration getMaxBackoff() {
+		return resumePolicy.getMaxBackoff();
+	}
+
+	/**
+	 * @return the maximum number of consecutive attempts to reopen the change stream without receiving an event.
+	 */
+	public long getMaxRetries() {
+		return resumePolicy.getMaxRetries();
+	}
+
+	/**
+	 * Compute the backoff before the given attempt to reopen the change stream.
+	 *
+	 * @param attempt zero-based number of consecutive attempts.
+	 * @return the backoff bounded by {@link #getMinBackoff()} and {@link #getMaxBackoff()}.
+	 */
+	Duration getBackoff(long attempt) {
+		return resumePolicy.getBackoff(attempt);
+	}
+
+	/**
+	 * Create the filter applied to change events for the given criteria on the full document. Delete events never carry
+	 * the full document, neither do update events without {@link #isFullDocumentLookup() lookup}, so these pass the
+	 * filter unconditionally instead of being dropped.
+	 *
+	 * @param fullDocumentCriteria the mapped criteria prefixed with {@literal fullDocument}, must not be
+	 *          {@literal null}.
+	 * @return the filter for the {@literal $match} stage.
+	 */
+	Document toEventFilter(Document fullDocumentCriteria) {
+
+		Object operationTypes = fullDocumentLookup ? "delete"
+				: new Document("$in", Arrays.asList("delete", "update"));
+
+		return new Document("$or",
+				Arrays.asList(new Document("operationType", operationTypes), fullDocumentCriteria));
+	}
+
+	/**
+	 * Resumable errors are resource failures, network errors, elections and cursors not found, as the change stream can
+	 * be reopened after the last event received on another node. Other errors, e.g. invalid pipelines or a resume token
+	 * no longer present in the oplog, are not going to go away by reopening the change stream.
+	 *
+	 * @param error the error to inspect, either translated or as raised by the driver.
+	 * @return {@literal true} if the change stream may be reopened after the given error.
+	 */
+	static boolean isResumable(Throwable error) {
+		return RESUME_POLICY.isResumable(error);
+	}
+
+	/**
+	 * Create the {@literal $changeStream} aggregation stage.
+	 *
+	 * @param resumeToken the token to resume after, can be {@literal null}.
+	 * @return the {@literal $changeStream} stage.
+	 */
+	Document toChangeStreamStage(Document resumeToken) {
+
+		Document stage = new Document();
+
+		if (fullDocumentLookup) {
+			stage.put("fullDocument", "updateLookup");
+		}
+
+		if (resumeToken != null) {
+			stage.put("resumeAfter", resumeToken);
+		}
+
+		return new Document("$changeStream", stage);
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cumulative timings of {@link org.bson.Document} to entity conversions performed by {@link ReactiveMongoTemplate}
+ * for a single collection.
+ *
+ * @author agent
+ * @since 2.0
+ * @see ReactiveMongoTemplate#getConversionMetrics()
+ */
+public class ConversionMetrics {
+
+	private final String collectionName;
+	private final LongAdder conversions = new LongAdder();
+	private final LongAdder offloadedConversions = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	ConversionMetrics(String collectionName) {
+		this.collectionName = collectionName;
+	}
+
+	/**
+	 * Record a single conversion.
+	 *
+	 * @param nanos the time spent converting.
+	 * @param offloaded whether the conversion ran on the configured conversion scheduler.
+	 */
+	void record(long nanos, boolean offloaded) {
+
+		conversions.increment();
+		totalNanos.add(nanos);
+
+		if (offloaded) {
+			offloadedConversions.increment();
+		}
+
+		maxNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+	/**
+	 * @return the name of the collection the documents were read from.
+	 */
+	public String getCollectionName() {
+		return collectionName;
+	}
+
+	/**
+	 * @return the total number of converted documents.
+	 */
+	public long getConversions() {
+		return conversions.sum();
+	}
+
+	/**
+	 * @return the number of documents converted on the conversion scheduler.
+	 */
+	public long getOffloadedConversions() {
+		return offloadedConversions.sum();
+	}
+
+	/**
+	 * @return the total time spent converting documents.
+	 */
+	public Duration getTotalTime() {
+		return Duration.ofNanos(totalNanos.sum());
+	}
+
+	/**
+	 * @return the mean time spent converting a single document. {@link Duration#ZERO} if nothing was converted yet.
+	 */
+	public Duration getMeanTime() {
+
+		long count = conversions.sum();
+		return count == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos.sum() / count);
+	}
+
+	/**
+	 * @return the longest time spent converting a single document.
+	 */
+	public Duration getMaxTime() {
+		return Duration.ofNanos(maxNanos.get());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("ConversionMetrics for %s: %d conversions (%d offloaded), mean %s, max %s", collectionName,
+				getConversions(), getOffloadedConversions(), getMeanTime(), getMaxTime());
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import reactor.core.scheduler.Scheduler;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.util.BsonUtils;
+import org.springframework.util.Assert;
+
+/**
+ * Options controlling whether {@link ReactiveMongoTemplate} maps {@link Document}s into entities on the thread
+ * emitting them or on a dedicated {@link Scheduler}. A document is converted on the {@link #getScheduler() scheduler}
+ * once its {@link BsonUtils#estimateSize(java.util.Map) estimated size} reaches {@link #getMinDocumentSize()} or once
+ * {@link #getBatchThreshold()} documents of the same result have been emitted. Results are emitted in their original
+ * order with at most {@link #getConcurrency()} documents converted concurrently.
+ *
+ * @author agent
+ * @since 2.0
+ */
+public class ConversionOffloadOptions {
+
+	private final Scheduler scheduler;
+	private final long minDocumentSize;
+	private final long batchThreshold;
+	private final int concurrency;
+
+	private ConversionOffloadOptions(Scheduler scheduler, long minDocumentSize, long batchThreshold, int concurrency) {
+
+		this.scheduler = scheduler;
+		this.minDocumentSize = minDocumentSize;
+		this.batchThreshold = batchThreshold;
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Create new {@link ConversionOffloadOptions} converting documents of at least {@literal 16 KB} estimated size and
+	 * every document after the first {@literal 256} of a result on the given {@link Scheduler}, with up to one document
+	 * per available processor converted concurrently.
+	 *
+	 * @param scheduler must not be {@literal null}.
+	 * @return new {@link ConversionOffloadOptions}.
+	 */
+	public static ConversionOffloadOptions offloadTo(Scheduler scheduler) {
+
+		Assert.notNull(scheduler, "Scheduler must not be null!");
+
+		return new ConversionOffloadOptions(scheduler, 16 * 1024, 256, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Create new {@link ConversionOffloadOptions} with already given settings and {@code minDocumentSize} set to given
+	 * value.
+	 *
+	 * @param minDocumentSize estimated BSON size in bytes, must not be negative.
+	 * @return new {@link ConversionOffloadOptions}.
+	 */
+	public ConversionOffloadOptions minDocumentSize(long minDocumentSize) {
+
+		Assert.isTrue(minDocumentSize >= 0, "Min document size must not be negative!");
+
+		return new ConversionOffloadOptions(scheduler, minDocumentSize, batchThreshold, concurrency);
+	}
+
+	/**
+	 * Create new {@link ConversionOffloadOptions} with already given settings and {@code batchThreshold} set to given
+	 * value. The first {@code batchThreshold} documents of a result are converted in place unless they exceed
+	 * {@link #getMinDocumentSize()}.
+	 *
+	 * @param batchThreshold must not be negative.
+	 * @return new {@link ConversionOffloadOptions}.
+	 */
+	public ConversionOffloadOptions batchThreshold(long batchThreshold) {
+
+		Assert.isTrue(batchThreshold >= 0, "Batch threshold must not be negative!");
+
+		return new ConversionOffloadOptions(scheduler, minDocumentSize, batchThreshold, concurrency);
+	}
+
+	/**
+	 * Create new {@link ConversionOffloadOptions} with already given settings and {@code concurrency} set to given value.
+	 *
+	 * @param concurrency must be greater than zero.
+	 * @return new {@link ConversionOffloadOptions}.
+	 */
+	public ConversionOffloadOptions concurrency(int concurrency) {
+
+		Assert.isTrue(concurrency > 0, "Concurrency must be greater than zero!");
+
+		return new ConversionOffloadOptions(scheduler, minDocumentSize, batchThreshold, concurrency);
+	}
+
+	/**
+	 * @return the {@link Scheduler} to convert documents on.
+	 */
+	public Scheduler getScheduler() {
+		return scheduler;
+	}
+
+	/**
+	 * @return the estimated BSON size in bytes from which on a document is converted on the {@link #getScheduler()}.
+	 */
+	public long getMinDocumentSize() {
+		return minDocumentSize;
+	}
+
+	/**
+	 * @return the number of documents per result converted in place.
+	 */
+	public long getBatchThreshold() {
+		return batchThreshold;
+	}
+
+	/**
+	 * @return the maximum number of documents converted concurrently.
+	 */
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	/**
+	 * @param position zero-based position of the {@link Document} within its result.
+	 * @param document must not be {@literal null}.
+	 * @return {@literal true} if the given {@link Document} is to be converted on the {@link #getScheduler()}.
+	 */
+	boolean shouldOffload(long position, Document document) {
+		return position >= batchThreshold || BsonUtils.estimateSize(document) >= minDocumentSize;
+	}
+}
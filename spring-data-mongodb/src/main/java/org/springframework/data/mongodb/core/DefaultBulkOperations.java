@@ -45,6 +45,7 @@ import com.mongodb.client.model.DeleteManyModel;
 import com.mongodb.client.model.DeleteOneModel;
 import com.mongodb.client.model.DeleteOptions;
 import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.UpdateManyModel;
 import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.UpdateOptions;
@@ -121,16 +122,7 @@ class DefaultBulkOperations implements BulkOperations {
 
 		Assert.notNull(document, "Document must not be null!");
 
-		if (document instanceof Document) {
-
-			models.add(new InsertOneModel<>((Document) document));
-			return this;
-		}
-
-		Document sink = new Document();
-		mongoOperations.getConverter().write(document, sink);
-
-		models.add(new InsertOneModel<>(sink));
+		models.add(new InsertOneModel<>(toDocument(document)));
 
 		return this;
 	}
@@ -232,6 +224,34 @@ class DefaultBulkOperations implements BulkOperations {
 		return this;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.BulkOperations#replaceOne(org.springframework.data.mongodb.core.query.Query, java.lang.Object)
+	 */
+	@Override
+	public BulkOperations replaceOne(Query query, Object replacement) {
+		return replaceOne(query, replacement, false);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.BulkOperations#replaceOne(org.springframework.data.mongodb.core.query.Query, java.lang.Object, boolean)
+	 */
+	@Override
+	public BulkOperations replaceOne(Query query, Object replacement, boolean upsert) {
+
+		Assert.notNull(query, "Query must not be null!");
+		Assert.notNull(replacement, "Replacement must not be null!");
+
+		UpdateOptions options = new UpdateOptions();
+		options.upsert(upsert);
+		query.getCollation().map(Collation::toMongoCollation).ifPresent(options::collation);
+
+		models.add(new ReplaceOneModel<>(query.getQueryObject(), toDocument(replacement), options));
+
+		return this;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mongodb.core.BulkOperations#remove(org.springframework.data.mongodb.core.query.Query)
@@ -279,7 +299,9 @@ class DefaultBulkOperations implements BulkOperations {
 				collection = collection.withWriteConcern(defaultWriteConcern);
 			}
 
-			return collection.bulkWrite(models.stream().map(this::mapWriteModel).collect(Collectors.toList()), bulkOptions);
+			return collection.bulkWrite(
+					models.stream().map(it -> mapWriteModel(it, bulkOperationContext)).collect(Collectors.toList()),
+					bulkOptions);
 
 		} catch (BulkWriteException o_O) {
 
@@ -318,21 +340,50 @@ class DefaultBulkOperations implements BulkOperations {
 		return this;
 	}
 
-	private WriteModel<Document> mapWriteModel(WriteModel<Document> writeModel) {
+	private Document toDocument(Object source) {
+
+		if (source instanceof Document) {
+			return (Document) source;
+		}
+
+		Document sink = new Document();
+		mongoOperations.getConverter().write(source, sink);
+
+		return sink;
+	}
+
+	/**
+	 * Maps filter and update of the given {@link WriteModel} using the {@link QueryMapper} and {@link UpdateMapper} of
+	 * the given {@link BulkOperationContext}.
+	 *
+	 * @param writeModel must not be {@literal null}.
+	 * @param context must not be {@literal null}.
+	 * @return the mapped {@link WriteModel}.
+	 * @since 2.0
+	 */
+	static WriteModel<Document> mapWriteModel(WriteModel<Document> writeModel, BulkOperationContext context) {
 
 		if (writeModel instanceof UpdateOneModel) {
 
 			UpdateOneModel<Document> model = (UpdateOneModel<Document>) writeModel;
 
-			return new UpdateOneModel<>(getMappedQuery(model.getFilter()), getMappedUpdate(model.getUpdate()),
-					model.getOptions());
+			return new UpdateOneModel<>(getMappedQuery(model.getFilter(), context),
+					getMappedUpdate(model.getUpdate(), context), model.getOptions());
 		}
 
 		if (writeModel instanceof UpdateManyModel) {
 
 			UpdateManyModel<Document> model = (UpdateManyModel<Document>) writeModel;
 
-			return new UpdateManyModel<>(getMappedQuery(model.getFilter()), getMappedUpdate(model.getUpdate()),
+			return new UpdateManyModel<>(getMappedQuery(model.getFilter(), context),
+					getMappedUpdate(model.getUpdate(), context), model.getOptions());
+		}
+
+		if (writeModel instanceof ReplaceOneModel) {
+
+			ReplaceOneModel<Document> model = (ReplaceOneModel<Document>) writeModel;
+
+			return new ReplaceOneModel<>(getMappedQuery(model.getFilter(), context), model.getReplacement(),
 					model.getOptions());
 		}
 
@@ -340,28 +391,28 @@ class DefaultBulkOperations implements BulkOperations {
 
 			DeleteOneModel<Document> model = (DeleteOneModel<Document>) writeModel;
 
-			return new DeleteOneModel<>(getMappedQuery(model.getFilter()), model.getOptions());
+			return new DeleteOneModel<>(getMappedQuery(model.getFilter(), context), model.getOptions());
 		}
 
 		if (writeModel instanceof DeleteManyModel) {
 
 			DeleteManyModel<Document> model = (DeleteManyModel<Document>) writeModel;
 
-			return new DeleteManyModel<>(getMappedQuery(model.getFilter()), model.getOptions());
+			return new DeleteManyModel<>(getMappedQuery(model.getFilter(), context), model.getOptions());
 		}
 
 		return writeModel;
 	}
 
-	private Bson getMappedUpdate(Bson update) {
-		return bulkOperationContext.getUpdateMapper().getMappedObject(update, bulkOperationContext.getEntity());
+	private static Bson getMappedUpdate(Bson update, BulkOperationContext context) {
+		return context.getUpdateMapper().getMappedObject(update, context.getEntity());
 	}
 
-	private Bson getMappedQuery(Bson query) {
-		return bulkOperationContext.getQueryMapper().getMappedObject(query, bulkOperationContext.getEntity());
+	private static Bson getMappedQuery(Bson query, BulkOperationContext context) {
+		return context.getQueryMapper().getMappedObject(query, context.getEntity());
 	}
 
-	private static BulkWriteOptions getBulkWriteOptions(BulkMode bulkMode) {
+	static BulkWriteOptions getBulkWriteOptions(BulkMode bulkMode) {
 
 		BulkWriteOptions options = new BulkWriteOptions();
 
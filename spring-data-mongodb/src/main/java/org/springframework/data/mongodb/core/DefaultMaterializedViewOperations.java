@@ -0,0 +1,454 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.springframework.data.mongodb.core.query.Criteria.*;
+import static org.springframework.data.mongodb.core.query.Query.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MaterializedView.MergeMode;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.Assert;
+
+import com.mongodb.client.result.UpdateResult;
+
+/**
+ * Default implementation of {@link MaterializedViewOperations}. Refresh state is stored per view within the
+ * {@value #METADATA_COLLECTION} collection. The state document also holds the refresh lock and, while results are
+ * merged, the high-water mark the refresh is going to advance to. A refresh finding such a pending high-water mark
+ * rebuilds the view instead of merging again, as merging is not idempotent for {@link MergeMode#SUM}.
+ *
+ * @author agent
+ * @since 2.0
+ */
+class DefaultMaterializedViewOperations implements MaterializedViewOperations {
+
+	static final String METADATA_COLLECTION = "materializedViews";
+	static final int MERGE_BATCH_SIZE = 1000;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DefaultMaterializedViewOperations.class);
+
+	private static final String HIGH_WATER_MARK = "highWaterMark";
+	private static final String LAST_REFRESH = "lastRefresh";
+	private static final String LAST_REFRESH_DURATION = "lastRefreshDurationMillis";
+	private static final String LAST_REFRESH_DOCUMENTS = "lastRefreshDocuments";
+	private static final String REFRESH_COUNT = "refreshCount";
+	private static final String PENDING_HIGH_WATER_MARK = "pendingHighWaterMark";
+	private static final String LOCKED_BY = "lockedBy";
+	private static final String LOCKED_UNTIL = "lockedUntil";
+
+	private final MongoOperations mongoOperations;
+	private final MaterializedView view;
+
+	/**
+	 * Creates new {@link DefaultMaterializedViewOperations}.
+	 *
+	 * @param mongoOperations must not be {@literal null}.
+	 * @param view must not be {@literal null}.
+	 */
+	DefaultMaterializedViewOperations(MongoOperations mongoOperations, MaterializedView view) {
+
+		Assert.notNull(mongoOperations, "MongoOperations must not be null!");
+		Assert.notNull(view, "MaterializedView must not be null!");
+
+		this.mongoOperations = mongoOperations;
+		this.view = view;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MaterializedViewOperations#refresh()
+	 */
+	@Override
+	public MaterializedViewStatus refresh() {
+
+		String owner = UUID.randomUUID().toString();
+		Document state = lock(owner);
+
+		try {
+			return doRefresh(state, owner);
+		} finally {
+			unlock(owner);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MaterializedViewOperations#rebuild()
+	 */
+	@Override
+	public MaterializedViewStatus rebuild() {
+
+		String owner = UUID.randomUUID().toString();
+		Document state = lock(owner);
+
+		try {
+			return doRebuild(state, owner);
+		} finally {
+			unlock(owner);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MaterializedViewOperations#getStatus()
+	 */
+	@Override
+	public MaterializedViewStatus getStatus() {
+
+		Document state = readState();
+		Object highWaterMark = state != null ? state.get(HIGH_WATER_MARK) : null;
+
+		Query pending = highWaterMark != null ? query(where(view.getHighWaterMarkField()).gt(highWaterMark))
+				: new Query();
+
+		return toStatus(state, mongoOperations.count(pending, view.getSourceCollection()));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MaterializedViewOperations#scheduleRefresh(org.springframework.scheduling.TaskScheduler, java.time.Duration)
+	 */
+	@Override
+	public ScheduledFuture<?> scheduleRefresh(TaskScheduler scheduler, Duration delay) {
+
+		Assert.notNull(scheduler, "TaskScheduler must not be null!");
+		Assert.notNull(delay, "Delay must not be null!");
+		Assert.isTrue(!delay.isNegative(), "Delay must not be negative!");
+
+		return scheduler.scheduleWithFixedDelay(this::refresh, delay.toMillis());
+	}
+
+	/**
+	 * Merges the source documents above the stored high-water mark into the target collection. Falls back to a rebuild
+	 * for the first refresh and if the previous refresh did not complete.
+	 */
+	private MaterializedViewStatus doRefresh(Document state, String owner) {
+
+		Object highWaterMark = state.get(HIGH_WATER_MARK);
+
+		if (highWaterMark == null) {
+			return doRebuild(state, owner);
+		}
+
+		if (state.get(PENDING_HIGH_WATER_MARK) != null) {
+
+			LOGGER.warn("Previous refresh of materialized view {} up to {} did not complete, rebuilding view.",
+					view.getName(), state.get(PENDING_HIGH_WATER_MARK));
+
+			return doRebuild(state, owner);
+		}
+
+		long start = System.nanoTime();
+		Optional<Object> newHighWaterMark = findHighWaterMark(Optional.of(highWaterMark));
+		long documents = 0;
+
+		if (newHighWaterMark.isPresent()) {
+
+			Criteria range = where(view.getHighWaterMarkField()).gt(highWaterMark).lte(newHighWaterMark.get());
+
+			documents = mongoOperations.count(query(range), view.getSourceCollection());
+
+			if (!updateState(owner, new Update().set(PENDING_HIGH_WATER_MARK, newHighWaterMark.get()))) {
+				throw lockLost();
+			}
+
+			merge(range);
+		}
+
+		return writeState(state, owner, newHighWaterMark.orElse(highWaterMark), documents, start);
+	}
+
+	/**
+	 * Aggregates all source documents up to the current high-water mark replacing the target collection.
+	 */
+	private MaterializedViewStatus doRebuild(Document state, String owner) {
+
+		long start = System.nanoTime();
+		Optional<Object> highWaterMark = findHighWaterMark(Optional.empty());
+
+		List<AggregationOperation> pipeline = new ArrayList<AggregationOperation>();
+		Criteria range = null;
+
+		if (highWaterMark.isPresent()) {
+
+			range = where(view.getHighWaterMarkField()).lte(highWaterMark.get());
+			pipeline.add(Aggregation.match(range));
+		}
+
+		pipeline.addAll(view.getPipeline());
+		pipeline.add(Aggregation.out(view.getTargetCollection()));
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Rebuilding materialized view {} up to high-water mark {}", view.getName(),
+					highWaterMark.orElse(null));
+		}
+
+		mongoOperations.aggregate(Aggregation.newAggregation(pipeline), view.getSourceCollection(), Document.class);
+
+		long documents = range != null ? mongoOperations.count(query(range), view.getSourceCollection()) : 0;
+
+		return writeState(state, owner, highWaterMark.orElse(null), documents, start);
+	}
+
+	/**
+	 * Aggregates the source documents within the given range and merges the results into the target collection.
+	 */
+	private void merge(Criteria range) {
+
+		List<AggregationOperation> pipeline = new ArrayList<AggregationOperation>();
+		pipeline.add(Aggregation.match(range));
+		pipeline.addAll(view.getPipeline());
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Refreshing materialized view {} with source documents matching {}", view.getName(),
+					range.getCriteriaObject());
+		}
+
+		try (CloseableIterator<Document> results = mongoOperations.aggregateStream(
+				Aggregation.newAggregation(pipeline), view.getSourceCollection(), Document.class)) {
+
+			BulkOperations bulkOperations = null;
+			int batchSize = 0;
+
+			while (results.hasNext()) {
+
+				Document result = results.next();
+				Object id = result.get("_id");
+
+				if (id == null) {
+					throw new InvalidDataAccessApiUsageException(String.format(
+							"Cannot merge result %s into materialized view %s as it does not contain an _id!", result,
+							view.getName()));
+				}
+
+				if (bulkOperations == null) {
+					bulkOperations = mongoOperations.bulkOps(BulkMode.UNORDERED, view.getTargetCollection());
+				}
+
+				bulkOperations.upsert(query(where("_id").is(id)), toUpdate(result));
+
+				if (++batchSize == MERGE_BATCH_SIZE) {
+
+					bulkOperations.execute();
+					bulkOperations = null;
+					batchSize = 0;
+				}
+			}
+
+			if (bulkOperations != null) {
+				bulkOperations.execute();
+			}
+		}
+	}
+
+	/**
+	 * Creates the {@link Update} merging the given result into an existing document.
+	 */
+	private Update toUpdate(Document result) {
+
+		Update update = new Update();
+
+		for (Entry<String, Object> entry : result.entrySet()) {
+
+			if ("_id".equals(entry.getKey())) {
+				continue;
+			}
+
+			MergeMode mode = view.getMergeModes().get(entry.getKey());
+
+			if (mode == null) {
+				update.set(entry.getKey(), entry.getValue());
+				continue;
+			}
+
+			switch (mode) {
+				case SUM:
+
+					if (!(entry.getValue() instanceof Number)) {
+						throw new InvalidDataAccessApiUsageException(String.format(
+								"Cannot sum up non-numeric value %s of field %s!", entry.getValue(), entry.getKey()));
+					}
+
+					update.inc(entry.getKey(), (Number) entry.getValue());
+					break;
+				case MIN:
+					update.min(entry.getKey(), entry.getValue());
+					break;
+				case MAX:
+					update.max(entry.getKey(), entry.getValue());
+					break;
+			}
+		}
+
+		return update;
+	}
+
+	/**
+	 * Looks up the greatest value of the high-water mark field within the source collection, optionally restricted to
+	 * values greater than {@code after}.
+	 */
+	private Optional<Object> findHighWaterMark(Optional<Object> after) {
+
+		String field = view.getHighWaterMarkField();
+
+		Query query = after.map(it -> query(where(field).gt(it))).orElseGet(Query::new);
+		query.with(Sort.by(Direction.DESC, field)).limit(1);
+		query.fields().include(field);
+
+		Document document = mongoOperations.findOne(query, Document.class, view.getSourceCollection());
+
+		return Optional.ofNullable(document).map(it -> getValue(it, field));
+	}
+
+	private static Object getValue(Document document, String path) {
+
+		Object value = document;
+
+		for (String segment : path.split("\\.")) {
+
+			if (!(value instanceof Document)) {
+				return null;
+			}
+
+			value = ((Document) value).get(segment);
+		}
+
+		return value;
+	}
+
+	private Document readState() {
+		return mongoOperations.findOne(query(where("_id").is(view.getName())), Document.class, METADATA_COLLECTION);
+	}
+
+	/**
+	 * Acquires the refresh lock of the view by setting {@value #LOCKED_UNTIL} if it is absent or expired, creating the
+	 * state document if necessary.
+	 *
+	 * @return the state document of the view.
+	 */
+	private Document lock(String owner) {
+
+		Date now = new Date();
+
+		Query unlocked = query(where("_id").is(view.getName()).orOperator(where(LOCKED_UNTIL).exists(false),
+				where(LOCKED_UNTIL).lte(now)));
+		Update lock = new Update().set(LOCKED_BY, owner) //
+				.set(LOCKED_UNTIL, new Date(now.getTime() + view.getRefreshTimeout().toMillis()));
+
+		FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(true);
+
+		try {
+			return mongoOperations.findAndModify(unlocked, lock, options, Document.class, METADATA_COLLECTION);
+		} catch (DuplicateKeyException e) {
+
+			// the state document exists but is locked
+			throw new CannotAcquireLockException(
+					String.format("Materialized view %s is being refreshed by someone else!", view.getName()), e);
+		}
+	}
+
+	private void unlock(String owner) {
+		updateState(owner, new Update().unset(LOCKED_BY).unset(LOCKED_UNTIL));
+	}
+
+	private boolean updateState(String owner, Update update) {
+
+		Query lockedByOwner = query(where("_id").is(view.getName()).and(LOCKED_BY).is(owner));
+		UpdateResult result = mongoOperations.updateFirst(lockedByOwner, update, METADATA_COLLECTION);
+
+		return result != null && result.getMatchedCount() > 0;
+	}
+
+	private MaterializedViewStatus writeState(Document previousState, String owner, Object highWaterMark,
+			long documents, long start) {
+
+		long refreshCount = getLong(previousState, REFRESH_COUNT);
+
+		Document state = new Document("_id", view.getName()) //
+				.append(HIGH_WATER_MARK, highWaterMark) //
+				.append(LAST_REFRESH, new Date()) //
+				.append(LAST_REFRESH_DURATION, Duration.ofNanos(System.nanoTime() - start).toMillis()) //
+				.append(LAST_REFRESH_DOCUMENTS, documents) //
+				.append(REFRESH_COUNT, refreshCount + 1);
+
+		Update update = new Update().unset(PENDING_HIGH_WATER_MARK);
+
+		for (Entry<String, Object> entry : state.entrySet()) {
+			if (!"_id".equals(entry.getKey())) {
+				update.set(entry.getKey(), entry.getValue());
+			}
+		}
+
+		if (!updateState(owner, update)) {
+
+			// the pending high-water mark, if any, remains so that the next refresh rebuilds the view
+			throw lockLost();
+		}
+
+		return toStatus(state, -1);
+	}
+
+	private CannotAcquireLockException lockLost() {
+		return new CannotAcquireLockException(String.format(
+				"Lost lock on materialized view %s as the refresh took longer than %s!", view.getName(),
+				view.getRefreshTimeout()));
+	}
+
+	private static MaterializedViewStatus toStatus(Document state, long pendingDocuments) {
+
+		if (state == null) {
+			return new MaterializedViewStatus(null, Optional.empty(), Optional.empty(), Duration.ZERO, 0, 0,
+					pendingDocuments);
+		}
+
+		Date lastRefresh = state.get(LAST_REFRESH, Date.class);
+
+		return new MaterializedViewStatus(state.getString("_id"), Optional.ofNullable(state.get(HIGH_WATER_MARK)),
+				Optional.ofNullable(lastRefresh).map(Date::toInstant),
+				Duration.ofMillis(getLong(state, LAST_REFRESH_DURATION)), getLong(state, LAST_REFRESH_DOCUMENTS),
+				getLong(state, REFRESH_COUNT), pendingDocuments);
+	}
+
+	private static long getLong(Document document, String key) {
+
+		Object value = document.get(key);
+		return value instanceof Number ? ((Number) value).longValue() : 0;
+	}
+}
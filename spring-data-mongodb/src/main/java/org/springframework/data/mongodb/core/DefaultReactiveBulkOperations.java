@@ -0,0 +1,368 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.reactivestreams.Publisher;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.core.DefaultBulkOperations.BulkOperationContext;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+import org.springframework.util.Assert;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.DeleteManyModel;
+import com.mongodb.client.model.DeleteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.UpdateManyModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.reactivestreams.client.MongoCollection;
+
+/**
+ * Default implementation for {@link ReactiveBulkOperations}.
+ *
+ * @author agent
+ * @since 2.0
+ */
+class DefaultReactiveBulkOperations implements ReactiveBulkOperations {
+
+	private final ReactiveMongoOperations mongoOperations;
+	private final String collectionName;
+	private final BulkOperationContext bulkOperationContext;
+	private final List<WriteModel<Document>> models = new ArrayList<>();
+
+	private PersistenceExceptionTranslator exceptionTranslator;
+	private WriteConcern defaultWriteConcern;
+
+	/**
+	 * Creates a new {@link DefaultReactiveBulkOperations} for the given {@link ReactiveMongoOperations}, collection name
+	 * and {@link BulkOperationContext}.
+	 *
+	 * @param mongoOperations must not be {@literal null}.
+	 * @param collectionName must not be {@literal null}.
+	 * @param bulkOperationContext must not be {@literal null}.
+	 */
+	DefaultReactiveBulkOperations(ReactiveMongoOperations mongoOperations, String collectionName,
+			BulkOperationContext bulkOperationContext) {
+
+		Assert.notNull(mongoOperations, "ReactiveMongoOperations must not be null!");
+		Assert.hasText(collectionName, "CollectionName must not be null nor empty!");
+		Assert.notNull(bulkOperationContext, "BulkOperationContext must not be null!");
+
+		this.mongoOperations = mongoOperations;
+		this.collectionName = collectionName;
+		this.bulkOperationContext = bulkOperationContext;
+		this.exceptionTranslator = new MongoExceptionTranslator();
+	}
+
+	/**
+	 * Configures the {@link PersistenceExceptionTranslator} to be used. Defaults to {@link MongoExceptionTranslator}.
+	 *
+	 * @param exceptionTranslator can be {@literal null}.
+	 */
+	void setExceptionTranslator(PersistenceExceptionTranslator exceptionTranslator) {
+		this.exceptionTranslator = exceptionTranslator == null ? new MongoExceptionTranslator() : exceptionTranslator;
+	}
+
+	/**
+	 * Configures the default {@link WriteConcern} to be used. Defaults to {@literal null}.
+	 *
+	 * @param defaultWriteConcern can be {@literal null}.
+	 */
+	void setDefaultWriteConcern(WriteConcern defaultWriteConcern) {
+		this.defaultWriteConcern = defaultWriteConcern;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveBulkOperations#insert(java.lang.Object)
+	 */
+	@Override
+	public ReactiveBulkOperations insert(Object document) {
+
+		Assert.notNull(document, "Document must not be null!");
+
+		models.add(new InsertOneModel<>(toDocument(document)));
+
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveBulkOperations#insert(java.util.List)
+	 */
+	@Override
+	public ReactiveBulkOperations insert(List<? extends Object> documents) {
+
+		Assert.notNull(documents, "Documents must not be null!");
+
+		documents.forEach(this::insert);
+
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveBulkOperations#updateOne(org.springframework.data.mongodb.core.query.Query, org.springframework.data.mongodb.core.query.Update)
+	 */
+	@Override
+	public ReactiveBulkOperations updateOne(Query query, Update update) {
+
+		Assert.notNull(query, "Query must not be null!");
+		Assert.notNull(update, "Update must not be null!");
+
+		return updateOne(Collections.singletonList(Pair.of(query, update)));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveBulkOperations#updateOne(java.util.List)
+	 */
+	@Override
+	public ReactiveBulkOperations updateOne(List<Pair<Query, Update>> updates) {
+
+		Assert.notNull(updates, "Updates must not be null!");
+
+		for (Pair<Query, Update> update : updates) {
+			update(update.getFirst(), update.getSecond(), false, false);
+		}
+
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveBulkOperations#updateMulti(org.springframework.data.mongodb.core.query.Query, org.springframework.data.mongodb.core.query.Update)
+	 */
+	@Override
+	public ReactiveBulkOperations updateMulti(Query query, Update update) {
+
+		Assert.notNull(query, "Query must not be null!");
+		Assert.notNull(update, "Update must not be null!");
+
+		return updateMulti(Collections.singletonList(Pair.of(query, update)));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveBulkOperations#updateMulti(java.util.List)
+	 */
+	@Override
+	public ReactiveBulkOperations updateMulti(List<Pair<Query, Update>> updates) {
+
+		Assert.notNull(updates, "Updates must not be null!");
+
+		for (Pair<Query, Update> update : updates) {
+			update(update.getFirst(), update.getSecond(), false, true);
+		}
+
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveBulkOperations#upsert(org.springframework.data.mongodb.core.query.Query, org.springframework.data.mongodb.core.query.Update)
+	 */
+	@Override
+	public ReactiveBulkOperations upsert(Query query, Update update) {
+		return update(query, update, true, true);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveBulkOperations#upsert(java.util.List)
+	 */
+	@Override
+	public ReactiveBulkOperations upsert(List<Pair<Query, Update>> updates) {
+
+		Assert.notNull(updates, "Updates must not be null!");
+
+		for (Pair<Query, Update> update : updates) {
+			upsert(update.getFirst(), update.getSecond());
+		}
+
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveBulkOperations#replaceOne(org.springframework.data.mongodb.core.query.Query, java.lang.Object)
+	 */
+	@Override
+	public ReactiveBulkOperations replaceOne(Query query, Object replacement) {
+		return replaceOne(query, replacement, false);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveBulkOperations#replaceOne(org.springframework.data.mongodb.core.query.Query, java.lang.Object, boolean)
+	 */
+	@Override
+	public ReactiveBulkOperations replaceOne(Query query, Object replacement, boolean upsert) {
+
+		Assert.notNull(query, "Query must not be null!");
+		Assert.notNull(replacement, "Replacement must not be null!");
+
+		UpdateOptions options = new UpdateOptions();
+		options.upsert(upsert);
+		query.getCollation().map(Collation::toMongoCollation).ifPresent(options::collation);
+
+		models.add(new ReplaceOneModel<>(query.getQueryObject(), toDocument(replacement), options));
+
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveBulkOperations#remove(org.springframework.data.mongodb.core.query.Query)
+	 */
+	@Override
+	public ReactiveBulkOperations remove(Query query) {
+
+		Assert.notNull(query, "Query must not be null!");
+
+		DeleteOptions deleteOptions = new DeleteOptions();
+		query.getCollation().map(Collation::toMongoCollation).ifPresent(deleteOptions::collation);
+
+		models.add(new DeleteManyModel<>(query.getQueryObject(), deleteOptions));
+
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveBulkOperations#remove(java.util.List)
+	 */
+	@Override
+	public ReactiveBulkOperations remove(List<Query> removes) {
+
+		Assert.notNull(removes, "Removals must not be null!");
+
+		for (Query query : removes) {
+			remove(query);
+		}
+
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveBulkOperations#execute()
+	 */
+	@Override
+	public Mono<BulkWriteResult> execute() {
+
+		List<WriteModel<Document>> models = new ArrayList<>(this.models);
+
+		return doExecute(models).next();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveBulkOperations#execute(org.reactivestreams.Publisher, int)
+	 */
+	@Override
+	public Flux<BulkWriteResult> execute(Publisher<? extends WriteModel<Document>> writeModels, int batchSize) {
+
+		Assert.notNull(writeModels, "Write models must not be null!");
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+
+		return Flux.<WriteModel<Document>> from(writeModels).buffer(batchSize).concatMap(this::doExecute, 1);
+	}
+
+	/**
+	 * Maps the given {@link WriteModel}s and writes them using a single bulk write.
+	 */
+	private Flux<BulkWriteResult> doExecute(List<WriteModel<Document>> models) {
+
+		return Flux.defer(() -> {
+
+			MongoCollection<Document> collection = mongoOperations.getCollection(collectionName);
+			if (defaultWriteConcern != null) {
+				collection = collection.withWriteConcern(defaultWriteConcern);
+			}
+
+			List<WriteModel<Document>> mapped = models.stream()
+					.map(it -> DefaultBulkOperations.mapWriteModel(it, bulkOperationContext)).collect(Collectors.toList());
+
+			return Flux.from(collection.bulkWrite(mapped,
+					DefaultBulkOperations.getBulkWriteOptions(bulkOperationContext.getBulkMode())));
+
+		}).onErrorMap(throwable -> {
+
+			if (throwable instanceof RuntimeException) {
+
+				RuntimeException translated = exceptionTranslator.translateExceptionIfPossible((RuntimeException) throwable);
+				return translated == null ? throwable : translated;
+			}
+
+			return throwable;
+		});
+	}
+
+	/**
+	 * Performs update and upsert bulk operations.
+	 *
+	 * @param query the {@link Query} to determine documents to update.
+	 * @param update the {@link Update} to perform, must not be {@literal null}.
+	 * @param upsert whether to upsert.
+	 * @param multi whether to issue a multi-update.
+	 * @return the {@link ReactiveBulkOperations} with the update registered.
+	 */
+	private ReactiveBulkOperations update(Query query, Update update, boolean upsert, boolean multi) {
+
+		Assert.notNull(query, "Query must not be null!");
+		Assert.notNull(update, "Update must not be null!");
+
+		UpdateOptions options = new UpdateOptions();
+		options.upsert(upsert);
+		query.getCollation().map(Collation::toMongoCollation).ifPresent(options::collation);
+
+		if (multi) {
+			models.add(new UpdateManyModel<>(query.getQueryObject(), update.getUpdateObject(), options));
+		} else {
+			models.add(new UpdateOneModel<>(query.getQueryObject(), update.getUpdateObject(), options));
+		}
+
+		return this;
+	}
+
+	private Document toDocument(Object source) {
+
+		if (source instanceof Document) {
+			return (Document) source;
+		}
+
+		Document sink = new Document();
+		mongoOperations.getConverter().write(source, sink);
+
+		return sink;
+	}
+}
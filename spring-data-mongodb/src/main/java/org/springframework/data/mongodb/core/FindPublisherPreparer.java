@@ -15,6 +15,8 @@
  */
 package org.springframework.data.mongodb.core;
 
+import org.reactivestreams.Publisher;
+
 import com.mongodb.DBCursor;
 import com.mongodb.reactivestreams.client.FindPublisher;
 
@@ -31,4 +33,17 @@ interface FindPublisherPreparer {
 	 * @param cursor
 	 */
 	<T> FindPublisher<T> prepare(FindPublisher<T> findPublisher);
+
+	/**
+	 * Create the {@link Publisher} to subscribe to for the prepared {@link FindPublisher}. Allows decorating the
+	 * {@link FindPublisher} to shape the demand signalled to the driver. Returns the {@link FindPublisher} itself by
+	 * default.
+	 *
+	 * @param findPublisher the prepared {@link FindPublisher}.
+	 * @return the {@link Publisher} to subscribe to.
+	 * @since 2.0
+	 */
+	default <T> Publisher<T> publish(FindPublisher<T> findPublisher) {
+		return findPublisher;
+	}
 }
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapreduce.GroupBy;
+
+/**
+ * Translates the {@link GroupBy#getGroupByObject() group command} into an equivalent aggregation pipeline consisting of
+ * an optional {@code $match}, a {@code $group} and a {@code $project} stage. Translation is possible if the grouping
+ * uses plain keys, no finalize function and a reduce function whose statements each accumulate a single numeric
+ * property of the initial document via:
+ * <ul>
+ * <li>{@code result.total += doc.amount}, {@code result.total = result.total + doc.amount}</li>
+ * <li>{@code result.count++}, {@code result.count += 1}</li>
+ * <li>{@code result.min = Math.min(result.min, doc.amount)}, {@code result.max = Math.max(result.max, doc.amount)}</li>
+ * </ul>
+ * Properties of the initial document that are not accumulated are passed through as is. Note that, unlike the
+ * JavaScript engine, the aggregation framework ignores missing and non-numeric values when accumulating instead of
+ * yielding {@code NaN}, see {@link GroupBy#preferAggregation()}.
+ *
+ * @author agent
+ * @since 2.0
+ */
+class GroupByAggregationTranslator {
+
+	/**
+	 * Name of the field carrying the number of grouped documents per group.
+	 */
+	static final String COUNT_FIELD = "__count";
+
+	private GroupByAggregationTranslator() {}
+
+	/**
+	 * Translates the given group command into an aggregation pipeline. The returned pipeline renders the grouping keys
+	 * and the accumulated initial document at the top level of each result document, along with
+	 * {@link #COUNT_FIELD}.
+	 *
+	 * @param groupByObject the group command with mapped {@code cond} and resolved functions, must not be
+	 *          {@literal null}.
+	 * @return the aggregation pipeline or {@link Optional#empty()} if the group command cannot be translated.
+	 */
+	static Optional<List<Document>> translate(Document groupByObject) {
+
+		if (groupByObject.get("$keyf") != null || groupByObject.get("finalize") != null) {
+			return Optional.empty();
+		}
+
+		Object keys = groupByObject.get("key");
+		Object initial = groupByObject.get("initial");
+		Object reduce = groupByObject.get("$reduce");
+
+		if (!(keys instanceof Document) || !(initial instanceof Document) || !(reduce instanceof String)) {
+			return Optional.empty();
+		}
+
+		Optional<Map<String, Accumulator>> accumulators = JavaScriptFunction.parse((String) reduce)
+				.flatMap(GroupByAggregationTranslator::parseReduceFunction);
+
+		if (!accumulators.isPresent()) {
+			return Optional.empty();
+		}
+
+		return createPipeline((Document) keys, (Document) initial, accumulators.get(), groupByObject.get("cond"));
+	}
+
+	private static Optional<List<Document>> createPipeline(Document keys, Document initial,
+			Map<String, Accumulator> accumulators, Object condition) {
+
+		if (!initial.keySet().containsAll(accumulators.keySet())) {
+			return Optional.empty();
+		}
+
+		Document id = new Document();
+		Document group = new Document("_id", id);
+		Document projection = new Document();
+
+		if (!keys.containsKey("_id")) {
+			projection.put("_id", 0);
+		}
+
+		for (String key : keys.keySet()) {
+
+			if (key.contains(".") || key.startsWith("$") || initial.containsKey(key) || COUNT_FIELD.equals(key)) {
+				return Optional.empty();
+			}
+
+			id.put(key, "$" + key);
+			projection.put(key, "$_id." + key);
+		}
+
+		for (Entry<String, Object> entry : initial.entrySet()) {
+
+			if (entry.getKey().startsWith("$") || COUNT_FIELD.equals(entry.getKey())) {
+				return Optional.empty();
+			}
+
+			Accumulator accumulator = accumulators.get(entry.getKey());
+
+			if (accumulator == null) {
+				projection.put(entry.getKey(), new Document("$literal", entry.getValue()));
+				continue;
+			}
+
+			if (!(entry.getValue() instanceof Number)) {
+				return Optional.empty();
+			}
+
+			group.put(entry.getKey(), new Document(accumulator.getOperator(), accumulator.getOperand()));
+			projection.put(entry.getKey(), accumulator.combineWith((Number) entry.getValue(), "$" + entry.getKey()));
+		}
+
+		group.put(COUNT_FIELD, new Document("$sum", 1));
+		projection.put(COUNT_FIELD, 1);
+
+		List<Document> pipeline = new ArrayList<Document>(3);
+
+		if (condition instanceof Document && !((Document) condition).isEmpty()) {
+			pipeline.add(new Document("$match", condition));
+		}
+
+		pipeline.add(new Document("$group", group));
+		pipeline.add(new Document("$project", projection));
+
+		return Optional.of(pipeline);
+	}
+
+	private static Optional<Map<String, Accumulator>> parseReduceFunction(JavaScriptFunction function) {
+
+		if (!function.hasParameterCount(2) || function.getStatements().isEmpty()) {
+			return Optional.empty();
+		}
+
+		String current = function.getParameters().get(0);
+		String result = function.getParameters().get(1);
+		List<Pattern> patterns = statementPatterns(current, result);
+
+		Map<String, Accumulator> accumulators = new LinkedHashMap<String, Accumulator>();
+
+		for (String statement : function.getStatements()) {
+
+			Accumulator accumulator = null;
+
+			for (Pattern pattern : patterns) {
+
+				Matcher matcher = pattern.matcher(statement);
+
+				if (matcher.matches()) {
+					accumulator = Accumulator.from(matcher);
+					break;
+				}
+			}
+
+			if (accumulator == null || accumulators.putIfAbsent(accumulator.getTarget(), accumulator) != null) {
+				return Optional.empty();
+			}
+		}
+
+		return Optional.of(accumulators);
+	}
+
+	private static List<Pattern> statementPatterns(String current, String result) {
+
+		String target = JavaScriptFunction.property(result, "target");
+		String same = "\\s*" + Pattern.quote(result) + "\\.\\k<target>\\s*";
+		String operand = "\\s*(?:" + JavaScriptFunction.propertyPath(current, "source") + "|(?<number>"
+				+ JavaScriptFunction.NUMBER + "))\\s*";
+
+		return Arrays.asList( //
+				Pattern.compile(target + "\\s*\\+=" + operand), //
+				Pattern.compile(target + "\\s*=" + same + "\\+" + operand), //
+				Pattern.compile(target + "\\s*=" + operand + "\\+" + same), //
+				Pattern.compile(target + "\\s*(?<increment>\\+\\+)"), //
+				Pattern.compile("(?<increment>\\+\\+)\\s*" + target), //
+				Pattern.compile(target + "\\s*=\\s*Math\\.(?<function>min|max)\\(" + same + "," + operand + "\\)"), //
+				Pattern.compile(target + "\\s*=\\s*Math\\.(?<function>min|max)\\(" + operand + "," + same + "\\)"));
+	}
+
+	/**
+	 * A single accumulation of a property of the initial document.
+	 *
+	 * @author agent
+	 */
+	private static class Accumulator {
+
+		private final String target;
+		private final String operator;
+		private final Object operand;
+
+		private Accumulator(String target, String operator, Object operand) {
+
+			this.target = target;
+			this.operator = operator;
+			this.operand = operand;
+		}
+
+		static Accumulator from(Matcher matcher) {
+
+			String target = matcher.group("target");
+			String function = group(matcher, "function");
+
+			if (group(matcher, "increment") != null) {
+				return new Accumulator(target, "$sum", 1);
+			}
+
+			String source = group(matcher, "source");
+			Object operand = source != null ? "$" + source : JavaScriptFunction.parseNumber(matcher.group("number"));
+
+			return new Accumulator(target, function != null ? "$" + function : "$sum", operand);
+		}
+
+		private static String group(Matcher matcher, String name) {
+
+			try {
+				return matcher.group(name);
+			} catch (IllegalArgumentException e) {
+				return null;
+			}
+		}
+
+		String getTarget() {
+			return target;
+		}
+
+		String getOperator() {
+			return operator;
+		}
+
+		Object getOperand() {
+			return operand;
+		}
+
+		/**
+		 * Combines the initial value with the accumulated value referenced by {@code reference}.
+		 *
+		 * @param initialValue must not be {@literal null}.
+		 * @param reference must not be {@literal null}.
+		 * @return
+		 */
+		Object combineWith(Number initialValue, String reference) {
+
+			if ("$sum".equals(operator)) {
+				return initialValue.doubleValue() == 0 ? reference
+						: new Document("$add", Arrays.<Object> asList(initialValue, reference));
+			}
+
+			return new Document(operator, Arrays.<Object> asList(initialValue, reference));
+		}
+	}
+}
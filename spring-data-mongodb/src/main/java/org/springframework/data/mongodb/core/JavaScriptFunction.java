@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Structural view of a simple JavaScript function source, i.e. its parameter names and its top-level statements.
+ * Used to recognize common shapes of server-side functions so they can be expressed through the aggregation framework.
+ * This is no JavaScript parser. Functions containing comments or string literals are not recognized at all.
+ *
+ * @author agent
+ * @since 2.0
+ */
+class JavaScriptFunction {
+
+	static final String IDENTIFIER = "[A-Za-z_$][\\w$]*";
+	static final String NUMBER = "-?\\d+(?:\\.\\d+)?";
+
+	private static final Pattern FUNCTION = Pattern.compile(
+			"^\\s*function\\s*(?:" + IDENTIFIER + ")?\\s*\\(([^)]*)\\)\\s*\\{(.*)\\}\\s*;?\\s*$", Pattern.DOTALL);
+	private static final Pattern PARAMETER = Pattern.compile("^" + IDENTIFIER + "$");
+	private static final Pattern UNSUPPORTED = Pattern.compile("['\"`]|//|/\\*");
+
+	private final List<String> parameters;
+	private final List<String> statements;
+
+	private JavaScriptFunction(List<String> parameters, List<String> statements) {
+
+		this.parameters = parameters;
+		this.statements = statements;
+	}
+
+	/**
+	 * Parses the given function source.
+	 *
+	 * @param source can be {@literal null}.
+	 * @return the parsed function or {@link Optional#empty()} if the source is not a simple function.
+	 */
+	static Optional<JavaScriptFunction> parse(String source) {
+
+		if (!StringUtils.hasText(source)) {
+			return Optional.empty();
+		}
+
+		Matcher matcher = FUNCTION.matcher(source);
+
+		if (!matcher.matches() || UNSUPPORTED.matcher(matcher.group(2)).find()) {
+			return Optional.empty();
+		}
+
+		List<String> parameters = new ArrayList<String>();
+
+		if (StringUtils.hasText(matcher.group(1))) {
+
+			for (String parameter : matcher.group(1).split(",")) {
+
+				String name = parameter.trim();
+
+				if (!PARAMETER.matcher(name).matches()) {
+					return Optional.empty();
+				}
+
+				parameters.add(name);
+			}
+		}
+
+		List<String> statements = splitStatements(matcher.group(2));
+
+		if (statements == null) {
+			return Optional.empty();
+		}
+
+		return Optional.of(new JavaScriptFunction(Collections.unmodifiableList(parameters),
+				Collections.unmodifiableList(statements)));
+	}
+
+	/**
+	 * Splits the given function body into its top-level statements separated by semicolons or line breaks.
+	 *
+	 * @param body must not be {@literal null}.
+	 * @return the statements or {@literal null} if the body contains unbalanced brackets.
+	 */
+	private static List<String> splitStatements(String body) {
+
+		List<String> statements = new ArrayList<String>();
+		StringBuilder current = new StringBuilder();
+		int depth = 0;
+
+		for (char c : body.toCharArray()) {
+
+			if (c == '(' || c == '[' || c == '{') {
+				depth++;
+			} else if (c == ')' || c == ']' || c == '}') {
+				depth--;
+			}
+
+			if (depth < 0) {
+				return null;
+			}
+
+			if (depth == 0 && (c == ';' || c == '\n' || c == '\r')) {
+				addStatement(current, statements);
+			} else {
+				current.append(c);
+			}
+		}
+
+		if (depth != 0) {
+			return null;
+		}
+
+		addStatement(current, statements);
+		return statements;
+	}
+
+	private static void addStatement(StringBuilder current, List<String> statements) {
+
+		if (StringUtils.hasText(current)) {
+			statements.add(current.toString().trim());
+		}
+
+		current.setLength(0);
+	}
+
+	/**
+	 * @return the parameter names in declaration order.
+	 */
+	List<String> getParameters() {
+		return parameters;
+	}
+
+	/**
+	 * @return the trimmed, non-empty top-level statements without their terminating semicolon.
+	 */
+	List<String> getStatements() {
+		return statements;
+	}
+
+	/**
+	 * Returns whether the function declares exactly the given number of parameters.
+	 *
+	 * @param count
+	 * @return
+	 */
+	boolean hasParameterCount(int count) {
+		return parameters.size() == count;
+	}
+
+	/**
+	 * Returns the regular expression matching a property path rooted at the given variable, capturing the path without
+	 * the variable within the group of the given name.
+	 *
+	 * @param variable must not be {@literal null}.
+	 * @param group must not be {@literal null}.
+	 * @return
+	 */
+	static String propertyPath(String variable, String group) {
+		return Pattern.quote(variable) + "\\.(?<" + group + ">" + IDENTIFIER + "(?:\\." + IDENTIFIER + ")*)";
+	}
+
+	/**
+	 * Returns the regular expression matching a single property rooted at the given variable, capturing the property
+	 * name within the group of the given name.
+	 *
+	 * @param variable must not be {@literal null}.
+	 * @param group must not be {@literal null}.
+	 * @return
+	 */
+	static String property(String variable, String group) {
+		return Pattern.quote(variable) + "\\.(?<" + group + ">" + IDENTIFIER + ")";
+	}
+
+	/**
+	 * Parses the given numeric literal.
+	 *
+	 * @param literal must not be {@literal null}.
+	 * @return {@link Integer}, {@link Long} or {@link Double} value.
+	 */
+	static Number parseNumber(String literal) {
+
+		if (literal.contains(".")) {
+			return Double.valueOf(literal);
+		}
+
+		long value = Long.parseLong(literal);
+		return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (Number) Integer.valueOf((int) value) : value;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("function (%s) { %s }", StringUtils.collectionToDelimitedString(parameters, ", "),
+				StringUtils.collectionToDelimitedString(statements, "; "));
+	}
+}
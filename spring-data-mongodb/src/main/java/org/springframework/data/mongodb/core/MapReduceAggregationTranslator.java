@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapreduce.MapReduceOptions;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import com.mongodb.MapReduceCommand.OutputType;
+
+/**
+ * Translates map and reduce functions of common shape into an equivalent {@code $group} stage producing documents
+ * shaped like map-reduce output, i.e. {@code { _id : key, value : reduced }}. Translation is possible for map functions
+ * emitting a single property as key along with either a numeric literal or a property as value, e.g.
+ * {@code function() { emit(this.category, 1) }} or {@code function() { emit(this.category, this.amount) }}, combined
+ * with a reduce function that
+ * <ul>
+ * <li>sums up the values, e.g. {@code return Array.sum(values)} or by accumulating the values within a {@code for}
+ * loop or {@code forEach} callback.</li>
+ * <li>determines the minimum or maximum, e.g. {@code return Math.max.apply(Math, values)}.</li>
+ * </ul>
+ * Unlike the JavaScript engine, the aggregation framework ignores missing and non-numeric values when accumulating.
+ * {@link MapReduceOptions} requiring a finalize function, scope variables, extra options or writing to a different
+ * database, to a sharded collection or merging with an existing collection are not translated.
+ *
+ * @author agent
+ * @since 2.0
+ */
+class MapReduceAggregationTranslator {
+
+	private static final String ID = JavaScriptFunction.IDENTIFIER;
+
+	private static final Pattern EMIT = Pattern.compile("emit\\(\\s*" + JavaScriptFunction.propertyPath("this", "key")
+			+ "\\s*,\\s*(?:" + JavaScriptFunction.propertyPath("this", "value") + "|(?<number>" + JavaScriptFunction.NUMBER
+			+ "))\\s*\\)");
+
+	private static final Pattern ARRAY_SUM = Pattern
+			.compile("return\\s+Array\\.sum\\(\\s*(?<values>" + ID + ")\\s*\\)");
+	private static final Pattern MIN_MAX = Pattern.compile("return\\s+Math\\.(?<function>min|max)\\.apply\\("
+			+ "\\s*(?:Math|null|this)\\s*,\\s*(?<values>" + ID + ")\\s*\\)");
+
+	private static final Pattern VARIABLE_INIT = Pattern.compile("var\\s+(?<variable>" + ID + ")\\s*=\\s*0");
+	private static final Pattern FOR_EACH = Pattern.compile("(?<values>" + ID + ")\\.forEach\\(\\s*function\\s*\\("
+			+ "\\s*(?<element>" + ID + ")\\s*\\)\\s*\\{\\s*(?<variable>" + ID + ")\\s*\\+=\\s*\\k<element>\\s*;?\\s*\\}\\s*\\)");
+	private static final Pattern FOR_LOOP = Pattern.compile("for\\s*\\(\\s*var\\s+(?<index>" + ID
+			+ ")\\s*=\\s*0\\s*;\\s*\\k<index>\\s*<\\s*(?<values>" + ID
+			+ ")\\.length\\s*;\\s*\\k<index>\\+\\+\\s*\\)\\s*\\{?\\s*(?<variable>" + ID
+			+ ")\\s*\\+=\\s*\\k<values>\\[\\s*\\k<index>\\s*\\]\\s*;?\\s*\\}?");
+	private static final Pattern RETURN = Pattern.compile("return\\s+(?<variable>" + ID + ")");
+
+	private MapReduceAggregationTranslator() {}
+
+	/**
+	 * Returns whether the given {@link MapReduceOptions} can be applied to an aggregation.
+	 *
+	 * @param options can be {@literal null}.
+	 * @return
+	 */
+	static boolean isTranslatable(MapReduceOptions options) {
+
+		if (options == null) {
+			return true;
+		}
+
+		if (options.getFinalizeFunction().filter(StringUtils::hasText).isPresent()
+				|| !CollectionUtils.isEmpty(options.getScopeVariables())
+				|| !CollectionUtils.isEmpty(options.getExtraOptions()) || options.getOutputDatabase().isPresent()
+				|| options.getOutputSharded().isPresent()) {
+			return false;
+		}
+
+		return !StringUtils.hasText(options.getOutputCollection()) || options.getOutputType() == OutputType.INLINE
+				|| options.getOutputType() == OutputType.REPLACE;
+	}
+
+	/**
+	 * Translates the given map and reduce function into a {@code $group} stage.
+	 *
+	 * @param mapFunction can be {@literal null}.
+	 * @param reduceFunction can be {@literal null}.
+	 * @return the {@code $group} stage or {@link Optional#empty()} if the functions cannot be translated.
+	 */
+	static Optional<Document> translate(String mapFunction, String reduceFunction) {
+
+		Optional<JavaScriptFunction> map = JavaScriptFunction.parse(mapFunction);
+		Optional<String> operator = JavaScriptFunction.parse(reduceFunction)
+				.flatMap(MapReduceAggregationTranslator::parseReduceFunction);
+
+		if (!map.isPresent() || !operator.isPresent() || !map.get().hasParameterCount(0)
+				|| map.get().getStatements().size() != 1) {
+			return Optional.empty();
+		}
+
+		Matcher matcher = EMIT.matcher(map.get().getStatements().get(0));
+
+		if (!matcher.matches()) {
+			return Optional.empty();
+		}
+
+		Object operand = matcher.group("value") != null ? "$" + matcher.group("value")
+				: JavaScriptFunction.parseNumber(matcher.group("number"));
+
+		return Optional.of(new Document("$group", new Document("_id", "$" + matcher.group("key")).append("value",
+				new Document(operator.get(), operand))));
+	}
+
+	/**
+	 * Returns the accumulator operator the given reduce function corresponds to.
+	 *
+	 * @param function must not be {@literal null}.
+	 * @return
+	 */
+	private static Optional<String> parseReduceFunction(JavaScriptFunction function) {
+
+		if (!function.hasParameterCount(2)) {
+			return Optional.empty();
+		}
+
+		String values = function.getParameters().get(1);
+		List<String> statements = function.getStatements();
+
+		if (statements.size() == 1) {
+
+			Matcher sum = ARRAY_SUM.matcher(statements.get(0));
+
+			if (sum.matches() && values.equals(sum.group("values"))) {
+				return Optional.of("$sum");
+			}
+
+			Matcher minMax = MIN_MAX.matcher(statements.get(0));
+
+			if (minMax.matches() && values.equals(minMax.group("values"))) {
+				return Optional.of("$" + minMax.group("function"));
+			}
+
+			return Optional.empty();
+		}
+
+		if (statements.size() != 3) {
+			return Optional.empty();
+		}
+
+		Matcher init = VARIABLE_INIT.matcher(statements.get(0));
+		Matcher result = RETURN.matcher(statements.get(2));
+		Matcher loop = FOR_EACH.matcher(statements.get(1));
+
+		if (!loop.matches()) {
+			loop = FOR_LOOP.matcher(statements.get(1));
+		}
+
+		if (!init.matches() || !result.matches() || !loop.matches()) {
+			return Optional.empty();
+		}
+
+		String variable = init.group("variable");
+
+		if (!variable.equals(loop.group("variable")) || !variable.equals(result.group("variable"))
+				|| !values.equals(loop.group("values"))) {
+			return Optional.empty();
+		}
+
+		return Optional.of("$sum");
+	}
+}
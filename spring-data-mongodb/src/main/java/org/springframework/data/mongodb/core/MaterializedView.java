@@ -0,0 +1,263 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.OutOperation;
+import org.springframework.util.Assert;
+
+/**
+ * Definition of a materialized view: the documents of a source collection processed by an aggregation pipeline and
+ * stored within a target collection. Views are refreshed incrementally by aggregating only source documents with a
+ * value of the {@link #getHighWaterMarkField() high-water mark field} greater than the one recorded during the previous
+ * refresh. The high-water mark field is expected to grow monotonically, e.g. an {@link org.bson.types.ObjectId} or an
+ * insertion timestamp.
+ * <p>
+ * Incremental results are merged into the target collection by their {@literal _id}. Fields registered via
+ * {@link #mergeBySum(String...)}, {@link #mergeByMin(String...)} or {@link #mergeByMax(String...)} are combined with
+ * the values already present, all other fields are overwritten.
+ * <p>
+ * Refreshes of a view are serialized across processes by a lock stored along with the refresh state. The lock expires
+ * after the {@link #getRefreshTimeout() refresh timeout} so that a crashed refresh does not block the view forever.
+ *
+ * @author agent
+ * @since 2.0
+ * @see MaterializedViewOperations
+ */
+public class MaterializedView {
+
+	/**
+	 * How values of incremental results are merged with the values already present in the target collection.
+	 */
+	public enum MergeMode {
+		SUM, MIN, MAX
+	}
+
+	static final Duration DEFAULT_REFRESH_TIMEOUT = Duration.ofMinutes(10);
+
+	private final String name;
+	private final String sourceCollection;
+	private final List<AggregationOperation> pipeline;
+	private final String targetCollection;
+	private final String highWaterMarkField;
+	private final Map<String, MergeMode> mergeModes;
+	private final Duration refreshTimeout;
+
+	private MaterializedView(String name, String sourceCollection, List<AggregationOperation> pipeline,
+			String targetCollection, String highWaterMarkField, Map<String, MergeMode> mergeModes,
+			Duration refreshTimeout) {
+
+		this.name = name;
+		this.sourceCollection = sourceCollection;
+		this.pipeline = pipeline;
+		this.targetCollection = targetCollection;
+		this.highWaterMarkField = highWaterMarkField;
+		this.mergeModes = mergeModes;
+		this.refreshTimeout = refreshTimeout;
+	}
+
+	/**
+	 * Creates a new {@link MaterializedView} named {@code name} aggregating {@code sourceCollection} using the given
+	 * pipeline into a collection named {@code name}, tracking the high-water mark by {@literal _id}.
+	 *
+	 * @param name must not be {@literal null} or empty.
+	 * @param sourceCollection must not be {@literal null} or empty.
+	 * @param pipeline must not be {@literal null} and must not contain an {@link OutOperation}.
+	 * @return new instance of {@link MaterializedView}.
+	 */
+	public static MaterializedView of(String name, String sourceCollection, AggregationOperation... pipeline) {
+
+		Assert.notNull(pipeline, "Pipeline must not be null!");
+
+		return of(name, sourceCollection, Arrays.asList(pipeline));
+	}
+
+	/**
+	 * Creates a new {@link MaterializedView} named {@code name} aggregating {@code sourceCollection} using the given
+	 * pipeline into a collection named {@code name}, tracking the high-water mark by {@literal _id}.
+	 *
+	 * @param name must not be {@literal null} or empty.
+	 * @param sourceCollection must not be {@literal null} or empty.
+	 * @param pipeline must not be {@literal null} and must not contain an {@link OutOperation}.
+	 * @return new instance of {@link MaterializedView}.
+	 */
+	public static MaterializedView of(String name, String sourceCollection,
+			List<? extends AggregationOperation> pipeline) {
+
+		Assert.hasText(name, "Name must not be null or empty!");
+		Assert.hasText(sourceCollection, "Source collection must not be null or empty!");
+		Assert.notNull(pipeline, "Pipeline must not be null!");
+
+		for (AggregationOperation operation : pipeline) {
+
+			Assert.notNull(operation, "Pipeline must not contain null operations!");
+			Assert.isTrue(!(operation instanceof OutOperation), "Pipeline must not contain an $out stage!");
+		}
+
+		return new MaterializedView(name, sourceCollection,
+				Collections.unmodifiableList(new ArrayList<AggregationOperation>(pipeline)), name, "_id",
+				Collections.<String, MergeMode> emptyMap(), DEFAULT_REFRESH_TIMEOUT);
+	}
+
+	/**
+	 * Store the view within the given collection.
+	 *
+	 * @param targetCollection must not be {@literal null} or empty.
+	 * @return new instance of {@link MaterializedView}.
+	 */
+	public MaterializedView into(String targetCollection) {
+
+		Assert.hasText(targetCollection, "Target collection must not be null or empty!");
+
+		return new MaterializedView(name, sourceCollection, pipeline, targetCollection, highWaterMarkField, mergeModes,
+				refreshTimeout);
+	}
+
+	/**
+	 * Track the high-water mark using the given field of the source documents.
+	 *
+	 * @param highWaterMarkField must not be {@literal null} or empty.
+	 * @return new instance of {@link MaterializedView}.
+	 */
+	public MaterializedView trackedBy(String highWaterMarkField) {
+
+		Assert.hasText(highWaterMarkField, "High-water mark field must not be null or empty!");
+
+		return new MaterializedView(name, sourceCollection, pipeline, targetCollection, highWaterMarkField, mergeModes,
+				refreshTimeout);
+	}
+
+	/**
+	 * Add the values of the given fields of incremental results to the values already present.
+	 *
+	 * @param fields must not be {@literal null}.
+	 * @return new instance of {@link MaterializedView}.
+	 */
+	public MaterializedView mergeBySum(String... fields) {
+		return merge(MergeMode.SUM, fields);
+	}
+
+	/**
+	 * Retain the minimum of the values of the given fields of incremental results and the values already present.
+	 *
+	 * @param fields must not be {@literal null}.
+	 * @return new instance of {@link MaterializedView}.
+	 */
+	public MaterializedView mergeByMin(String... fields) {
+		return merge(MergeMode.MIN, fields);
+	}
+
+	/**
+	 * Retain the maximum of the values of the given fields of incremental results and the values already present.
+	 *
+	 * @param fields must not be {@literal null}.
+	 * @return new instance of {@link MaterializedView}.
+	 */
+	public MaterializedView mergeByMax(String... fields) {
+		return merge(MergeMode.MAX, fields);
+	}
+
+	private MaterializedView merge(MergeMode mode, String... fields) {
+
+		Assert.notNull(fields, "Fields must not be null!");
+
+		Map<String, MergeMode> mergeModes = new LinkedHashMap<String, MergeMode>(this.mergeModes);
+
+		for (String field : fields) {
+
+			Assert.hasText(field, "Field must not be null or empty!");
+			Assert.isTrue(!"_id".equals(field), "Cannot merge _id field!");
+
+			mergeModes.put(field, mode);
+		}
+
+		return new MaterializedView(name, sourceCollection, pipeline, targetCollection, highWaterMarkField,
+				Collections.unmodifiableMap(mergeModes), refreshTimeout);
+	}
+
+	/**
+	 * Hold the refresh lock for at most the given duration. Refreshes taking longer lose the lock and fail, the next
+	 * refresh rebuilds the view. Defaults to 10 minutes.
+	 *
+	 * @param refreshTimeout must not be {@literal null}, zero or negative.
+	 * @return new instance of {@link MaterializedView}.
+	 */
+	public MaterializedView refreshTimeout(Duration refreshTimeout) {
+
+		Assert.notNull(refreshTimeout, "Refresh timeout must not be null!");
+		Assert.isTrue(!refreshTimeout.isNegative() && !refreshTimeout.isZero(), "Refresh timeout must be positive!");
+
+		return new MaterializedView(name, sourceCollection, pipeline, targetCollection, highWaterMarkField, mergeModes,
+				refreshTimeout);
+	}
+
+	/**
+	 * @return the name of the view.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the name of the collection to aggregate.
+	 */
+	public String getSourceCollection() {
+		return sourceCollection;
+	}
+
+	/**
+	 * @return the aggregation pipeline applied to source documents.
+	 */
+	public List<AggregationOperation> getPipeline() {
+		return pipeline;
+	}
+
+	/**
+	 * @return the name of the collection storing the view.
+	 */
+	public String getTargetCollection() {
+		return targetCollection;
+	}
+
+	/**
+	 * @return the source document field tracking the high-water mark.
+	 */
+	public String getHighWaterMarkField() {
+		return highWaterMarkField;
+	}
+
+	/**
+	 * @return the {@link MergeMode}s by field name.
+	 */
+	public Map<String, MergeMode> getMergeModes() {
+		return mergeModes;
+	}
+
+	/**
+	 * @return the maximum duration the refresh lock is held.
+	 */
+	public Duration getRefreshTimeout() {
+		return refreshTimeout;
+	}
+}
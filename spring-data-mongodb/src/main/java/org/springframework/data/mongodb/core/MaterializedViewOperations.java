@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Operations to maintain a {@link MaterializedView}. Refresh state is persisted within the database so that refreshes
+ * continue where the previous one stopped, also across application restarts. Refreshes and rebuilds of a view are
+ * serialized through a lock stored along with the refresh state, so that only one process refreshes a view at a time.
+ *
+ * @author agent
+ * @since 2.0
+ * @see MongoOperations#materializedViewOps(MaterializedView)
+ */
+public interface MaterializedViewOperations {
+
+	/**
+	 * Aggregate source documents added since the previous refresh and merge the results into the target collection. The
+	 * first refresh of a view aggregates all source documents into the target collection using {@literal $out}. A
+	 * refresh following one that failed while merging rebuilds the view, as the partially merged results cannot be
+	 * told apart.
+	 *
+	 * @return the {@link MaterializedViewStatus} after the refresh.
+	 * @throws org.springframework.dao.CannotAcquireLockException if the view is being refreshed by someone else.
+	 */
+	MaterializedViewStatus refresh();
+
+	/**
+	 * Aggregate all source documents replacing the target collection using {@literal $out}.
+	 *
+	 * @return the {@link MaterializedViewStatus} after the rebuild.
+	 * @throws org.springframework.dao.CannotAcquireLockException if the view is being refreshed by someone else.
+	 */
+	MaterializedViewStatus rebuild();
+
+	/**
+	 * Obtain the current {@link MaterializedViewStatus} including the number of pending source documents.
+	 *
+	 * @return never {@literal null}.
+	 */
+	MaterializedViewStatus getStatus();
+
+	/**
+	 * Schedule periodic {@link #refresh() refreshes} with the given delay between the completion of one refresh and the
+	 * start of the next one.
+	 *
+	 * @param scheduler must not be {@literal null}.
+	 * @param delay must not be {@literal null} or negative.
+	 * @return the {@link ScheduledFuture} to cancel scheduled refreshes.
+	 */
+	ScheduledFuture<?> scheduleRefresh(TaskScheduler scheduler, Duration delay);
+}
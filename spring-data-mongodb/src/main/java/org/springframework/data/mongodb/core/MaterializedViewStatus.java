@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Value object capturing the refresh state of a {@link MaterializedView}.
+ *
+ * @author agent
+ * @since 2.0
+ */
+public class MaterializedViewStatus {
+
+	private final String name;
+	private final Optional<Object> highWaterMark;
+	private final Optional<Instant> lastRefresh;
+	private final Duration lastRefreshDuration;
+	private final long lastRefreshDocuments;
+	private final long refreshCount;
+	private final long pendingDocuments;
+
+	MaterializedViewStatus(String name, Optional<Object> highWaterMark, Optional<Instant> lastRefresh,
+			Duration lastRefreshDuration, long lastRefreshDocuments, long refreshCount, long pendingDocuments) {
+
+		this.name = name;
+		this.highWaterMark = highWaterMark;
+		this.lastRefresh = lastRefresh;
+		this.lastRefreshDuration = lastRefreshDuration;
+		this.lastRefreshDocuments = lastRefreshDocuments;
+		this.refreshCount = refreshCount;
+		this.pendingDocuments = pendingDocuments;
+	}
+
+	/**
+	 * @return the name of the view.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the value of the high-water mark field of the most recent source document included in the view.
+	 */
+	public Optional<Object> getHighWaterMark() {
+		return highWaterMark;
+	}
+
+	/**
+	 * @return the time the view was refreshed most recently.
+	 */
+	public Optional<Instant> getLastRefresh() {
+		return lastRefresh;
+	}
+
+	/**
+	 * @return the time it took to refresh the view most recently.
+	 */
+	public Duration getLastRefreshDuration() {
+		return lastRefreshDuration;
+	}
+
+	/**
+	 * @return the number of source documents aggregated by the most recent refresh.
+	 */
+	public long getLastRefreshDocuments() {
+		return lastRefreshDocuments;
+	}
+
+	/**
+	 * @return the total number of refreshes.
+	 */
+	public long getRefreshCount() {
+		return refreshCount;
+	}
+
+	/**
+	 * @return the number of source documents not yet included in the view, {@literal -1} if unknown.
+	 */
+	public long getPendingDocuments() {
+		return pendingDocuments;
+	}
+
+	/**
+	 * Returns the time elapsed since the most recent refresh.
+	 *
+	 * @return the elapsed time or {@link Optional#empty()} if the view has not been refreshed yet.
+	 */
+	public Optional<Duration> getTimeSinceLastRefresh() {
+		return lastRefresh.map(it -> Duration.between(it, Instant.now()));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format(
+				"MaterializedViewStatus [name=%s, highWaterMark=%s, lastRefresh=%s, lastRefreshDuration=%s, "
+						+ "lastRefreshDocuments=%s, refreshCount=%s, pendingDocuments=%s]",
+				name, highWaterMark.orElse(null), lastRefresh.orElse(null), lastRefreshDuration, lastRefreshDocuments,
+				refreshCount, pendingDocuments);
+	}
+}
@@ -17,14 +17,17 @@ package org.springframework.data.mongodb.core;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.bson.Document;
+import org.springframework.data.geo.GeoResult;
 import org.springframework.data.geo.GeoResults;
 import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
 import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.PreparedAggregation;
 import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.index.IndexOperations;
@@ -171,6 +174,43 @@ public interface MongoOperations extends FluentMongoOperations {
 	 */
 	<T> CloseableIterator<T> stream(Query query, Class<T> entityType, String collectionName);
 
+	/**
+	 * Executes the given {@link Query} on the given collection using a {@link com.mongodb.CursorType#TailableAwait
+	 * tailable} cursor. The cursor is reopened according to the given {@link TailOptions} whenever it dies or fails with
+	 * a resource failure, resuming after the last document seen.
+	 * <p>
+	 * Returns a {@link CloseableIterator} that blocks in {@link CloseableIterator#hasNext()} until the next document
+	 * arrives. It returns {@literal false} once closed or once {@link TailOptions#getMaxRetries()} is exceeded and needs
+	 * to be closed.
+	 *
+	 * @param <T> element return type
+	 * @param query must not be {@literal null} and must neither define skip nor limit.
+	 * @param entityType must not be {@literal null}.
+	 * @param collectionName must not be {@literal null} or empty.
+	 * @param options must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @since 2.0
+	 */
+	<T> CloseableIterator<T> tail(Query query, Class<T> entityType, String collectionName, TailOptions options);
+
+	/**
+	 * Executes the given {@link Query} on the given collection using a resumable
+	 * {@link com.mongodb.CursorType#TailableAwait tailable} cursor returning batches of documents. Each batch contains the
+	 * documents available from the cursor at the time, up to {@link TailOptions#getBatchSize()}, so consumers can process
+	 * and acknowledge documents batch-wise.
+	 *
+	 * @param <T> element return type
+	 * @param query must not be {@literal null} and must neither define skip nor limit.
+	 * @param entityType must not be {@literal null}.
+	 * @param collectionName must not be {@literal null} or empty.
+	 * @param options must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @since 2.0
+	 * @see #tail(Query, Class, String, TailOptions)
+	 */
+	<T> CloseableIterator<List<T>> tailBatches(Query query, Class<T> entityType, String collectionName,
+			TailOptions options);
+
 	/**
 	 * Create an uncapped collection with a name based on the provided entity class.
 	 *
@@ -282,6 +322,15 @@ public interface MongoOperations extends FluentMongoOperations {
 	 */
 	ScriptOperations scriptOps();
 
+	/**
+	 * Returns the {@link MaterializedViewOperations} to incrementally maintain the given {@link MaterializedView}.
+	 *
+	 * @param view must not be {@literal null}.
+	 * @return never {@literal null}.
+	 * @since 2.0
+	 */
+	MaterializedViewOperations materializedViewOps(MaterializedView view);
+
 	/**
 	 * Returns a new {@link BulkOperations} for the given collection. <br />
 	 * <strong>NOTE:</strong> Any additional support for field mapping, etc. is not available for {@literal update} or
@@ -422,6 +471,60 @@ public interface MongoOperations extends FluentMongoOperations {
 	 */
 	<O> AggregationResults<O> aggregate(Aggregation aggregation, String collectionName, Class<O> outputType);
 
+	/**
+	 * Render and map the given {@link TypedAggregation} once into a {@link PreparedAggregation} for repeated execution
+	 * via {@link #aggregate(PreparedAggregation, Map, Class)}. The name of the input collection is derived from the input
+	 * type of the aggregation.
+	 *
+	 * @param aggregation The {@link TypedAggregation} specification holding the aggregation operations and
+	 *          {@link org.springframework.data.mongodb.core.aggregation.AggregationParameter parameters}, must not be
+	 *          {@literal null}.
+	 * @return the {@link PreparedAggregation}.
+	 * @since 2.0
+	 */
+	PreparedAggregation prepareAggregation(TypedAggregation<?> aggregation);
+
+	/**
+	 * Render and map the given {@link TypedAggregation} once into a {@link PreparedAggregation} for repeated execution
+	 * via {@link #aggregate(PreparedAggregation, Map, Class)}.
+	 *
+	 * @param aggregation The {@link TypedAggregation} specification holding the aggregation operations and
+	 *          {@link org.springframework.data.mongodb.core.aggregation.AggregationParameter parameters}, must not be
+	 *          {@literal null}.
+	 * @param collectionName the collection where the aggregation operation will read from, must not be {@literal null} or
+	 *          empty.
+	 * @return the {@link PreparedAggregation}.
+	 * @since 2.0
+	 */
+	PreparedAggregation prepareAggregation(TypedAggregation<?> aggregation, String collectionName);
+
+	/**
+	 * Render the given {@link Aggregation} once into a {@link PreparedAggregation} for repeated execution via
+	 * {@link #aggregate(PreparedAggregation, Map, Class)}.
+	 *
+	 * @param aggregation The {@link Aggregation} specification holding the aggregation operations and
+	 *          {@link org.springframework.data.mongodb.core.aggregation.AggregationParameter parameters}, must not be
+	 *          {@literal null}.
+	 * @param collectionName the collection where the aggregation operation will read from, must not be {@literal null} or
+	 *          empty.
+	 * @return the {@link PreparedAggregation}.
+	 * @since 2.0
+	 */
+	PreparedAggregation prepareAggregation(Aggregation aggregation, String collectionName);
+
+	/**
+	 * Execute a {@link PreparedAggregation} binding the given parameter values. The raw results will be mapped to the
+	 * given entity class.
+	 *
+	 * @param aggregation the {@link PreparedAggregation} to execute, must not be {@literal null}.
+	 * @param parameters values for all parameters of the aggregation by parameter name, must not be {@literal null}.
+	 * @param outputType The parameterized type of the returned list, must not be {@literal null}.
+	 * @return The results of the aggregation operation.
+	 * @throws IllegalArgumentException if a parameter value is missing, unknown or not of the declared type.
+	 * @since 2.0
+	 */
+	<O> AggregationResults<O> aggregate(PreparedAggregation aggregation, Map<String, ?> parameters, Class<O> outputType);
+
 	/**
 	 * Execute an aggregation operation backed by a Mongo DB {@link Cursor}.
 	 * <p>
@@ -577,6 +680,34 @@ public interface MongoOperations extends FluentMongoOperations {
 	 */
 	<T> GeoResults<T> geoNear(NearQuery near, Class<T> entityClass, String collectionName);
 
+	/**
+	 * Executes the given {@link NearQuery} as {@code $geoNear} aggregation and returns a {@link CloseableIterator} over
+	 * the {@link GeoResult}s backed by the aggregation cursor. Unlike {@link #geoNear(NearQuery, Class)}, results are
+	 * fetched in batches and converted one by one while iterating, and {@link NearQuery#skip(long) skip} is applied on
+	 * the server. Will consider entity mapping information to determine the collection the query is ran against. The
+	 * returned {@link CloseableIterator} needs to be closed.
+	 *
+	 * @param near must not be {@literal null}.
+	 * @param entityClass must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @since 2.0
+	 */
+	<T> CloseableIterator<GeoResult<T>> geoNearStream(NearQuery near, Class<T> entityClass);
+
+	/**
+	 * Executes the given {@link NearQuery} as {@code $geoNear} aggregation against the given collection and returns a
+	 * {@link CloseableIterator} over the {@link GeoResult}s backed by the aggregation cursor. Results are fetched in
+	 * batches and converted one by one while iterating, and {@link NearQuery#skip(long) skip} is applied on the server.
+	 * The returned {@link CloseableIterator} needs to be closed.
+	 *
+	 * @param near must not be {@literal null}.
+	 * @param entityClass must not be {@literal null}.
+	 * @param collectionName name of the collection to query, must not be {@literal null} or empty.
+	 * @return will never be {@literal null}.
+	 * @since 2.0
+	 */
+	<T> CloseableIterator<GeoResult<T>> geoNearStream(NearQuery near, Class<T> entityClass, String collectionName);
+
 	/**
 	 * Map the results of an ad-hoc query on the collection for the entity class to a single instance of an object of the
 	 * specified type.
@@ -874,6 +1005,17 @@ public interface MongoOperations extends FluentMongoOperations {
 	 */
 	void insertAll(Collection<? extends Object> objectsToSave);
 
+	/**
+	 * Insert a mixed {@link Iterable} of objects into database collections determining the collection name to use based
+	 * on the class. Elements are consumed lazily and written in chunks as configured by the given
+	 * {@link BatchInsertOptions}, which allows to insert very large or streamed sources without materializing them.
+	 *
+	 * @param objectsToSave the objects to save, must not be {@literal null}.
+	 * @param options the {@link BatchInsertOptions} to apply, must not be {@literal null}.
+	 * @since 2.0
+	 */
+	void insertAll(Iterable<? extends Object> objectsToSave, BatchInsertOptions options);
+
 	/**
 	 * Save the object to the collection for the entity type of the object to save. This will perform an insert if the
 	 * object is not already present, that is an 'upsert'.
@@ -909,6 +1051,22 @@ public interface MongoOperations extends FluentMongoOperations {
 	 */
 	void save(Object objectToSave, String collectionName);
 
+	/**
+	 * Save the given objects to the specified collection using a single bulk write. New objects are inserted, existing
+	 * ones are replaced (upserted) by their id. Versioned objects are only replaced if the stored version matches the
+	 * current one and, as with {@link #save(Object, String)}, not re-created if deleted meanwhile. Concurrent
+	 * modifications and deletions do not fail the entire batch but are reported per object via
+	 * {@link BulkOptimisticLockingFailureException} once all other objects have been saved. The versions of the
+	 * affected objects are reset to their previous value.
+	 *
+	 * @param objectsToSave the objects to save, must not be {@literal null}.
+	 * @param collectionName name of the collection to store the objects in, must not be {@literal null} or empty.
+	 * @return the saved objects.
+	 * @throws BulkOptimisticLockingFailureException if one or more versioned objects have been modified concurrently.
+	 * @since 2.0
+	 */
+	<T> List<T> saveAll(Collection<? extends T> objectsToSave, String collectionName);
+
 	/**
 	 * Performs an upsert. If no document is found that matches the query, a new document is created and inserted by
 	 * combining the query document and the update document.
@@ -1104,6 +1262,33 @@ public interface MongoOperations extends FluentMongoOperations {
 	 */
 	<T> List<T> findAllAndRemove(Query query, Class<T> entityClass, String collectionName);
 
+	/**
+	 * Returns and removes all documents matching the given query form the collection used to store the entityClass.
+	 * Matches are read in batches through a cursor and each batch is removed by its ids before its elements are returned
+	 * by the {@link CloseableIterator}, so neither the number of elements held in memory nor the size of the remove query
+	 * depend on the number of matches. The {@link CloseableIterator} needs to be closed.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param entityClass must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @since 2.0
+	 */
+	<T> CloseableIterator<T> streamAllAndRemove(Query query, Class<T> entityClass);
+
+	/**
+	 * Returns and removes all documents matching the given query form the given collection. Matches are read in batches
+	 * through a cursor and each batch is removed by its ids before its elements are returned by the
+	 * {@link CloseableIterator}, so neither the number of elements held in memory nor the size of the remove query depend
+	 * on the number of matches. The {@link CloseableIterator} needs to be closed.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param entityClass must not be {@literal null}.
+	 * @param collectionName must not be {@literal null} or empty.
+	 * @return will never be {@literal null}.
+	 * @since 2.0
+	 */
+	<T> CloseableIterator<T> streamAllAndRemove(Query query, Class<T> entityClass, String collectionName);
+
 	/**
 	 * Returns the underlying {@link MongoConverter}.
 	 *
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.springframework.data.mongodb.core.query.Criteria.*;
+import static org.springframework.data.mongodb.core.query.Query.*;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ResumeTokenStore} keeping resume tokens in a MongoDB collection, one document per key.
+ *
+ * @author agent
+ * @since 2.0
+ */
+public class MongoResumeTokenStore implements ResumeTokenStore {
+
+	static final String DEFAULT_COLLECTION = "resumeTokens";
+	private static final String TOKEN_FIELD = "token";
+
+	private final ReactiveMongoOperations operations;
+	private final String collectionName;
+
+	/**
+	 * Creates a new {@link MongoResumeTokenStore} storing tokens in the {@literal resumeTokens} collection.
+	 *
+	 * @param operations must not be {@literal null}.
+	 */
+	public MongoResumeTokenStore(ReactiveMongoOperations operations) {
+		this(operations, DEFAULT_COLLECTION);
+	}
+
+	/**
+	 * Creates a new {@link MongoResumeTokenStore} storing tokens in the given collection.
+	 *
+	 * @param operations must not be {@literal null}.
+	 * @param collectionName must not be {@literal null} or empty.
+	 */
+	public MongoResumeTokenStore(ReactiveMongoOperations operations, String collectionName) {
+
+		Assert.notNull(operations, "ReactiveMongoOperations must not be null!");
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+
+		this.operations = operations;
+		this.collectionName = collectionName;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ResumeTokenStore#load(java.lang.String)
+	 */
+	@Override
+	public Mono<Document> load(String key) {
+
+		Assert.notNull(key, "Key must not be null!");
+
+		return operations.findOne(query(where("_id").is(key)), Document.class, collectionName)
+				.flatMap(document -> Mono.justOrEmpty(document.get(TOKEN_FIELD, Document.class)));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ResumeTokenStore#save(java.lang.String, org.bson.Document)
+	 */
+	@Override
+	public Mono<Void> save(String key, Document resumeToken) {
+
+		Assert.notNull(key, "Key must not be null!");
+		Assert.notNull(resumeToken, "Resume token must not be null!");
+
+		return operations.upsert(query(where("_id").is(key)),
+				Update.update(TOKEN_FIELD, resumeToken).set("updated", new Date()), collectionName).then();
+	}
+}
@@ -23,20 +23,32 @@ import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.bson.Document;
 import org.bson.conversions.Bson;
@@ -68,6 +80,7 @@ import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
 import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
 import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
 import org.springframework.data.mongodb.core.DefaultBulkOperations.BulkOperationContext;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
@@ -75,6 +88,7 @@ import org.springframework.data.mongodb.core.aggregation.AggregationOperationCon
 import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
 import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.aggregation.Fields;
+import org.springframework.data.mongodb.core.aggregation.PreparedAggregation;
 import org.springframework.data.mongodb.core.aggregation.TypeBasedAggregationOperationContext;
 import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.convert.DbRefResolver;
@@ -110,11 +124,13 @@ import org.springframework.data.mongodb.core.query.Meta;
 import org.springframework.data.mongodb.core.query.NearQuery;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.util.BsonUtils;
 import org.springframework.data.mongodb.util.MongoClientVersion;
 import org.springframework.data.util.CloseableIterator;
 import org.springframework.data.util.Optionals;
 import org.springframework.data.util.Pair;
 import org.springframework.jca.cci.core.ConnectionCallback;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
@@ -122,25 +138,32 @@ import org.springframework.util.ResourceUtils;
 import org.springframework.util.StringUtils;
 
 import com.mongodb.Cursor;
+import com.mongodb.CursorType;
 import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
+import com.mongodb.MapReduceCommand;
 import com.mongodb.Mongo;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoClient;
 import com.mongodb.MongoException;
 import com.mongodb.ReadPreference;
 import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.AggregateIterable;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MapReduceIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.MongoIterable;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.CountOptions;
 import com.mongodb.client.model.CreateCollectionOptions;
 import com.mongodb.client.model.DeleteOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.FindOneAndDeleteOptions;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.InsertManyOptions;
 import com.mongodb.client.model.ReturnDocument;
 import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.result.DeleteResult;
@@ -173,6 +196,8 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(MongoTemplate.class);
 	private static final String ID_FIELD = "_id";
+	private static final int REMOVE_BATCH_SIZE = 1000;
+	static final String GEO_NEAR_DISTANCE_FIELD = "__distance";
 	private static final WriteResultChecking DEFAULT_WRITE_RESULT_CHECKING = WriteResultChecking.NONE;
 	private static final Collection<String> ITERABLE_CLASSES;
 
@@ -200,6 +225,7 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	private ApplicationEventPublisher eventPublisher;
 	private ResourceLoader resourceLoader;
 	private MongoPersistentEntityIndexCreator indexCreator;
+	private BatchInsertOptions batchInsertOptions = BatchInsertOptions.defaults();
 
 	/**
 	 * Constructor used for a basic template configuration
@@ -288,6 +314,17 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		this.readPreference = readPreference;
 	}
 
+	/**
+	 * Configures the {@link BatchInsertOptions} used to split batch inserts into chunks. Setting {@literal null} will
+	 * reset the default of {@link BatchInsertOptions#defaults()}.
+	 *
+	 * @param batchInsertOptions
+	 * @since 2.0
+	 */
+	public void setBatchInsertOptions(BatchInsertOptions batchInsertOptions) {
+		this.batchInsertOptions = batchInsertOptions == null ? BatchInsertOptions.defaults() : batchInsertOptions;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.context.ApplicationContextAware#setApplicationContext(org.springframework.context.ApplicationContext)
@@ -383,6 +420,69 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		});
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#tail(org.springframework.data.mongodb.core.query.Query, java.lang.Class, java.lang.String, org.springframework.data.mongodb.core.TailOptions)
+	 */
+	@Override
+	public <T> CloseableIterator<T> tail(Query query, Class<T> entityType, String collectionName, TailOptions options) {
+		return new TailingCursorAdapter<T>(doTail(query, entityType, collectionName, options),
+				new ReadDocumentCallback<T>(mongoConverter, entityType, collectionName));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#tailBatches(org.springframework.data.mongodb.core.query.Query, java.lang.Class, java.lang.String, org.springframework.data.mongodb.core.TailOptions)
+	 */
+	@Override
+	public <T> CloseableIterator<List<T>> tailBatches(Query query, Class<T> entityType, String collectionName,
+			TailOptions options) {
+		return new TailingBatchCursorAdapter<T>(doTail(query, entityType, collectionName, options),
+				new ReadDocumentCallback<T>(mongoConverter, entityType, collectionName), options.getBatchSize());
+	}
+
+	/**
+	 * Create a {@link ResumableTailingCursor} reopening a {@link CursorType#TailableAwait tailable} cursor for the given
+	 * {@link Query} after the last seen document. The cursor is opened lazily.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param entityType must not be {@literal null}.
+	 * @param collectionName must not be {@literal null} or empty.
+	 * @param options must not be {@literal null}.
+	 * @return
+	 */
+	protected ResumableTailingCursor doTail(Query query, Class<?> entityType, String collectionName,
+			TailOptions options) {
+
+		Assert.notNull(query, "Query must not be null!");
+		Assert.notNull(entityType, "Entity type must not be null!");
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+		Assert.notNull(options, "TailOptions must not be null!");
+		Assert.isTrue(query.getSkip() <= 0 && query.getLimit() <= 0, "Resumable tailing does not support skip or limit!");
+
+		MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(entityType);
+
+		Document mappedQuery = queryMapper.getMappedObject(query.getQueryObject(), entity);
+		Document mappedFields = options.getResumeFields(queryMapper.getMappedFields(query.getFieldsObject(), entity));
+		CursorPreparer preparer = new QueryCursorPreparer(query, entityType);
+
+		return new ResumableTailingCursor(lastSeen -> execute(collectionName, collection -> {
+
+			Document resumeQuery = options.getResumeQuery(mappedQuery, lastSeen);
+
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Tailing collection: {} using query: {} fields: {}", collectionName,
+						serializeToJsonSafely(resumeQuery), mappedFields);
+			}
+
+			FindIterable<Document> cursor = preparer.prepare(collection.find(resumeQuery).projection(mappedFields))
+					.cursorType(CursorType.TailableAwait)
+					.maxAwaitTime(options.getMaxBatchWait().toMillis(), TimeUnit.MILLISECONDS);
+
+			return cursor.iterator();
+		}), options, exceptionTranslator);
+	}
+
 	public String getCollectionName(Class<?> entityClass) {
 		return this.determineCollectionName(entityClass);
 	}
@@ -583,6 +683,15 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		return new DefaultScriptOperations(this);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#materializedViewOps(org.springframework.data.mongodb.core.MaterializedView)
+	 */
+	@Override
+	public MaterializedViewOperations materializedViewOps(MaterializedView view) {
+		return new DefaultMaterializedViewOperations(this, view);
+	}
+
 	// Find methods that take a Query to express the query and that return a single object.
 
 	public <T> T findOne(Query query, Class<T> entityClass) {
@@ -722,6 +831,54 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		return new GeoResults<T>(result, new Distance(stats.getAverageDistance(), near.getMetric()));
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#geoNearStream(org.springframework.data.mongodb.core.query.NearQuery, java.lang.Class)
+	 */
+	@Override
+	public <T> CloseableIterator<GeoResult<T>> geoNearStream(NearQuery near, Class<T> entityClass) {
+		return geoNearStream(near, entityClass, determineCollectionName(entityClass));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#geoNearStream(org.springframework.data.mongodb.core.query.NearQuery, java.lang.Class, java.lang.String)
+	 */
+	@Override
+	public <T> CloseableIterator<GeoResult<T>> geoNearStream(NearQuery near, Class<T> entityClass,
+			String collectionName) {
+
+		Assert.notNull(near, "NearQuery must not be null!");
+		Assert.notNull(entityClass, "Entity class must not be null!");
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+
+		List<Document> pipeline = createGeoNearPipeline(near, queryMapper, getPersistentEntity(entityClass));
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Executing geoNear aggregation: {} for class: {} in collection: {}",
+					serializeToJsonSafely(pipeline), entityClass, collectionName);
+		}
+
+		DocumentCallback<GeoResult<T>> callback = new GeoNearAggregationResultDocumentCallback<T>(
+				new ReadDocumentCallback<T>(mongoConverter, entityClass, collectionName), near.getMetric());
+
+		return execute(collectionName, new CollectionCallback<CloseableIterator<GeoResult<T>>>() {
+
+			@Override
+			public CloseableIterator<GeoResult<T>> doInCollection(MongoCollection<Document> collection)
+					throws MongoException, DataAccessException {
+
+				AggregateIterable<Document> cursor = collection.aggregate(pipeline).useCursor(true);
+
+				if (near.getCollation().isPresent()) {
+					cursor = cursor.collation(near.getCollation().map(Collation::toMongoCollation).get());
+				}
+
+				return new CloseableIterableCursorAdapter<GeoResult<T>>(cursor.iterator(), exceptionTranslator, callback);
+			}
+		});
+	}
+
 	public <T> T findAndModify(Query query, Update update, Class<T> entityClass) {
 		return findAndModify(query, update, new FindAndModifyOptions(), entityClass, determineCollectionName(entityClass));
 	}
@@ -926,40 +1083,109 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		doInsertAll(objectsToSave, this.mongoConverter);
 	}
 
-	protected <T> void doInsertAll(Collection<? extends T> listToSave, MongoWriter<T> writer) {
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#insertAll(java.lang.Iterable, org.springframework.data.mongodb.core.BatchInsertOptions)
+	 */
+	@Override
+	public void insertAll(Iterable<? extends Object> objectsToSave, BatchInsertOptions options) {
 
-		Map<String, List<T>> elementsByCollection = new HashMap<String, List<T>>();
+		Assert.notNull(objectsToSave, "Objects to save must not be null!");
+		Assert.notNull(options, "BatchInsertOptions must not be null!");
 
-		for (T element : listToSave) {
+		doInsertAll(objectsToSave, options, this.mongoConverter);
+	}
 
-			if (element == null) {
-				continue;
-			}
+	protected <T> void doInsertAll(Collection<? extends T> listToSave, MongoWriter<T> writer) {
+		doInsertAll(listToSave, this.batchInsertOptions, writer);
+	}
 
-			MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(element.getClass());
+	protected <T> void doInsertAll(Iterable<? extends T> source, BatchInsertOptions options, MongoWriter<T> writer) {
+		doInsertChunked(source, element -> mappingContext.getRequiredPersistentEntity(element.getClass()).getCollection(),
+				options, writer);
+	}
 
-			String collection = entity.getCollection();
-			List<T> collectionElements = elementsByCollection.get(collection);
+	/**
+	 * Insert the given batch into the given collection. Batches exceeding {@link BatchInsertOptions#getMaxChunkSize()}
+	 * are split into chunks, each of which is passed to this method again, so that {@link #insert(Collection, String)}
+	 * and {@link #insertAll(Iterable, BatchInsertOptions)} hand every chunk written to this method.
+	 *
+	 * @param collectionName the collection to insert into.
+	 * @param batchToSave the elements to insert.
+	 * @param writer the {@link MongoWriter} to convert elements with.
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T> void doInsertBatch(String collectionName, Collection<? extends T> batchToSave, MongoWriter<T> writer) {
 
-			if (null == collectionElements) {
-				collectionElements = new ArrayList<T>();
-				elementsByCollection.put(collection, collectionElements);
-			}
+		if (batchToSave instanceof InsertChunk) {
 
-			collectionElements.add(element);
+			InsertChunk<T> chunk = (InsertChunk<T>) batchToSave;
+			doInsertChunk(collectionName, chunk, chunk.options, writer);
+			return;
 		}
 
-		for (Map.Entry<String, List<T>> entry : elementsByCollection.entrySet()) {
-			doInsertBatch(entry.getKey(), entry.getValue(), this.mongoConverter);
-		}
+		doInsertChunked(batchToSave, element -> collectionName, this.batchInsertOptions, writer);
 	}
 
-	protected <T> void doInsertBatch(String collectionName, Collection<? extends T> batchToSave, MongoWriter<T> writer) {
+	/**
+	 * Insert the elements of the given {@link Iterable} grouped by their target collection. Elements are consumed lazily
+	 * and each group is passed to {@link #doInsertBatch(String, Collection, MongoWriter)} in chunks bounded by
+	 * {@link BatchInsertOptions#getMaxChunkSize()}, so only the chunks in flight are held in memory.
+	 *
+	 * @param source the elements to insert.
+	 * @param collectionNameFunction resolves the collection name for an element.
+	 * @param options the chunking options.
+	 * @param writer the {@link MongoWriter} to convert elements with.
+	 */
+	private <T> void doInsertChunked(Iterable<? extends T> source, Function<T, String> collectionNameFunction,
+			BatchInsertOptions options, MongoWriter<T> writer) {
 
 		Assert.notNull(writer, "MongoWriter must not be null!");
 
-		List<Document> documentList = new ArrayList<Document>();
-		for (T o : batchToSave) {
+		InsertChunkDispatcher dispatcher = new InsertChunkDispatcher(options);
+		Map<String, InsertChunk<T>> chunksByCollection = new LinkedHashMap<String, InsertChunk<T>>();
+
+		try {
+
+			for (T element : source) {
+
+				if (element == null) {
+					continue;
+				}
+
+				if (dispatcher.hasFailed()) {
+					break;
+				}
+
+				String collectionName = collectionNameFunction.apply(element);
+				InsertChunk<T> chunk = chunksByCollection.computeIfAbsent(collectionName,
+						key -> new InsertChunk<T>(options));
+				chunk.add(element);
+
+				if (chunk.size() >= options.getMaxChunkSize()) {
+
+					chunksByCollection.remove(collectionName);
+					dispatcher.dispatch(() -> doInsertBatch(collectionName, chunk, writer));
+				}
+			}
+
+			for (Entry<String, InsertChunk<T>> entry : chunksByCollection.entrySet()) {
+				dispatcher.dispatch(() -> doInsertBatch(entry.getKey(), entry.getValue(), writer));
+			}
+		} catch (RuntimeException o_O) {
+
+			dispatcher.awaitQuietly();
+			throw o_O;
+		}
+
+		dispatcher.await();
+	}
+
+	private <T> void doInsertChunk(String collectionName, List<T> chunk, BatchInsertOptions options,
+			MongoWriter<T> writer) {
+
+		List<Document> documentList = new ArrayList<Document>(chunk.size());
+		for (T o : chunk) {
 
 			initializeVersionProperty(o);
 			maybeEmitEvent(new BeforeConvertEvent<T>(o, collectionName));
@@ -970,15 +1196,36 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 			documentList.add(document);
 		}
 
-		List<Object> ids = consolidateIdentifiers(insertDocumentList(collectionName, documentList), documentList);
+		InsertManyOptions insertOptions = new InsertManyOptions().ordered(!options.isParallel());
+		List<ObjectId> objectIds = new ArrayList<ObjectId>(documentList.size());
+
+		int from = 0;
+		long bytes = 0;
+
+		for (int i = 0; i < documentList.size(); i++) {
+
+			long size = BsonUtils.estimateSize(documentList.get(i));
+
+			if (i > from && bytes + size > options.getMaxChunkBytes()) {
 
-		int i = 0;
-		for (T obj : batchToSave) {
-			if (i < ids.size()) {
-				populateIdIfNecessary(obj, ids.get(i));
-				maybeEmitEvent(new AfterSaveEvent<T>(obj, documentList.get(i), collectionName));
+				objectIds.addAll(insertDocumentList(collectionName, documentList.subList(from, i), insertOptions));
+				from = i;
+				bytes = 0;
 			}
-			i++;
+
+			bytes += size;
+		}
+
+		objectIds.addAll(
+				insertDocumentList(collectionName, documentList.subList(from, documentList.size()), insertOptions));
+
+		List<Object> ids = consolidateIdentifiers(objectIds, documentList);
+
+		for (int i = 0; i < chunk.size() && i < ids.size(); i++) {
+
+			T obj = chunk.get(i);
+			populateIdIfNecessary(obj, ids.get(i));
+			maybeEmitEvent(new AfterSaveEvent<T>(obj, documentList.get(i), collectionName));
 		}
 	}
 
@@ -1003,6 +1250,91 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		doSave(collectionName, objectToSave, this.mongoConverter);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#saveAll(java.util.Collection, java.lang.String)
+	 */
+	public <T> List<T> saveAll(Collection<? extends T> objectsToSave, String collectionName) {
+
+		Assert.notNull(objectsToSave, "Objects to save must not be null!");
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+
+		BulkSaveBatch<T> batch = new BulkSaveBatch<T>(collectionName, mongoConverter.getConversionService());
+
+		for (T objectToSave : objectsToSave) {
+
+			Assert.notNull(objectToSave, "Object to save must not be null!");
+
+			batch.add(objectToSave, getPersistentEntity(objectToSave.getClass()), it -> {
+
+				maybeEmitEvent(new BeforeConvertEvent<T>(it, collectionName));
+				assertUpdateableIdIfNotSet(it);
+
+				Document document = toDocument(it, this.mongoConverter);
+
+				maybeEmitEvent(new BeforeSaveEvent<T>(it, document, collectionName));
+				return document;
+			});
+		}
+
+		if (batch.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Saving list of Documents containing {} items in collection: {}", batch.getWriteModels().size(),
+					collectionName);
+		}
+
+		Set<Integer> conflicts = execute(collectionName, new CollectionCallback<Set<Integer>>() {
+			public Set<Integer> doInCollection(MongoCollection<Document> collection)
+					throws MongoException, DataAccessException {
+
+				MongoAction mongoAction = new MongoAction(writeConcern, MongoActionOperation.SAVE, collectionName, null, null,
+						null);
+				WriteConcern writeConcernToUse = prepareWriteConcern(mongoAction);
+				MongoCollection<Document> collectionToUse = writeConcernToUse == null ? collection
+						: collection.withWriteConcern(writeConcernToUse);
+
+				BulkWriteResult result;
+
+				try {
+					result = collectionToUse.bulkWrite(batch.getWriteModels(), new BulkWriteOptions().ordered(false));
+				} catch (MongoBulkWriteException e) {
+					result = batch.failed(e);
+				} catch (RuntimeException e) {
+
+					batch.rollbackVersions();
+					throw e;
+				}
+
+				Document conflictQuery = batch.getConflictQuery(result);
+
+				return conflictQuery == null ? Collections.<Integer> emptySet()
+						: batch.getConflicts(collection.withReadPreference(ReadPreference.primary()).find(conflictQuery)
+								.projection(batch.getConflictProjection()));
+			}
+		});
+
+		List<T> saved = batch.forEachSaved(conflicts, (obj, document) -> {
+
+			populateIdIfNecessary(obj, document.get(ID_FIELD));
+			maybeEmitEvent(new AfterSaveEvent<T>(obj, document, collectionName));
+		});
+
+		BulkOptimisticLockingFailureException failure = batch.rollbackConflicts(conflicts);
+
+		if (batch.getWriteFailure() != null) {
+			throw potentiallyConvertRuntimeException(batch.getWriteFailure(), exceptionTranslator);
+		}
+
+		if (failure != null) {
+			throw failure;
+		}
+
+		return saved;
+	}
+
 	private <T> T doSaveVersioned(T objectToSave, MongoPersistentEntity<?> entity, String collectionName) {
 
 		ConvertingPropertyAccessor convertingAccessor = new ConvertingPropertyAccessor(
@@ -1088,6 +1420,12 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	// TODO: 2.0 - Change method signature to return List<Object> and return all identifiers (DATAMONGO-1513,
 	// DATAMONGO-1519)
 	protected List<ObjectId> insertDocumentList(final String collectionName, final List<Document> documents) {
+		return insertDocumentList(collectionName, documents, new InsertManyOptions());
+	}
+
+	protected List<ObjectId> insertDocumentList(final String collectionName, final List<Document> documents,
+			final InsertManyOptions options) {
+
 		if (documents.isEmpty()) {
 			return Collections.emptyList();
 		}
@@ -1103,9 +1441,9 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 				WriteConcern writeConcernToUse = prepareWriteConcern(mongoAction);
 
 				if (writeConcernToUse == null) {
-					collection.insertMany(documents);
+					collection.insertMany(documents, options);
 				} else {
-					collection.withWriteConcern(writeConcernToUse).insertMany(documents);
+					collection.withWriteConcern(writeConcernToUse).insertMany(documents, options);
 				}
 
 				return null;
@@ -1462,6 +1800,22 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 
 		String mapFunc = replaceWithResourceIfNecessary(mapFunction);
 		String reduceFunc = replaceWithResourceIfNecessary(reduceFunction);
+
+		if (mapReduceOptions != null && mapReduceOptions.isAggregationPreferred()) {
+
+			Optional<Document> group = MapReduceAggregationTranslator.isTranslatable(mapReduceOptions)
+					? MapReduceAggregationTranslator.translate(mapFunc, reduceFunc) : Optional.empty();
+
+			if (group.isPresent()) {
+				return doMapReduceUsingAggregation(query, inputCollectionName, group.get(), mapReduceOptions, entityClass);
+			}
+
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Cannot translate MapReduce with map [{}] and reduce [{}] into an aggregation, "
+						+ "falling back to map-reduce", mapFunc, reduceFunc);
+			}
+		}
+
 		MongoCollection<Document> inputCollection = getCollection(inputCollectionName);
 
 		// MapReduceOp
@@ -1479,19 +1833,10 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 			result = result.filter(queryMapper.getMappedObject(query.getQueryObject(), Optional.empty()));
 		}
 
-		Optional<Collation> collation = query != null ? query.getCollation() : Optional.empty();
+		Optional<Collation> collation = getMapReduceCollation(query, mapReduceOptions);
 
 		if (mapReduceOptions != null) {
 
-			Optionals.ifAllPresent(collation, mapReduceOptions.getCollation(), (l, r) -> {
-				throw new IllegalArgumentException(
-						"Both Query and MapReduceOptions define a collation. Please provide the collation only via one of the two.");
-			});
-
-			if (mapReduceOptions.getCollation().isPresent()) {
-				collation = mapReduceOptions.getCollation();
-			}
-
 			if (!CollectionUtils.isEmpty(mapReduceOptions.getScopeVariables())) {
 				result = result.scope(new Document(mapReduceOptions.getScopeVariables()));
 			}
@@ -1521,75 +1866,303 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		return new MapReduceResults<T>(mappedResults, new Document());
 	}
 
-	public <T> GroupByResults<T> group(String inputCollectionName, GroupBy groupBy, Class<T> entityClass) {
-		return group(null, inputCollectionName, groupBy, entityClass);
+	private static Optional<Collation> getMapReduceCollation(Query query, MapReduceOptions mapReduceOptions) {
+
+		Optional<Collation> collation = query != null ? query.getCollation() : Optional.empty();
+
+		if (mapReduceOptions == null) {
+			return collation;
+		}
+
+		Optionals.ifAllPresent(collation, mapReduceOptions.getCollation(), (l, r) -> {
+			throw new IllegalArgumentException(
+					"Both Query and MapReduceOptions define a collation. Please provide the collation only via one of the two.");
+		});
+
+		return mapReduceOptions.getCollation().isPresent() ? mapReduceOptions.getCollation() : collation;
 	}
 
-	public <T> GroupByResults<T> group(Criteria criteria, String inputCollectionName, GroupBy groupBy,
-			Class<T> entityClass) {
+	/**
+	 * Runs a map-reduce operation translated into the given {@code $group} stage as aggregation. The input documents are
+	 * selected, sorted and limited according to the given {@link Query} and {@link MapReduceOptions}. Results are
+	 * written to the output collection using {@code $out} unless the output type is inline and read back from there, as
+	 * map-reduce does. Timing reports the total execution time only, as the aggregation has no separate map and emit
+	 * phases. Input and emit counts are only reported for inline output, as counting the input of {@code $out} output
+	 * would take another query.
+	 *
+	 * @param query can be {@literal null}.
+	 * @param inputCollectionName must not be {@literal null}.
+	 * @param group the {@code $group} stage, must not be {@literal null}.
+	 * @param mapReduceOptions must not be {@literal null}.
+	 * @param entityClass must not be {@literal null}.
+	 * @return
+	 * @see MapReduceAggregationTranslator
+	 */
+	private <T> MapReduceResults<T> doMapReduceUsingAggregation(Query query, String inputCollectionName, Document group,
+			MapReduceOptions mapReduceOptions, Class<T> entityClass) {
 
-		Document document = groupBy.getGroupByObject();
-		document.put("ns", inputCollectionName);
+		long start = System.currentTimeMillis();
 
-		if (criteria == null) {
-			document.put("cond", null);
-		} else {
-			document.put("cond", queryMapper.getMappedObject(criteria.getCriteriaObject(), Optional.empty()));
-		}
-		// If initial document was a JavaScript string, potentially loaded by Spring's Resource abstraction, load it and
-		// convert to Document
+		Optional<Collation> collation = getMapReduceCollation(query, mapReduceOptions);
+		Document filter = query != null ? queryMapper.getMappedObject(query.getQueryObject(), Optional.empty())
+				: new Document();
+		Document sort = query != null ? query.getSortObject() : null;
+		Integer limit = mapReduceOptions.getLimit() != null && mapReduceOptions.getLimit() > 0
+				? mapReduceOptions.getLimit() : query != null && query.getLimit() > 0 ? query.getLimit() : null;
 
-		if (document.containsKey("initial")) {
-			Object initialObj = document.get("initial");
-			if (initialObj instanceof String) {
-				String initialAsString = replaceWithResourceIfNecessary((String) initialObj);
-				document.put("initial", Document.parse(initialAsString));
-			}
-		}
+		String outputCollection = mapReduceOptions.getOutputType() != MapReduceCommand.OutputType.INLINE
+				? mapReduceOptions.getOutputCollection() : null;
+		boolean inline = !StringUtils.hasText(outputCollection);
 
-		if (document.containsKey("$reduce")) {
-			document.put("$reduce", replaceWithResourceIfNecessary(document.get("$reduce").toString()));
+		List<Document> pipeline = new ArrayList<Document>();
+
+		if (!filter.isEmpty()) {
+			pipeline.add(new Document("$match", filter));
 		}
-		if (document.containsKey("$keyf")) {
-			document.put("$keyf", replaceWithResourceIfNecessary(document.get("$keyf").toString()));
+
+		if (sort != null && !sort.isEmpty()) {
+			pipeline.add(new Document("$sort", sort));
 		}
-		if (document.containsKey("finalize")) {
-			document.put("finalize", replaceWithResourceIfNecessary(document.get("finalize").toString()));
+
+		if (limit != null) {
+			pipeline.add(new Document("$limit", limit));
 		}
 
-		Document commandObject = new Document("group", document);
+		if (inline) {
 
-		if (LOGGER.isDebugEnabled()) {
-			LOGGER.debug("Executing Group with Document [{}]", serializeToJsonSafely(commandObject));
-		}
+			Document groupWithCount = new Document(group.get("$group", Document.class));
+			groupWithCount.put(GroupByAggregationTranslator.COUNT_FIELD, new Document("$sum", 1));
 
-		Document commandResult = executeCommand(commandObject);
+			pipeline.add(new Document("$group", groupWithCount));
+		} else {
+
+			pipeline.add(group);
+			pipeline.add(new Document("$out", outputCollection));
+		}
 
 		if (LOGGER.isDebugEnabled()) {
-			LOGGER.debug("Group command result = [{}]", commandResult);
+			LOGGER.debug("Executing MapReduce as aggregation with pipeline [{}]", serializeToJsonSafely(pipeline));
 		}
 
-		@SuppressWarnings("unchecked")
-		Iterable<Document> resultSet = (Iterable<Document>) commandResult.get("retval");
-		List<T> mappedResults = new ArrayList<T>();
 		DocumentCallback<T> callback = new ReadDocumentCallback<T>(mongoConverter, entityClass, inputCollectionName);
 
-		for (Document resultDocument : resultSet) {
-			mappedResults.add(callback.doWith(resultDocument));
-		}
+		return execute(inputCollectionName, new CollectionCallback<MapReduceResults<T>>() {
 
-		return new GroupByResults<T>(mappedResults, commandResult);
-	}
+			@Override
+			public MapReduceResults<T> doInCollection(MongoCollection<Document> collection)
+					throws MongoException, DataAccessException {
 
-	/* (non-Javadoc)
-	 * @see org.springframework.data.mongodb.core.MongoOperations#aggregate(org.springframework.data.mongodb.core.aggregation.TypedAggregation, java.lang.Class)
-	 */
-	@Override
-	public <O> AggregationResults<O> aggregate(TypedAggregation<?> aggregation, Class<O> outputType) {
-		return aggregate(aggregation, determineCollectionName(aggregation.getInputType()), outputType);
-	}
+				AggregateIterable<Document> aggregation = collection.aggregate(pipeline).useCursor(true);
 
-	/* (non-Javadoc)
+				if (query != null && query.getMeta() != null && query.getMeta().getMaxTimeMsec() != null) {
+					aggregation = aggregation.maxTime(query.getMeta().getMaxTimeMsec(), TimeUnit.MILLISECONDS);
+				}
+
+				if (collation.isPresent()) {
+					aggregation = aggregation.collation(collation.map(Collation::toMongoCollation).get());
+				}
+
+				long inputCount = inline ? 0 : -1;
+				List<T> mappedResults = new ArrayList<T>();
+				MongoIterable<Document> results;
+
+				if (inline) {
+					results = aggregation;
+				} else {
+
+					aggregation.toCollection();
+					results = getCollection(outputCollection).find();
+				}
+
+				try (MongoCursor<Document> iterator = results.iterator()) {
+
+					while (iterator.hasNext()) {
+
+						Document document = iterator.next();
+
+						if (inline) {
+
+							Object count = document.remove(GroupByAggregationTranslator.COUNT_FIELD);
+
+							if (count instanceof Number) {
+								inputCount += ((Number) count).longValue();
+							}
+						}
+
+						mappedResults.add(callback.doWith(document));
+					}
+				}
+
+				long totalTime = System.currentTimeMillis() - start;
+
+				Document rawResults = new Document();
+
+				if (!inline) {
+					rawResults.put("result", outputCollection);
+				}
+
+				rawResults.put("timing", new Document("mapTime", 0L).append("emitLoop", 0L).append("total", totalTime));
+				rawResults.put("counts", new Document("input", inputCount).append("emit", inputCount).append("output",
+						(long) mappedResults.size()));
+				rawResults.put("ok", 1.0);
+
+				return new MapReduceResults<T>(mappedResults, rawResults);
+			}
+		});
+	}
+
+	public <T> GroupByResults<T> group(String inputCollectionName, GroupBy groupBy, Class<T> entityClass) {
+		return group(null, inputCollectionName, groupBy, entityClass);
+	}
+
+	public <T> GroupByResults<T> group(Criteria criteria, String inputCollectionName, GroupBy groupBy,
+			Class<T> entityClass) {
+
+		Document document = groupBy.getGroupByObject();
+		document.put("ns", inputCollectionName);
+
+		if (criteria == null) {
+			document.put("cond", null);
+		} else {
+			document.put("cond", queryMapper.getMappedObject(criteria.getCriteriaObject(), Optional.empty()));
+		}
+		// If initial document was a JavaScript string, potentially loaded by Spring's Resource abstraction, load it and
+		// convert to Document
+
+		if (document.containsKey("initial")) {
+			Object initialObj = document.get("initial");
+			if (initialObj instanceof String) {
+				String initialAsString = replaceWithResourceIfNecessary((String) initialObj);
+				document.put("initial", Document.parse(initialAsString));
+			}
+		}
+
+		if (document.containsKey("$reduce")) {
+			document.put("$reduce", replaceWithResourceIfNecessary(document.get("$reduce").toString()));
+		}
+		if (document.containsKey("$keyf")) {
+			document.put("$keyf", replaceWithResourceIfNecessary(document.get("$keyf").toString()));
+		}
+		if (document.containsKey("finalize")) {
+			document.put("finalize", replaceWithResourceIfNecessary(document.get("finalize").toString()));
+		}
+
+		if (groupBy.isAggregationPreferred()) {
+
+			Optional<List<Document>> pipeline = GroupByAggregationTranslator.translate(document);
+
+			if (pipeline.isPresent()) {
+				return doGroupUsingAggregation(pipeline.get(), inputCollectionName, document, entityClass);
+			}
+
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Cannot translate Group [{}] into an aggregation, falling back to group command",
+						serializeToJsonSafely(document));
+			}
+		}
+
+		Document commandObject = new Document("group", document);
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Executing Group with Document [{}]", serializeToJsonSafely(commandObject));
+		}
+
+		Document commandResult = executeCommand(commandObject);
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Group command result = [{}]", commandResult);
+		}
+
+		@SuppressWarnings("unchecked")
+		Iterable<Document> resultSet = (Iterable<Document>) commandResult.get("retval");
+		List<T> mappedResults = new ArrayList<T>();
+		DocumentCallback<T> callback = new ReadDocumentCallback<T>(mongoConverter, entityClass, inputCollectionName);
+
+		for (Document resultDocument : resultSet) {
+			mappedResults.add(callback.doWith(resultDocument));
+		}
+
+		return new GroupByResults<T>(mappedResults, commandResult);
+	}
+
+	/**
+	 * Runs the given aggregation pipeline translated from a group command and collects its results into a
+	 * {@link GroupByResults} shaped like the result of the {@code group} command.
+	 *
+	 * @param pipeline must not be {@literal null}.
+	 * @param inputCollectionName must not be {@literal null}.
+	 * @param groupByObject the group command the pipeline was translated from, must not be {@literal null}.
+	 * @param entityClass must not be {@literal null}.
+	 * @return
+	 * @see GroupByAggregationTranslator
+	 */
+	private <T> GroupByResults<T> doGroupUsingAggregation(List<Document> pipeline, String inputCollectionName,
+			Document groupByObject, Class<T> entityClass) {
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Executing Group as aggregation with pipeline [{}]", serializeToJsonSafely(pipeline));
+		}
+
+		Optional<Collation> collation = Optional.ofNullable(groupByObject.get("collation", Document.class))
+				.map(Collation::from);
+		DocumentCallback<T> callback = new ReadDocumentCallback<T>(mongoConverter, entityClass, inputCollectionName);
+
+		return execute(inputCollectionName, new CollectionCallback<GroupByResults<T>>() {
+
+			@Override
+			public GroupByResults<T> doInCollection(MongoCollection<Document> collection)
+					throws MongoException, DataAccessException {
+
+				AggregateIterable<Document> cursor = collection.aggregate(pipeline).useCursor(true);
+
+				if (collation.isPresent()) {
+					cursor = cursor.collation(collation.map(Collation::toMongoCollation).get());
+				}
+
+				List<T> mappedResults = new ArrayList<T>();
+				List<Document> rawResults = new ArrayList<Document>();
+				Document commandResult = new Document();
+				long count = 0;
+
+				try (MongoCursor<Document> iterator = cursor.iterator()) {
+
+					while (iterator.hasNext()) {
+
+						Document document = iterator.next();
+						Object groupCount = document.remove(GroupByAggregationTranslator.COUNT_FIELD);
+
+						if (groupCount instanceof Number) {
+							count += ((Number) groupCount).longValue();
+						}
+
+						rawResults.add(document);
+						mappedResults.add(callback.doWith(document));
+					}
+
+					if (iterator.getServerAddress() != null) {
+						commandResult.put("serverUsed", iterator.getServerAddress().toString());
+					}
+				}
+
+				commandResult.put("retval", rawResults);
+				commandResult.put("count", (double) count);
+				commandResult.put("keys", rawResults.size());
+				commandResult.put("ok", 1.0);
+
+				return new GroupByResults<T>(mappedResults, commandResult);
+			}
+		});
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#aggregate(org.springframework.data.mongodb.core.aggregation.TypedAggregation, java.lang.Class)
+	 */
+	@Override
+	public <O> AggregationResults<O> aggregate(TypedAggregation<?> aggregation, Class<O> outputType) {
+		return aggregate(aggregation, determineCollectionName(aggregation.getInputType()), outputType);
+	}
+
+	/* (non-Javadoc)
 	 * @see org.springframework.data.mongodb.core.MongoOperations#aggregate(org.springframework.data.mongodb.core.aggregation.TypedAggregation, java.lang.String, java.lang.Class)
 	 */
 	@Override
@@ -1700,12 +2273,36 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		List<T> result = find(query, entityClass, collectionName);
 
 		if (!CollectionUtils.isEmpty(result)) {
-			remove(getIdInQueryFor(result), entityClass, collectionName);
+
+			for (int i = 0; i < result.size(); i += REMOVE_BATCH_SIZE) {
+				remove(getIdInQueryFor(result.subList(i, Math.min(i + REMOVE_BATCH_SIZE, result.size()))), entityClass,
+						collectionName);
+			}
 		}
 
 		return result;
 	}
 
+	/* (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#streamAllAndRemove(org.springframework.data.mongodb.core.query.Query, java.lang.Class)
+	 */
+	@Override
+	public <T> CloseableIterator<T> streamAllAndRemove(Query query, Class<T> entityClass) {
+		return streamAllAndRemove(query, entityClass, determineCollectionName(entityClass));
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#streamAllAndRemove(org.springframework.data.mongodb.core.query.Query, java.lang.Class, java.lang.String)
+	 */
+	@Override
+	public <T> CloseableIterator<T> streamAllAndRemove(Query query, Class<T> entityClass, String collectionName) {
+
+		CloseableIterator<T> cursor = stream(query, entityClass, collectionName);
+
+		return new RemovingCloseableIterator<T>(cursor, REMOVE_BATCH_SIZE,
+				batch -> remove(getIdInQueryFor(batch), entityClass, collectionName));
+	}
+
 	protected <O> AggregationResults<O> aggregate(Aggregation aggregation, String collectionName, Class<O> outputType,
 			AggregationOperationContext context) {
 
@@ -1716,14 +2313,157 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		AggregationOperationContext rootContext = context == null ? Aggregation.DEFAULT_CONTEXT : context;
 		Document command = aggregation.toDocument(collectionName, rootContext);
 
+		return doAggregate(command, collectionName, !aggregation.getOptions().isSkipRawResults(), outputType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#prepareAggregation(org.springframework.data.mongodb.core.aggregation.TypedAggregation)
+	 */
+	@Override
+	public PreparedAggregation prepareAggregation(TypedAggregation<?> aggregation) {
+
+		Assert.notNull(aggregation, "Aggregation pipeline must not be null!");
+
+		return prepareAggregation(aggregation, determineCollectionName(aggregation.getInputType()));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#prepareAggregation(org.springframework.data.mongodb.core.aggregation.TypedAggregation, java.lang.String)
+	 */
+	@Override
+	public PreparedAggregation prepareAggregation(TypedAggregation<?> aggregation, String collectionName) {
+
+		Assert.notNull(aggregation, "Aggregation pipeline must not be null!");
+
+		return aggregation.prepare(collectionName,
+				new TypeBasedAggregationOperationContext(aggregation.getInputType(), mappingContext, queryMapper));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#prepareAggregation(org.springframework.data.mongodb.core.aggregation.Aggregation, java.lang.String)
+	 */
+	@Override
+	public PreparedAggregation prepareAggregation(Aggregation aggregation, String collectionName) {
+
+		Assert.notNull(aggregation, "Aggregation pipeline must not be null!");
+
+		return aggregation.prepare(collectionName, Aggregation.DEFAULT_CONTEXT);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#aggregate(org.springframework.data.mongodb.core.aggregation.PreparedAggregation, java.util.Map, java.lang.Class)
+	 */
+	@Override
+	public <O> AggregationResults<O> aggregate(PreparedAggregation aggregation, Map<String, ?> parameters,
+			Class<O> outputType) {
+
+		Assert.notNull(aggregation, "PreparedAggregation must not be null!");
+		Assert.notNull(outputType, "Output type must not be null!");
+
+		Document command = aggregation.bind(parameters, mongoConverter::convertToMongoType);
+
+		return doAggregate(command, aggregation.getInputCollectionName(),
+				!aggregation.getOptions().isSkipRawResults(), outputType);
+	}
+
+	private <O> AggregationResults<O> doAggregate(Document command, String collectionName, boolean retainRawResults,
+			Class<O> outputType) {
+
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("Executing aggregation: {}", serializeToJsonSafely(command));
 		}
 
-		Document commandResult = executeCommand(command, this.readPreference);
+		AggregationOptions options = AggregationOptions.fromDocument(command);
+
+		if (options.isExplain()) {
+
+			Document commandResult = executeCommand(command, this.readPreference);
+
+			return new AggregationResults<O>(returnPotentiallyMappedResults(outputType, commandResult, collectionName),
+					commandResult);
+		}
+
+		DocumentCallback<O> callback = new UnwrapAndReadDocumentCallback<O>(mongoConverter, outputType, collectionName);
+
+		return execute(collectionName, new CollectionCallback<AggregationResults<O>>() {
+
+			@Override
+			public AggregationResults<O> doInCollection(MongoCollection<Document> collection)
+					throws MongoException, DataAccessException {
+
+				List<Document> pipeline = (List<Document>) command.get("pipeline");
+
+				AggregateIterable<Document> cursor = collection.aggregate(pipeline).allowDiskUse(options.isAllowDiskUse())
+						.useCursor(true);
+
+				Integer cursorBatchSize = options.getCursorBatchSize();
+				if (cursorBatchSize != null) {
+					cursor = cursor.batchSize(cursorBatchSize);
+				}
+
+				if (options.getCollation().isPresent()) {
+					cursor = cursor.collation(options.getCollation().map(Collation::toMongoCollation).get());
+				}
+
+				List<O> mappedResults = new ArrayList<O>();
+				List<Document> rawResults = retainRawResults ? new ArrayList<Document>() : null;
+				Document commandResult = new Document();
+
+				if (endsWithOutStage(pipeline)) {
+
+					// $out writes to the output collection only, don't read it back into memory
+					cursor.toCollection();
+
+					if (rawResults != null) {
+						commandResult.put("result", rawResults);
+					}
 
-		return new AggregationResults<O>(returnPotentiallyMappedResults(outputType, commandResult, collectionName),
-				commandResult);
+					commandResult.put("ok", 1.0);
+
+					return new AggregationResults<O>(mappedResults, commandResult);
+				}
+
+				try (MongoCursor<Document> iterator = cursor.iterator()) {
+
+					while (iterator.hasNext()) {
+
+						Document document = iterator.next();
+
+						if (rawResults != null) {
+							rawResults.add(document);
+						}
+
+						mappedResults.add(callback.doWith(document));
+					}
+
+					if (iterator.getServerAddress() != null) {
+						commandResult.put("serverUsed", iterator.getServerAddress().toString());
+					}
+				}
+
+				if (rawResults != null) {
+					commandResult.put("result", rawResults);
+				}
+
+				commandResult.put("ok", 1.0);
+
+				return new AggregationResults<O>(mappedResults, commandResult);
+			}
+		});
+	}
+
+	/**
+	 * Returns whether the given aggregation pipeline ends with an {@literal $out} stage.
+	 *
+	 * @param pipeline can be {@literal null}.
+	 * @return
+	 */
+	static boolean endsWithOutStage(List<Document> pipeline) {
+		return pipeline != null && !pipeline.isEmpty() && pipeline.get(pipeline.size() - 1).containsKey("$out");
 	}
 
 	/**
@@ -2705,16 +3445,87 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	}
 
 	/**
-	 * A {@link CloseableIterator} that is backed by a MongoDB {@link Cursor}.
+	 * Creates the aggregation pipeline for the given {@link NearQuery}. The {@code $geoNear} stage limits the number of
+	 * results via {@code num} and reports the distance in {@link #GEO_NEAR_DISTANCE_FIELD}. Elements to skip are dropped
+	 * by a subsequent {@code $skip} stage so they are neither transferred nor converted.
 	 *
-	 * @since 1.7
-	 * @author Thomas Darimont
+	 * @param near must not be {@literal null}.
+	 * @param queryMapper must not be {@literal null}.
+	 * @param entity can be {@literal null}.
+	 * @return the pipeline.
+	 * @since 2.0
 	 */
-	@AllArgsConstructor(access = AccessLevel.PACKAGE)
-	static class CloseableIterableCursorAdapter<T> implements CloseableIterator<T> {
+	static List<Document> createGeoNearPipeline(NearQuery near, QueryMapper queryMapper,
+			MongoPersistentEntity<?> entity) {
 
-		private volatile MongoCursor<Document> cursor;
-		private PersistenceExceptionTranslator exceptionTranslator;
+		Document geoNear = near.toDocument();
+
+		// collation is an aggregation option and not allowed within the $geoNear stage
+		geoNear.remove("collation");
+
+		if (geoNear.containsKey("query")) {
+			geoNear.put("query", queryMapper.getMappedObject((Document) geoNear.get("query"), entity));
+		}
+
+		geoNear.put("distanceField", GEO_NEAR_DISTANCE_FIELD);
+
+		List<Document> pipeline = new ArrayList<Document>(2);
+		pipeline.add(new Document("$geoNear", geoNear));
+
+		if (near.getSkip() != null && near.getSkip() > 0) {
+			pipeline.add(new Document("$skip", near.getSkip()));
+		}
+
+		return pipeline;
+	}
+
+	/**
+	 * {@link DocumentCallback} that reads documents emitted by a {@code $geoNear} aggregation stage into
+	 * {@link GeoResult}s by extracting the distance from {@link #GEO_NEAR_DISTANCE_FIELD}. Shared with
+	 * {@link ReactiveMongoTemplate}.
+	 *
+	 * @author agent
+	 * @since 2.0
+	 */
+	static class GeoNearAggregationResultDocumentCallback<T> implements DocumentCallback<GeoResult<T>> {
+
+		private final DocumentCallback<T> delegate;
+		private final Metric metric;
+
+		/**
+		 * Creates a new {@link GeoNearAggregationResultDocumentCallback} using the given {@link DocumentCallback} delegate
+		 * for {@link GeoResult} content unmarshalling.
+		 *
+		 * @param delegate must not be {@literal null}.
+		 * @param metric the {@link Metric} to report distances in.
+		 */
+		GeoNearAggregationResultDocumentCallback(DocumentCallback<T> delegate, Metric metric) {
+
+			Assert.notNull(delegate, "DocumentCallback must not be null!");
+
+			this.delegate = delegate;
+			this.metric = metric;
+		}
+
+		public GeoResult<T> doWith(Document object) {
+
+			double distance = ((Number) object.remove(GEO_NEAR_DISTANCE_FIELD)).doubleValue();
+
+			return new GeoResult<T>(delegate.doWith(object), new Distance(distance, metric));
+		}
+	}
+
+	/**
+	 * A {@link CloseableIterator} that is backed by a MongoDB {@link Cursor}.
+	 *
+	 * @since 1.7
+	 * @author Thomas Darimont
+	 */
+	@AllArgsConstructor(access = AccessLevel.PACKAGE)
+	static class CloseableIterableCursorAdapter<T> implements CloseableIterator<T> {
+
+		private volatile MongoCursor<Document> cursor;
+		private PersistenceExceptionTranslator exceptionTranslator;
 		private DocumentCallback<T> objectReadCallback;
 
 		/**
@@ -2783,7 +3594,463 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		}
 	}
 
+	/**
+	 * Tailable cursor that is reopened after the last seen document once it dies or fails with a resumable error.
+	 * Reading blocks until at least one document is available.
+	 *
+	 * @author agent
+	 * @since 2.0
+	 */
+	static class ResumableTailingCursor {
+
+		private final Function<Object, MongoCursor<Document>> cursorFactory;
+		private final TailOptions options;
+		private final PersistenceExceptionTranslator exceptionTranslator;
+
+		private volatile MongoCursor<Document> cursor;
+		private volatile boolean closed;
+		private Object lastSeen;
+		private long attempts;
+
+		/**
+		 * Creates a new {@link ResumableTailingCursor}.
+		 *
+		 * @param cursorFactory opens a tailable cursor resuming after the given value of the resume field, which is
+		 *          {@literal null} for the initial cursor.
+		 * @param options
+		 * @param exceptionTranslator
+		 */
+		ResumableTailingCursor(Function<Object, MongoCursor<Document>> cursorFactory, TailOptions options,
+				PersistenceExceptionTranslator exceptionTranslator) {
+
+			this.cursorFactory = cursorFactory;
+			this.options = options;
+			this.exceptionTranslator = exceptionTranslator;
+		}
+
+		/**
+		 * Read the next batch of documents blocking until at least one document is available. Further documents are only
+		 * added if they are available without awaiting new data.
+		 *
+		 * @param maxSize maximum number of documents to return.
+		 * @return the next documents. Empty if closed or retries are exhausted.
+		 */
+		List<Document> nextBatch(int maxSize) {
+
+			while (!closed) {
+
+				try {
+
+					MongoCursor<Document> current = cursor;
+
+					if (current == null) {
+						current = cursor = cursorFactory.apply(lastSeen);
+					}
+
+					if (current.hasNext()) {
+
+						List<Document> batch = new ArrayList<Document>(Math.min(maxSize, 16));
+						Document next = current.next();
+
+						while (next != null) {
+
+							batch.add(next);
+
+							Object value = next.get(options.getResumeField());
+							if (value != null) {
+								lastSeen = value;
+							}
+
+							next = batch.size() < maxSize ? current.tryNext() : null;
+						}
+
+						attempts = 0;
+						return batch;
+					}
+
+					closeCursor();
+
+					if (!awaitBackoff()) {
+						return Collections.emptyList();
+					}
+				} catch (RuntimeException ex) {
+
+					closeCursor();
+
+					if (closed) {
+						return Collections.emptyList();
+					}
+
+					RuntimeException translated = translate(ex);
+
+					if (!TailOptions.isResumable(translated) || !awaitBackoff()) {
+						throw translated;
+					}
+
+					LOGGER.debug("Resuming tailing cursor after error", translated);
+				}
+			}
+
+			return Collections.emptyList();
+		}
+
+		/**
+		 * Translate the given exception. The {@link PersistenceExceptionTranslator} throws rather than returns the
+		 * translation for some error codes, which must not bypass the resume check.
+		 */
+		private RuntimeException translate(RuntimeException ex) {
+
+			try {
+
+				RuntimeException translated = exceptionTranslator.translateExceptionIfPossible(ex);
+				return translated == null ? ex : translated;
+			} catch (RuntimeException translated) {
+				return translated;
+			}
+		}
+
+		/**
+		 * Close the cursor. Threads blocked in {@link #nextBatch(int)} return an empty batch.
+		 */
+		void close() {
+
+			closed = true;
+			closeCursor();
+		}
+
+		private boolean awaitBackoff() {
+
+			if (attempts >= options.getMaxRetries()) {
+				return false;
+			}
+
+			try {
+				Thread.sleep(options.getBackoff(attempts++).toMillis());
+			} catch (InterruptedException e) {
+
+				Thread.currentThread().interrupt();
+				close();
+				return false;
+			}
+
+			return !closed;
+		}
+
+		private void closeCursor() {
+
+			MongoCursor<Document> c = cursor;
+			cursor = null;
+
+			if (c == null) {
+				return;
+			}
+
+			try {
+				c.close();
+			} catch (RuntimeException ex) {
+				LOGGER.debug("Failed to close tailing cursor", ex);
+			}
+		}
+	}
+
+	/**
+	 * {@link CloseableIterator} converting the documents of a {@link ResumableTailingCursor} one by one.
+	 *
+	 * @author agent
+	 * @since 2.0
+	 */
+	static class TailingCursorAdapter<T> implements CloseableIterator<T> {
+
+		private final ResumableTailingCursor cursor;
+		private final DocumentCallback<T> objectReadCallback;
+		private Document next;
+
+		TailingCursorAdapter(ResumableTailingCursor cursor, DocumentCallback<T> objectReadCallback) {
+
+			this.cursor = cursor;
+			this.objectReadCallback = objectReadCallback;
+		}
+
+		@Override
+		public boolean hasNext() {
+
+			if (next == null) {
+
+				List<Document> batch = cursor.nextBatch(1);
+				next = batch.isEmpty() ? null : batch.get(0);
+			}
+
+			return next != null;
+		}
+
+		@Override
+		public T next() {
+
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			Document document = next;
+			next = null;
+			return objectReadCallback.doWith(document);
+		}
+
+		@Override
+		public void close() {
+			cursor.close();
+		}
+	}
+
+	/**
+	 * {@link CloseableIterator} converting the documents of a {@link ResumableTailingCursor} batch-wise.
+	 *
+	 * @author agent
+	 * @since 2.0
+	 */
+	static class TailingBatchCursorAdapter<T> implements CloseableIterator<List<T>> {
+
+		private final ResumableTailingCursor cursor;
+		private final DocumentCallback<T> objectReadCallback;
+		private final int batchSize;
+		private List<Document> next = Collections.emptyList();
+
+		TailingBatchCursorAdapter(ResumableTailingCursor cursor, DocumentCallback<T> objectReadCallback, int batchSize) {
+
+			this.cursor = cursor;
+			this.objectReadCallback = objectReadCallback;
+			this.batchSize = batchSize;
+		}
+
+		@Override
+		public boolean hasNext() {
+
+			if (next.isEmpty()) {
+				next = cursor.nextBatch(batchSize);
+			}
+
+			return !next.isEmpty();
+		}
+
+		@Override
+		public List<T> next() {
+
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			List<T> result = new ArrayList<T>(next.size());
+
+			for (Document document : next) {
+				result.add(objectReadCallback.doWith(document));
+			}
+
+			next = Collections.emptyList();
+			return result;
+		}
+
+		@Override
+		public void close() {
+			cursor.close();
+		}
+	}
+
 	public MongoDbFactory getMongoDbFactory() {
 		return mongoDbFactory;
 	}
+
+	/**
+	 * A chunk of elements to insert along with the {@link BatchInsertOptions} it was split by.
+	 */
+	@SuppressWarnings("serial")
+	static class InsertChunk<T> extends ArrayList<T> {
+
+		private final BatchInsertOptions options;
+
+		InsertChunk(BatchInsertOptions options) {
+			this.options = options;
+		}
+	}
+
+	/**
+	 * Dispatches insert chunks either inline or, for parallel {@link BatchInsertOptions}, onto an {@link Executor} while
+	 * keeping at most {@link BatchInsertOptions#getParallelism()} chunks in flight. The first failure is retained and
+	 * stops further chunks from being dispatched.
+	 *
+	 * @author agent
+	 * @since 2.0
+	 */
+	static class InsertChunkDispatcher {
+
+		private final int parallelism;
+		private final Semaphore permits;
+		private final Executor executor;
+		private final ExecutorService ownedExecutor;
+		private final AtomicReference<RuntimeException> failure = new AtomicReference<RuntimeException>();
+
+		InsertChunkDispatcher(BatchInsertOptions options) {
+
+			this.parallelism = options.getParallelism();
+			this.permits = new Semaphore(parallelism);
+
+			if (!options.isParallel()) {
+
+				this.executor = null;
+				this.ownedExecutor = null;
+			} else if (options.getExecutor().isPresent()) {
+
+				this.executor = options.getExecutor().get();
+				this.ownedExecutor = null;
+			} else {
+
+				this.ownedExecutor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("mongo-insert-"));
+				this.executor = ownedExecutor;
+			}
+		}
+
+		boolean hasFailed() {
+			return failure.get() != null;
+		}
+
+		void dispatch(Runnable chunk) {
+
+			if (executor == null) {
+				chunk.run();
+				return;
+			}
+
+			acquire(1);
+
+			if (hasFailed()) {
+				permits.release();
+				return;
+			}
+
+			try {
+				executor.execute(() -> {
+
+					try {
+						chunk.run();
+					} catch (RuntimeException o_O) {
+						failure.compareAndSet(null, o_O);
+					} finally {
+						permits.release();
+					}
+				});
+			} catch (RejectedExecutionException o_O) {
+
+				permits.release();
+				throw o_O;
+			}
+		}
+
+		/**
+		 * Wait for all dispatched chunks to complete and rethrow the first failure, if any.
+		 */
+		void await() {
+
+			try {
+				if (executor != null) {
+					acquire(parallelism);
+					permits.release(parallelism);
+				}
+			} finally {
+				if (ownedExecutor != null) {
+					ownedExecutor.shutdown();
+				}
+			}
+
+			RuntimeException o_O = failure.get();
+			if (o_O != null) {
+				throw o_O;
+			}
+		}
+
+		void awaitQuietly() {
+
+			try {
+				await();
+			} catch (RuntimeException o_O) {
+				// the original exception takes precedence
+			}
+		}
+
+		private void acquire(int count) {
+
+			try {
+				permits.acquire(count);
+			} catch (InterruptedException o_O) {
+
+				Thread.currentThread().interrupt();
+				throw new UncategorizedMongoDbException("Interrupted while waiting for insert chunks to complete!", o_O);
+			}
+		}
+	}
+
+	/**
+	 * {@link CloseableIterator} reading elements from a delegate in batches. Each batch is handed to a remove callback
+	 * before its elements are returned.
+	 *
+	 * @author agent
+	 * @since 2.0
+	 */
+	static class RemovingCloseableIterator<T> implements CloseableIterator<T> {
+
+		private final CloseableIterator<T> delegate;
+		private final int batchSize;
+		private final Consumer<List<T>> removeCallback;
+		private final Queue<T> buffer;
+
+		RemovingCloseableIterator(CloseableIterator<T> delegate, int batchSize, Consumer<List<T>> removeCallback) {
+
+			this.delegate = delegate;
+			this.batchSize = batchSize;
+			this.removeCallback = removeCallback;
+			this.buffer = new ArrayDeque<T>(batchSize);
+		}
+
+		@Override
+		public boolean hasNext() {
+
+			if (buffer.isEmpty()) {
+				fetchAndRemoveBatch();
+			}
+
+			return !buffer.isEmpty();
+		}
+
+		@Override
+		public T next() {
+
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			return buffer.poll();
+		}
+
+		@Override
+		public void close() {
+			delegate.close();
+		}
+
+		private void fetchAndRemoveBatch() {
+
+			List<T> batch = new ArrayList<T>(batchSize);
+
+			while (batch.size() < batchSize && delegate.hasNext()) {
+
+				T element = delegate.next();
+
+				if (element != null) {
+					batch.add(element);
+				}
+			}
+
+			if (!batch.isEmpty()) {
+
+				removeCallback.accept(batch);
+				buffer.addAll(batch);
+			}
+		}
+	}
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.WriteModel;
+
+/**
+ * Reactive bulk operations for insert/update/remove actions on a collection. This interface defines a fluent API to
+ * add multiple single operations or list of similar operations in sequence which are then sent to the server in a
+ * single bulk write once {@link #execute()} is subscribed to. Write requests can also be streamed using
+ * {@link #execute(Publisher, int)}.
+ *
+ * @author agent
+ * @since 2.0
+ * @see BulkOperations
+ * @see BulkMode
+ */
+public interface ReactiveBulkOperations {
+
+	/**
+	 * Add a single insert to the bulk operation.
+	 *
+	 * @param document the document to insert, must not be {@literal null}.
+	 * @return the current {@link ReactiveBulkOperations} instance with the insert added, will never be {@literal null}.
+	 */
+	ReactiveBulkOperations insert(Object document);
+
+	/**
+	 * Add a list of inserts to the bulk operation.
+	 *
+	 * @param documents List of documents to insert, must not be {@literal null}.
+	 * @return the current {@link ReactiveBulkOperations} instance with the insert added, will never be {@literal null}.
+	 */
+	ReactiveBulkOperations insert(List<? extends Object> documents);
+
+	/**
+	 * Add a single update to the bulk operation. For the update request, only the first matching document is updated.
+	 *
+	 * @param query update criteria, must not be {@literal null}.
+	 * @param update {@link Update} operation to perform, must not be {@literal null}.
+	 * @return the current {@link ReactiveBulkOperations} instance with the update added, will never be {@literal null}.
+	 */
+	ReactiveBulkOperations updateOne(Query query, Update update);
+
+	/**
+	 * Add a list of updates to the bulk operation. For each update request, only the first matching document is updated.
+	 *
+	 * @param updates Update operations to perform, must not be {@literal null}.
+	 * @return the current {@link ReactiveBulkOperations} instance with the update added, will never be {@literal null}.
+	 */
+	ReactiveBulkOperations updateOne(List<Pair<Query, Update>> updates);
+
+	/**
+	 * Add a single update to the bulk operation. For the update request, all matching documents are updated.
+	 *
+	 * @param query update criteria, must not be {@literal null}.
+	 * @param update {@link Update} operation to perform, must not be {@literal null}.
+	 * @return the current {@link ReactiveBulkOperations} instance with the update added, will never be {@literal null}.
+	 */
+	ReactiveBulkOperations updateMulti(Query query, Update update);
+
+	/**
+	 * Add a list of updates to the bulk operation. For each update request, all matching documents are updated.
+	 *
+	 * @param updates Update operations to perform, must not be {@literal null}.
+	 * @return the current {@link ReactiveBulkOperations} instance with the update added, will never be {@literal null}.
+	 */
+	ReactiveBulkOperations updateMulti(List<Pair<Query, Update>> updates);
+
+	/**
+	 * Add a single upsert to the bulk operation. An upsert is an update if the set of matching documents is not empty,
+	 * else an insert.
+	 *
+	 * @param query update criteria, must not be {@literal null}.
+	 * @param update {@link Update} operation to perform, must not be {@literal null}.
+	 * @return the current {@link ReactiveBulkOperations} instance with the update added, will never be {@literal null}.
+	 */
+	ReactiveBulkOperations upsert(Query query, Update update);
+
+	/**
+	 * Add a list of upserts to the bulk operation. An upsert is an update if the set of matching documents is not empty,
+	 * else an insert.
+	 *
+	 * @param updates Updates/insert operations to perform, must not be {@literal null}.
+	 * @return the current {@link ReactiveBulkOperations} instance with the update added, will never be {@literal null}.
+	 */
+	ReactiveBulkOperations upsert(List<Pair<Query, Update>> updates);
+
+	/**
+	 * Add a single replace operation to the bulk operation. The first document matching the given {@link Query} is
+	 * replaced by the given {@code replacement}.
+	 *
+	 * @param query replacement criteria, must not be {@literal null}.
+	 * @param replacement the replacement document or entity, must not be {@literal null}.
+	 * @return the current {@link ReactiveBulkOperations} instance with the replacement added, will never be
+	 *         {@literal null}.
+	 */
+	ReactiveBulkOperations replaceOne(Query query, Object replacement);
+
+	/**
+	 * Add a single replace operation to the bulk operation. The first document matching the given {@link Query} is
+	 * replaced by the given {@code replacement}, inserting it if no document matches and {@code upsert} is
+	 * {@literal true}.
+	 *
+	 * @param query replacement criteria, must not be {@literal null}.
+	 * @param replacement the replacement document or entity, must not be {@literal null}.
+	 * @param upsert whether to insert the replacement if no document matches.
+	 * @return the current {@link ReactiveBulkOperations} instance with the replacement added, will never be
+	 *         {@literal null}.
+	 */
+	ReactiveBulkOperations replaceOne(Query query, Object replacement, boolean upsert);
+
+	/**
+	 * Add a single remove operation to the bulk operation.
+	 *
+	 * @param remove the {@link Query} to select the documents to be removed, must not be {@literal null}.
+	 * @return the current {@link ReactiveBulkOperations} instance with the removal added, will never be
+	 *         {@literal null}.
+	 */
+	ReactiveBulkOperations remove(Query remove);
+
+	/**
+	 * Add a list of remove operations to the bulk operation.
+	 *
+	 * @param removes the remove operations to perform, must not be {@literal null}.
+	 * @return the current {@link ReactiveBulkOperations} instance with the removal added, will never be
+	 *         {@literal null}.
+	 */
+	ReactiveBulkOperations remove(List<Query> removes);
+
+	/**
+	 * Execute all bulk operations added until now as a single bulk write. Operations added after calling this method are
+	 * not considered by the returned {@link Mono}.
+	 *
+	 * @return a {@link Mono} emitting the result of the bulk operation providing counters for inserts/updates etc.
+	 */
+	Mono<BulkWriteResult> execute();
+
+	/**
+	 * Execute the given stream of {@link WriteModel write requests} as a sequence of bulk writes of up to
+	 * {@code batchSize} requests each. Batches are written one after another, requesting further write requests from
+	 * upstream only once the previous batch has been written. Filters and updates are mapped against the domain type
+	 * associated with this {@link ReactiveBulkOperations}. Operations added to this instance are not considered.
+	 *
+	 * @param writeModels the write requests to execute, must not be {@literal null}.
+	 * @param batchSize the maximum number of write requests per bulk write, must be greater than zero.
+	 * @return a {@link Flux} emitting the result of each bulk write.
+	 */
+	Flux<BulkWriteResult> execute(Publisher<? extends WriteModel<Document>> writeModels, int batchSize);
+}
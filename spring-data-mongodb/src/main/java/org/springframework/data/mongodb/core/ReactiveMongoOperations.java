@@ -19,11 +19,17 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 import org.bson.Document;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
 import org.springframework.data.geo.GeoResult;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.PreparedAggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
@@ -68,6 +74,37 @@ public interface ReactiveMongoOperations {
 	 */
 	ReactiveIndexOperations indexOps(Class<?> entityClass);
 
+	/**
+	 * Returns a new {@link ReactiveBulkOperations} for the given collection. <br />
+	 * <strong>NOTE:</strong> Any additional support for field mapping, etc. is not available for {@literal update} or
+	 * {@literal remove} operations in bulk mode due to the lack of domain type information. Use
+	 * {@link #bulkOps(BulkMode, Class, String)} to get full type specific support.
+	 *
+	 * @param mode the {@link BulkMode} to use for bulk operations, must not be {@literal null}.
+	 * @param collectionName the name of the collection to work on, must not be {@literal null} or empty.
+	 * @return {@link ReactiveBulkOperations} on the named collection
+	 */
+	ReactiveBulkOperations bulkOps(BulkMode mode, String collectionName);
+
+	/**
+	 * Returns a new {@link ReactiveBulkOperations} for the given entity type.
+	 *
+	 * @param mode the {@link BulkMode} to use for bulk operations, must not be {@literal null}.
+	 * @param entityClass the name of the entity class, must not be {@literal null}.
+	 * @return {@link ReactiveBulkOperations} on the named collection associated of the given entity class.
+	 */
+	ReactiveBulkOperations bulkOps(BulkMode mode, Class<?> entityClass);
+
+	/**
+	 * Returns a new {@link ReactiveBulkOperations} for the given entity type and collection name.
+	 *
+	 * @param mode the {@link BulkMode} to use for bulk operations, must not be {@literal null}.
+	 * @param entityType the name of the entity class. Can be {@literal null}.
+	 * @param collectionName the name of the collection to work on, must not be {@literal null} or empty.
+	 * @return {@link ReactiveBulkOperations} on the named collection associated with the given entity class.
+	 */
+	ReactiveBulkOperations bulkOps(BulkMode mode, Class<?> entityType, String collectionName);
+
 	/**
 	 * Execute the a MongoDB command expressed as a JSON string. This will call the method JSON.parse that is part of the
 	 * MongoDB driver to convert the JSON string to a DBObject. Any errors that result from executing this command will be
@@ -395,6 +432,87 @@ public interface ReactiveMongoOperations {
 	 */
 	<T> Flux<GeoResult<T>> geoNear(NearQuery near, Class<T> entityClass, String collectionName);
 
+	/**
+	 * Executes the given {@link NearQuery} as {@code $geoNear} aggregation and returns a {@link Flux} of
+	 * {@link GeoResult} backed by the aggregation cursor. Unlike {@link #geoNear(NearQuery, Class)}, results are not
+	 * retrieved within a single command reply but fetched in batches on demand, and {@link NearQuery#skip(long) skip} is
+	 * applied on the server. Will consider entity mapping information to determine the collection the query is ran
+	 * against.
+	 *
+	 * @param near must not be {@literal null}.
+	 * @param entityClass must not be {@literal null}.
+	 * @return
+	 * @since 2.0
+	 */
+	<T> Flux<GeoResult<T>> geoNearStream(NearQuery near, Class<T> entityClass);
+
+	/**
+	 * Executes the given {@link NearQuery} as {@code $geoNear} aggregation against the given collection and returns a
+	 * {@link Flux} of {@link GeoResult} backed by the aggregation cursor. Results are fetched in batches on demand and
+	 * {@link NearQuery#skip(long) skip} is applied on the server.
+	 *
+	 * @param near must not be {@literal null}.
+	 * @param entityClass must not be {@literal null}.
+	 * @param collectionName name of the collection to query, must not be {@literal null} or empty.
+	 * @return
+	 * @since 2.0
+	 */
+	<T> Flux<GeoResult<T>> geoNearStream(NearQuery near, Class<T> entityClass, String collectionName);
+
+	/**
+	 * Render and map the given {@link TypedAggregation} once into a {@link PreparedAggregation} for repeated execution
+	 * via {@link #aggregate(PreparedAggregation, Map, Class)}. The name of the input collection is derived from the input
+	 * type of the aggregation.
+	 *
+	 * @param aggregation The {@link TypedAggregation} specification holding the aggregation operations and
+	 *          {@link org.springframework.data.mongodb.core.aggregation.AggregationParameter parameters}, must not be
+	 *          {@literal null}.
+	 * @return the {@link PreparedAggregation}.
+	 * @since 2.0
+	 */
+	PreparedAggregation prepareAggregation(TypedAggregation<?> aggregation);
+
+	/**
+	 * Render and map the given {@link TypedAggregation} once into a {@link PreparedAggregation} for repeated execution
+	 * via {@link #aggregate(PreparedAggregation, Map, Class)}.
+	 *
+	 * @param aggregation The {@link TypedAggregation} specification holding the aggregation operations and
+	 *          {@link org.springframework.data.mongodb.core.aggregation.AggregationParameter parameters}, must not be
+	 *          {@literal null}.
+	 * @param collectionName the collection where the aggregation operation will read from, must not be {@literal null} or
+	 *          empty.
+	 * @return the {@link PreparedAggregation}.
+	 * @since 2.0
+	 */
+	PreparedAggregation prepareAggregation(TypedAggregation<?> aggregation, String collectionName);
+
+	/**
+	 * Render the given {@link Aggregation} once into a {@link PreparedAggregation} for repeated execution via
+	 * {@link #aggregate(PreparedAggregation, Map, Class)}.
+	 *
+	 * @param aggregation The {@link Aggregation} specification holding the aggregation operations and
+	 *          {@link org.springframework.data.mongodb.core.aggregation.AggregationParameter parameters}, must not be
+	 *          {@literal null}.
+	 * @param collectionName the collection where the aggregation operation will read from, must not be {@literal null} or
+	 *          empty.
+	 * @return the {@link PreparedAggregation}.
+	 * @since 2.0
+	 */
+	PreparedAggregation prepareAggregation(Aggregation aggregation, String collectionName);
+
+	/**
+	 * Execute a {@link PreparedAggregation} binding the given parameter values and emit the results mapped to the given
+	 * entity class. Results are streamed from the aggregation cursor.
+	 *
+	 * @param aggregation the {@link PreparedAggregation} to execute, must not be {@literal null}.
+	 * @param parameters values for all parameters of the aggregation by parameter name, must not be {@literal null}.
+	 * @param outputType The parameterized type of the returned list, must not be {@literal null}.
+	 * @return the {@link Flux} of aggregation results. Emits {@link IllegalArgumentException} if a parameter value is
+	 *         missing, unknown or not of the declared type.
+	 * @since 2.0
+	 */
+	<O> Flux<O> aggregate(PreparedAggregation aggregation, Map<String, ?> parameters, Class<O> outputType);
+
 	/**
 	 * Triggers <a href="https://docs.mongodb.org/manual/reference/method/db.collection.findAndModify/">findAndModify <a/>
 	 * to apply provided {@link Update} on documents matching {@link Criteria} of given {@link Query}.
@@ -623,6 +741,32 @@ public interface ReactiveMongoOperations {
 	 */
 	<T> Flux<T> insertAll(Mono<? extends Collection<? extends T>> objectsToSave);
 
+	/**
+	 * Insert a stream of objects into the collection for the given entity type. Objects are grouped into chunks according
+	 * to the given {@link BatchInsertOptions} and each chunk is written using a single batch write without collecting the
+	 * whole stream first. Inserted objects are emitted in the order of the source stream.
+	 *
+	 * @param objectsToSave the publisher which provides objects to save, must not be {@literal null}.
+	 * @param entityClass class that determines the collection to use, must not be {@literal null}.
+	 * @param options the {@link BatchInsertOptions} to apply, must not be {@literal null}.
+	 * @return the {@link Flux} emitting the inserted objects.
+	 * @since 2.0
+	 */
+	<T> Flux<T> insertAll(Publisher<? extends T> objectsToSave, Class<?> entityClass, BatchInsertOptions options);
+
+	/**
+	 * Insert a stream of objects into the specified collection. Objects are grouped into chunks according to the given
+	 * {@link BatchInsertOptions} and each chunk is written using a single batch write without collecting the whole
+	 * stream first. Inserted objects are emitted in the order of the source stream.
+	 *
+	 * @param objectsToSave the publisher which provides objects to save, must not be {@literal null}.
+	 * @param collectionName name of the collection to store the objects in, must not be {@literal null} or empty.
+	 * @param options the {@link BatchInsertOptions} to apply, must not be {@literal null}.
+	 * @return the {@link Flux} emitting the inserted objects.
+	 * @since 2.0
+	 */
+	<T> Flux<T> insertAll(Publisher<? extends T> objectsToSave, String collectionName, BatchInsertOptions options);
+
 	/**
 	 * Save the object to the collection for the entity type of the object to save. This will perform an insert if the
 	 * object is not already present, that is an 'upsert'.
@@ -660,6 +804,21 @@ public interface ReactiveMongoOperations {
 	 */
 	<T> Mono<T> save(T objectToSave, String collectionName);
 
+	/**
+	 * Save the given objects to the specified collection using a single bulk write. New objects are inserted, existing
+	 * ones are replaced (upserted) by their id. Versioned objects are only replaced if the stored version matches the
+	 * current one and, as with {@link #save(Object, String)}, not re-created if deleted meanwhile. Concurrent
+	 * modifications and deletions do not fail the entire batch: all other objects are saved and emitted before the
+	 * {@link Flux} terminates with a {@link BulkOptimisticLockingFailureException} reporting each conflict. The versions
+	 * of the affected objects are reset to their previous value.
+	 *
+	 * @param objectsToSave the objects to save, must not be {@literal null}.
+	 * @param collectionName name of the collection to store the objects in, must not be {@literal null} or empty.
+	 * @return the saved objects.
+	 * @since 2.0
+	 */
+	<T> Flux<T> saveAll(Collection<? extends T> objectsToSave, String collectionName);
+
 	/**
 	 * Save the object to the collection for the entity type of the object to save. This will perform an insert if the
 	 * object is not already present, that is an 'upsert'.
@@ -950,6 +1109,87 @@ public interface ReactiveMongoOperations {
 	 */
 	<T> Flux<T> tail(Query query, Class<T> entityClass, String collectionName);
 
+	/**
+	 * Map the results of an ad-hoc query on the given collection to a stream of objects of the specified type using a
+	 * {@link com.mongodb.CursorType#TailableAwait tailable} cursor that is reopened according to the given
+	 * {@link TailOptions} whenever it dies or fails with a resource failure. Reopened cursors resume after the last
+	 * document seen. The stream will not be completed unless the {@link org.reactivestreams.Subscription} is
+	 * {@link Subscription#cancel() canceled} or {@link TailOptions#getMaxRetries()} is exceeded.
+	 *
+	 * @param query the query class that specifies the criteria used to find a record and also an optional fields
+	 *          specification, must not be {@literal null} and must neither define skip nor limit.
+	 * @param entityClass the parametrized type of the returned {@link Flux}, must not be {@literal null}.
+	 * @param collectionName name of the collection to retrieve the objects from, must not be {@literal null} or empty.
+	 * @param options the {@link TailOptions} to apply, must not be {@literal null}.
+	 * @return the {@link Flux} of converted objects.
+	 * @since 2.0
+	 */
+	<T> Flux<T> tail(Query query, Class<T> entityClass, String collectionName, TailOptions options);
+
+	/**
+	 * Map the results of an ad-hoc query on the given collection to a stream of batches of objects of the specified type
+	 * using a resumable {@link com.mongodb.CursorType#TailableAwait tailable} cursor. Batches contain up to
+	 * {@link TailOptions#getBatchSize()} objects and are emitted at the latest {@link TailOptions#getMaxBatchWait()}
+	 * after their first object arrived, so consumers can process and acknowledge objects batch-wise.
+	 *
+	 * @param query the query class that specifies the criteria used to find a record and also an optional fields
+	 *          specification, must not be {@literal null} and must neither define skip nor limit.
+	 * @param entityClass the parametrized type of the returned {@link Flux}, must not be {@literal null}.
+	 * @param collectionName name of the collection to retrieve the objects from, must not be {@literal null} or empty.
+	 * @param options the {@link TailOptions} to apply, must not be {@literal null}.
+	 * @return the {@link Flux} of batches of converted objects.
+	 * @since 2.0
+	 * @see #tail(Query, Class, String, TailOptions)
+	 */
+	<T> Flux<List<T>> tailBatches(Query query, Class<T> entityClass, String collectionName, TailOptions options);
+
+	/**
+	 * Subscribe to changes of documents in the collection of the given entity class matching the given {@link Criteria}.
+	 * The {@link Criteria} is mapped against the entity and applied to the changed document server-side. Changed
+	 * documents are converted using an instance of {@link MappingMongoConverter}. The stream starts at the current time
+	 * and will not be completed unless the {@link org.reactivestreams.Subscription} is
+	 * {@link Subscription#cancel() canceled}.
+	 * <p>
+	 * Delete events do not carry the changed document and are therefore emitted regardless of the {@link Criteria}.
+	 * <p>
+	 * Change streams require MongoDB 3.6 or newer running as replica set or sharded cluster.
+	 *
+	 * @param entityClass the entity class to map changed documents to, must not be {@literal null}.
+	 * @param criteria the {@link Criteria} changed documents have to match, can be {@literal null} to observe all
+	 *          changes.
+	 * @return the {@link Flux} of change events.
+	 * @since 2.0
+	 */
+	<T> Flux<ChangeStreamEvent<T>> changeStream(Class<T> entityClass, Criteria criteria);
+
+	/**
+	 * Subscribe to changes of documents in the collection of the given entity class matching the given {@link Criteria}
+	 * applying the given {@link ChangeStreamOptions}.
+	 *
+	 * @param entityClass the entity class to map changed documents to, must not be {@literal null}.
+	 * @param criteria the {@link Criteria} changed documents have to match, can be {@literal null}.
+	 * @param options the {@link ChangeStreamOptions} to apply, must not be {@literal null}.
+	 * @return the {@link Flux} of change events.
+	 * @since 2.0
+	 * @see #changeStream(Class, Criteria)
+	 */
+	<T> Flux<ChangeStreamEvent<T>> changeStream(Class<T> entityClass, Criteria criteria, ChangeStreamOptions options);
+
+	/**
+	 * Subscribe to changes of documents in the given collection matching the given {@link Criteria} applying the given
+	 * {@link ChangeStreamOptions}. Deletions carry no document and are therefore not matched by a {@link Criteria}.
+	 *
+	 * @param entityClass the entity class to map changed documents to, must not be {@literal null}.
+	 * @param criteria the {@link Criteria} changed documents have to match, can be {@literal null}.
+	 * @param collectionName name of the collection to observe, must not be {@literal null} or empty.
+	 * @param options the {@link ChangeStreamOptions} to apply, must not be {@literal null}.
+	 * @return the {@link Flux} of change events.
+	 * @since 2.0
+	 * @see #changeStream(Class, Criteria)
+	 */
+	<T> Flux<ChangeStreamEvent<T>> changeStream(Class<T> entityClass, Criteria criteria, String collectionName,
+			ChangeStreamOptions options);
+
 	/**
 	 * Returns the underlying {@link MongoConverter}.
 	 *
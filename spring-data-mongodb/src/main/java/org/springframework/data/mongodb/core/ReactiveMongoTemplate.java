@@ -21,11 +21,15 @@ import static org.springframework.data.mongodb.core.query.SerializationUtils.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -58,6 +62,13 @@ import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
 import org.springframework.data.mongodb.MongoDbFactory;
 import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.DefaultBulkOperations.BulkOperationContext;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.PreparedAggregation;
+import org.springframework.data.mongodb.core.aggregation.TypeBasedAggregationOperationContext;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.convert.DbRefProxyHandler;
 import org.springframework.data.mongodb.core.convert.DbRefResolver;
 import org.springframework.data.mongodb.core.convert.DbRefResolverCallback;
@@ -87,6 +98,7 @@ import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.NearQuery;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.util.BsonUtils;
 import org.springframework.data.mongodb.util.MongoClientVersion;
 import org.springframework.data.util.Optionals;
 import org.springframework.data.util.Pair;
@@ -100,9 +112,11 @@ import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
 import com.mongodb.DBRef;
 import com.mongodb.Mongo;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoException;
 import com.mongodb.ReadPreference;
 import com.mongodb.WriteConcern;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.CreateCollectionOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.FindOneAndDeleteOptions;
@@ -111,6 +125,7 @@ import com.mongodb.client.model.ReturnDocument;
 import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
+import com.mongodb.reactivestreams.client.AggregatePublisher;
 import com.mongodb.reactivestreams.client.FindPublisher;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoCollection;
@@ -138,6 +153,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveMongoTemplate.class);
 	private static final String ID_FIELD = "_id";
+	private static final int REMOVE_BATCH_SIZE = 1000;
 	private static final WriteResultChecking DEFAULT_WRITE_RESULT_CHECKING = WriteResultChecking.NONE;
 	private static final Collection<Class<?>> ITERABLE_CLASSES;
 
@@ -165,6 +181,10 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 	private ReadPreference readPreference;
 	private ApplicationEventPublisher eventPublisher;
 	private MongoPersistentEntityIndexCreator indexCreator;
+	private ConversionOffloadOptions conversionOffloadOptions;
+	private AdaptiveBatchSize adaptiveBatchSize;
+	private boolean conversionMetricsEnabled;
+	private final Map<String, ConversionMetrics> conversionMetrics = new ConcurrentHashMap<>();
 
 	/**
 	 * Constructor used for a basic template configuration.
@@ -255,6 +275,53 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 		this.readPreference = readPreference;
 	}
 
+	/**
+	 * Configures the {@link ConversionOffloadOptions} to move mapping of read {@link Document}s into entities off the
+	 * driver threads. Setting {@literal null} converts all documents on the thread emitting them, which is the default.
+	 *
+	 * @param conversionOffloadOptions can be {@literal null}.
+	 * @since 2.0
+	 */
+	public void setConversionOffloadOptions(ConversionOffloadOptions conversionOffloadOptions) {
+		this.conversionOffloadOptions = conversionOffloadOptions;
+	}
+
+	/**
+	 * Configures the {@link AdaptiveBatchSize} to size find cursor batches by subscriber demand. Setting {@literal null}
+	 * leaves batch sizing to the driver, which is the default.
+	 *
+	 * @param adaptiveBatchSize can be {@literal null}.
+	 * @since 2.0
+	 */
+	public void setAdaptiveBatchSize(AdaptiveBatchSize adaptiveBatchSize) {
+		this.adaptiveBatchSize = adaptiveBatchSize;
+	}
+
+	/**
+	 * Configures whether to record {@link ConversionMetrics} for conversions of read {@link Document}s into entities
+	 * even if no {@link ConversionOffloadOptions} are configured. Metrics are always recorded while conversions are
+	 * offloaded. Defaults to {@literal false}.
+	 *
+	 * @param conversionMetricsEnabled
+	 * @since 2.0
+	 * @see #getConversionMetrics()
+	 */
+	public void setConversionMetricsEnabled(boolean conversionMetricsEnabled) {
+		this.conversionMetricsEnabled = conversionMetricsEnabled;
+	}
+
+	/**
+	 * Returns the {@link ConversionMetrics} recorded while mapping read {@link Document}s into entities, keyed by
+	 * collection name. Metrics are only recorded if {@link #setConversionOffloadOptions(ConversionOffloadOptions)
+	 * conversion offloading} or {@link #setConversionMetricsEnabled(boolean) metrics} are enabled.
+	 *
+	 * @return an unmodifiable live view of the {@link ConversionMetrics} per collection.
+	 * @since 2.0
+	 */
+	public Map<String, ConversionMetrics> getConversionMetrics() {
+		return Collections.unmodifiableMap(conversionMetrics);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.context.ApplicationContextAware#setApplicationContext(org.springframework.context.ApplicationContext)
@@ -317,6 +384,41 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 				entityClass);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#bulkOps(org.springframework.data.mongodb.core.BulkOperations.BulkMode, java.lang.String)
+	 */
+	public ReactiveBulkOperations bulkOps(BulkMode bulkMode, String collectionName) {
+		return bulkOps(bulkMode, null, collectionName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#bulkOps(org.springframework.data.mongodb.core.BulkOperations.BulkMode, java.lang.Class)
+	 */
+	public ReactiveBulkOperations bulkOps(BulkMode bulkMode, Class<?> entityClass) {
+		return bulkOps(bulkMode, entityClass, determineCollectionName(entityClass));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#bulkOps(org.springframework.data.mongodb.core.BulkOperations.BulkMode, java.lang.Class, java.lang.String)
+	 */
+	public ReactiveBulkOperations bulkOps(BulkMode mode, Class<?> entityType, String collectionName) {
+
+		Assert.notNull(mode, "BulkMode must not be null!");
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+
+		DefaultReactiveBulkOperations operations = new DefaultReactiveBulkOperations(this, collectionName,
+				new BulkOperationContext(mode, Optional.ofNullable(getPersistentEntity(entityType)), queryMapper,
+						updateMapper));
+
+		operations.setExceptionTranslator(exceptionTranslator);
+		operations.setDefaultWriteConcern(writeConcern);
+
+		return operations;
+	}
+
 	public String getCollectionName(Class<?> entityClass) {
 		return this.determineCollectionName(entityClass);
 	}
@@ -666,14 +768,141 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 			GeoNearResultDbObjectCallback<T> callback = new GeoNearResultDbObjectCallback<T>(
 					new ReadDocumentCallback<T>(mongoConverter, entityClass, collectionName), near.getMetric());
 
-			return executeCommand(command, this.readPreference).flatMapMany(document -> {
+			Flux<Document> results = executeCommand(command, this.readPreference).flatMapMany(document -> {
 
 				List<Document> l = document.get("results", List.class);
 				if (l == null) {
 					return Flux.empty();
 				}
 				return Flux.fromIterable(l);
-			}).skip(near.getSkip() != null ? near.getSkip() : 0).map(callback::doWith);
+			}).skip(near.getSkip() != null ? near.getSkip() : 0);
+
+			return convert(results, callback, collectionName);
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#geoNearStream(org.springframework.data.mongodb.core.query.NearQuery, java.lang.Class)
+	 */
+	@Override
+	public <T> Flux<GeoResult<T>> geoNearStream(NearQuery near, Class<T> entityClass) {
+		return geoNearStream(near, entityClass, determineCollectionName(entityClass));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#geoNearStream(org.springframework.data.mongodb.core.query.NearQuery, java.lang.Class, java.lang.String)
+	 */
+	@Override
+	public <T> Flux<GeoResult<T>> geoNearStream(NearQuery near, Class<T> entityClass, String collectionName) {
+
+		Assert.notNull(near, "NearQuery must not be null!");
+		Assert.notNull(entityClass, "Entity class must not be null!");
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+
+		return createFlux(collectionName, collection -> {
+
+			List<Document> pipeline = MongoTemplate.createGeoNearPipeline(near, queryMapper,
+					getPersistentEntity(entityClass));
+
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Executing geoNear aggregation: {} for class: {} in collection: {}",
+						serializeToJsonSafely(pipeline), entityClass, collectionName);
+			}
+
+			ReadDocumentCallback<T> readCallback = new ReadDocumentCallback<T>(mongoConverter, entityClass,
+					collectionName);
+			DocumentCallback<GeoResult<T>> callback = new MongoTemplate.GeoNearAggregationResultDocumentCallback<T>(
+					readCallback::doWith, near.getMetric())::doWith;
+
+			AggregatePublisher<Document> publisher = collection.aggregate(pipeline);
+
+			if (near.getCollation().isPresent()) {
+				publisher = publisher.collation(near.getCollation().map(Collation::toMongoCollation).get());
+			}
+
+			return convert(Flux.from(publisher), callback, collectionName);
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#prepareAggregation(org.springframework.data.mongodb.core.aggregation.TypedAggregation)
+	 */
+	@Override
+	public PreparedAggregation prepareAggregation(TypedAggregation<?> aggregation) {
+
+		Assert.notNull(aggregation, "Aggregation pipeline must not be null!");
+
+		return prepareAggregation(aggregation, determineCollectionName(aggregation.getInputType()));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#prepareAggregation(org.springframework.data.mongodb.core.aggregation.TypedAggregation, java.lang.String)
+	 */
+	@Override
+	public PreparedAggregation prepareAggregation(TypedAggregation<?> aggregation, String collectionName) {
+
+		Assert.notNull(aggregation, "Aggregation pipeline must not be null!");
+
+		return aggregation.prepare(collectionName,
+				new TypeBasedAggregationOperationContext(aggregation.getInputType(), mappingContext, queryMapper));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#prepareAggregation(org.springframework.data.mongodb.core.aggregation.Aggregation, java.lang.String)
+	 */
+	@Override
+	public PreparedAggregation prepareAggregation(Aggregation aggregation, String collectionName) {
+
+		Assert.notNull(aggregation, "Aggregation pipeline must not be null!");
+
+		return aggregation.prepare(collectionName, Aggregation.DEFAULT_CONTEXT);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#aggregate(org.springframework.data.mongodb.core.aggregation.PreparedAggregation, java.util.Map, java.lang.Class)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <O> Flux<O> aggregate(PreparedAggregation aggregation, Map<String, ?> parameters, Class<O> outputType) {
+
+		Assert.notNull(aggregation, "PreparedAggregation must not be null!");
+		Assert.notNull(outputType, "Output type must not be null!");
+
+		String collectionName = aggregation.getInputCollectionName();
+
+		return createFlux(collectionName, collection -> {
+
+			Document command = aggregation.bind(parameters, mongoConverter::convertToMongoType);
+			AggregationOptions options = AggregationOptions.fromDocument(command);
+
+			if (options.isExplain()) {
+				throw new IllegalArgumentException("Can't use explain option with streaming!");
+			}
+
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Executing aggregation: {}", serializeToJsonSafely(command));
+			}
+
+			AggregatePublisher<Document> publisher = collection.aggregate((List<Document>) command.get("pipeline"))
+					.allowDiskUse(options.isAllowDiskUse());
+
+			if (options.getCursorBatchSize() != null) {
+				publisher = publisher.batchSize(options.getCursorBatchSize());
+			}
+
+			if (options.getCollation().isPresent()) {
+				publisher = publisher.collation(options.getCollation().map(Collation::toMongoCollation).get());
+			}
+
+			ReadDocumentCallback<O> callback = new ReadDocumentCallback<O>(mongoConverter, outputType, collectionName);
+
+			return convert(Flux.from(publisher), callback, collectionName);
 		});
 	}
 
@@ -861,6 +1090,29 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 		return Flux.from(objectsToSave).flatMap(this::insertAll);
 	}
 
+	/* (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#insertAll(org.reactivestreams.Publisher, java.lang.Class, org.springframework.data.mongodb.core.BatchInsertOptions)
+	 */
+	@Override
+	public <T> Flux<T> insertAll(Publisher<? extends T> objectsToSave, Class<?> entityClass,
+			BatchInsertOptions options) {
+		return insertAll(objectsToSave, determineCollectionName(entityClass), options);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#insertAll(org.reactivestreams.Publisher, java.lang.String, org.springframework.data.mongodb.core.BatchInsertOptions)
+	 */
+	@Override
+	public <T> Flux<T> insertAll(Publisher<? extends T> objectsToSave, String collectionName,
+			BatchInsertOptions options) {
+
+		Assert.notNull(objectsToSave, "Objects to save must not be null!");
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+		Assert.notNull(options, "BatchInsertOptions must not be null!");
+
+		return doInsertStream(collectionName, objectsToSave, options, this.mongoConverter);
+	}
+
 	protected <T> Flux<T> doInsertAll(Collection<? extends T> listToSave, MongoWriter<Object> writer) {
 
 		final Map<String, List<T>> elementsByCollection = new HashMap<String, List<T>>();
@@ -888,34 +1140,95 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 
 		Assert.notNull(writer, "MongoWriter must not be null!");
 
-		Mono<List<Tuple2<T, Document>>> prepareDocuments = Flux.fromIterable(batchToSave)
-				.flatMap(new Function<T, Flux<Tuple2<T, Document>>>() {
-					@Override
-					public Flux<Tuple2<T, Document>> apply(T o) {
+		Mono<List<Tuple2<T, Document>>> prepareDocuments = Flux.<T> fromIterable(batchToSave)
+				.map(o -> prepareInsert(o, collectionName, writer)).collectList();
 
-						initializeVersionProperty(o);
-						maybeEmitEvent(new BeforeConvertEvent<T>(o, collectionName));
+		Flux<Tuple2<T, Document>> insertDocuments = prepareDocuments
+				.flatMapMany(tuples -> insertPrepared(collectionName, tuples));
 
-						Document dbDoc = toDbObject(o, writer);
+		return insertDocuments.map(tuple -> afterInsert(tuple, collectionName));
+	}
 
-						maybeEmitEvent(new BeforeSaveEvent<T>(o, dbDoc, collectionName));
-						return Flux.zip(Mono.just(o), Mono.just(dbDoc));
-					}
-				}).collectList();
+	/**
+	 * Insert the objects emitted by the given {@link Publisher} in chunks bounded by the given
+	 * {@link BatchInsertOptions}. Chunks are cut by element count and {@link BatchInsertOptions#getMaxWait() time} and
+	 * split further if they exceed {@link BatchInsertOptions#getMaxChunkBytes()}. Up to
+	 * {@link BatchInsertOptions#getParallelism()} chunks are written concurrently while inserted objects are emitted in
+	 * source order. The source is consumed on demand only, so a slow inserter holds at most one pending chunk besides
+	 * the chunks in flight instead of buffering the source.
+	 *
+	 * @param collectionName the collection to insert into.
+	 * @param source the objects to insert.
+	 * @param options the chunking options.
+	 * @param writer the {@link MongoWriter} to convert objects with.
+	 * @return the {@link Flux} emitting the inserted objects.
+	 */
+	protected <T> Flux<T> doInsertStream(String collectionName, Publisher<? extends T> source,
+			BatchInsertOptions options, MongoWriter<Object> writer) {
 
-		Flux<Tuple2<T, Document>> insertDocuments = prepareDocuments.flatMapMany(tuples -> {
+		Assert.notNull(writer, "MongoWriter must not be null!");
 
-			List<Document> dbObjects = tuples.stream().map(Tuple2::getT2).collect(Collectors.toList());
+		Flux<Tuple2<T, Document>> prepared = Flux.<T> from(source).map(o -> prepareInsert(o, collectionName, writer));
 
-			return insertDocumentList(collectionName, dbObjects).thenMany(Flux.fromIterable(tuples));
-		});
+		Flux<List<Tuple2<T, Document>>> chunks = Flux
+				.from(new TimedBatchPublisher<>(prepared, options.getMaxChunkSize(), options.getMaxWait())) //
+				.flatMapIterable(chunk -> splitBySize(chunk, options.getMaxChunkBytes()), 1);
 
-		return insertDocuments.map(tuple -> {
+		return chunks.flatMapSequential(chunk -> insertPrepared(collectionName, chunk), options.getParallelism(), 1)
+				.map(tuple -> afterInsert(tuple, collectionName));
+	}
 
-			populateIdIfNecessary(tuple.getT1(), tuple.getT2().get(ID_FIELD));
-			maybeEmitEvent(new AfterSaveEvent<T>(tuple.getT1(), tuple.getT2(), collectionName));
-			return tuple.getT1();
-		});
+	private <T> Tuple2<T, Document> prepareInsert(T objectToSave, String collectionName, MongoWriter<Object> writer) {
+
+		initializeVersionProperty(objectToSave);
+		maybeEmitEvent(new BeforeConvertEvent<T>(objectToSave, collectionName));
+
+		Document dbDoc = toDbObject(objectToSave, writer);
+
+		maybeEmitEvent(new BeforeSaveEvent<T>(objectToSave, dbDoc, collectionName));
+		return Tuples.of(objectToSave, dbDoc);
+	}
+
+	private <T> Flux<Tuple2<T, Document>> insertPrepared(String collectionName, List<Tuple2<T, Document>> tuples) {
+
+		List<Document> dbObjects = tuples.stream().map(Tuple2::getT2).collect(Collectors.toList());
+
+		return insertDocumentList(collectionName, dbObjects).thenMany(Flux.fromIterable(tuples));
+	}
+
+	private <T> T afterInsert(Tuple2<T, Document> tuple, String collectionName) {
+
+		populateIdIfNecessary(tuple.getT1(), tuple.getT2().get(ID_FIELD));
+		maybeEmitEvent(new AfterSaveEvent<T>(tuple.getT1(), tuple.getT2(), collectionName));
+		return tuple.getT1();
+	}
+
+	private static <T> List<List<Tuple2<T, Document>>> splitBySize(List<Tuple2<T, Document>> chunk, long maxBytes) {
+
+		List<List<Tuple2<T, Document>>> chunks = new ArrayList<>();
+		List<Tuple2<T, Document>> current = new ArrayList<>();
+		long bytes = 0;
+
+		for (Tuple2<T, Document> tuple : chunk) {
+
+			long size = BsonUtils.estimateSize(tuple.getT2());
+
+			if (!current.isEmpty() && bytes + size > maxBytes) {
+
+				chunks.add(current);
+				current = new ArrayList<>();
+				bytes = 0;
+			}
+
+			current.add(tuple);
+			bytes += size;
+		}
+
+		if (!current.isEmpty()) {
+			chunks.add(current);
+		}
+
+		return chunks;
 	}
 
 	/* (non-Javadoc)
@@ -961,6 +1274,85 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 		return doSaveVersioned(objectToSave, mongoPersistentEntity, collectionName);
 	}
 
+	/* (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#saveAll(java.util.Collection, java.lang.String)
+	 */
+	public <T> Flux<T> saveAll(Collection<? extends T> objectsToSave, String collectionName) {
+
+		Assert.notNull(objectsToSave, "Objects to save must not be null!");
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+
+		return Flux.defer(() -> {
+
+			BulkSaveBatch<T> batch = new BulkSaveBatch<>(collectionName, mongoConverter.getConversionService());
+
+			for (T objectToSave : objectsToSave) {
+
+				Assert.notNull(objectToSave, "Object to save must not be null!");
+
+				batch.add(objectToSave, getPersistentEntity(objectToSave.getClass()), it -> {
+
+					maybeEmitEvent(new BeforeConvertEvent<T>(it, collectionName));
+					assertUpdateableIdIfNotSet(it);
+
+					Document document = toDbObject(it, this.mongoConverter);
+
+					maybeEmitEvent(new BeforeSaveEvent<T>(it, document, collectionName));
+					return document;
+				});
+			}
+
+			if (batch.isEmpty()) {
+				return Flux.<T> empty();
+			}
+
+			Mono<Set<Integer>> conflicts = createMono(collectionName, collection -> {
+
+				MongoAction mongoAction = new MongoAction(writeConcern, MongoActionOperation.SAVE, collectionName, null, null,
+						null);
+				WriteConcern writeConcernToUse = prepareWriteConcern(mongoAction);
+				MongoCollection<Document> collectionToUse = prepareCollection(collection, writeConcernToUse);
+
+				return Mono.from(collectionToUse.bulkWrite(batch.getWriteModels(), new BulkWriteOptions().ordered(false)))
+						.onErrorResume(MongoBulkWriteException.class, e -> Mono.just(batch.failed(e))) //
+						.flatMap(result -> {
+
+							Document conflictQuery = batch.getConflictQuery(result);
+
+							if (conflictQuery == null) {
+								return Mono.just(Collections.<Integer> emptySet());
+							}
+
+							FindPublisher<Document> stored = collection.withReadPreference(ReadPreference.primary())
+									.find(conflictQuery).projection(batch.getConflictProjection());
+
+							return Flux.from(stored).collectList().map(batch::getConflicts);
+						});
+			}).doOnError(e -> batch.rollbackVersions());
+
+			return conflicts.flatMapMany(indexes -> {
+
+				List<T> saved = batch.forEachSaved(indexes, (obj, document) -> {
+
+					populateIdIfNecessary(obj, document.get(ID_FIELD));
+					maybeEmitEvent(new AfterSaveEvent<T>(obj, document, collectionName));
+				});
+
+				BulkOptimisticLockingFailureException failure = batch.rollbackConflicts(indexes);
+				Flux<T> result = Flux.fromIterable(saved);
+
+				if (batch.getWriteFailure() != null) {
+
+					RuntimeException writeFailure = potentiallyConvertRuntimeException(batch.getWriteFailure(),
+							exceptionTranslator);
+					return result.concatWith(Flux.<T> error(writeFailure));
+				}
+
+				return failure == null ? result : result.concatWith(Flux.<T> error(failure));
+			});
+		});
+	}
+
 	private <T> Mono<T> doSaveVersioned(T objectToSave, MongoPersistentEntity<?> entity, String collectionName) {
 
 		return createMono(collectionName, collection -> {
@@ -1453,7 +1845,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#findAll(java.lang.Class, java.lang.String)
 	 */
 	public <T> Flux<T> findAll(Class<T> entityClass, String collectionName) {
-		return executeFindMultiInternal(new FindCallback(null), null,
+		return executeFindMultiInternal(new FindCallback(null), new QueryFindPublisherPreparer(null, entityClass),
 				new ReadDocumentCallback<T>(mongoConverter, entityClass, collectionName), collectionName);
 	}
 
@@ -1504,10 +1896,251 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 				new TailingQueryFindPublisherPreparer(query, entityClass));
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#tail(org.springframework.data.mongodb.core.query.Query, java.lang.Class, java.lang.String, org.springframework.data.mongodb.core.TailOptions)
+	 */
+	@Override
+	public <T> Flux<T> tail(Query query, Class<T> entityClass, String collectionName, TailOptions options) {
+
+		Assert.notNull(query, "Query must not be null!");
+		Assert.notNull(entityClass, "Entity class must not be null!");
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+		Assert.notNull(options, "TailOptions must not be null!");
+		Assert.isTrue(query.getSkip() <= 0 && query.getLimit() <= 0, "Resumable tailing does not support skip or limit!");
+
+		return doTail(query, entityClass, collectionName, options);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#tailBatches(org.springframework.data.mongodb.core.query.Query, java.lang.Class, java.lang.String, org.springframework.data.mongodb.core.TailOptions)
+	 */
+	@Override
+	public <T> Flux<List<T>> tailBatches(Query query, Class<T> entityClass, String collectionName,
+			TailOptions options) {
+		return Flux.from(new TimedBatchPublisher<T>(tail(query, entityClass, collectionName, options),
+				options.getBatchSize(), options.getMaxBatchWait()));
+	}
+
+	/**
+	 * Tail the given collection using a {@link CursorType#TailableAwait tailable} cursor that is reopened after the last
+	 * seen document once it dies or fails with a resumable error. The resume state is kept per subscription.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param entityClass must not be {@literal null}.
+	 * @param collectionName must not be {@literal null}.
+	 * @param options must not be {@literal null}.
+	 * @return
+	 */
+	protected <T> Flux<T> doTail(Query query, Class<T> entityClass, String collectionName, TailOptions options) {
+
+		MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(entityClass);
+
+		Document mappedQuery = queryMapper.getMappedObject(query.getQueryObject(), entity);
+		Document mappedFields = options.getResumeFields(queryMapper.getMappedFields(query.getFieldsObject(), entity));
+		FindPublisherPreparer preparer = new TailingQueryFindPublisherPreparer(query, entityClass);
+		ReadDocumentCallback<T> callback = new ReadDocumentCallback<T>(mongoConverter, entityClass, collectionName);
+
+		return Flux.defer(() -> {
+
+			AtomicReference<Object> lastSeen = new AtomicReference<>();
+			AtomicLong attempts = new AtomicLong();
+
+			Flux<Document> documents = createFlux(collectionName, collection -> {
+
+				Document resumeQuery = options.getResumeQuery(mappedQuery, lastSeen.get());
+
+				if (LOGGER.isDebugEnabled()) {
+					LOGGER.debug("Tailing collection: {} using query: {} fields: {}", collectionName,
+							serializeToJsonSafely(resumeQuery), mappedFields);
+				}
+
+				FindPublisher<Document> findPublisher = collection.find(resumeQuery);
+
+				if (!mappedFields.isEmpty()) {
+					findPublisher = findPublisher.projection(mappedFields);
+				}
+
+				return preparer.publish(preparer.prepare(findPublisher));
+			}).doOnNext(document -> {
+
+				Object value = document.get(options.getResumeField());
+
+				if (value != null) {
+					lastSeen.set(value);
+				}
+				attempts.set(0);
+			}).repeatWhen(completions -> completions //
+					.takeWhile(it -> attempts.get() < options.getMaxRetries()) //
+					.concatMap(it -> Mono.delay(options.getBackoff(attempts.getAndIncrement())))) //
+					.retryWhen(errors -> errors.concatMap(error -> {
+
+						if (!TailOptions.isResumable(error) || attempts.get() >= options.getMaxRetries()) {
+							return Mono.<Long> error(error);
+						}
+
+						LOGGER.debug("Resuming tailing of collection: {} after error", collectionName, error);
+						return Mono.delay(options.getBackoff(attempts.getAndIncrement()));
+					}));
+
+			return convert(documents, callback, collectionName);
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#changeStream(java.lang.Class, org.springframework.data.mongodb.core.query.Criteria)
+	 */
+	@Override
+	public <T> Flux<ChangeStreamEvent<T>> changeStream(Class<T> entityClass, Criteria criteria) {
+		return changeStream(entityClass, criteria, ChangeStreamOptions.defaults());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#changeStream(java.lang.Class, org.springframework.data.mongodb.core.query.Criteria, org.springframework.data.mongodb.core.ChangeStreamOptions)
+	 */
+	@Override
+	public <T> Flux<ChangeStreamEvent<T>> changeStream(Class<T> entityClass, Criteria criteria,
+			ChangeStreamOptions options) {
+		return changeStream(entityClass, criteria, determineCollectionName(entityClass), options);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#changeStream(java.lang.Class, org.springframework.data.mongodb.core.query.Criteria, java.lang.String, org.springframework.data.mongodb.core.ChangeStreamOptions)
+	 */
+	@Override
+	public <T> Flux<ChangeStreamEvent<T>> changeStream(Class<T> entityClass, Criteria criteria, String collectionName,
+			ChangeStreamOptions options) {
+
+		Assert.notNull(entityClass, "Entity class must not be null!");
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+		Assert.notNull(options, "ChangeStreamOptions must not be null!");
+
+		return doChangeStream(entityClass, criteria, collectionName, options);
+	}
+
+	/**
+	 * Open a change stream using a {@literal $changeStream} aggregation followed by a {@literal $match} stage for the
+	 * mapped {@link Criteria} on the full document. Events without full document pass the filter, see
+	 * {@link ChangeStreamOptions#toEventFilter(Document)}. The stream is reopened after resumable errors with the
+	 * configured backoff using the resume token of the last received event. Resume tokens are saved to a configured
+	 * {@link ResumeTokenStore} once the event has been emitted.
+	 *
+	 * @param entityClass must not be {@literal null}.
+	 * @param criteria can be {@literal null}.
+	 * @param collectionName must not be {@literal null}.
+	 * @param options must not be {@literal null}.
+	 * @return
+	 */
+	protected <T> Flux<ChangeStreamEvent<T>> doChangeStream(Class<T> entityClass, Criteria criteria,
+			String collectionName, ChangeStreamOptions options) {
+
+		MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(entityClass);
+		Document match = criteria == null ? null : options.toEventFilter(
+				prefixFieldNames(queryMapper.getMappedObject(criteria.getCriteriaObject(), entity), "fullDocument"));
+		ReadDocumentCallback<T> callback = new ReadDocumentCallback<T>(mongoConverter, entityClass, collectionName);
+		Optional<ResumeTokenStore> store = options.getResumeTokenStore();
+
+		Mono<Document> initialToken = options.getResumeToken().map(Mono::just)
+				.orElseGet(() -> store.map(it -> it.load(options.getResumeTokenKey())).orElse(Mono.empty()));
+
+		Flux<ChangeStreamEvent<T>> events = initialToken.map(Optional::of).defaultIfEmpty(Optional.empty())
+				.flatMapMany(token -> {
+
+					AtomicReference<Document> lastToken = new AtomicReference<>(token.orElse(null));
+					AtomicLong attempts = new AtomicLong();
+
+					return createFlux(collectionName, collection -> {
+
+						List<Document> pipeline = new ArrayList<>(2);
+						pipeline.add(options.toChangeStreamStage(lastToken.get()));
+
+						if (match != null) {
+							pipeline.add(new Document("$match", match));
+						}
+
+						if (LOGGER.isDebugEnabled()) {
+							LOGGER.debug("Opening change stream: {} in collection: {}", serializeToJsonSafely(pipeline),
+									collectionName);
+						}
+
+						return collection.aggregate(pipeline);
+					}).doOnNext(document -> {
+
+						lastToken.set(document.get(ID_FIELD, Document.class));
+						attempts.set(0);
+					}).retryWhen(errors -> errors.concatMap(error -> {
+
+						if (!ChangeStreamOptions.isResumable(error) || attempts.get() >= options.getMaxRetries()) {
+							return Mono.<Long> error(error);
+						}
+
+						LOGGER.debug("Resuming change stream on collection: {} after error", collectionName, error);
+						return Mono.delay(options.getBackoff(attempts.getAndIncrement()));
+					})).map(document -> toChangeStreamEvent(document, callback));
+				});
+
+		if (!store.isPresent()) {
+			return events;
+		}
+
+		ResumeTokenStore resumeTokenStore = store.get();
+
+		return events.concatMap(event -> Mono.just(event).concatWith(resumeTokenStore
+				.save(options.getResumeTokenKey(), event.getResumeToken()).then(Mono.<ChangeStreamEvent<T>> empty())));
+	}
+
+	private static <T> ChangeStreamEvent<T> toChangeStreamEvent(Document event, DocumentCallback<T> callback) {
+
+		Document fullDocument = event.get("fullDocument", Document.class);
+		return new ChangeStreamEvent<T>(event,
+				Optional.ofNullable(fullDocument == null ? null : callback.doWith(fullDocument)));
+	}
+
+	/**
+	 * Prefix the field names of the given query document so that it applies to a nested document. Fields within logical
+	 * operators are prefixed recursively, other top-level operators are retained as they are.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param prefix must not be {@literal null}.
+	 * @return the prefixed query document.
+	 */
+	static Document prefixFieldNames(Document query, String prefix) {
+
+		Document prefixed = new Document();
+
+		for (Entry<String, Object> entry : query.entrySet()) {
+
+			String key = entry.getKey();
+			Object value = entry.getValue();
+
+			if (!key.startsWith("$")) {
+				prefixed.put(prefix + "." + key, value);
+			} else if (value instanceof List && Arrays.asList("$and", "$or", "$nor").contains(key)) {
+
+				List<Object> nested = new ArrayList<>();
+
+				for (Object element : (List<?>) value) {
+					nested.add(element instanceof Document ? prefixFieldNames((Document) element, prefix) : element);
+				}
+
+				prefixed.put(key, nested);
+			} else {
+				prefixed.put(key, value);
+			}
+		}
+
+		return prefixed;
+	}
+
 	/**
 	 * Retrieve and remove all documents matching the given {@code query} by calling {@link #find(Query, Class, String)}
 	 * and {@link #remove(Query, Class, String)}, whereas the {@link Query} for {@link #remove(Query, Class, String)} is
-	 * constructed out of the find result.
+	 * constructed out of the find result. Results are removed and emitted in batches so that neither the number of
+	 * buffered elements nor the size of the remove query depend on the number of matches.
 	 *
 	 * @param collectionName
 	 * @param query
@@ -1518,9 +2151,9 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 
 		Flux<T> flux = find(query, entityClass, collectionName);
 
-		return Flux.from(flux).collectList()
-				.flatMapMany(list -> Flux.from(remove(getIdInQueryFor(list), entityClass, collectionName))
-						.flatMap(deleteResult -> Flux.fromIterable(list)));
+		return flux.buffer(REMOVE_BATCH_SIZE) //
+				.concatMap(batch -> remove(getIdInQueryFor(batch), entityClass, collectionName)
+						.thenMany(Flux.fromIterable(batch)));
 	}
 
 	/**
@@ -1816,7 +2449,8 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 			DocumentCallback<T> objectCallback, String collectionName) {
 
 		return createMono(collectionName,
-				collection -> Mono.from(collectionCallback.doInCollection(collection)).map(objectCallback::doWith));
+				collection -> Mono.from(collectionCallback.doInCollection(collection))
+						.flatMap(document -> convert(document, objectCallback, collectionName)));
 	}
 
 	/**
@@ -1844,13 +2478,108 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 
 			FindPublisher<Document> findPublisher = collectionCallback.doInCollection(collection);
 
-			if (preparer != null) {
-				findPublisher = preparer.prepare(findPublisher);
+			if (preparer == null) {
+				return convert(Flux.from(findPublisher), objectCallback, collectionName);
+			}
+
+			Publisher<Document> documents = preparer.publish(preparer.prepare(findPublisher));
+			return convert(Flux.from(documents), objectCallback, collectionName);
+		});
+	}
+
+	/**
+	 * Map the given {@link Document}s using the {@link DocumentCallback} preserving their order. Documents qualifying
+	 * for offloading according to the configured {@link ConversionOffloadOptions} are converted on its
+	 * {@link ConversionOffloadOptions#getScheduler() scheduler}.
+	 *
+	 * @param documents must not be {@literal null}.
+	 * @param objectCallback must not be {@literal null}.
+	 * @param collectionName the collection the documents were read from.
+	 * @return the converted results.
+	 */
+	private <T> Flux<T> convert(Flux<Document> documents, DocumentCallback<T> objectCallback, String collectionName) {
+
+		ConversionOffloadOptions options = this.conversionOffloadOptions;
+
+		if (options == null) {
+
+			if (!conversionMetricsEnabled) {
+				return documents.map(objectCallback::doWith);
 			}
-			return Flux.from(findPublisher).map(objectCallback::doWith);
+
+			return Flux.defer(() -> {
+
+				ConversionMetrics metrics = getConversionMetrics(collectionName);
+				return documents.map(document -> doConvert(document, objectCallback, metrics, false));
+			});
+		}
+
+		return Flux.defer(() -> {
+
+			ConversionMetrics metrics = getConversionMetrics(collectionName);
+			AtomicLong position = new AtomicLong();
+
+			return documents.flatMapSequential(
+					document -> convert(document, position.getAndIncrement(), objectCallback, metrics),
+					options.getConcurrency());
 		});
 	}
 
+	/**
+	 * Map a single {@link Document} read as the only element of its result using the {@link DocumentCallback}.
+	 *
+	 * @param document must not be {@literal null}.
+	 * @param objectCallback must not be {@literal null}.
+	 * @param collectionName the collection the document was read from.
+	 * @return the converted result.
+	 */
+	private <T> Mono<T> convert(Document document, DocumentCallback<T> objectCallback, String collectionName) {
+
+		if (conversionOffloadOptions == null && !conversionMetricsEnabled) {
+			return Mono.justOrEmpty(objectCallback.doWith(document));
+		}
+
+		return convert(document, 0, objectCallback, getConversionMetrics(collectionName));
+	}
+
+	/**
+	 * Map a single {@link Document} at the given {@code position} within its result using the {@link DocumentCallback}.
+	 *
+	 * @param document must not be {@literal null}.
+	 * @param position zero-based position of the {@link Document} within its result.
+	 * @param objectCallback must not be {@literal null}.
+	 * @param metrics the {@link ConversionMetrics} to record the conversion with.
+	 * @return the converted result.
+	 */
+	private <T> Mono<T> convert(Document document, long position, DocumentCallback<T> objectCallback,
+			ConversionMetrics metrics) {
+
+		ConversionOffloadOptions options = this.conversionOffloadOptions;
+
+		if (options == null || !options.shouldOffload(position, document)) {
+			return Mono.justOrEmpty(doConvert(document, objectCallback, metrics, false));
+		}
+
+		return Mono.fromCallable(() -> doConvert(document, objectCallback, metrics, true))
+				.subscribeOn(options.getScheduler());
+	}
+
+	private ConversionMetrics getConversionMetrics(String collectionName) {
+		return conversionMetrics.computeIfAbsent(collectionName == null ? "" : collectionName, ConversionMetrics::new);
+	}
+
+	private static <T> T doConvert(Document document, DocumentCallback<T> objectCallback, ConversionMetrics metrics,
+			boolean offloaded) {
+
+		long start = System.nanoTime();
+
+		try {
+			return objectCallback.doWith(document);
+		} finally {
+			metrics.record(System.nanoTime() - start, offloaded);
+		}
+	}
+
 	private <T> T execute(MongoDatabaseCallback<T> action) {
 
 		Assert.notNull(action, "MongoDatabaseCallback must not be null!");
@@ -2321,6 +3050,17 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 
 			return findPublisherToUse;
 		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.FindPublisherPreparer#publish(com.mongodb.reactivestreams.client.FindPublisher)
+		 */
+		@Override
+		public <T> Publisher<T> publish(FindPublisher<T> findPublisher) {
+
+			AdaptiveBatchSize batchSize = adaptiveBatchSize;
+			return batchSize != null ? new AdaptiveBatchSizePublisher<>(findPublisher, batchSize) : findPublisher;
+		}
 	}
 
 	class TailingQueryFindPublisherPreparer extends QueryFindPublisherPreparer {
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.util.Assert;
+
+import com.mongodb.MongoException;
+
+/**
+ * Backoff and resumable errors for reopening a cursor after a failure, shared by {@link TailOptions} and
+ * {@link ChangeStreamOptions}. Backoff grows exponentially from {@link #getMinBackoff()} to {@link #getMaxBackoff()}.
+ * An error is resumable if it is a {@link DataAccessResourceFailureException} or if the first {@link MongoException}
+ * in its cause chain is of one of the resumable types or carries one of the resumable error codes.
+ *
+ * @author agent
+ * @since 2.0
+ */
+class ResumePolicy {
+
+	private final Duration minBackoff;
+	private final Duration maxBackoff;
+	private final long maxRetries;
+	private final List<Class<? extends MongoException>> resumableTypes;
+	private final Set<Integer> resumableCodes;
+
+	private ResumePolicy(Duration minBackoff, Duration maxBackoff, long maxRetries,
+			List<Class<? extends MongoException>> resumableTypes, Set<Integer> resumableCodes) {
+
+		this.minBackoff = minBackoff;
+		this.maxBackoff = maxBackoff;
+		this.maxRetries = maxRetries;
+		this.resumableTypes = resumableTypes;
+		this.resumableCodes = resumableCodes;
+	}
+
+	/**
+	 * Create a new {@link ResumePolicy} with a backoff between {@literal 100 ms} and {@literal 10 s}, giving up after
+	 * {@literal 10} consecutive attempts.
+	 *
+	 * @param resumableCodes the error codes to resume after.
+	 * @param resumableTypes the {@link MongoException} types to resume after.
+	 * @return new {@link ResumePolicy}.
+	 */
+	@SafeVarargs
+	static ResumePolicy resumingOn(Set<Integer> resumableCodes, Class<? extends MongoException>... resumableTypes) {
+		return new ResumePolicy(Duration.ofMillis(100), Duration.ofSeconds(10), 10, Arrays.asList(resumableTypes),
+				Collections.unmodifiableSet(new HashSet<>(resumableCodes)));
+	}
+
+	/**
+	 * Create a new {@link ResumePolicy} with already given settings and backoff bounds set to given values.
+	 *
+	 * @param minBackoff must not be {@literal null} or negative.
+	 * @param maxBackoff must not be {@literal null} and not be shorter than {@code minBackoff}.
+	 * @return new {@link ResumePolicy}.
+	 */
+	ResumePolicy backoff(Duration minBackoff, Duration maxBackoff) {
+
+		Assert.notNull(minBackoff, "Min backoff must not be null!");
+		Assert.notNull(maxBackoff, "Max backoff must not be null!");
+		Assert.isTrue(!minBackoff.isNegative(), "Min backoff must not be negative!");
+		Assert.isTrue(maxBackoff.compareTo(minBackoff) >= 0, "Max backoff must not be shorter than min backoff!");
+
+		return new ResumePolicy(minBackoff, maxBackoff, maxRetries, resumableTypes, resumableCodes);
+	}
+
+	/**
+	 * Create a new {@link ResumePolicy} with already given settings and {@code maxRetries} set to given value.
+	 *
+	 * @param maxRetries must not be negative.
+	 * @return new {@link ResumePolicy}.
+	 */
+	ResumePolicy maxRetries(long maxRetries) {
+
+		Assert.isTrue(maxRetries >= 0, "Max retries must not be negative!");
+
+		return new ResumePolicy(minBackoff, maxBackoff, maxRetries, resumableTypes, resumableCodes);
+	}
+
+	Duration getMinBackoff() {
+		return minBackoff;
+	}
+
+	Duration getMaxBackoff() {
+		return maxBackoff;
+	}
+
+	long getMaxRetries() {
+		return maxRetries;
+	}
+
+	/**
+	 * Compute the backoff before the given attempt.
+	 *
+	 * @param attempt zero-based number of consecutive attempts.
+	 * @return the backoff bounded by {@link #getMinBackoff()} and {@link #getMaxBackoff()}.
+	 */
+	Duration getBackoff(long attempt) {
+
+		if (attempt >= 31) {
+			return maxBackoff;
+		}
+
+		Duration backoff = minBackoff.multipliedBy(1L << attempt);
+		return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+	}
+
+	/**
+	 * @param error the error to inspect, either translated or as raised by the driver.
+	 * @return {@literal true} if the cursor may be reopened after the given error.
+	 */
+	boolean isResumable(Throwable error) {
+
+		if (error instanceof DataAccessResourceFailureException) {
+			return true;
+		}
+
+		for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+
+			if (cause instanceof MongoException) {
+
+				for (Class<? extends MongoException> type : resumableTypes) {
+					if (type.isInstance(cause)) {
+						return true;
+					}
+				}
+
+				return resumableCodes.contains(((MongoException) cause).getCode());
+			}
+
+			if (cause.getCause() == cause) {
+				break;
+			}
+		}
+
+		return false;
+	}
+}
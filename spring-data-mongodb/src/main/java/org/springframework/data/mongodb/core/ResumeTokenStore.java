@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import reactor.core.publisher.Mono;
+
+import org.bson.Document;
+
+/**
+ * Storage for change stream resume tokens allowing a change stream to continue after the last processed event across
+ * restarts.
+ *
+ * @author agent
+ * @since 2.0
+ * @see ChangeStreamOptions#persistResumeToken(ResumeTokenStore, String)
+ * @see MongoResumeTokenStore
+ */
+public interface ResumeTokenStore {
+
+	/**
+	 * Load the resume token stored for the given key.
+	 *
+	 * @param key must not be {@literal null}.
+	 * @return a {@link Mono} emitting the stored token or completing empty if no token was stored yet.
+	 */
+	Mono<Document> load(String key);
+
+	/**
+	 * Store the given resume token for the given key replacing a previously stored one.
+	 *
+	 * @param key must not be {@literal null}.
+	 * @param resumeToken must not be {@literal null}.
+	 * @return a {@link Mono} completing once the token is stored.
+	 */
+	Mono<Void> save(String key, Document resumeToken);
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map.Entry;
+
+import org.bson.Document;
+import org.springframework.util.Assert;
+
+import com.mongodb.MongoCursorNotFoundException;
+import com.mongodb.MongoSocketException;
+
+/**
+ * Options for resumable tailing of capped collections. A tailing cursor that dies, lost its position or fails with a
+ * resource failure such as a network error is reopened after a backoff, selecting only documents whose
+ * {@link #getResumeField() resume field} is greater than the one of the last document seen. As tailable cursors
+ * return documents in natural order, the resume field has to increase with insertion order, otherwise documents
+ * inserted before the failure but ordered below the last one seen are skipped silently.
+ * <p>
+ * Generated {@literal _id}s only satisfy this for a single writing process. {@link org.bson.types.ObjectId}s created
+ * by different clients within the same second are ordered by machine and process rather than by insertion, so
+ * collections written by several clients should be tailed with a {@link #resumeFrom(String) resume field} holding a
+ * monotonically increasing value assigned on insert, such as a sequence number.
+ * <p>
+ * Backoff grows exponentially from {@link #getMinBackoff()} to {@link #getMaxBackoff()} and is reset once a document
+ * is received. Tailing gives up after {@link #getMaxRetries()} consecutive attempts without receiving a document.
+ * <p>
+ * Batch-emitting tail operations emit up to {@link #getBatchSize()} documents at once, waiting at most
+ * {@link #getMaxBatchWait()} for a batch to fill up.
+ *
+ * @author agent
+ * @since 2.0
+ */
+public class TailOptions {
+
+	private static final int CURSOR_NOT_FOUND = 43;
+	private static final int CAPPED_POSITION_LOST = 136;
+
+	private static final ResumePolicy RESUME_POLICY = ResumePolicy.resumingOn(
+			new HashSet<>(Arrays.asList(CURSOR_NOT_FOUND, CAPPED_POSITION_LOST)), MongoCursorNotFoundException.class,
+			MongoSocketException.class);
+
+	private static final TailOptions DEFAULTS = new TailOptions("_id", RESUME_POLICY, 100, Duration.ofMillis(100));
+
+	private final String resumeField;
+	private final ResumePolicy resumePolicy;
+	private final int batchSize;
+	private final Duration maxBatchWait;
+
+	private TailOptions(String resumeField, ResumePolicy resumePolicy, int batchSize, Duration maxBatchWait) {
+
+		this.resumeField = resumeField;
+		this.resumePolicy = resumePolicy;
+		this.batchSize = batchSize;
+		this.maxBatchWait = maxBatchWait;
+	}
+
+	/**
+	 * Create new {@link TailOptions} resuming from the last seen {@literal _id} with a backoff between
+	 * {@literal 100 ms} and {@literal 10 s}, giving up after {@literal 10} consecutive attempts and emitting batches of
+	 * up to {@literal 100} documents within {@literal 100 ms}.
+	 *
+	 * @return the default {@link TailOptions}.
+	 */
+	public static TailOptions defaults() {
+		return DEFAULTS;
+	}
+
+	/**
+	 * Create new {@link TailOptions} with already given settings and {@code resumeField} set to given value.
+	 *
+	 * @param resumeField name of the top-level document field to resume from, must not be {@literal null} or empty.
+	 * @return new {@link TailOptions}.
+	 */
+	public TailOptions resumeFrom(String resumeField) {
+
+		Assert.hasText(resumeField, "Resume field must not be null or empty!");
+
+		return new TailOptions(resumeField, resumePolicy, batchSize, maxBatchWait);
+	}
+
+	/**
+	 * Create new {@link TailOptions} with already given settings and backoff bounds set to given values.
+	 *
+	 * @param minBackoff must not be {@literal null} or negative.
+	 * @param maxBackoff must not be {@literal null} and not be shorter than {@code minBackoff}.
+	 * @return new {@link TailOptions}.
+	 */
+	public TailOptions backoff(Duration minBackoff, Duration maxBackoff) {
+		return new TailOptions(resumeField, resumePolicy.backoff(minBackoff, maxBackoff), batchSize, maxBatchWait);
+	}
+
+	/**
+	 * Create new {@link TailOptions} with already given settings and {@code maxRetries} set to given value.
+	 *
+	 * @param maxRetries must not be negative.
+	 * @return new {@link TailOptions}.
+	 */
+	public TailOptions maxRetries(long maxRetries) {
+		return new TailOptions(resumeField, resumePolicy.maxRetries(maxRetries), batchSize, maxBatchWait);
+	}
+
+	/**
+	 * Create new {@link TailOptions} with already given settings and {@code batchSize} set to given value.
+	 *
+	 * @param batchSize must be greater than zero.
+	 * @return new {@link TailOptions}.
+	 */
+	public TailOptions batchSize(int batchSize) {
+
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+
+		return new TailOptions(resumeField, resumePolicy, batchSize, maxBatchWait);
+	}
+
+	/**
+	 * Create new {@link TailOptions} with already given settings and {@code maxBatchWait} set to given value.
+	 *
+	 * @param maxBatchWait must not be {@literal null} and must be positive.
+	 * @return new {@link TailOptions}.
+	 */
+	public TailOptions maxBatchWait(Duration maxBatchWait) {
+
+		Assert.notNull(maxBatchWait, "Max batch wait must not be null!");
+		Assert.isTrue(!maxBatchWait.isNegative() && !maxBatchWait.isZero(), "Max batch wait must be positive!");
+
+		return new TailOptions(resumeField, resumePolicy, batchSize, maxBatchWait);
+	}
+
+	/**
+	 * @return the name of the field to resume from.
+	 */
+	public String getResumeField() {
+		return resumeField;
+	}
+
+	/**
+	 * @return the backoff before the first attempt to reopen the cursor.
+	 */
+	public Duration getMinBackoff() {
+		return resumePolicy.getMinBackoff();
+	}
+
+	/**
+	 * @return the maximum backoff between attempts to reopen the cursor.
+	 */
+	public Duration getMaxBackoff() {
+		return resumePolicy.getMaxBackoff();
+	}
+
+	/**
+	 * @return the maximum number of consecutive attempts to reopen the cursor without receiving a document.
+	 */
+	public long getMaxRetries() {
+		return resumePolicy.getMaxRetries();
+	}
+
+	/**
+	 * @return the maximum number of documents per emitted batch.
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * @return the maximum time to wait for a batch to fill up.
+	 */
+	public Duration getMaxBatchWait() {
+		return maxBatchWait;
+	}
+
+	/**
+	 * Compute the backoff before the given attempt to reopen the cursor.
+	 *
+	 * @param attempt zero-based number of consecutive attempts.
+	 * @return the backoff bounded by {@link #getMinBackoff()} and {@link #getMaxBackoff()}.
+	 */
+	Duration getBackoff(long attempt) {
+		return resumePolicy.getBackoff(attempt);
+	}
+
+	/**
+	 * Create the query selecting documents after the given resume value.
+	 *
+	 * @param query the mapped query, must not be {@literal null}.
+	 * @param lastSeen value of the {@link #getResumeField() resume field} of the last document seen, can be
+	 *          {@literal null}.
+	 * @return the query to open the cursor with.
+	 */
+	Document getResumeQuery(Document query, Object lastSeen) {
+
+		if (lastSeen == null) {
+			return query;
+		}
+
+		Document resume = new Document(resumeField, new Document("$gt", lastSeen));
+		return query.isEmpty() ? resume : new Document("$and", Arrays.asList(query, resume));
+	}
+
+	/**
+	 * Make sure an inclusive projection retains the {@link #getResumeField() resume field}.
+	 *
+	 * @param fields the mapped projection, must not be {@literal null}.
+	 * @return the projection to open the cursor with.
+	 */
+	Document getResumeFields(Document fields) {
+
+		if (fields.isEmpty() || fields.containsKey(resumeField)) {
+			return fields;
+		}
+
+		for (Entry<String, Object> entry : fields.entrySet()) {
+
+			Object value = entry.getValue();
+
+			if (!"_id".equals(entry.getKey()) && (Boolean.FALSE.equals(value) || Integer.valueOf(0).equals(value))) {
+				return fields;
+			}
+		}
+
+		Document resumeFields = new Document(fields);
+		resumeFields.put(resumeField, 1);
+		return resumeFields;
+	}
+
+	/**
+	 * Resumable errors are resource failures, e.g. network errors or a primary stepping down, and errors reporting the
+	 * cursor as not found or as having lost its position in the capped collection. All other errors, e.g. invalid queries
+	 * or missing permissions, are not going to go away by reopening the cursor.
+	 *
+	 * @param error the error to inspect, either translated or as raised by the driver.
+	 * @return {@literal true} if tailing may resume after the given error.
+	 */
+	static boolean isResumable(Throwable error) {
+		return RESUME_POLICY.isResumable(error);
+	}
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Publisher} collecting elements into batches of up to a maximum size, emitting a batch once it is full or the
+ * maximum wait time since its first element has passed. Unlike {@code Flux.bufferTimeout(…)}, batches are only emitted
+ * on downstream demand. Without demand, the pending batch keeps filling up to its maximum size and upstream is not
+ * requested any further, so that at most one batch is held in memory.
+ *
+ * @author agent
+ * @since 2.0
+ */
+class TimedBatchPublisher<T> implements Publisher<List<T>> {
+
+	private final Publisher<? extends T> source;
+	private final int maxSize;
+	private final Duration maxWait;
+	private final Scheduler timer;
+
+	/**
+	 * Creates a new {@link TimedBatchPublisher} timing batches on the {@link Schedulers#parallel() parallel}
+	 * {@link Scheduler}.
+	 *
+	 * @param source must not be {@literal null}.
+	 * @param maxSize must be greater than zero.
+	 * @param maxWait must not be {@literal null}.
+	 */
+	TimedBatchPublisher(Publisher<? extends T> source, int maxSize, Duration maxWait) {
+		this(source, maxSize, maxWait, Schedulers.parallel());
+	}
+
+	/**
+	 * Creates a new {@link TimedBatchPublisher}.
+	 *
+	 * @param source must not be {@literal null}.
+	 * @param maxSize must be greater than zero.
+	 * @param maxWait must not be {@literal null}.
+	 * @param timer must not be {@literal null}.
+	 */
+	TimedBatchPublisher(Publisher<? extends T> source, int maxSize, Duration maxWait, Scheduler timer) {
+
+		Assert.notNull(source, "Source must not be null!");
+		Assert.isTrue(maxSize > 0, "Max size must be greater than zero!");
+		Assert.notNull(maxWait, "Max wait must not be null!");
+		Assert.notNull(timer, "Scheduler must not be null!");
+
+		this.source = source;
+		this.maxSize = maxSize;
+		this.maxWait = maxWait;
+		this.timer = timer;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.reactivestreams.Publisher#subscribe(org.reactivestreams.Subscriber)
+	 */
+	@Override
+	public void subscribe(Subscriber<? super List<T>> subscriber) {
+		source.subscribe(new TimedBatchSubscriber<T>(subscriber, maxSize, maxWait, timer));
+	}
+
+	static class TimedBatchSubscriber<T> implements Subscriber<T>, Subscription {
+
+		private final Subscriber<? super List<T>> actual;
+		private final int maxSize;
+		private final Duration maxWait;
+		private final Scheduler timer;
+		private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger queued = new AtomicInteger();
+		private final AtomicLong requested = new AtomicLong();
+		private final AtomicLong received = new AtomicLong();
+		private final AtomicInteger wip = new AtomicInteger();
+
+		private volatile Subscription upstream;
+		private volatile boolean done;
+		private volatile boolean cancelled;
+		private volatile long expiredBatch = -1;
+		private Throwable error;
+
+		// only accessed within drain()
+		private long requestedFromUpstream;
+		private long batch;
+		private long timedBatch = -1;
+		private Disposable timeout;
+
+		TimedBatchSubscriber(Subscriber<? super List<T>> actual, int maxSize, Duration maxWait, Scheduler timer) {
+
+			this.actual = actual;
+			this.maxSize = maxSize;
+			this.maxWait = maxWait;
+			this.timer = timer;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.reactivestreams.Subscriber#onSubscribe(org.reactivestreams.Subscription)
+		 */
+		@Override
+		public void onSubscribe(Subscription subscription) {
+
+			this.upstream = subscription;
+			actual.onSubscribe(this);
+			drain();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.reactivestreams.Subscriber#onNext(java.lang.Object)
+		 */
+		@Override
+		public void onNext(T element) {
+
+			queue.offer(element);
+			queued.incrementAndGet();
+			received.incrementAndGet();
+			drain();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.reactivestreams.Subscriber#onError(java.lang.Throwable)
+		 */
+		@Override
+		public void onError(Throwable throwable) {
+
+			this.error = throwable;
+			this.done = true;
+			drain();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.reactivestreams.Subscriber#onComplete()
+		 */
+		@Override
+		public void onComplete() {
+
+			this.done = true;
+			drain();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.reactivestreams.Subscription#request(long)
+		 */
+		@Override
+		public void request(long n) {
+
+			if (n <= 0) {
+				cancel();
+				actual.onError(new IllegalArgumentException("Demand must be greater than zero!"));
+				return;
+			}
+
+			requested.accumulateAndGet(n, (current, additional) -> {
+				long sum = current + additional;
+				return sum < 0 ? Long.MAX_VALUE : sum;
+			});
+			drain();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.reactivestreams.Subscription#cancel()
+		 */
+		@Override
+		public void cancel() {
+
+			if (cancelled) {
+				return;
+			}
+
+			cancelled = true;
+			upstream.cancel();
+			drain();
+		}
+
+		private void expire(long expired) {
+
+			this.expiredBatch = expired;
+			drain();
+		}
+
+		private void drain() {
+
+			if (wip.getAndIncrement() != 0) {
+				return;
+			}
+
+			int missed = 1;
+
+			do {
+
+				for (;;) {
+
+					if (cancelled) {
+
+						disposeTimeout();
+						queue.clear();
+						return;
+					}
+
+					boolean terminated = done;
+					int available = queued.get();
+
+					if (available == 0) {
+
+						if (terminated) {
+							terminate();
+							return;
+						}
+						break;
+					}
+
+					if (requested.get() == 0 || (available < maxSize && !terminated && expiredBatch != batch)) {
+						break;
+					}
+
+					List<T> next = new ArrayList<>(Math.min(available, maxSize));
+
+					while (next.size() < maxSize) {
+
+						T element = queue.poll();
+
+						if (element == null) {
+							break;
+						}
+
+						next.add(element);
+					}
+
+					queued.addAndGet(-next.size());
+					batch++;
+					disposeTimeout();
+
+					if (requested.get() != Long.MAX_VALUE) {
+						requested.decrementAndGet();
+					}
+
+					actual.onNext(next);
+				}
+
+				int available = queued.get();
+
+				if (available > 0 && timedBatch != batch && maxSize > 1) {
+					scheduleTimeout();
+				}
+
+				long missing = maxSize - available - (requestedFromUpstream - received.get());
+
+				if (!done && missing > 0) {
+
+					requestedFromUpstream += missing;
+					upstream.request(missing);
+				}
+
+				missed = wip.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void scheduleTimeout() {
+
+			long current = batch;
+			timedBatch = current;
+
+			try {
+				timeout = timer.schedule(() -> expire(current), maxWait.toMillis(), TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException e) {
+				expire(current);
+			}
+		}
+
+		private void disposeTimeout() {
+
+			Disposable current = timeout;
+			timeout = null;
+
+			if (current != null) {
+				current.dispose();
+			}
+		}
+
+		private void terminate() {
+
+			cancelled = true;
+			disposeTimeout();
+
+			if (error != null) {
+				actual.onError(error);
+			} else {
+				actual.onComplete();
+			}
+		}
+	}
+}
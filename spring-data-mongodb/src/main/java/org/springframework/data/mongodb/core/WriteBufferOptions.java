@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.time.Duration;
+
+import org.springframework.util.Assert;
+
+/**
+ * Thresholds controlling when {@link BufferingMongoOperations} flushes buffered writes. A buffer is flushed as soon as
+ * either the number of buffered operations or their estimated size in bytes reaches the configured limit, or the
+ * flush interval elapses. Flushes of a buffer never overlap, whatever triggered them. A flush writes an unordered bulk
+ * unless several of its writes may target the same document, in which case the bulk is ordered to retain the order
+ * of the writes.
+ *
+ * @author agent
+ * @since 2.0
+ */
+public class WriteBufferOptions {
+
+	private static final WriteBufferOptions DEFAULTS = new WriteBufferOptions(1000, 8 * 1024 * 1024,
+			Duration.ofSeconds(1));
+
+	private final int maxOperations;
+	private final long maxBytes;
+	private final Duration flushInterval;
+
+	private WriteBufferOptions(int maxOperations, long maxBytes, Duration flushInterval) {
+
+		this.maxOperations = maxOperations;
+		this.maxBytes = maxBytes;
+		this.flushInterval = flushInterval;
+	}
+
+	/**
+	 * Create new {@link WriteBufferOptions} flushing after {@literal 1000} operations, {@literal 8 MB} of estimated
+	 * payload or {@literal 1 second}, whatever comes first.
+	 *
+	 * @return the default {@link WriteBufferOptions}.
+	 */
+	public static WriteBufferOptions defaults() {
+		return DEFAULTS;
+	}
+
+	/**
+	 * Create new {@link WriteBufferOptions} with already given settings and {@code maxOperations} set to given value.
+	 *
+	 * @param maxOperations must be greater than zero.
+	 * @return new {@link WriteBufferOptions}.
+	 */
+	public WriteBufferOptions maxOperations(int maxOperations) {
+
+		Assert.isTrue(maxOperations > 0, "Max operations must be greater than zero!");
+
+		return new WriteBufferOptions(maxOperations, maxBytes, flushInterval);
+	}
+
+	/**
+	 * Create new {@link WriteBufferOptions} with already given settings and {@code maxBytes} set to given value.
+	 *
+	 * @param maxBytes must be greater than zero.
+	 * @return new {@link WriteBufferOptions}.
+	 */
+	public WriteBufferOptions maxBytes(long maxBytes) {
+
+		Assert.isTrue(maxBytes > 0, "Max bytes must be greater than zero!");
+
+		return new WriteBufferOptions(maxOperations, maxBytes, flushInterval);
+	}
+
+	/**
+	 * Create new {@link WriteBufferOptions} with already given settings and {@code flushInterval} set to given value.
+	 *
+	 * @param flushInterval must not be {@literal null} and must be positive.
+	 * @return new {@link WriteBufferOptions}.
+	 */
+	public WriteBufferOptions flushInterval(Duration flushInterval) {
+
+		Assert.notNull(flushInterval, "Flush interval must not be null!");
+		Assert.isTrue(!flushInterval.isNegative() && !flushInterval.isZero(), "Flush interval must be positive!");
+
+		return new WriteBufferOptions(maxOperations, maxBytes, flushInterval);
+	}
+
+	/**
+	 * @return the maximum number of operations to buffer per collection before flushing.
+	 */
+	public int getMaxOperations() {
+		return maxOperations;
+	}
+
+	/**
+	 * @return the maximum estimated number of bytes to buffer per collection before flushing.
+	 */
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * @return the maximum time buffered operations wait before being flushed.
+	 */
+	public Duration getFlushInterval() {
+		return flushInterval;
+	}
+}
@@ -100,6 +100,41 @@ public class Aggregation {
 		return new Aggregation(this.operations, options);
 	}
 
+	/**
+	 * Returns the {@link AggregationOptions} of this {@link Aggregation}.
+	 *
+	 * @return the {@link AggregationOptions}.
+	 * @since 2.0
+	 */
+	public AggregationOptions getOptions() {
+		return options;
+	}
+
+	/**
+	 * Returns a copy of this {@link Aggregation} with its pipeline rewritten into an equivalent form that is cheaper to
+	 * execute. Adjacent {@code $match} stages are merged and moved ahead of stages not affecting the fields they
+	 * reference, {@code $skip} and {@code $limit} are moved ahead of stages neither adding nor removing documents so they
+	 * can coalesce with a preceding {@code $sort}, and no-op stages are removed.
+	 *
+	 * @return the optimized {@link Aggregation}.
+	 * @since 2.0
+	 * @see #explainOptimization()
+	 */
+	public Aggregation optimize() {
+		return new Aggregation(AggregationPipelineOptimizer.optimize(operations).getOperations(), options);
+	}
+
+	/**
+	 * Returns an explain-style description of the rewrites {@link #optimize()} applies to this {@link Aggregation}
+	 * followed by the rewritten pipeline.
+	 *
+	 * @return the description of the optimized pipeline.
+	 * @since 2.0
+	 */
+	public String explainOptimization() {
+		return AggregationPipelineOptimizer.optimize(operations).explain(DEFAULT_CONTEXT);
+	}
+
 	/**
 	 * Creates a new {@link TypedAggregation} for the given type and {@link AggregationOperation}s.
 	 *
@@ -573,6 +608,32 @@ public class Aggregation {
 		return new AggregationOptions.Builder();
 	}
 
+	/**
+	 * Creates a new {@link AggregationParameter} with the given name accepting values of the given type to be bound when
+	 * executing the {@link #prepare(String, AggregationOperationContext) prepared} {@link Aggregation}.
+	 *
+	 * @param name must not be {@literal null} or empty.
+	 * @param type must not be {@literal null}.
+	 * @return
+	 * @since 2.0
+	 */
+	public static <T> AggregationParameter<T> parameter(String name, Class<T> type) {
+		return AggregationParameter.of(name, type);
+	}
+
+	/**
+	 * Renders and maps this {@link Aggregation} once into a {@link PreparedAggregation} that can be executed repeatedly
+	 * by binding values to its {@link AggregationParameter}s.
+	 *
+	 * @param inputCollectionName the name of the input collection, must not be {@literal null} or empty.
+	 * @param rootContext must not be {@literal null}.
+	 * @return the {@link PreparedAggregation}.
+	 * @since 2.0
+	 */
+	public PreparedAggregation prepare(String inputCollectionName, AggregationOperationContext rootContext) {
+		return PreparedAggregation.prepare(this, inputCollectionName, rootContext);
+	}
+
 	/**
 	 * Converts this {@link Aggregation} specification to a {@link Document}.
 	 *
@@ -48,6 +48,7 @@ public class AggregationOptions {
 	private final boolean explain;
 	private final Optional<Document> cursor;
 	private final Optional<Collation> collation;
+	private final boolean skipRawResults;
 
 	/**
 	 * Creates a new {@link AggregationOptions}.
@@ -71,11 +72,28 @@ public class AggregationOptions {
 	 * @since 2.0
 	 */
 	public AggregationOptions(boolean allowDiskUse, boolean explain, Document cursor, Collation collation) {
+		this(allowDiskUse, explain, cursor, collation, false);
+	}
+
+	/**
+	 * Creates a new {@link AggregationOptions}.
+	 *
+	 * @param allowDiskUse whether to off-load intensive sort-operations to disk.
+	 * @param explain whether to get the execution plan for the aggregation instead of the actual results.
+	 * @param cursor can be {@literal null}, used to pass additional options (such as {@code batchSize}) to the
+	 *          aggregation.
+	 * @param collation collation for string comparison. Can be {@literal null}.
+	 * @param skipRawResults whether to not retain the raw result documents in {@link AggregationResults}.
+	 * @since 2.0
+	 */
+	public AggregationOptions(boolean allowDiskUse, boolean explain, Document cursor, Collation collation,
+			boolean skipRawResults) {
 
 		this.allowDiskUse = allowDiskUse;
 		this.explain = explain;
 		this.cursor = Optional.ofNullable(cursor);
 		this.collation = Optional.ofNullable(collation);
+		this.skipRawResults = skipRawResults;
 	}
 
 	/**
@@ -163,6 +181,17 @@ public class AggregationOptions {
 		return collation;
 	}
 
+	/**
+	 * Specifies whether the raw result documents are dropped once mapped instead of being retained in
+	 * {@link AggregationResults#getRawResults()}.
+	 *
+	 * @return
+	 * @since 2.0
+	 */
+	public boolean isSkipRawResults() {
+		return skipRawResults;
+	}
+
 	/**
 	 * Returns a new potentially adjusted copy for the given {@code aggregationCommandObject} with the configuration
 	 * applied.
@@ -234,6 +263,7 @@ public class AggregationOptions {
 		private boolean explain;
 		private Document cursor;
 		private Collation collation;
+		private boolean skipRawResults;
 
 		/**
 		 * Defines whether to off-load intensive sort-operations to disk.
@@ -296,13 +326,26 @@ public class AggregationOptions {
 			return this;
 		}
 
+		/**
+		 * Do not retain the raw result documents in {@link AggregationResults} to avoid holding both the raw and the
+		 * mapped results in memory.
+		 *
+		 * @return
+		 * @since 2.0
+		 */
+		public Builder skipRawResults() {
+
+			this.skipRawResults = true;
+			return this;
+		}
+
 		/**
 		 * Returns a new {@link AggregationOptions} instance with the given configuration.
 		 *
 		 * @return
 		 */
 		public AggregationOptions build() {
-			return new AggregationOptions(allowDiskUse, explain, cursor, collation);
+			return new AggregationOptions(allowDiskUse, explain, cursor, collation, skipRawResults);
 		}
 	}
 }
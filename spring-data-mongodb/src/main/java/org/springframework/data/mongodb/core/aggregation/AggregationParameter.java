@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.aggregation;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Typed placeholder for a value that is bound when executing a {@link PreparedAggregation}. Parameters can be used
+ * wherever a value is accepted, e.g. within the {@link org.springframework.data.mongodb.core.query.Criteria} of a
+ * {@link MatchOperation}.
+ * <p>
+ * We recommend to use the static factory method {@link Aggregation#parameter(String, Class)} instead of creating
+ * instances of this class directly.
+ *
+ * @author agent
+ * @since 2.0
+ * @see PreparedAggregation
+ */
+public final class AggregationParameter<T> {
+
+	static final String MARKER_PREFIX = "__aggregation_parameter:";
+
+	private final String name;
+	private final Class<T> type;
+
+	private AggregationParameter(String name, Class<T> type) {
+
+		this.name = name;
+		this.type = type;
+	}
+
+	/**
+	 * Creates a new {@link AggregationParameter} with the given name accepting values of the given type.
+	 *
+	 * @param name must not be {@literal null} or empty.
+	 * @param type must not be {@literal null}.
+	 * @return new instance of {@link AggregationParameter}.
+	 */
+	public static <T> AggregationParameter<T> of(String name, Class<T> type) {
+
+		Assert.hasText(name, "Parameter name must not be null or empty!");
+		Assert.notNull(type, "Parameter type must not be null!");
+
+		return new AggregationParameter<T>(name, type);
+	}
+
+	/**
+	 * @return the parameter name.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the type of values accepted by the parameter.
+	 */
+	public Class<T> getType() {
+		return type;
+	}
+
+	/**
+	 * Returns whether the given value can be bound to this parameter.
+	 *
+	 * @param value can be {@literal null}.
+	 * @return {@literal true} if {@code value} is {@literal null} or assignable to {@link #getType()}.
+	 */
+	public boolean accepts(Object value) {
+		return ClassUtils.isAssignableValue(type, value);
+	}
+
+	/**
+	 * @return the marker representing this parameter within a rendered pipeline.
+	 */
+	String getMarker() {
+		return MARKER_PREFIX + name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof AggregationParameter)) {
+			return false;
+		}
+
+		AggregationParameter<?> that = (AggregationParameter<?>) obj;
+		return ObjectUtils.nullSafeEquals(this.name, that.name) && ObjectUtils.nullSafeEquals(this.type, that.type);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * ObjectUtils.nullSafeHashCode(name) + ObjectUtils.nullSafeHashCode(type);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("?%s(%s)", name, type.getName());
+	}
+}
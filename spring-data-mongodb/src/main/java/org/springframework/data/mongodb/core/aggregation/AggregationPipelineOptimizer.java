@@ -0,0 +1,415 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.aggregation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.aggregation.ExposedFields.ExposedField;
+import org.springframework.data.mongodb.core.query.CriteriaDefinition;
+import org.springframework.data.mongodb.core.query.SerializationUtils;
+import org.springframework.util.Assert;
+
+/**
+ * Rewrites a {@link List} of {@link AggregationOperation}s into an equivalent pipeline that is cheaper to execute. The
+ * following rewrites are applied until no further rewrite is possible:
+ * <ul>
+ * <li>Empty {@code $match} and {@code $skip: 0} stages are removed.</li>
+ * <li>Adjacent {@code $match} stages are merged, adjacent {@code $skip} stages are summed up and adjacent
+ * {@code $limit} stages are reduced to the smallest limit.</li>
+ * <li>{@code $match} stages are moved ahead of {@code $sort} stages, ahead of {@code $project} stages passing on all
+ * referenced fields unchanged and ahead of {@code $lookup}, {@code $graphLookup} and {@code $unwind} stages not
+ * touching any referenced field.</li>
+ * <li>{@code $skip} and {@code $limit} stages are moved ahead of {@code $project}, {@code $lookup} and
+ * {@code $graphLookup} stages as those neither add nor remove documents. This lets a preceding {@code $sort} coalesce
+ * with the {@code $limit}.</li>
+ * </ul>
+ *
+ * @author agent
+ * @since 2.0
+ */
+class AggregationPipelineOptimizer {
+
+	private static final Set<String> LOGICAL_OPERATORS = new HashSet<String>(Arrays.asList("$and", "$or", "$nor"));
+
+	private AggregationPipelineOptimizer() {}
+
+	/**
+	 * Optimize the given {@link AggregationOperation}s.
+	 *
+	 * @param operations must not be {@literal null}.
+	 * @return the {@link OptimizedPipeline}.
+	 */
+	static OptimizedPipeline optimize(List<AggregationOperation> operations) {
+
+		Assert.notNull(operations, "AggregationOperations must not be null!");
+
+		List<AggregationOperation> pipeline = new ArrayList<AggregationOperation>(operations);
+		List<String> rewrites = new ArrayList<String>();
+
+		boolean changed;
+
+		do {
+			changed = removeNoOps(pipeline, rewrites);
+			changed |= mergeAdjacentStages(pipeline, rewrites);
+			changed |= moveMatchesAhead(pipeline, rewrites);
+			changed |= moveSkipAndLimitAhead(pipeline, rewrites);
+		} while (changed);
+
+		return new OptimizedPipeline(pipeline, rewrites);
+	}
+
+	private static boolean removeNoOps(List<AggregationOperation> pipeline, List<String> rewrites) {
+
+		boolean changed = false;
+
+		for (int i = 0; i < pipeline.size() && pipeline.size() > 1; i++) {
+
+			AggregationOperation operation = pipeline.get(i);
+
+			if ((operation instanceof MatchOperation && ((MatchOperation) operation).getCriteriaObject().isEmpty())
+					|| (operation instanceof SkipOperation && ((SkipOperation) operation).getSkipCount() == 0)) {
+
+				rewrites.add(String.format("Removed no-op %s stage at index %d", getStageName(operation), i));
+				pipeline.remove(i--);
+				changed = true;
+			}
+		}
+
+		return changed;
+	}
+
+	private static boolean mergeAdjacentStages(List<AggregationOperation> pipeline, List<String> rewrites) {
+
+		boolean changed = false;
+
+		for (int i = 1; i < pipeline.size(); i++) {
+
+			AggregationOperation previous = pipeline.get(i - 1);
+			AggregationOperation current = pipeline.get(i);
+			AggregationOperation merged = null;
+
+			if (previous instanceof MatchOperation && current instanceof MatchOperation) {
+				merged = merge((MatchOperation) previous, (MatchOperation) current);
+			} else if (previous instanceof SkipOperation && current instanceof SkipOperation) {
+				merged = new SkipOperation(
+						((SkipOperation) previous).getSkipCount() + ((SkipOperation) current).getSkipCount());
+			} else if (previous instanceof LimitOperation && current instanceof LimitOperation) {
+				merged = new LimitOperation(
+						Math.min(((LimitOperation) previous).getMaxElements(), ((LimitOperation) current).getMaxElements()));
+			}
+
+			if (merged != null) {
+
+				rewrites.add(String.format("Merged adjacent %s stages at index %d and %d", getStageName(current), i - 1, i));
+				pipeline.set(i - 1, merged);
+				pipeline.remove(i--);
+				changed = true;
+			}
+		}
+
+		return changed;
+	}
+
+	private static boolean moveMatchesAhead(List<AggregationOperation> pipeline, List<String> rewrites) {
+
+		boolean changed = false;
+
+		for (int i = 1; i < pipeline.size(); i++) {
+
+			AggregationOperation previous = pipeline.get(i - 1);
+			AggregationOperation current = pipeline.get(i);
+
+			if (current instanceof MatchOperation && canMoveAhead((MatchOperation) current, previous)) {
+
+				rewrites.add(String.format("Moved $match stage at index %d ahead of %s", i, getStageName(previous)));
+				Collections.swap(pipeline, i - 1, i);
+				changed = true;
+			}
+		}
+
+		return changed;
+	}
+
+	private static boolean moveSkipAndLimitAhead(List<AggregationOperation> pipeline, List<String> rewrites) {
+
+		boolean changed = false;
+
+		for (int i = 1; i < pipeline.size(); i++) {
+
+			AggregationOperation previous = pipeline.get(i - 1);
+			AggregationOperation current = pipeline.get(i);
+
+			if ((current instanceof SkipOperation || current instanceof LimitOperation) && isOneToOne(previous)) {
+
+				rewrites.add(String.format("Moved %s stage at index %d ahead of %s", getStageName(current), i,
+						getStageName(previous)));
+				Collections.swap(pipeline, i - 1, i);
+				changed = true;
+			}
+		}
+
+		return changed;
+	}
+
+	/**
+	 * Returns whether the given {@link MatchOperation} yields the same result when evaluated before the given
+	 * {@link AggregationOperation}.
+	 */
+	private static boolean canMoveAhead(MatchOperation match, AggregationOperation operation) {
+
+		if (operation instanceof SortOperation) {
+			return true;
+		}
+
+		Set<String> paths = getReferencedPaths(match.getCriteriaObject());
+
+		if (paths == null) {
+			return false;
+		}
+
+		if (operation instanceof ProjectionOperation) {
+
+			for (String path : paths) {
+				if (!((ProjectionOperation) operation).isPassThrough(path)) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		if (operation instanceof LookupOperation || operation instanceof GraphLookupOperation
+				|| operation instanceof UnwindOperation) {
+
+			Set<String> modified = new HashSet<String>();
+
+			for (ExposedField field : ((FieldsExposingAggregationOperation) operation).getFields()) {
+				modified.add(field.getName());
+			}
+
+			if (operation instanceof UnwindOperation) {
+				modified.add(((UnwindOperation) operation).getPath());
+			}
+
+			for (String path : paths) {
+				for (String candidate : modified) {
+					if (overlaps(path, candidate)) {
+						return false;
+					}
+				}
+			}
+
+			return true;
+		}
+
+		return false;
+	}
+
+	private static boolean isOneToOne(AggregationOperation operation) {
+		return operation instanceof ProjectionOperation || operation instanceof LookupOperation
+				|| operation instanceof GraphLookupOperation;
+	}
+
+	private static MatchOperation merge(MatchOperation first, MatchOperation second) {
+
+		Document left = first.getCriteriaObject();
+		Document right = second.getCriteriaObject();
+
+		if (Collections.disjoint(left.keySet(), right.keySet())) {
+
+			Document merged = new Document(left);
+			merged.putAll(right);
+
+			return new MatchOperation(new DocumentCriteriaDefinition(merged));
+		}
+
+		return new MatchOperation(new DocumentCriteriaDefinition(new Document("$and", Arrays.asList(left, right))));
+	}
+
+	/**
+	 * Collects the field paths referenced by the given criteria. Returns {@literal null} if the criteria contain
+	 * top-level operators such as {@code $where} or {@code $text} that do not allow to determine the referenced fields.
+	 */
+	private static Set<String> getReferencedPaths(Map<String, Object> criteria) {
+
+		Set<String> paths = new HashSet<String>();
+		return collectReferencedPaths(criteria, paths) ? paths : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static boolean collectReferencedPaths(Map<String, Object> criteria, Set<String> paths) {
+
+		for (Entry<String, Object> entry : criteria.entrySet()) {
+
+			String key = entry.getKey();
+
+			if (LOGICAL_OPERATORS.contains(key)) {
+
+				if (!(entry.getValue() instanceof Collection)) {
+					return false;
+				}
+
+				for (Object element : (Collection<Object>) entry.getValue()) {
+					if (!(element instanceof Map) || !collectReferencedPaths((Map<String, Object>) element, paths)) {
+						return false;
+					}
+				}
+			} else if (key.startsWith("$")) {
+				return false;
+			} else {
+				paths.add(key);
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean overlaps(String path, String other) {
+		return path.equals(other) || path.startsWith(other + ".") || other.startsWith(path + ".");
+	}
+
+	private static String getStageName(AggregationOperation operation) {
+
+		if (operation instanceof MatchOperation) {
+			return "$match";
+		}
+		if (operation instanceof SkipOperation) {
+			return "$skip";
+		}
+		if (operation instanceof LimitOperation) {
+			return "$limit";
+		}
+		if (operation instanceof SortOperation) {
+			return "$sort";
+		}
+		if (operation instanceof ProjectionOperation) {
+			return "$project";
+		}
+		if (operation instanceof LookupOperation) {
+			return "$lookup";
+		}
+		if (operation instanceof GraphLookupOperation) {
+			return "$graphLookup";
+		}
+		if (operation instanceof UnwindOperation) {
+			return "$unwind";
+		}
+
+		return operation.getClass().getSimpleName();
+	}
+
+	/**
+	 * Result of a pipeline optimization holding the rewritten {@link AggregationOperation}s along with a description of
+	 * each rewrite applied.
+	 *
+	 * @author agent
+	 */
+	static class OptimizedPipeline {
+
+		private final List<AggregationOperation> operations;
+		private final List<String> rewrites;
+
+		OptimizedPipeline(List<AggregationOperation> operations, List<String> rewrites) {
+
+			this.operations = Collections.unmodifiableList(operations);
+			this.rewrites = Collections.unmodifiableList(rewrites);
+		}
+
+		/**
+		 * @return the rewritten {@link AggregationOperation}s.
+		 */
+		List<AggregationOperation> getOperations() {
+			return operations;
+		}
+
+		/**
+		 * @return descriptions of the rewrites applied in the order of their application.
+		 */
+		List<String> getRewrites() {
+			return rewrites;
+		}
+
+		/**
+		 * Renders an explain-style description listing the rewrites applied followed by the rewritten pipeline.
+		 *
+		 * @param context must not be {@literal null}.
+		 * @return
+		 */
+		String explain(AggregationOperationContext context) {
+
+			StringBuilder builder = new StringBuilder("Rewrites applied:");
+
+			if (rewrites.isEmpty()) {
+				builder.append(" none");
+			}
+
+			for (String rewrite : rewrites) {
+				builder.append("\n\t").append(rewrite);
+			}
+
+			builder.append("\nPipeline:");
+
+			List<Document> stages = AggregationOperationRenderer.toDocument(operations, context);
+
+			for (int i = 0; i < stages.size(); i++) {
+				builder.append("\n\t").append(i).append(": ").append(SerializationUtils.serializeToJsonSafely(stages.get(i)));
+			}
+
+			return builder.toString();
+		}
+	}
+
+	/**
+	 * {@link CriteriaDefinition} for already rendered criteria.
+	 *
+	 * @author agent
+	 */
+	private static class DocumentCriteriaDefinition implements CriteriaDefinition {
+
+		private final Document criteria;
+
+		DocumentCriteriaDefinition(Document criteria) {
+			this.criteria = criteria;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.query.CriteriaDefinition#getCriteriaObject()
+		 */
+		@Override
+		public Document getCriteriaObject() {
+			return criteria;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.query.CriteriaDefinition#getKey()
+		 */
+		@Override
+		public String getKey() {
+			return null;
+		}
+	}
+}
@@ -18,8 +18,10 @@ package org.springframework.data.mongodb.core.aggregation;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.data.mongodb.core.aggregation.ExposedFields.ExposedField;
 import org.springframework.data.mongodb.core.aggregation.Fields.AggregationField;
@@ -42,6 +44,7 @@ public final class ExposedFields implements Iterable<ExposedField> {
 
 	private final List<ExposedField> originalFields;
 	private final List<ExposedField> syntheticFields;
+	private volatile Map<String, ExposedField> fieldsByName;
 
 	/**
 	 * Creates a new {@link ExposedFields} instance from the given {@link ExposedField}s.
@@ -59,15 +62,23 @@ public final class ExposedFields implements Iterable<ExposedField> {
 	 * @param fields must not be {@literal null}.
 	 * @return
 	 */
-	private static ExposedFields from(List<ExposedField> fields) {
+	static ExposedFields from(List<ExposedField> fields) {
 
-		ExposedFields result = EMPTY;
+		if (fields.isEmpty()) {
+			return EMPTY;
+		}
+
+		List<ExposedField> originals = new ArrayList<ExposedField>();
+		List<ExposedField> synthetics = new ArrayList<ExposedField>();
 
 		for (ExposedField field : fields) {
-			result = result.and(field);
+
+			Assert.notNull(field, "Exposed field must not be null!");
+			(field.synthetic ? synthetics : originals).add(field);
 		}
 
-		return result;
+		return new ExposedFields(originals.isEmpty() ? NO_FIELDS : originals,
+				synthetics.isEmpty() ? NO_FIELDS : synthetics);
 	}
 
 	/**
@@ -145,14 +156,32 @@ public final class ExposedFields implements Iterable<ExposedField> {
 	 * @return
 	 */
 	public ExposedField getField(String name) {
+		return getFieldsByName().get(name);
+	}
 
-		for (ExposedField field : this) {
-			if (field.canBeReferredToBy(name)) {
-				return field;
+	/**
+	 * Returns the index of {@link ExposedField}s by the names they {@link ExposedField#canBeReferredToBy(String) can be
+	 * referred to by}. The first field in iteration order wins if multiple fields can be referred to by the same name.
+	 *
+	 * @return
+	 */
+	private Map<String, ExposedField> getFieldsByName() {
+
+		Map<String, ExposedField> fieldsByName = this.fieldsByName;
+
+		if (fieldsByName == null) {
+
+			fieldsByName = new HashMap<String, ExposedField>((int) (exposedFieldsCount() * 2 / 0.75f) + 1);
+
+			for (ExposedField field : this) {
+				fieldsByName.putIfAbsent(field.getName(), field);
+				fieldsByName.putIfAbsent(field.getTarget(), field);
 			}
+
+			this.fieldsByName = fieldsByName;
 		}
 
-		return null;
+		return fieldsByName;
 	}
 
 	/**
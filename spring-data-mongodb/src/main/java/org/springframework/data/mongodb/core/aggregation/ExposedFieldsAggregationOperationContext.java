@@ -107,6 +107,7 @@ class ExposedFieldsAggregationOperationContext implements AggregationOperationCo
 	 * @return the resolved reference or {@literal null}
 	 */
 	protected FieldReference resolveExposedField(Field field, String name) {
+
 		ExposedField exposedField = exposedFields.getField(name);
 
 		if (exposedField != null) {
@@ -119,10 +120,12 @@ class ExposedFieldsAggregationOperationContext implements AggregationOperationCo
 			return new DirectFieldReference(exposedField);
 		}
 
-		if (name.contains(".")) {
+		int separatorIndex = name.indexOf('.');
+
+		if (separatorIndex != -1) {
 
 			// for nested field references we only check that the root field exists.
-			ExposedField rootField = exposedFields.getField(name.split("\\.")[0]);
+			ExposedField rootField = exposedFields.getField(name.substring(0, separatorIndex));
 
 			if (rootField != null) {
 
@@ -368,13 +368,19 @@ public class GroupOperation implements FieldsExposingAggregationOperation {
 	@Override
 	public ExposedFields getFields() {
 
-		ExposedFields fields = this.idFields.and(new ExposedField(Fields.UNDERSCORE_ID, true));
+		List<ExposedField> fields = new ArrayList<ExposedField>();
+
+		for (ExposedField field : idFields) {
+			fields.add(field);
+		}
+
+		fields.add(new ExposedField(Fields.UNDERSCORE_ID, true));
 
 		for (Operation operation : operations) {
-			fields = fields.and(operation.asField());
+			fields.add(operation.asField());
 		}
 
-		return fields;
+		return ExposedFields.from(fields);
 	}
 
 	/*
@@ -51,4 +51,12 @@ public class LimitOperation implements AggregationOperation {
 	public Document toDocument(AggregationOperationContext context) {
 		return new Document("$limit", Long.valueOf(maxElements));
 	}
+
+	/**
+	 * @return the maximum number of documents to pass on.
+	 * @since 2.0
+	 */
+	long getMaxElements() {
+		return maxElements;
+	}
 }
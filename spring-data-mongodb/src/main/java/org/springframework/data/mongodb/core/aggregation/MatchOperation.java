@@ -55,4 +55,12 @@ public class MatchOperation implements AggregationOperation {
 	public Document toDocument(AggregationOperationContext context) {
 		return new Document("$match", context.getMappedObject(criteriaDefinition.getCriteriaObject()));
 	}
+
+	/**
+	 * @return the unmapped criteria {@link Document}.
+	 * @since 2.0
+	 */
+	Document getCriteriaObject() {
+		return criteriaDefinition.getCriteriaObject();
+	}
 }
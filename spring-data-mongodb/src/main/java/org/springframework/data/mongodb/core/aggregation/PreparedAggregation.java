@@ -0,0 +1,471 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.aggregation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.aggregation.ExposedFields.FieldReference;
+import org.springframework.data.mongodb.core.query.SerializationUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * An {@link Aggregation} rendered and mapped once into its {@link Document} representation. Values not known upfront
+ * are declared as {@link AggregationParameter}s and substituted on each {@link #bind(Map) binding}, so that repeated
+ * executions do not need to resolve field references, evaluate expressions and map the pipeline again. Documents
+ * mapped against the domain type, e.g. {@literal $match} criteria, keep their mapped field paths and only the bound
+ * values are converted. Values bound to the id field are converted like ids of an unprepared aggregation, so that a
+ * {@link String} representing an {@link ObjectId} turns into an {@link ObjectId}. Only documents whose parameters do
+ * not survive mapping, e.g. as they are turned into a {@link com.mongodb.DBRef}, are mapped again after binding. A
+ * {@link Collection} bound to a parameter used as sole value of {@literal $in}, {@literal $nin} or {@literal $all}
+ * provides the values of the operator.
+ * <p>
+ * Instances are immutable and can be shared across threads.
+ *
+ * @author agent
+ * @since 2.0
+ * @see Aggregation#prepare(String, AggregationOperationContext)
+ * @see Aggregation#parameter(String, Class)
+ */
+public class PreparedAggregation {
+
+	private static final List<String> COLLECTION_OPERATORS = Arrays.asList("$in", "$nin", "$all");
+	private static final String ID_FIELD = "_id";
+
+	private final String inputCollectionName;
+	private final Document command;
+	private final AggregationOptions options;
+	private final Map<String, AggregationParameter<?>> parameters;
+
+	private PreparedAggregation(String inputCollectionName, Document command, AggregationOptions options,
+			Map<String, AggregationParameter<?>> parameters) {
+
+		this.inputCollectionName = inputCollectionName;
+		this.command = command;
+		this.options = options;
+		this.parameters = Collections.unmodifiableMap(parameters);
+	}
+
+	/**
+	 * Render the given {@link Aggregation} into a {@link PreparedAggregation}.
+	 *
+	 * @param aggregation must not be {@literal null}.
+	 * @param inputCollectionName must not be {@literal null} or empty.
+	 * @param rootContext must not be {@literal null}.
+	 * @return
+	 */
+	static PreparedAggregation prepare(Aggregation aggregation, String inputCollectionName,
+			AggregationOperationContext rootContext) {
+
+		Assert.notNull(aggregation, "Aggregation must not be null!");
+		Assert.hasText(inputCollectionName, "Collection name must not be null or empty!");
+		Assert.notNull(rootContext, "AggregationOperationContext must not be null!");
+
+		Map<String, AggregationParameter<?>> parameters = new LinkedHashMap<String, AggregationParameter<?>>();
+
+		Document command = aggregation.toDocument(inputCollectionName,
+				new ParameterMarkingAggregationOperationContext(rootContext, parameters));
+
+		return new PreparedAggregation(inputCollectionName, (Document) markParameters(command, parameters),
+				aggregation.getOptions(), parameters);
+	}
+
+	/**
+	 * @return the name of the collection to run the aggregation against.
+	 */
+	public String getInputCollectionName() {
+		return inputCollectionName;
+	}
+
+	/**
+	 * @return the {@link AggregationOptions} of the prepared {@link Aggregation}.
+	 */
+	public AggregationOptions getOptions() {
+		return options;
+	}
+
+	/**
+	 * @return the {@link AggregationParameter}s used within the pipeline in the order of their first occurrence.
+	 */
+	public Collection<AggregationParameter<?>> getParameters() {
+		return parameters.values();
+	}
+
+	/**
+	 * Bind the given values to the parameters of the pipeline.
+	 *
+	 * @param values parameter values by parameter name, must not be {@literal null}.
+	 * @return the aggregation command {@link Document}.
+	 * @throws IllegalArgumentException if a parameter value is missing, unknown or not of the declared type.
+	 */
+	public Document bind(Map<String, ?> values) {
+		return bind(values, Function.identity());
+	}
+
+	/**
+	 * Bind the given values to the parameters of the pipeline applying {@code valueConverter} to each value after
+	 * verifying it against the declared {@link AggregationParameter#getType() parameter type}. Collections bound as
+	 * values of {@literal $in}, {@literal $nin} or {@literal $all} are converted element-wise.
+	 *
+	 * @param values parameter values by parameter name, must not be {@literal null}.
+	 * @param valueConverter must not be {@literal null}.
+	 * @return the aggregation command {@link Document}.
+	 * @throws IllegalArgumentException if a parameter value is missing, unknown or not of the declared type.
+	 */
+	public Document bind(Map<String, ?> values, Function<Object, Object> valueConverter) {
+
+		Assert.notNull(values, "Parameter values must not be null!");
+		Assert.notNull(valueConverter, "Value converter must not be null!");
+
+		for (String name : values.keySet()) {
+			Assert.isTrue(parameters.containsKey(name), String.format("Unknown parameter '%s'!", name));
+		}
+
+		Map<String, Object> markerValues = new HashMap<String, Object>(parameters.size());
+
+		for (AggregationParameter<?> parameter : parameters.values()) {
+
+			Assert.isTrue(values.containsKey(parameter.getName()),
+					String.format("No value bound for parameter '%s'!", parameter.getName()));
+
+			Object value = values.get(parameter.getName());
+
+			Assert.isTrue(parameter.accepts(value), String.format("Value %s is not assignable to parameter %s!", value,
+					parameter));
+
+			markerValues.put(parameter.getMarker(), value);
+		}
+
+		return (Document) substitute(command, markerValues, valueConverter);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return SerializationUtils.serializeToJsonSafely(command);
+	}
+
+	/**
+	 * Replaces {@link AggregationParameter}s rendered as is by their marker and registers them.
+	 */
+	private static Object markParameters(Object source, Map<String, AggregationParameter<?>> parameters) {
+
+		if (source instanceof DeferredMappingDocument) {
+			return source;
+		}
+
+		if (source instanceof AggregationParameter) {
+
+			AggregationParameter<?> parameter = (AggregationParameter<?>) source;
+			AggregationParameter<?> existing = parameters.putIfAbsent(parameter.getName(), parameter);
+
+			Assert.isTrue(existing == null || existing.equals(parameter),
+					String.format("Parameter %s conflicts with %s!", parameter, existing));
+
+			return parameter.getMarker();
+		}
+
+		if (source instanceof Document) {
+
+			Document result = new Document();
+
+			for (Entry<String, Object> entry : ((Document) source).entrySet()) {
+				result.put(entry.getKey(), markParameters(entry.getValue(), parameters));
+			}
+
+			return result;
+		}
+
+		if (source instanceof Collection) {
+
+			List<Object> result = new ArrayList<Object>(((Collection<?>) source).size());
+
+			for (Object element : (Collection<?>) source) {
+				result.add(markParameters(element, parameters));
+			}
+
+			return result;
+		}
+
+		return source;
+	}
+
+	private static int countMarkers(Object source, Map<String, AggregationParameter<?>> parameters) {
+
+		if (source instanceof String) {
+			return parameters.values().stream().anyMatch(it -> it.getMarker().equals(source)) ? 1 : 0;
+		}
+
+		if (source instanceof Document) {
+			return ((Document) source).values().stream().mapToInt(it -> countMarkers(it, parameters)).sum();
+		}
+
+		if (source instanceof Collection) {
+			return ((Collection<?>) source).stream().mapToInt(it -> countMarkers(it, parameters)).sum();
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Replaces the markers of parameters bound to the id field of a mapped {@link Document} by {@link IdMarker}s, so
+	 * that their values are converted into ids on binding without mapping the {@link Document} again.
+	 */
+	private static Object markIdParameters(Object source, boolean idField,
+			Map<String, AggregationParameter<?>> parameters) {
+
+		if (source instanceof String) {
+			return idField && countMarkers(source, parameters) > 0 ? new IdMarker((String) source) : source;
+		}
+
+		if (source instanceof Document) {
+
+			Document result = new Document();
+
+			for (Entry<String, Object> entry : ((Document) source).entrySet()) {
+
+				boolean id = entry.getKey().startsWith("$") ? idField : ID_FIELD.equals(entry.getKey());
+				result.put(entry.getKey(), markIdParameters(entry.getValue(), id, parameters));
+			}
+
+			return result;
+		}
+
+		if (source instanceof Collection) {
+
+			List<Object> result = new ArrayList<Object>(((Collection<?>) source).size());
+
+			for (Object element : (Collection<?>) source) {
+				result.add(markIdParameters(element, idField, parameters));
+			}
+
+			return result;
+		}
+
+		return source;
+	}
+
+	private static Object substitute(Object source, Map<String, Object> markerValues,
+			Function<Object, Object> valueConverter) {
+
+		if (source instanceof DeferredMappingDocument) {
+
+			DeferredMappingDocument deferred = (DeferredMappingDocument) source;
+			Document bound = (Document) substitute(deferred.source, markerValues, valueConverter);
+
+			return deferred.context.getMappedObject(bound);
+		}
+
+		if (source instanceof IdMarker) {
+			return convertId(markerValues.get(((IdMarker) source).marker), valueConverter);
+		}
+
+		if (source instanceof String) {
+
+			if (!markerValues.containsKey(source)) {
+				return source;
+			}
+
+			Object value = markerValues.get(source);
+			return value == null ? null : valueConverter.apply(value);
+		}
+
+		if (source instanceof Document) {
+
+			Document result = new Document();
+
+			for (Entry<String, Object> entry : ((Document) source).entrySet()) {
+
+				Collection<?> values = COLLECTION_OPERATORS.contains(entry.getKey())
+						? getBoundCollection(entry.getValue(), markerValues) : null;
+
+				if (values != null) {
+
+					boolean ids = ((List<?>) entry.getValue()).get(0) instanceof IdMarker;
+					List<Object> converted = new ArrayList<Object>(values.size());
+
+					for (Object value : values) {
+						converted.add(ids ? convertId(value, valueConverter)
+								: value == null ? null : valueConverter.apply(value));
+					}
+
+					result.put(entry.getKey(), converted);
+				} else {
+					result.put(entry.getKey(), substitute(entry.getValue(), markerValues, valueConverter));
+				}
+			}
+
+			return result;
+		}
+
+		if (source instanceof List) {
+
+			List<Object> result = new ArrayList<Object>(((List<?>) source).size());
+
+			for (Object element : (List<?>) source) {
+				result.add(substitute(element, markerValues, valueConverter));
+			}
+
+			return result;
+		}
+
+		return source;
+	}
+
+	/**
+	 * Return the collection or array bound to the parameter the given operator value consists of.
+	 *
+	 * @return {@literal null} if the operator value is not a single parameter bound to a collection or an array.
+	 */
+	private static Collection<?> getBoundCollection(Object operatorValue, Map<String, Object> markerValues) {
+
+		if (!(operatorValue instanceof List) || ((List<?>) operatorValue).size() != 1) {
+			return null;
+		}
+
+		Object element = ((List<?>) operatorValue).get(0);
+		Object value = markerValues.get(element instanceof IdMarker ? ((IdMarker) element).marker : element);
+
+		if (value instanceof Collection) {
+			return (Collection<?>) value;
+		}
+
+		return ObjectUtils.isArray(value) ? Arrays.asList(ObjectUtils.toObjectArray(value)) : null;
+	}
+
+	/**
+	 * Convert the given value bound to an id field the way the
+	 * {@link org.springframework.data.mongodb.core.convert.QueryMapper} converts ids, turning a {@link String}
+	 * representing an {@link ObjectId} into an {@link ObjectId}.
+	 */
+	private static Object convertId(Object value, Function<Object, Object> valueConverter) {
+
+		if (value instanceof String && ObjectId.isValid((String) value)) {
+			return new ObjectId((String) value);
+		}
+
+		return value == null ? null : valueConverter.apply(value);
+	}
+
+	/**
+	 * Marker of a parameter bound to the id field of a mapped {@link Document}.
+	 */
+	private static class IdMarker {
+
+		private final String marker;
+
+		IdMarker(String marker) {
+			this.marker = marker;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return marker;
+		}
+	}
+
+	/**
+	 * {@link Document} mapped with markers in place of parameters that retains the unmapped source, so that it can be
+	 * mapped again once values are bound. Only used if mapping did not retain all markers.
+	 */
+	@SuppressWarnings("serial")
+	private static class DeferredMappingDocument extends Document {
+
+		private final Document source;
+		private final transient AggregationOperationContext context;
+
+		DeferredMappingDocument(Document mapped, Document source, AggregationOperationContext context) {
+
+			super(mapped);
+
+			this.source = source;
+			this.context = context;
+		}
+	}
+
+	/**
+	 * {@link AggregationOperationContext} replacing {@link AggregationParameter}s by their marker before handing a
+	 * {@link Document} to the delegate for mapping. Mapped documents retaining all markers are kept with markers of id
+	 * fields flagged for id conversion, others are retained for mapping again once values are bound.
+	 */
+	private static class ParameterMarkingAggregationOperationContext implements AggregationOperationContext {
+
+		private final AggregationOperationContext delegate;
+		private final Map<String, AggregationParameter<?>> parameters;
+
+		ParameterMarkingAggregationOperationContext(AggregationOperationContext delegate,
+				Map<String, AggregationParameter<?>> parameters) {
+
+			this.delegate = delegate;
+			this.parameters = parameters;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.aggregation.AggregationOperationContext#getMappedObject(org.bson.Document)
+		 */
+		@Override
+		public Document getMappedObject(Document document) {
+
+			Document marked = (Document) markParameters(document, parameters);
+			Document mapped = delegate.getMappedObject(marked);
+			int markers = countMarkers(marked, parameters);
+
+			if (markers == 0) {
+				return mapped;
+			}
+
+			return countMarkers(mapped, parameters) == markers ? (Document) markIdParameters(mapped, false, parameters)
+					: new DeferredMappingDocument(mapped, marked, delegate);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.aggregation.AggregationOperationContext#getReference(org.springframework.data.mongodb.core.aggregation.Field)
+		 */
+		@Override
+		public FieldReference getReference(Field field) {
+			return delegate.getReference(field);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.aggregation.AggregationOperationContext#getReference(java.lang.String)
+		 */
+		@Override
+		public FieldReference getReference(String name) {
+			return delegate.getReference(name);
+		}
+	}
+}
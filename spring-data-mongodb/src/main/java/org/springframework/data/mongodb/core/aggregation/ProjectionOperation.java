@@ -177,14 +177,17 @@ public class ProjectionOperation implements FieldsExposingAggregationOperation {
 	@Override
 	public ExposedFields getFields() {
 
-		ExposedFields fields = null;
+		if (projections.isEmpty()) {
+			return null;
+		}
+
+		List<ExposedField> fields = new ArrayList<ExposedField>(projections.size());
 
 		for (Projection projection : projections) {
-			ExposedField field = projection.getExposedField();
-			fields = fields == null ? ExposedFields.from(field) : fields.and(field);
+			fields.add(projection.getExposedField());
 		}
 
-		return fields;
+		return ExposedFields.from(fields);
 	}
 
 	/*
@@ -203,6 +206,41 @@ public class ProjectionOperation implements FieldsExposingAggregationOperation {
 		return new Document("$project", fieldObject);
 	}
 
+	/**
+	 * Returns whether the given field path is passed on by this projection unchanged. That is the case for fields
+	 * included as is and for the implicitly included {@code _id} field unless it is excluded or redefined.
+	 *
+	 * @param path must not be {@literal null}.
+	 * @return
+	 * @since 2.0
+	 */
+	boolean isPassThrough(String path) {
+
+		boolean included = false;
+
+		for (Projection projection : projections) {
+
+			String name = projection.getExposedField().getName();
+
+			if (isPathOrChildOf(path, name)) {
+
+				if (!(projection instanceof FieldProjection) || !((FieldProjection) projection).isPassThrough()) {
+					return false;
+				}
+
+				included = true;
+			} else if (isPathOrChildOf(name, path)) {
+				return false;
+			}
+		}
+
+		return included || isPathOrChildOf(path, Fields.UNDERSCORE_ID);
+	}
+
+	private static boolean isPathOrChildOf(String path, String parent) {
+		return path.equals(parent) || path.startsWith(parent + ".");
+	}
+
 	/**
 	 * Base class for {@link ProjectionOperationBuilder}s.
 	 * 
@@ -1345,6 +1383,13 @@ public class ProjectionOperation implements FieldsExposingAggregationOperation {
 				return new Document(field.getName(), renderFieldValue(context));
 			}
 
+			/**
+			 * @return {@literal true} if the field is included under its own name without any transformation.
+			 */
+			boolean isPassThrough() {
+				return (value == null || Boolean.TRUE.equals(value)) && field.getName().equals(field.getTarget());
+			}
+
 			private Object renderFieldValue(AggregationOperationContext context) {
 
 				// implicit reference or explicit include?
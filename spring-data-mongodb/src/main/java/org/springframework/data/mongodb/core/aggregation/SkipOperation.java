@@ -53,4 +53,12 @@ public class SkipOperation implements AggregationOperation {
 	public Document toDocument(AggregationOperationContext context) {
 		return new Document("$skip", skipCount);
 	}
+
+	/**
+	 * @return the number of documents to skip.
+	 * @since 2.0
+	 */
+	long getSkipCount() {
+		return skipCount;
+	}
 }
@@ -18,10 +18,14 @@ package org.springframework.data.mongodb.core.aggregation;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import org.bson.Document;
 import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.mongodb.core.aggregation.ExposedFields.FieldReference;
 import org.springframework.data.mongodb.core.spel.ExpressionNode;
 import org.springframework.data.mongodb.core.spel.ExpressionTransformationContextSupport;
 import org.springframework.data.mongodb.core.spel.LiteralNode;
@@ -33,13 +37,17 @@ import org.springframework.data.mongodb.core.spel.OperatorNode;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelNode;
 import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.BeanReference;
 import org.springframework.expression.spel.ast.CompoundExpression;
 import org.springframework.expression.spel.ast.ConstructorReference;
+import org.springframework.expression.spel.ast.FunctionReference;
 import org.springframework.expression.spel.ast.Indexer;
 import org.springframework.expression.spel.ast.InlineList;
 import org.springframework.expression.spel.ast.InlineMap;
 import org.springframework.expression.spel.ast.OperatorNot;
 import org.springframework.expression.spel.ast.PropertyOrFieldReference;
+import org.springframework.expression.spel.ast.TypeReference;
+import org.springframework.expression.spel.ast.VariableReference;
 import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
@@ -59,7 +67,23 @@ class SpelExpressionTransformer implements AggregationExpressionTransformer {
 	// TODO: remove explicit usage of a configuration once SPR-11031 gets fixed
 	private static final SpelParserConfiguration CONFIG = new SpelParserConfiguration(false, false);
 	private static final SpelExpressionParser PARSER = new SpelExpressionParser(CONFIG);
+	private static final int CACHE_SIZE = 256;
+
 	private final List<ExpressionNodeConversion<? extends ExpressionNode>> conversions;
+	private final Map<String, CachedExpression> cache = Collections
+			.synchronizedMap(new LinkedHashMap<String, CachedExpression>(16, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				/*
+				 * (non-Javadoc)
+				 * @see java.util.LinkedHashMap#removeEldestEntry(java.util.Map.Entry)
+				 */
+				@Override
+				protected boolean removeEldestEntry(Entry<String, CachedExpression> eldest) {
+					return size() > CACHE_SIZE;
+				}
+			});
 
 	/**
 	 * Creates a new {@link SpelExpressionTransformer}.
@@ -85,6 +109,10 @@ class SpelExpressionTransformer implements AggregationExpressionTransformer {
 	 * {@link AggregationOperationContext} {@code context}.
 	 * <p>
 	 * Exposes the given @{code params} as <code>[0] ... [n]</code>.
+	 * <p>
+	 * Parsed expressions are cached by their expression string. Expressions without parameters additionally cache their
+	 * rendered form which is reused as long as the field references it was rendered with resolve to the same references
+	 * within the given {@link AggregationOperationContext}.
 	 *
 	 * @param expression must not be {@literal null}
 	 * @param context must not be {@literal null}
@@ -97,13 +125,102 @@ class SpelExpressionTransformer implements AggregationExpressionTransformer {
 		Assert.notNull(context, "AggregationOperationContext must not be null!");
 		Assert.notNull(params, "Parameters must not be null!");
 
-		SpelExpression spelExpression = (SpelExpression) PARSER.parseExpression(expression);
+		CachedExpression cachedExpression = getCachedExpression(expression);
+
+		if (params.length != 0 || !cachedExpression.isStatic()) {
+			return transform(cachedExpression.getAst(), context, params);
+		}
+
+		RenderedExpression rendered = cachedExpression.getRendered();
+
+		if (rendered != null && rendered.isValidFor(context)) {
+			return rendered.getResult();
+		}
+
+		ReferenceRecordingAggregationOperationContext recordingContext = new ReferenceRecordingAggregationOperationContext(
+				context);
+		Object result = transform(cachedExpression.getAst(), recordingContext, params);
+
+		if (recordingContext.isCacheable()) {
+			cachedExpression.setRendered(new RenderedExpression(copyOf(result), recordingContext.getReferences()));
+		}
+
+		return result;
+	}
+
+	private Object transform(SpelNode ast, AggregationOperationContext context, Object... params) {
+
 		ExpressionState state = new ExpressionState(new StandardEvaluationContext(params), CONFIG);
-		ExpressionNode node = ExpressionNode.from(spelExpression.getAST(), state);
+		ExpressionNode node = ExpressionNode.from(ast, state);
 
 		return transform(new AggregationExpressionTransformationContext<ExpressionNode>(node, null, null, context));
 	}
 
+	private CachedExpression getCachedExpression(String expression) {
+
+		CachedExpression cachedExpression = cache.get(expression);
+
+		if (cachedExpression == null) {
+
+			SpelNode ast = ((SpelExpression) PARSER.parseExpression(expression)).getAST();
+			cachedExpression = new CachedExpression(ast, isStatic(ast));
+			cache.put(expression, cachedExpression);
+		}
+
+		return cachedExpression;
+	}
+
+	/**
+	 * Returns whether the given {@link SpelNode} renders to the same result given the same field references, i.e. it
+	 * does not reference types, beans, variables or functions that could evaluate to a different value over time.
+	 *
+	 * @param node must not be {@literal null}.
+	 * @return
+	 */
+	private static boolean isStatic(SpelNode node) {
+
+		if (node instanceof TypeReference || node instanceof ConstructorReference || node instanceof VariableReference
+				|| node instanceof BeanReference || node instanceof FunctionReference) {
+			return false;
+		}
+
+		for (int i = 0; i < node.getChildCount(); i++) {
+			if (!isStatic(node.getChild(i))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Object copyOf(Object source) {
+
+		if (source instanceof Document) {
+
+			Document copy = new Document();
+
+			for (Entry<String, Object> entry : ((Document) source).entrySet()) {
+				copy.put(entry.getKey(), copyOf(entry.getValue()));
+			}
+
+			return copy;
+		}
+
+		if (source instanceof List) {
+
+			List<Object> copy = new ArrayList<Object>(((List<Object>) source).size());
+
+			for (Object element : (List<Object>) source) {
+				copy.add(copyOf(element));
+			}
+
+			return copy;
+		}
+
+		return source;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mongodb.core.spel.ExpressionTransformer#transform(org.springframework.data.mongodb.core.spel.ExpressionTransformationContextSupport)
@@ -628,4 +745,145 @@ class SpelExpressionTransformer implements AggregationExpressionTransformer {
 					|| node.isOfType(ConstructorReference.class);
 		}
 	}
+
+	/**
+	 * A parsed SpEL expression along with its rendered form, if available.
+	 *
+	 * @author agent
+	 */
+	private static class CachedExpression {
+
+		private final SpelNode ast;
+		private final boolean isStatic;
+		private volatile RenderedExpression rendered;
+
+		CachedExpression(SpelNode ast, boolean isStatic) {
+
+			this.ast = ast;
+			this.isStatic = isStatic;
+		}
+
+		SpelNode getAst() {
+			return ast;
+		}
+
+		boolean isStatic() {
+			return isStatic;
+		}
+
+		RenderedExpression getRendered() {
+			return rendered;
+		}
+
+		void setRendered(RenderedExpression rendered) {
+			this.rendered = rendered;
+		}
+	}
+
+	/**
+	 * The rendered form of an expression along with the field references it was rendered with.
+	 *
+	 * @author agent
+	 */
+	private static class RenderedExpression {
+
+		private final Object result;
+		private final Map<String, String> references;
+
+		RenderedExpression(Object result, Map<String, String> references) {
+
+			this.result = result;
+			this.references = references;
+		}
+
+		/**
+		 * Returns whether all field references resolve to the same references within the given
+		 * {@link AggregationOperationContext} as they did when rendering the expression.
+		 *
+		 * @param context must not be {@literal null}.
+		 * @return
+		 */
+		boolean isValidFor(AggregationOperationContext context) {
+
+			for (Entry<String, String> reference : references.entrySet()) {
+
+				FieldReference fieldReference = context.getReference(reference.getKey());
+
+				if (fieldReference == null || !reference.getValue().equals(fieldReference.toString())) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		Object getResult() {
+			return copyOf(result);
+		}
+	}
+
+	/**
+	 * {@link AggregationOperationContext} recording the field references resolved by name. Any other interaction with the
+	 * context renders the result as not cacheable.
+	 *
+	 * @author agent
+	 */
+	private static class ReferenceRecordingAggregationOperationContext implements AggregationOperationContext {
+
+		private final AggregationOperationContext delegate;
+		private final Map<String, String> references = new LinkedHashMap<String, String>();
+		private boolean cacheable = true;
+
+		ReferenceRecordingAggregationOperationContext(AggregationOperationContext delegate) {
+			this.delegate = delegate;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.aggregation.AggregationOperationContext#getMappedObject(org.bson.Document)
+		 */
+		@Override
+		public Document getMappedObject(Document document) {
+
+			cacheable = false;
+			return delegate.getMappedObject(document);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.aggregation.AggregationOperationContext#getReference(org.springframework.data.mongodb.core.aggregation.Field)
+		 */
+		@Override
+		public FieldReference getReference(Field field) {
+
+			cacheable = false;
+			return delegate.getReference(field);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.aggregation.AggregationOperationContext#getReference(java.lang.String)
+		 */
+		@Override
+		public FieldReference getReference(String name) {
+
+			FieldReference reference = delegate.getReference(name);
+
+			if (reference == null) {
+				cacheable = false;
+			} else {
+				references.put(name, reference.toString());
+			}
+
+			return reference;
+		}
+
+		boolean isCacheable() {
+			return cacheable;
+		}
+
+		Map<String, String> getReferences() {
+			return references;
+		}
+	}
 }
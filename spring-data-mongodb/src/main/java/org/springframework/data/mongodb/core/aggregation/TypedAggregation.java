@@ -83,4 +83,14 @@ public class TypedAggregation<I> extends Aggregation {
 		Assert.notNull(options, "AggregationOptions must not be null.");
 		return new TypedAggregation<I>(inputType, operations, options);
 	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.aggregation.Aggregation#optimize()
+	 */
+	@Override
+	public TypedAggregation<I> optimize() {
+		return new TypedAggregation<I>(inputType, AggregationPipelineOptimizer.optimize(operations).getOperations(),
+				getOptions());
+	}
 }
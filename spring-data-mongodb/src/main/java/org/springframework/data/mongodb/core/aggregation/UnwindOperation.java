@@ -115,6 +115,14 @@ public class UnwindOperation
 		return arrayIndex != null ? ExposedFields.from(arrayIndex) : ExposedFields.from();
 	}
 
+	/**
+	 * @return the name of the array field to unwind.
+	 * @since 2.0
+	 */
+	String getPath() {
+		return field.getName();
+	}
+
 	/**
 	 * Get a builder that allows creation of {@link LookupOperation}.
 	 *
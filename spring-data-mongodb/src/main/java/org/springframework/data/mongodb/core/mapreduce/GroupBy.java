@@ -38,6 +38,7 @@ public class GroupBy {
 	private Optional<String> initial = Optional.empty();
 	private Optional<String> finalize = Optional.empty();
 	private Optional<Collation> collation = Optional.empty();
+	private boolean aggregationPreferred = false;
 
 	public GroupBy(String... keys) {
 
@@ -143,6 +144,35 @@ public class GroupBy {
 		return this;
 	}
 
+	/**
+	 * Run the group operation through the aggregation framework instead of the JavaScript based {@code group} command
+	 * if the keys, the initial document and the reduce function can be translated into an equivalent {@code $group}
+	 * stage. Falls back to the {@code group} command otherwise.
+	 * <p>
+	 * Only use this option if the accumulated properties are numeric in all grouped documents. The aggregation
+	 * framework skips missing, {@literal null} and non-numeric values when accumulating, while the JavaScript reduce
+	 * function turns the result into {@code NaN} for missing values, e.g. {@code result.total += doc.amount} with
+	 * {@code amount} absent, or concatenates strings. Sums further retain the BSON type of the summed values, e.g.
+	 * {@code int}, instead of being {@code double}.
+	 *
+	 * @return
+	 * @since 2.0
+	 */
+	public GroupBy preferAggregation() {
+
+		this.aggregationPreferred = true;
+		return this;
+	}
+
+	/**
+	 * @return {@literal true} if the group operation should be translated into an aggregation if possible.
+	 * @since 2.0
+	 * @see #preferAggregation()
+	 */
+	public boolean isAggregationPreferred() {
+		return aggregationPreferred;
+	}
+
 	/**
 	 * Get the {@link Document} representation of the {@link GroupBy}.
 	 *
@@ -44,6 +44,7 @@ public class MapReduceOptions {
 	private Optional<Boolean> outputSharded = Optional.empty();
 	private Optional<String> finalizeFunction = Optional.empty();
 	private Optional<Collation> collation = Optional.empty();
+	private boolean aggregationPreferred = false;
 
 	/**
 	 * Static factory method to create a MapReduceOptions instance
@@ -239,6 +240,35 @@ public class MapReduceOptions {
 	 * @deprecated since 1.7
 	 */
 	@Deprecated
+	/**
+	 * Run the map-reduce operation as aggregation if the map and reduce functions follow a common shape, e.g. emitting a
+	 * single property as key and summing up the values, that can be translated into an equivalent {@code $group} stage.
+	 * Falls back to the JavaScript based map-reduce otherwise.
+	 * <p>
+	 * Results differ from JavaScript map-reduce in a few details: reduced numbers retain their BSON type, e.g. sums of
+	 * {@code int} values are {@code int} or {@code long} rather than {@code double}, which is transparent when reading
+	 * into numeric properties of any type but visible in raw {@link org.bson.Document} results. Missing and non-numeric
+	 * values are ignored instead of turning the result into {@code NaN}. {@link MapReduceCounts Input and emit counts}
+	 * are only reported for inline output.
+	 *
+	 * @return MapReduceOptions so that methods can be chained in a fluent API style
+	 * @since 2.0
+	 */
+	public MapReduceOptions preferAggregation() {
+
+		this.aggregationPreferred = true;
+		return this;
+	}
+
+	/**
+	 * @return {@literal true} if the map-reduce operation should be translated into an aggregation if possible.
+	 * @since 2.0
+	 * @see #preferAggregation()
+	 */
+	public boolean isAggregationPreferred() {
+		return aggregationPreferred;
+	}
+
 	public Map<String, Object> getExtraOptions() {
 		return extraOptions;
 	}
@@ -16,6 +16,7 @@
 package org.springframework.data.mongodb.core.query;
 
 import java.util.Arrays;
+import java.util.Optional;
 
 import org.bson.Document;
 import org.springframework.data.domain.Pageable;
@@ -394,6 +395,14 @@ public final class NearQuery {
 		return skip;
 	}
 
+	/**
+	 * @return the {@link Collation} of the {@link Query} applied, {@link Optional#empty()} if none set.
+	 * @since 2.0
+	 */
+	public Optional<Collation> getCollation() {
+		return query != null ? query.getCollation() : Optional.empty();
+	}
+
 	/**
 	 * Returns the {@link Document} built by the {@link NearQuery}.
 	 * 
@@ -0,0 +1,447 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import org.bson.Document;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+/**
+ * {@link InputStream} and {@link ReadableByteChannel} over a byte range of a {@link GridFSFile}. Only the chunks
+ * covering the range are loaded, the first chunk is derived from the range position and the file's chunk size.
+ * Chunks are either read through a single cursor {@link #sequential(MongoCollection, GridFSFile, long, long) one after
+ * another} or {@link #prefetching(MongoCollection, GridFSFile, long, long, Executor, int) fetched ahead} of the
+ * reader with individual queries by {@literal files_id} and {@literal n}.
+ *
+ * @author agent
+ * @since 2.0
+ */
+class GridFsChunkInputStream extends InputStream implements ReadableByteChannel {
+
+	private final ChunkSource chunks;
+
+	private long remaining;
+	private int skip;
+	private byte[] current;
+	private int position;
+	private int limit;
+	private boolean closed;
+
+	private GridFsChunkInputStream(ChunkSource chunks, int skip, long length) {
+
+		this.chunks = chunks;
+		this.skip = skip;
+		this.remaining = length;
+	}
+
+	/**
+	 * Create a {@link GridFsChunkInputStream} reading the chunks covering the given range through a single cursor.
+	 *
+	 * @param chunks the {@literal chunks} collection.
+	 * @param file the file to read.
+	 * @param position the zero-based position of the first byte to read.
+	 * @param length the maximum number of bytes to read.
+	 * @return
+	 */
+	static GridFsChunkInputStream sequential(MongoCollection<Document> chunks, GridFSFile file, long position,
+			long length) {
+
+		Range range = new Range(file, position, length);
+		return new GridFsChunkInputStream(new CursorChunkSource(chunks, file, range), range.skip, range.length);
+	}
+
+	/**
+	 * Create a {@link GridFsChunkInputStream} reading the chunks covering the given range while fetching up to
+	 * {@code prefetch} chunks ahead of the reader on the given {@link Executor}. Fetching starts with the first read, so
+	 * streams that are never read do not query any chunks.
+	 *
+	 * @param chunks the {@literal chunks} collection.
+	 * @param file the file to read.
+	 * @param position the zero-based position of the first byte to read.
+	 * @param length the maximum number of bytes to read.
+	 * @param executor the {@link Executor} to fetch chunks with.
+	 * @param prefetch the number of chunks to fetch ahead, must be greater than zero.
+	 * @return
+	 */
+	static GridFsChunkInputStream prefetching(MongoCollection<Document> chunks, GridFSFile file, long position,
+			long length, Executor executor, int prefetch) {
+
+		Range range = new Range(file, position, length);
+		return new GridFsChunkInputStream(new PrefetchingChunkSource(chunks, file, range, executor, prefetch),
+				range.skip, range.length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#read()
+	 */
+	@Override
+	public int read() throws IOException {
+		return nextChunkAvailable() ? current[position++] & 0xFF : -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#read(byte[], int, int)
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+
+		if (len == 0) {
+			return 0;
+		}
+
+		if (!nextChunkAvailable()) {
+			return -1;
+		}
+
+		int count = Math.min(len, limit - position);
+		System.arraycopy(current, position, b, off, count);
+		position += count;
+
+		return count;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.nio.channels.ReadableByteChannel#read(java.nio.ByteBuffer)
+	 */
+	@Override
+	public int read(ByteBuffer dst) throws IOException {
+
+		if (closed) {
+			throw new ClosedChannelException();
+		}
+
+		if (!dst.hasRemaining()) {
+			return 0;
+		}
+
+		if (!nextChunkAvailable()) {
+			return -1;
+		}
+
+		int count = Math.min(dst.remaining(), limit - position);
+		dst.put(current, position, count);
+		position += count;
+
+		return count;
+	}
+
+	/**
+	 * Write the remaining content of the range to the given {@link WritableByteChannel}. Chunk payloads are handed to
+	 * the channel as {@link ByteBuffer}s wrapping the chunk data without copying it.
+	 *
+	 * @param target must not be {@literal null}.
+	 * @return the number of bytes written.
+	 * @throws IOException
+	 */
+	long transferTo(WritableByteChannel target) throws IOException {
+
+		long written = 0;
+
+		while (nextChunkAvailable()) {
+
+			ByteBuffer buffer = ByteBuffer.wrap(current, position, limit - position);
+
+			while (buffer.hasRemaining()) {
+				written += target.write(buffer);
+			}
+
+			position = limit;
+		}
+
+		return written;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#available()
+	 */
+	@Override
+	public int available() throws IOException {
+		return current == null ? 0 : limit - position;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.nio.channels.Channel#isOpen()
+	 */
+	@Override
+	public boolean isOpen() {
+		return !closed;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#close()
+	 */
+	@Override
+	public void close() throws IOException {
+
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+		current = null;
+		chunks.close();
+	}
+
+	private boolean nextChunkAvailable() throws IOException {
+
+		if (closed) {
+			throw new IOException("Stream is closed!");
+		}
+
+		while (current == null || position == limit) {
+
+			if (remaining == 0) {
+				return false;
+			}
+
+			byte[] chunk = chunks.next();
+
+			if (chunk == null) {
+				return false;
+			}
+
+			current = chunk;
+			position = Math.min(skip, chunk.length);
+			limit = (int) Math.min(chunk.length, position + remaining);
+			remaining -= limit - position;
+			skip = 0;
+		}
+
+		return true;
+	}
+
+	/**
+	 * The chunk range covering a byte range of a file, truncated to the file's length.
+	 *
+	 * @author agent
+	 */
+	static class Range {
+
+		final int firstChunk;
+		final int lastChunk;
+		final int skip;
+		final long length;
+
+		Range(GridFSFile file, long position, long length) {
+
+			long start = Math.min(position, file.getLength());
+
+			this.length = Math.min(length, file.getLength() - start);
+			this.firstChunk = (int) (start / file.getChunkSize());
+			this.lastChunk = this.length == 0 ? firstChunk - 1
+					: (int) ((start + this.length - 1) / file.getChunkSize());
+			this.skip = (int) (start % file.getChunkSize());
+		}
+	}
+
+	/**
+	 * Source of chunk payloads in chunk index order.
+	 *
+	 * @author agent
+	 */
+	interface ChunkSource extends Closeable {
+
+		/**
+		 * @return the payload of the next chunk or {@literal null} if all chunks of the range have been read.
+		 * @throws IOException
+		 */
+		byte[] next() throws IOException;
+	}
+
+	/**
+	 * {@link ChunkSource} reading the chunk range through a single cursor sorted by chunk index.
+	 *
+	 * @author agent
+	 */
+	static class CursorChunkSource implements ChunkSource {
+
+		private final MongoCollection<Document> chunks;
+		private final GridFSFile file;
+		private final Range range;
+
+		private MongoCursor<Document> cursor;
+		private int nextChunk;
+
+		CursorChunkSource(MongoCollection<Document> chunks, GridFSFile file, Range range) {
+
+			this.chunks = chunks;
+			this.file = file;
+			this.range = range;
+			this.nextChunk = range.firstChunk;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.gridfs.GridFsChunkInputStream.ChunkSource#next()
+		 */
+		@Override
+		public byte[] next() {
+
+			if (nextChunk > range.lastChunk) {
+				return null;
+			}
+
+			if (cursor == null) {
+
+				Document query = new Document(GridFsChunks.FILES_ID_FIELD, file.getId()) //
+						.append(GridFsChunks.CHUNK_INDEX_FIELD,
+								new Document("$gte", range.firstChunk).append("$lte", range.lastChunk));
+
+				cursor = chunks.find(query).sort(new Document(GridFsChunks.CHUNK_INDEX_FIELD, 1)).iterator();
+			}
+
+			int index = nextChunk++;
+			return GridFsChunks.getData(file, cursor.hasNext() ? cursor.next() : null, index);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.Closeable#close()
+		 */
+		@Override
+		public void close() {
+
+			if (cursor != null) {
+				cursor.close();
+			}
+		}
+	}
+
+	/**
+	 * {@link ChunkSource} loading up to a given number of chunks ahead of the reader, each with an individual query by
+	 * {@literal files_id} and {@literal n} on the given {@link Executor}, so that the round trips for the chunks ahead
+	 * overlap with each other and with consuming the current chunk. Prefetching starts with the first chunk requested.
+	 *
+	 * @author agent
+	 */
+	static class PrefetchingChunkSource implements ChunkSource {
+
+		private final MongoCollection<Document> chunks;
+		private final GridFSFile file;
+		private final Range range;
+		private final Executor executor;
+		private final int prefetch;
+		private final Deque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+
+		private int nextChunk;
+		private boolean started;
+
+		PrefetchingChunkSource(MongoCollection<Document> chunks, GridFSFile file, Range range, Executor executor,
+				int prefetch) {
+
+			this.chunks = chunks;
+			this.file = file;
+			this.range = range;
+			this.executor = executor;
+			this.prefetch = prefetch;
+			this.nextChunk = range.firstChunk;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.gridfs.GridFsChunkInputStream.ChunkSource#next()
+		 */
+		@Override
+		public byte[] next() throws IOException {
+
+			if (!started) {
+
+				started = true;
+
+				while (nextChunk <= range.lastChunk && pending.size() < prefetch) {
+					fetchNext();
+				}
+			}
+
+			CompletableFuture<byte[]> next = pending.poll();
+
+			if (next == null) {
+				return null;
+			}
+
+			if (nextChunk <= range.lastChunk) {
+				fetchNext();
+			}
+
+			return await(next);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.Closeable#close()
+		 */
+		@Override
+		public void close() {
+
+			pending.forEach(future -> future.cancel(false));
+			pending.clear();
+		}
+
+		private void fetchNext() {
+
+			int index = nextChunk++;
+			pending.add(CompletableFuture.supplyAsync(() -> fetch(index), executor));
+		}
+
+		private byte[] fetch(int index) {
+
+			Document query = new Document(GridFsChunks.FILES_ID_FIELD, file.getId()) //
+					.append(GridFsChunks.CHUNK_INDEX_FIELD, index);
+
+			return GridFsChunks.getData(file, chunks.find(query).first(), index);
+		}
+
+		private static byte[] await(CompletableFuture<byte[]> future) throws IOException {
+
+			try {
+				return future.get();
+			} catch (InterruptedException e) {
+
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for chunk!");
+			} catch (ExecutionException e) {
+
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+
+				throw new IOException(e.getCause());
+			}
+		}
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.util.StringUtils;
+
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+/**
+ * Helper to create and read the {@literal files} and {@literal chunks} documents of a GridFS bucket following the
+ * layout of the GridFS specification for templates that bypass the driver's {@code GridFSBucket}.
+ *
+ * @author agent
+ * @since 2.0
+ */
+abstract class GridFsChunks {
+
+	static final String DEFAULT_BUCKET = "fs";
+	static final int DEFAULT_CHUNK_SIZE = 255 * 1024;
+
+	static final String FILES_ID_FIELD = "files_id";
+	static final String CHUNK_INDEX_FIELD = "n";
+	static final String CHUNK_DATA_FIELD = "data";
+
+	private GridFsChunks() {}
+
+	/**
+	 * @return the unique index on {@literal files_id} and {@literal n} for the {@literal chunks} collection.
+	 */
+	static Document chunksIndex() {
+		return new Document(FILES_ID_FIELD, 1).append(CHUNK_INDEX_FIELD, 1);
+	}
+
+	/**
+	 * @return the index on {@literal filename} and {@literal uploadDate} for the {@literal files} collection.
+	 */
+	static Document filesIndex() {
+		return new Document("filename", 1).append("uploadDate", 1);
+	}
+
+	/**
+	 * Create the metadata document holding the given content type along with the given metadata.
+	 *
+	 * @param contentType can be {@literal null}.
+	 * @param metadata can be {@literal null}.
+	 * @return never {@literal null}.
+	 */
+	static Document metadata(String contentType, Document metadata) {
+
+		Document mData = new Document();
+
+		if (StringUtils.hasText(contentType)) {
+			mData.put(GridFsResource.CONTENT_TYPE_FIELD, contentType);
+		}
+
+		if (metadata != null) {
+			mData.putAll(metadata);
+		}
+
+		return mData;
+	}
+
+	/**
+	 * Create a chunk document.
+	 *
+	 * @param filesId the id of the file the chunk belongs to.
+	 * @param index the zero-based chunk index.
+	 * @param data the chunk payload.
+	 * @return
+	 */
+	static Document chunk(Object filesId, int index, byte[] data) {
+
+		return new Document(FILES_ID_FIELD, filesId) //
+				.append(CHUNK_INDEX_FIELD, index) //
+				.append(CHUNK_DATA_FIELD, new Binary(data));
+	}
+
+	/**
+	 * Create the {@literal files} document.
+	 *
+	 * @param id the file id.
+	 * @param filename can be {@literal null}.
+	 * @param length the content length in bytes.
+	 * @param chunkSize the chunk size in bytes.
+	 * @param md5 the digest updated with the whole content.
+	 * @param metadata can be {@literal null}.
+	 * @return
+	 */
+	static Document file(ObjectId id, String filename, long length, int chunkSize, MessageDigest md5,
+			Document metadata) {
+
+		Document file = new Document("_id", id) //
+				.append("length", length) //
+				.append("chunkSize", chunkSize) //
+				.append("uploadDate", new Date()) //
+				.append("md5", String.format("%032x", new BigInteger(1, md5.digest())));
+
+		if (filename != null) {
+			file.append("filename", filename);
+		}
+
+		if (metadata != null) {
+			file.append("metadata", metadata);
+		}
+
+		return file;
+	}
+
+	/**
+	 * @return a new MD5 {@link MessageDigest}.
+	 */
+	static MessageDigest md5() {
+
+		try {
+			return MessageDigest.getInstance("MD5");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("No MD5 algorithm available!", e);
+		}
+	}
+
+	/**
+	 * @param file must not be {@literal null}.
+	 * @return the number of chunks the given file consists of.
+	 */
+	static int chunkCount(GridFSFile file) {
+		return (int) ((file.getLength() + file.getChunkSize() - 1) / file.getChunkSize());
+	}
+
+	/**
+	 * Obtain the payload of the given chunk document verifying it is the chunk with the expected index.
+	 *
+	 * @param file the file the chunk belongs to.
+	 * @param chunk the chunk document, can be {@literal null}.
+	 * @param expectedIndex the expected chunk index.
+	 * @return the chunk payload.
+	 * @throws MongoGridFSException if the chunk is missing or out of order.
+	 */
+	static byte[] getData(GridFSFile file, Document chunk, int expectedIndex) {
+
+		Number index = chunk != null ? chunk.get(CHUNK_INDEX_FIELD, Number.class) : null;
+
+		if (index == null || index.intValue() != expectedIndex) {
+			throw chunkNotFound(file, expectedIndex);
+		}
+
+		return chunk.get(CHUNK_DATA_FIELD, Binary.class).getData();
+	}
+
+	static MongoGridFSException chunkNotFound(GridFSFile file, int index) {
+		return new MongoGridFSException(
+				String.format("Could not find file chunk for files_id: %s at chunk index %s.", file.getId(), index));
+	}
+}
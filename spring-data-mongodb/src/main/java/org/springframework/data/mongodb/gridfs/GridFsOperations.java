@@ -16,6 +16,9 @@
 package org.springframework.data.mongodb.gridfs;
 
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 
 import org.bson.Document;
 import org.bson.types.ObjectId;
@@ -118,6 +121,54 @@ public interface GridFsOperations extends ResourcePatternResolver {
 	 */
 	ObjectId store(InputStream content, String filename, String contentType, Document metadata);
 
+	/**
+	 * Stores the content of the given file into a file with the given name. The content is read through memory mappings
+	 * of the file.
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param filename must not be {@literal null} or empty.
+	 * @return the {@link ObjectId} of the file just created.
+	 * @since 2.0
+	 */
+	ObjectId store(Path content, String filename);
+
+	/**
+	 * Stores the content of the given file into a file with the given name and content type using the given metadata.
+	 * The content is read through memory mappings of the file.
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param filename must not be {@literal null} or empty.
+	 * @param contentType can be {@literal null}.
+	 * @param metadata can be {@literal null}.
+	 * @return the {@link ObjectId} of the file just created.
+	 * @since 2.0
+	 */
+	ObjectId store(Path content, String filename, String contentType, Document metadata);
+
+	/**
+	 * Stores the content of the given {@link FileChannel} from its current position to its end into a file with the
+	 * given name. The content is read through memory mappings of the channel.
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param filename must not be {@literal null} or empty.
+	 * @return the {@link ObjectId} of the file just created.
+	 * @since 2.0
+	 */
+	ObjectId store(FileChannel content, String filename);
+
+	/**
+	 * Stores the content of the given {@link FileChannel} from its current position to its end into a file with the
+	 * given name and content type using the given metadata. The content is read through memory mappings of the channel.
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param filename must not be {@literal null} or empty.
+	 * @param contentType can be {@literal null}.
+	 * @param metadata can be {@literal null}.
+	 * @return the {@link ObjectId} of the file just created.
+	 * @since 2.0
+	 */
+	ObjectId store(FileChannel content, String filename, String contentType, Document metadata);
+
 	/**
 	 * Returns all files matching the given query. Note, that currently {@link Sort} criterias defined at the
 	 * {@link Query} will not be regarded as MongoDB does not support ordering for GridFS file access.
@@ -143,6 +194,42 @@ public interface GridFsOperations extends ResourcePatternResolver {
 	 */
 	void delete(Query query);
 
+	/**
+	 * Opens the given byte range of the content of the given file. Only the chunks covering the range are read, starting
+	 * with the chunk containing the byte at {@code position}. Ranges exceeding the content are truncated to the content
+	 * length. The returned {@link InputStream} also implements {@link java.nio.channels.ReadableByteChannel}.
+	 * 
+	 * @param file must not be {@literal null}.
+	 * @param position the zero-based position of the first byte to read, must not be negative.
+	 * @param length the maximum number of bytes to read, must not be negative.
+	 * @return the {@link InputStream} for the range, to be closed by the caller.
+	 */
+	InputStream getContent(com.mongodb.client.gridfs.model.GridFSFile file, long position, long length);
+
+	/**
+	 * Writes the content of the given file to the given {@link WritableByteChannel}. Chunk payloads are written to the
+	 * channel directly without intermediate copies. The channel is not closed.
+	 * 
+	 * @param file must not be {@literal null}.
+	 * @param target must not be {@literal null}.
+	 * @return the number of bytes written.
+	 * @since 2.0
+	 */
+	long download(com.mongodb.client.gridfs.model.GridFSFile file, WritableByteChannel target);
+
+	/**
+	 * Writes the content of the given file to the file at the given {@link Path} creating or replacing it. The content
+	 * is written to a temporary file next to the target first and moved to the target once complete, so that a failed
+	 * download leaves neither a partial file nor changes an existing one. A replaced file retains its permissions, a new
+	 * file is created with default permissions.
+	 * 
+	 * @param file must not be {@literal null}.
+	 * @param target must not be {@literal null}.
+	 * @return the number of bytes written.
+	 * @since 2.0
+	 */
+	long download(com.mongodb.client.gridfs.model.GridFSFile file, Path target);
+
 	/**
 	 * Returns all {@link GridFsResource} with the given file name.
 	 * 
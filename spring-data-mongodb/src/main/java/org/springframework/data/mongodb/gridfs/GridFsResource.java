@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2016 the original author or authors.
+ * Copyright 2011-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,9 +18,12 @@ package org.springframework.data.mongodb.gridfs;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
 
 import com.mongodb.client.gridfs.model.GridFSFile;
 import com.mongodb.gridfs.GridFSDBFile;
@@ -36,6 +39,7 @@ public class GridFsResource extends InputStreamResource {
 	static final String CONTENT_TYPE_FIELD = "_contentType";
 
 	private final GridFSFile file;
+	private final GridFsOperations operations;
 
 	/**
 	 * Creates a new {@link GridFsResource} from the given {@link GridFSDBFile}.
@@ -53,9 +57,23 @@ public class GridFsResource extends InputStreamResource {
 	 * @param inputStream must not be {@literal null}.
 	 */
 	public GridFsResource(GridFSFile file, InputStream inputStream) {
+		this(file, inputStream, null);
+	}
+
+	/**
+	 * Creates a new {@link GridFsResource} from the given {@link GridFSDBFile} and {@link InputStream} using the given
+	 * {@link GridFsOperations} for {@link #getInputStream(long, long) range reads}.
+	 * 
+	 * @param file must not be {@literal null}.
+	 * @param inputStream must not be {@literal null}.
+	 * @param operations can be {@literal null}.
+	 * @since 2.0
+	 */
+	public GridFsResource(GridFSFile file, InputStream inputStream, GridFsOperations operations) {
 
 		super(inputStream);
 		this.file = file;
+		this.operations = operations;
 	}
 
 	/*
@@ -85,6 +103,41 @@ public class GridFsResource extends InputStreamResource {
 		return file.getUploadDate().getTime();
 	}
 
+	/**
+	 * Opens a new {@link InputStream} for the given byte range of the content reading only the chunks covering the range.
+	 * Other than {@link #getInputStream()} this method can be called multiple times.
+	 * 
+	 * @param position the zero-based position of the first byte to read, must not be negative.
+	 * @param length the maximum number of bytes to read, must not be negative.
+	 * @return the {@link InputStream} for the range, to be closed by the caller.
+	 * @throws IllegalStateException if the resource was not obtained from {@link GridFsOperations}.
+	 * @since 2.0
+	 * @see GridFsOperations#getContent(GridFSFile, long, long)
+	 */
+	public InputStream getInputStream(long position, long length) {
+
+		Assert.state(operations != null, "Range reads require a GridFsResource obtained from GridFsOperations!");
+
+		return operations.getContent(file, position, length);
+	}
+
+	/**
+	 * Opens a new {@link ReadableByteChannel} for the given byte range of the content reading only the chunks covering
+	 * the range.
+	 * 
+	 * @param position the zero-based position of the first byte to read, must not be negative.
+	 * @param length the maximum number of bytes to read, must not be negative.
+	 * @return the {@link ReadableByteChannel} for the range, to be closed by the caller.
+	 * @throws IllegalStateException if the resource was not obtained from {@link GridFsOperations}.
+	 * @since 2.0
+	 */
+	public ReadableByteChannel readableChannel(long position, long length) {
+
+		InputStream stream = getInputStream(position, length);
+
+		return stream instanceof ReadableByteChannel ? (ReadableByteChannel) stream : Channels.newChannel(stream);
+	}
+
 	/**
 	 * Returns the {@link Resource}'s id.
 	 * 
@@ -18,10 +18,26 @@ package org.springframework.data.mongodb.gridfs;
 import static org.springframework.data.mongodb.core.query.Query.*;
 import static org.springframework.data.mongodb.gridfs.GridFsCriteria.*;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.bson.BsonObjectId;
 import org.bson.Document;
@@ -34,12 +50,16 @@ import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import com.mongodb.MongoGridFSException;
+import com.mongodb.MongoInterruptedException;
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.gridfs.GridFSBucket;
 import com.mongodb.client.gridfs.GridFSBuckets;
 import com.mongodb.client.gridfs.GridFSFindIterable;
 import com.mongodb.client.gridfs.model.GridFSFile;
 import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.model.IndexOptions;
 
 /**
  * {@link GridFsOperations} implementation to store content into MongoDB GridFS.
@@ -58,6 +78,9 @@ public class GridFsTemplate implements GridFsOperations, ResourcePatternResolver
 	private final MongoConverter converter;
 	private final QueryMapper queryMapper;
 
+	private GridFsTransferOptions transferOptions = GridFsTransferOptions.sequential();
+	private volatile boolean indexesEnsured;
+
 	/**
 	 * Creates a new {@link GridFsTemplate} using the given {@link MongoDbFactory} and {@link MongoConverter}.
 	 * 
@@ -87,6 +110,20 @@ public class GridFsTemplate implements GridFsOperations, ResourcePatternResolver
 		this.queryMapper = new QueryMapper(converter);
 	}
 
+	/**
+	 * Configure how chunks are transferred. In {@link GridFsTransferOptions#parallel(Executor, int) parallel} mode
+	 * uploads write chunks concurrently and commit the files document once all chunks are acknowledged, downloads
+	 * fetch chunks ahead of the reader. Defaults to {@link GridFsTransferOptions#sequential()}.
+	 *
+	 * @param transferOptions must not be {@literal null}.
+	 */
+	public void setTransferOptions(GridFsTransferOptions transferOptions) {
+
+		Assert.notNull(transferOptions, "GridFsTransferOptions must not be null!");
+
+		this.transferOptions = transferOptions;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mongodb.gridfs.GridFsOperations#store(java.io.InputStream, java.lang.String)
@@ -162,21 +199,62 @@ public class GridFsTemplate implements GridFsOperations, ResourcePatternResolver
 
 		Assert.notNull(content, "InputStream must not be null!");
 
+		Document mData = GridFsChunks.metadata(contentType, metadata);
+
+		if (transferOptions.isParallel()) {
+			return storeChunks(chunksOf(content), filename, mData);
+		}
+
 		GridFSUploadOptions options = new GridFSUploadOptions();
+		options.metadata(mData);
 
-		Document mData = new Document();
+		return getGridFs().uploadFromStream(filename, content, options);
+	}
 
-		if (StringUtils.hasText(contentType)) {
-			mData.put(GridFsResource.CONTENT_TYPE_FIELD, contentType);
-		}
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.GridFsOperations#store(java.nio.file.Path, java.lang.String)
+	 */
+	@Override
+	public ObjectId store(Path content, String filename) {
+		return store(content, filename, null, null);
+	}
 
-		if (metadata != null) {
-			mData.putAll(metadata);
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.GridFsOperations#store(java.nio.file.Path, java.lang.String, java.lang.String, org.bson.Document)
+	 */
+	@Override
+	public ObjectId store(Path content, String filename, String contentType, Document metadata) {
+
+		Assert.notNull(content, "Path must not be null!");
+
+		try (FileChannel channel = FileChannel.open(content, StandardOpenOption.READ)) {
+			return store(channel, filename, contentType, metadata);
+		} catch (IOException e) {
+			throw new MongoGridFSException(String.format("Could not read %s!", content), e);
 		}
+	}
 
-		options.metadata(mData);
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.GridFsOperations#store(java.nio.channels.FileChannel, java.lang.String)
+	 */
+	@Override
+	public ObjectId store(FileChannel content, String filename) {
+		return store(content, filename, null, null);
+	}
 
-		return getGridFs().uploadFromStream(filename, content, options);
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.GridFsOperations#store(java.nio.channels.FileChannel, java.lang.String, java.lang.String, org.bson.Document)
+	 */
+	@Override
+	public ObjectId store(FileChannel content, String filename, String contentType, Document metadata) {
+
+		Assert.notNull(content, "FileChannel must not be null!");
+
+		return storeChunks(new MappedFileChunkReader(content), filename, GridFsChunks.metadata(contentType, metadata));
 	}
 
 	/*
@@ -214,6 +292,109 @@ public class GridFsTemplate implements GridFsOperations, ResourcePatternResolver
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.GridFsOperations#getContent(com.mongodb.client.gridfs.model.GridFSFile, long, long)
+	 */
+	@Override
+	public InputStream getContent(GridFSFile file, long position, long length) {
+
+		Assert.notNull(file, "GridFSFile must not be null!");
+		Assert.isTrue(position >= 0, "Position must not be negative!");
+		Assert.isTrue(length >= 0, "Length must not be negative!");
+
+		return openContent(file, position, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.GridFsOperations#download(com.mongodb.client.gridfs.model.GridFSFile, java.nio.channels.WritableByteChannel)
+	 */
+	@Override
+	public long download(GridFSFile file, WritableByteChannel target) {
+
+		Assert.notNull(file, "GridFSFile must not be null!");
+		Assert.notNull(target, "WritableByteChannel must not be null!");
+
+		try (GridFsChunkInputStream content = openContent(file, 0, file.getLength())) {
+			return content.transferTo(target);
+		} catch (IOException e) {
+			throw new MongoGridFSException("IOException when writing to the WritableByteChannel!", e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.GridFsOperations#download(com.mongodb.client.gridfs.model.GridFSFile, java.nio.file.Path)
+	 */
+	@Override
+	public long download(GridFSFile file, Path target) {
+
+		Assert.notNull(target, "Path must not be null!");
+
+		Path temporary = null;
+
+		try {
+
+			temporary = createTemporaryFile(target);
+
+			long written;
+
+			try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+				written = download(file, channel);
+			}
+
+			move(temporary, target);
+			return written;
+		} catch (IOException e) {
+			throw new MongoGridFSException(String.format("Could not write %s!", target), e);
+		} finally {
+			deleteIfExists(temporary);
+		}
+	}
+
+	/**
+	 * Create the file to download into next to the given target. Other than {@link Files#createTempFile}, which
+	 * restricts access to the owner, the file is created with default permissions or, if the target exists, gets the
+	 * permissions of the target, as they are retained when the file is moved into place.
+	 */
+	private static Path createTemporaryFile(Path target) throws IOException {
+
+		Path temporary = target.toAbsolutePath()
+				.resolveSibling(String.format("%s.%s.download", target.getFileName(), new ObjectId()));
+
+		Files.createFile(temporary);
+
+		if (Files.exists(target)
+				&& Files.getFileStore(temporary).supportsFileAttributeView(PosixFileAttributeView.class)) {
+			Files.setPosixFilePermissions(temporary, Files.getPosixFilePermissions(target));
+		}
+
+		return temporary;
+	}
+
+	private static void move(Path source, Path target) throws IOException {
+
+		try {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static void deleteIfExists(Path path) {
+
+		if (path == null) {
+			return;
+		}
+
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			// ignore, keep the original failure
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.core.io.ResourceLoader#getClassLoader()
@@ -229,7 +410,7 @@ public class GridFsTemplate implements GridFsOperations, ResourcePatternResolver
 	public GridFsResource getResource(String location) {
 
 		GridFSFile file = findOne(query(whereFilename().is(location)));
-		return file != null ? new GridFsResource(file, getGridFs().openDownloadStream(location)) : null;
+		return file != null ? new GridFsResource(file, openDownloadStream(file), this) : null;
 	}
 
 	/*
@@ -250,7 +431,7 @@ public class GridFsTemplate implements GridFsOperations, ResourcePatternResolver
 			List<GridFsResource> resources = new ArrayList<GridFsResource>();
 
 			for (GridFSFile file : files) {
-				resources.add(new GridFsResource(file, getGridFs().openDownloadStream(file.getFilename())));
+				resources.add(new GridFsResource(file, openDownloadStream(file), this));
 			}
 
 			return resources.toArray(new GridFsResource[resources.size()]);
@@ -259,6 +440,149 @@ public class GridFsTemplate implements GridFsOperations, ResourcePatternResolver
 		return new GridFsResource[] { getResource(locationPattern) };
 	}
 
+	private InputStream openDownloadStream(GridFSFile file) {
+
+		if (transferOptions.isParallel()) {
+			return openContent(file, 0, file.getLength());
+		}
+
+		return getGridFs().openDownloadStream(file.getFilename());
+	}
+
+	private GridFsChunkInputStream openContent(GridFSFile file, long position, long length) {
+
+		if (transferOptions.isParallel()) {
+			return GridFsChunkInputStream.prefetching(getChunksCollection(), file, position, length,
+					transferOptions.getExecutor(), transferOptions.getChunksInFlight());
+		}
+
+		return GridFsChunkInputStream.sequential(getChunksCollection(), file, position, length);
+	}
+
+	/**
+	 * Store the chunks provided by the given {@link ChunkReader} with up to
+	 * {@link GridFsTransferOptions#getChunksInFlight()} concurrent inserts, one after another on the calling thread in
+	 * sequential mode. The files document is inserted only after all chunk inserts have completed successfully, already
+	 * written chunks are removed if any of them failed.
+	 *
+	 * @param reader must not be {@literal null}.
+	 * @param filename can be {@literal null}.
+	 * @param metadata can be {@literal null}.
+	 * @return the id of the stored file.
+	 */
+	private ObjectId storeChunks(ChunkReader reader, String filename, Document metadata) {
+
+		MongoCollection<Document> chunks = getChunksCollection();
+		MongoCollection<Document> files = getFilesCollection();
+
+		ensureIndexes(chunks, files);
+
+		ObjectId id = new ObjectId();
+		int chunkSize = GridFsChunks.DEFAULT_CHUNK_SIZE;
+		int chunksInFlight = transferOptions.getChunksInFlight();
+		Executor executor = transferOptions.isParallel() ? transferOptions.getExecutor() : Runnable::run;
+
+		MessageDigest md5 = GridFsChunks.md5();
+		Semaphore inFlight = new Semaphore(chunksInFlight);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		long length = 0;
+		int index = 0;
+
+		try {
+
+			byte[] data;
+
+			while (failure.get() == null && (data = reader.read(chunkSize)) != null) {
+
+				md5.update(data);
+				length += data.length;
+
+				Document chunk = GridFsChunks.chunk(id, index++, data);
+
+				inFlight.acquire();
+
+				try {
+					executor.execute(() -> {
+
+						try {
+							chunks.insertOne(chunk);
+						} catch (RuntimeException | Error e) {
+							failure.compareAndSet(null, e);
+						} finally {
+							inFlight.release();
+						}
+					});
+				} catch (RuntimeException e) {
+
+					inFlight.release();
+					throw e;
+				}
+			}
+		} catch (IOException e) {
+			failure.compareAndSet(null, new MongoGridFSException("IOException when reading content!", e));
+		} catch (InterruptedException e) {
+
+			Thread.currentThread().interrupt();
+			failure.compareAndSet(null, new MongoInterruptedException("Interrupted while storing chunks!", e));
+		} catch (RuntimeException e) {
+			failure.compareAndSet(null, e);
+		} finally {
+			inFlight.acquireUninterruptibly(chunksInFlight);
+		}
+
+		Throwable error = failure.get();
+
+		if (error != null) {
+
+			chunks.deleteMany(new Document(GridFsChunks.FILES_ID_FIELD, id));
+
+			if (error instanceof Error) {
+				throw (Error) error;
+			}
+
+			throw (RuntimeException) error;
+		}
+
+		files.insertOne(GridFsChunks.file(id, filename, length, chunkSize, md5, metadata));
+
+		return id;
+	}
+
+	private void ensureIndexes(MongoCollection<Document> chunks, MongoCollection<Document> files) {
+
+		if (indexesEnsured) {
+			return;
+		}
+
+		chunks.createIndex(GridFsChunks.chunksIndex(), new IndexOptions().unique(true));
+		files.createIndex(GridFsChunks.filesIndex());
+
+		indexesEnsured = true;
+	}
+
+	private static ChunkReader chunksOf(InputStream content) {
+
+		return chunkSize -> {
+
+			byte[] buffer = new byte[chunkSize];
+			int read = 0;
+
+			while (read < chunkSize) {
+
+				int count = content.read(buffer, read, chunkSize - read);
+
+				if (count == -1) {
+					break;
+				}
+
+				read += count;
+			}
+
+			return read == 0 ? null : read < chunkSize ? Arrays.copyOf(buffer, read) : buffer;
+		};
+	}
+
 	private Document getMappedQuery(Document query) {
 		return query == null ? null : queryMapper.getMappedObject(query, Optional.empty());
 	}
@@ -268,4 +592,90 @@ public class GridFsTemplate implements GridFsOperations, ResourcePatternResolver
 		MongoDatabase db = dbFactory.getDb();
 		return bucket == null ? GridFSBuckets.create(db) : GridFSBuckets.create(db, bucket);
 	}
+
+	private MongoCollection<Document> getFilesCollection() {
+		return dbFactory.getDb().getCollection(getBucketName() + ".files");
+	}
+
+	private MongoCollection<Document> getChunksCollection() {
+		return dbFactory.getDb().getCollection(getBucketName() + ".chunks");
+	}
+
+	private String getBucketName() {
+		return bucket == null ? GridFsChunks.DEFAULT_BUCKET : bucket;
+	}
+
+	/**
+	 * {@link ChunkReader} reading chunks from the current position of a {@link FileChannel} to its end through
+	 * read-only memory mappings spanning a fixed number of chunks. Chunk payloads are copied straight from the mapping
+	 * without intermediate buffers. Advances the channel position once all content has been read.
+	 *
+	 * @author agent
+	 */
+	static class MappedFileChunkReader implements ChunkReader {
+
+		private static final int CHUNKS_PER_MAPPING = 64;
+
+		private final FileChannel channel;
+
+		private long position = -1;
+		private long size;
+		private MappedByteBuffer mapping;
+
+		MappedFileChunkReader(FileChannel channel) {
+			this.channel = channel;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.gridfs.GridFsTemplate.ChunkReader#read(int)
+		 */
+		@Override
+		public byte[] read(int chunkSize) throws IOException {
+
+			if (position == -1) {
+
+				position = channel.position();
+				size = channel.size();
+			}
+
+			if (mapping == null || !mapping.hasRemaining()) {
+
+				if (position >= size) {
+
+					channel.position(position);
+					return null;
+				}
+
+				long length = Math.min((long) chunkSize * CHUNKS_PER_MAPPING, size - position);
+
+				mapping = channel.map(MapMode.READ_ONLY, position, length);
+				position += length;
+			}
+
+			byte[] chunk = new byte[Math.min(chunkSize, mapping.remaining())];
+			mapping.get(chunk);
+
+			return chunk;
+		}
+	}
+
+	/**
+	 * Source of chunk payloads for uploads.
+	 *
+	 * @author agent
+	 */
+	@FunctionalInterface
+	interface ChunkReader {
+
+		/**
+		 * Read the next chunk.
+		 *
+		 * @param chunkSize the chunk size in bytes.
+		 * @return the next chunk of {@code chunkSize} bytes, less for the last chunk or {@literal null} if the content is
+		 *         exhausted.
+		 * @throws IOException
+		 */
+		byte[] read(int chunkSize) throws IOException;
+	}
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.util.Assert;
+
+/**
+ * Options defining how {@link GridFsTemplate} transfers file chunks. By default chunks are written and read one after
+ * another. In {@link #parallel(Executor, int) parallel} mode up to a given number of chunks are written concurrently
+ * on upload and fetched ahead of the reader on download using the given {@link Executor}.
+ *
+ * @author agent
+ * @since 2.0
+ */
+public class GridFsTransferOptions {
+
+	private static final GridFsTransferOptions SEQUENTIAL = new GridFsTransferOptions(null, 1);
+
+	private final Executor executor;
+	private final int chunksInFlight;
+
+	private GridFsTransferOptions(Executor executor, int chunksInFlight) {
+
+		this.executor = executor;
+		this.chunksInFlight = chunksInFlight;
+	}
+
+	/**
+	 * Create {@link GridFsTransferOptions} transferring one chunk at a time on the calling thread.
+	 *
+	 * @return the default {@link GridFsTransferOptions}.
+	 */
+	public static GridFsTransferOptions sequential() {
+		return SEQUENTIAL;
+	}
+
+	/**
+	 * Create {@link GridFsTransferOptions} transferring up to {@code chunksInFlight} chunks concurrently using the given
+	 * {@link Executor}. Each chunk in flight holds one chunk worth of memory.
+	 *
+	 * @param executor must not be {@literal null}.
+	 * @param chunksInFlight must be greater than zero.
+	 * @return new {@link GridFsTransferOptions}.
+	 */
+	public static GridFsTransferOptions parallel(Executor executor, int chunksInFlight) {
+
+		Assert.notNull(executor, "Executor must not be null!");
+		Assert.isTrue(chunksInFlight > 0, "Chunks in flight must be greater than zero!");
+
+		return new GridFsTransferOptions(executor, chunksInFlight);
+	}
+
+	/**
+	 * @return {@literal true} if chunks are transferred concurrently.
+	 */
+	public boolean isParallel() {
+		return executor != null;
+	}
+
+	/**
+	 * @return the {@link Executor} to transfer chunks with. {@literal null} for sequential transfer.
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * @return the maximum number of chunks in flight.
+	 */
+	public int getChunksInFlight() {
+		return chunksInFlight;
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+/**
+ * Collection of operations to store and read files from MongoDB GridFS using reactive infrastructure.
+ *
+ * @author agent
+ * @since 2.0
+ * @see GridFsOperations
+ */
+public interface ReactiveGridFsOperations {
+
+	/**
+	 * Stores the given content into a file with the given name.
+	 *
+	 * @param content must not be {@literal null}.
+	 * @param filename must not be {@literal null} or empty.
+	 * @return the {@link ObjectId} of the {@link GridFSFile} just created.
+	 */
+	Mono<ObjectId> store(Publisher<DataBuffer> content, String filename);
+
+	/**
+	 * Stores the given content into a file with the given name.
+	 *
+	 * @param content must not be {@literal null}.
+	 * @param metadata can be {@literal null}.
+	 * @return the {@link ObjectId} of the {@link GridFSFile} just created.
+	 */
+	Mono<ObjectId> store(Publisher<DataBuffer> content, Object metadata);
+
+	/**
+	 * Stores the given content into a file with the given name.
+	 *
+	 * @param content must not be {@literal null}.
+	 * @param metadata can be {@literal null}.
+	 * @return the {@link ObjectId} of the {@link GridFSFile} just created.
+	 */
+	Mono<ObjectId> store(Publisher<DataBuffer> content, Document metadata);
+
+	/**
+	 * Stores the given content into a file with the given name and content type.
+	 *
+	 * @param content must not be {@literal null}.
+	 * @param filename must not be {@literal null} or empty.
+	 * @param contentType can be {@literal null}.
+	 * @return the {@link ObjectId} of the {@link GridFSFile} just created.
+	 */
+	Mono<ObjectId> store(Publisher<DataBuffer> content, String filename, String contentType);
+
+	/**
+	 * Stores the given content into a file with the given name using the given metadata. The metadata object will be
+	 * marshalled before writing.
+	 *
+	 * @param content must not be {@literal null}.
+	 * @param filename must not be {@literal null} or empty.
+	 * @param metadata can be {@literal null}.
+	 * @return the {@link ObjectId} of the {@link GridFSFile} just created.
+	 */
+	Mono<ObjectId> store(Publisher<DataBuffer> content, String filename, Object metadata);
+
+	/**
+	 * Stores the given content into a file with the given name and content type using the given metadata. The metadata
+	 * object will be marshalled before writing.
+	 *
+	 * @param content must not be {@literal null}.
+	 * @param filename must not be {@literal null} or empty.
+	 * @param contentType can be {@literal null}.
+	 * @param metadata can be {@literal null}
+	 * @return the {@link ObjectId} of the {@link GridFSFile} just created.
+	 */
+	Mono<ObjectId> store(Publisher<DataBuffer> content, String filename, String contentType, Object metadata);
+
+	/**
+	 * Stores the given content into a file with the given name using the given metadata.
+	 *
+	 * @param content must not be {@literal null}.
+	 * @param filename must not be {@literal null} or empty.
+	 * @param metadata can be {@literal null}.
+	 * @return the {@link ObjectId} of the {@link GridFSFile} just created.
+	 */
+	Mono<ObjectId> store(Publisher<DataBuffer> content, String filename, Document metadata);
+
+	/**
+	 * Stores the given content into a file with the given name and content type using the given metadata. Content is
+	 * split into chunks as it arrives, the files document is written once all chunks have been stored.
+	 *
+	 * @param content must not be {@literal null}.
+	 * @param filename must not be {@literal null} or empty.
+	 * @param contentType can be {@literal null}.
+	 * @param metadata can be {@literal null}.
+	 * @return the {@link ObjectId} of the {@link GridFSFile} just created.
+	 */
+	Mono<ObjectId> store(Publisher<DataBuffer> content, String filename, String contentType, Document metadata);
+
+	/**
+	 * Returns all files matching the given query in the order defined by the {@link Query}'s {@link Sort}.
+	 *
+	 * @param query can be {@literal null} to return all files.
+	 * @return {@link Flux} emitting the matching {@link GridFSFile}s.
+	 */
+	Flux<GridFSFile> find(Query query);
+
+	/**
+	 * Returns a single file matching the given query or completes empty in case no file matches.
+	 *
+	 * @param query can be {@literal null}.
+	 * @return
+	 */
+	Mono<GridFSFile> findOne(Query query);
+
+	/**
+	 * Deletes all files matching the given {@link Query}.
+	 *
+	 * @param query can be {@literal null} to delete all files.
+	 * @return {@link Mono} completing once all matching files and their chunks are deleted.
+	 */
+	Mono<Void> delete(Query query);
+
+	/**
+	 * Reads the content of the given {@link GridFSFile} as {@link Flux} of {@link DataBuffer}s, one per chunk. Chunks are
+	 * fetched according to subscriber demand.
+	 *
+	 * @param file must not be {@literal null}.
+	 * @return {@link Flux} emitting the file content.
+	 */
+	Flux<DataBuffer> read(GridFSFile file);
+
+	/**
+	 * Returns the {@link ReactiveGridFsResource} with the given file name.
+	 *
+	 * @param filename must not be {@literal null}.
+	 * @return the resource or an empty {@link Mono} if no file with the given name exists.
+	 */
+	Mono<ReactiveGridFsResource> getResource(String filename);
+
+	/**
+	 * Returns all {@link ReactiveGridFsResource}s matching the given file name pattern.
+	 *
+	 * @param filenamePattern must not be {@literal null}.
+	 * @return
+	 * @see AntPath
+	 */
+	Flux<ReactiveGridFsResource> getResources(String filenamePattern);
+}
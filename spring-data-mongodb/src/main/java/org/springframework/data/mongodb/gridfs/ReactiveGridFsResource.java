@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.util.Assert;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+/**
+ * Reactive counterpart of {@link GridFsResource} exposing the file content as {@link Flux} of {@link DataBuffer}s.
+ *
+ * @author agent
+ * @since 2.0
+ */
+public class ReactiveGridFsResource {
+
+	private final GridFSFile file;
+	private final Flux<DataBuffer> content;
+
+	/**
+	 * Creates a new {@link ReactiveGridFsResource} from the given {@link GridFSFile} and content.
+	 *
+	 * @param file must not be {@literal null}.
+	 * @param content must not be {@literal null}.
+	 */
+	public ReactiveGridFsResource(GridFSFile file, Flux<DataBuffer> content) {
+
+		Assert.notNull(file, "GridFSFile must not be null!");
+		Assert.notNull(content, "Content must not be null!");
+
+		this.file = file;
+		this.content = content;
+	}
+
+	/**
+	 * Returns the underlying {@link GridFSFile}.
+	 *
+	 * @return
+	 */
+	public GridFSFile getGridFSFile() {
+		return file;
+	}
+
+	/**
+	 * Returns the {@link ReactiveGridFsResource}'s id.
+	 *
+	 * @return
+	 */
+	public Object getId() {
+		return file.getId();
+	}
+
+	/**
+	 * Returns the file name.
+	 *
+	 * @return
+	 */
+	public String getFilename() {
+		return file.getFilename();
+	}
+
+	/**
+	 * Returns the content length in bytes.
+	 *
+	 * @return
+	 */
+	public long contentLength() {
+		return file.getLength();
+	}
+
+	/**
+	 * Returns the upload time in milliseconds since epoch.
+	 *
+	 * @return
+	 */
+	public long lastModified() {
+		return file.getUploadDate().getTime();
+	}
+
+	/**
+	 * Returns the {@link ReactiveGridFsResource}'s content type.
+	 *
+	 * @return
+	 */
+	@SuppressWarnings("deprecation")
+	public String getContentType() {
+
+		String contentType = file.getMetadata() != null
+				? file.getMetadata().get(GridFsResource.CONTENT_TYPE_FIELD, String.class) : null;
+
+		return contentType != null ? contentType : file.getContentType();
+	}
+
+	/**
+	 * Returns the file content as {@link Flux} of {@link DataBuffer}s, one per chunk. Chunks are fetched on demand when
+	 * subscribing to the returned {@link Flux}, each subscription reads the content anew.
+	 *
+	 * @return
+	 */
+	public Flux<DataBuffer> getContent() {
+		return content;
+	}
+}
@@ -0,0 +1,496 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import static org.springframework.data.mongodb.core.query.Query.*;
+import static org.springframework.data.mongodb.gridfs.GridFsCriteria.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bson.BsonDocumentWrapper;
+import org.bson.BsonObjectId;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.ObjectId;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.reactivestreams.client.FindPublisher;
+import com.mongodb.reactivestreams.client.MongoCollection;
+
+/**
+ * {@link ReactiveGridFsOperations} implementation to store content into MongoDB GridFS. Operates on the
+ * {@literal files} and {@literal chunks} collections of the bucket directly using the layout of the GridFS
+ * specification so that files stored by {@link GridFsTemplate} can be read and vice versa. Chunk payloads are handed
+ * out as {@link DataBuffer}s wrapping the decoded chunk data without an additional copy.
+ *
+ * @author agent
+ * @since 2.0
+ */
+public class ReactiveGridFsTemplate implements ReactiveGridFsOperations {
+
+	static final int DEFAULT_CHUNK_PREFETCH = 4;
+
+	private final ReactiveMongoDatabaseFactory dbFactory;
+	private final DataBufferFactory dataBufferFactory;
+	private final String bucket;
+	private final MongoConverter converter;
+	private final QueryMapper queryMapper;
+
+	private volatile boolean indexesEnsured;
+
+	/**
+	 * Creates a new {@link ReactiveGridFsTemplate} using the given {@link ReactiveMongoDatabaseFactory} and
+	 * {@link MongoConverter}.
+	 *
+	 * @param dbFactory must not be {@literal null}.
+	 * @param converter must not be {@literal null}.
+	 */
+	public ReactiveGridFsTemplate(ReactiveMongoDatabaseFactory dbFactory, MongoConverter converter) {
+		this(dbFactory, converter, null);
+	}
+
+	/**
+	 * Creates a new {@link ReactiveGridFsTemplate} using the given {@link ReactiveMongoDatabaseFactory} and
+	 * {@link MongoConverter}.
+	 *
+	 * @param dbFactory must not be {@literal null}.
+	 * @param converter must not be {@literal null}.
+	 * @param bucket
+	 */
+	public ReactiveGridFsTemplate(ReactiveMongoDatabaseFactory dbFactory, MongoConverter converter, String bucket) {
+		this(new DefaultDataBufferFactory(), dbFactory, converter, bucket);
+	}
+
+	/**
+	 * Creates a new {@link ReactiveGridFsTemplate} using the given {@link DataBufferFactory},
+	 * {@link ReactiveMongoDatabaseFactory} and {@link MongoConverter}.
+	 *
+	 * @param dataBufferFactory must not be {@literal null}.
+	 * @param dbFactory must not be {@literal null}.
+	 * @param converter must not be {@literal null}.
+	 * @param bucket
+	 */
+	public ReactiveGridFsTemplate(DataBufferFactory dataBufferFactory, ReactiveMongoDatabaseFactory dbFactory,
+			MongoConverter converter, String bucket) {
+
+		Assert.notNull(dataBufferFactory, "DataBufferFactory must not be null!");
+		Assert.notNull(dbFactory, "ReactiveMongoDatabaseFactory must not be null!");
+		Assert.notNull(converter, "MongoConverter must not be null!");
+
+		this.dataBufferFactory = dataBufferFactory;
+		this.dbFactory = dbFactory;
+		this.converter = converter;
+		this.bucket = bucket;
+
+		this.queryMapper = new QueryMapper(converter);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#store(org.reactivestreams.Publisher, java.lang.String)
+	 */
+	@Override
+	public Mono<ObjectId> store(Publisher<DataBuffer> content, String filename) {
+		return store(content, filename, (Object) null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#store(org.reactivestreams.Publisher, java.lang.Object)
+	 */
+	@Override
+	public Mono<ObjectId> store(Publisher<DataBuffer> content, Object metadata) {
+		return store(content, null, metadata);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#store(org.reactivestreams.Publisher, org.bson.Document)
+	 */
+	@Override
+	public Mono<ObjectId> store(Publisher<DataBuffer> content, Document metadata) {
+		return store(content, null, metadata);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#store(org.reactivestreams.Publisher, java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Mono<ObjectId> store(Publisher<DataBuffer> content, String filename, String contentType) {
+		return store(content, filename, contentType, (Object) null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#store(org.reactivestreams.Publisher, java.lang.String, java.lang.Object)
+	 */
+	@Override
+	public Mono<ObjectId> store(Publisher<DataBuffer> content, String filename, Object metadata) {
+		return store(content, filename, null, metadata);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#store(org.reactivestreams.Publisher, java.lang.String, java.lang.String, java.lang.Object)
+	 */
+	@Override
+	public Mono<ObjectId> store(Publisher<DataBuffer> content, String filename, String contentType, Object metadata) {
+
+		Document document = null;
+
+		if (metadata != null) {
+			document = new Document();
+			converter.write(metadata, document);
+		}
+
+		return store(content, filename, contentType, document);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#store(org.reactivestreams.Publisher, java.lang.String, org.bson.Document)
+	 */
+	@Override
+	public Mono<ObjectId> store(Publisher<DataBuffer> content, String filename, Document metadata) {
+		return store(content, filename, null, metadata);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#store(org.reactivestreams.Publisher, java.lang.String, java.lang.String, org.bson.Document)
+	 */
+	@Override
+	public Mono<ObjectId> store(Publisher<DataBuffer> content, String filename, String contentType,
+			Document metadata) {
+
+		Assert.notNull(content, "Content must not be null!");
+
+		Document mData = GridFsChunks.metadata(contentType, metadata);
+
+		return ensureIndexes().then(Mono.defer(() -> {
+
+			ObjectId id = new ObjectId();
+			ChunkAssembler assembler = new ChunkAssembler(id, GridFsChunks.DEFAULT_CHUNK_SIZE);
+			MongoCollection<Document> chunks = getChunksCollection();
+
+			return Flux.from(content) //
+					.concatMapIterable(assembler::append) //
+					.concatWith(Mono.fromSupplier(assembler::flush)) //
+					.concatMap(chunks::insertOne) //
+					.then(Mono.defer(() -> Mono.from(getFilesCollection() //
+							.insertOne(assembler.toFile(filename, mData))))) //
+					.then(Mono.just(id)) //
+					.onErrorResume(e -> Mono.from(chunks.deleteMany(new Document(GridFsChunks.FILES_ID_FIELD, id))) //
+							.then(Mono.<ObjectId> error(e)));
+		}));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#find(org.springframework.data.mongodb.core.query.Query)
+	 */
+	@Override
+	public Flux<GridFSFile> find(Query query) {
+
+		MongoCollection<Document> files = getFilesCollection();
+
+		if (query == null) {
+			return Flux.from(files.find(new Document())).map(it -> toGridFSFile(it, files.getCodecRegistry()));
+		}
+
+		Document queryObject = getMappedQuery(query.getQueryObject());
+		Document sortObject = getMappedQuery(query.getSortObject());
+
+		FindPublisher<Document> publisher = files.find(queryObject);
+
+		if (sortObject != null) {
+			publisher = publisher.sort(sortObject);
+		}
+
+		return Flux.from(publisher).map(it -> toGridFSFile(it, files.getCodecRegistry()));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#findOne(org.springframework.data.mongodb.core.query.Query)
+	 */
+	@Override
+	public Mono<GridFSFile> findOne(Query query) {
+		return find(query).next();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#delete(org.springframework.data.mongodb.core.query.Query)
+	 */
+	@Override
+	public Mono<Void> delete(Query query) {
+
+		return find(query).concatMap(file -> {
+
+			Document filesQuery = new Document("_id", file.getId());
+			Document chunksQuery = new Document(GridFsChunks.FILES_ID_FIELD, file.getId());
+
+			return Mono.from(getFilesCollection().deleteOne(filesQuery))
+					.then(Mono.from(getChunksCollection().deleteMany(chunksQuery)));
+		}).then();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#read(com.mongodb.client.gridfs.model.GridFSFile)
+	 */
+	@Override
+	public Flux<DataBuffer> read(GridFSFile file) {
+
+		Assert.notNull(file, "GridFSFile must not be null!");
+
+		int chunkCount = GridFsChunks.chunkCount(file);
+
+		return Flux.defer(() -> {
+
+			AtomicInteger expectedIndex = new AtomicInteger();
+			FindPublisher<Document> chunks = getChunksCollection() //
+					.find(new Document(GridFsChunks.FILES_ID_FIELD, file.getId())) //
+					.sort(new Document(GridFsChunks.CHUNK_INDEX_FIELD, 1)) //
+					.batchSize(DEFAULT_CHUNK_PREFETCH);
+
+			return Flux.from(chunks) //
+					.limitRate(DEFAULT_CHUNK_PREFETCH) //
+					.map(chunk -> toDataBuffer(file, chunk, expectedIndex.getAndIncrement())) //
+					.concatWith(Mono.defer(() -> expectedIndex.get() < chunkCount //
+							? Mono.<DataBuffer> error(GridFsChunks.chunkNotFound(file, expectedIndex.get())) //
+							: Mono.<DataBuffer> empty()));
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#getResource(java.lang.String)
+	 */
+	@Override
+	public Mono<ReactiveGridFsResource> getResource(String filename) {
+
+		Assert.notNull(filename, "Filename must not be null!");
+
+		return findOne(query(whereFilename().is(filename))).map(this::toResource);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#getResources(java.lang.String)
+	 */
+	@Override
+	public Flux<ReactiveGridFsResource> getResources(String filenamePattern) {
+
+		if (!StringUtils.hasText(filenamePattern)) {
+			return Flux.empty();
+		}
+
+		AntPath path = new AntPath(filenamePattern);
+
+		if (path.isPattern()) {
+			return find(query(whereFilename().regex(path.toRegex()))).map(this::toResource);
+		}
+
+		return getResource(filenamePattern).flux();
+	}
+
+	private ReactiveGridFsResource toResource(GridFSFile file) {
+		return new ReactiveGridFsResource(file, read(file));
+	}
+
+	private DataBuffer toDataBuffer(GridFSFile file, Document chunk, int expectedIndex) {
+		return dataBufferFactory.wrap(GridFsChunks.getData(file, chunk, expectedIndex));
+	}
+
+	/**
+	 * Create the indexes required by the GridFS specification once per template instance. Creating an existing index is
+	 * a no-op on the server.
+	 *
+	 * @return
+	 */
+	private Mono<Void> ensureIndexes() {
+
+		if (indexesEnsured) {
+			return Mono.empty();
+		}
+
+		return Mono
+				.from(getChunksCollection().createIndex(GridFsChunks.chunksIndex(), new IndexOptions().unique(true))) //
+				.then(Mono.from(getFilesCollection().createIndex(GridFsChunks.filesIndex()))) //
+				.doOnSuccess(it -> indexesEnsured = true) //
+				.then();
+	}
+
+	private Document getMappedQuery(Document query) {
+		return query == null ? null : queryMapper.getMappedObject(query, Optional.empty());
+	}
+
+	private MongoCollection<Document> getFilesCollection() {
+		return dbFactory.getMongoDatabase().getCollection(getBucketName() + ".files");
+	}
+
+	private MongoCollection<Document> getChunksCollection() {
+		return dbFactory.getMongoDatabase().getCollection(getBucketName() + ".chunks");
+	}
+
+	private String getBucketName() {
+		return bucket == null ? GridFsChunks.DEFAULT_BUCKET : bucket;
+	}
+
+	private static GridFSFile toGridFSFile(Document document, CodecRegistry codecRegistry) {
+
+		Object id = document.get("_id");
+		BsonValue bsonId = id instanceof ObjectId ? new BsonObjectId((ObjectId) id)
+				: BsonDocumentWrapper.asBsonDocument(new Document("_id", id), codecRegistry).get("_id");
+
+		Document metadata = document.get("metadata", Document.class);
+
+		if (metadata == null && document.containsKey("contentType")) {
+			metadata = new Document(GridFsResource.CONTENT_TYPE_FIELD, document.getString("contentType"));
+		}
+
+		return new GridFSFile(bsonId, document.getString("filename"), document.get("length", Number.class).longValue(),
+				document.get("chunkSize", Number.class).intValue(), document.getDate("uploadDate"),
+				document.getString("md5"), metadata);
+	}
+
+	/**
+	 * Splits incoming {@link DataBuffer}s into chunk documents of {@code chunkSize} bytes while keeping track of the
+	 * overall length and MD5 checksum. Not thread-safe, a new instance is required per upload.
+	 *
+	 * @author agent
+	 */
+	static class ChunkAssembler {
+
+		private final ObjectId filesId;
+		private final int chunkSize;
+		private final MessageDigest md5;
+
+		private byte[] current;
+		private int position;
+		private int index;
+		private long length;
+
+		ChunkAssembler(ObjectId filesId, int chunkSize) {
+
+			this.filesId = filesId;
+			this.chunkSize = chunkSize;
+			this.md5 = GridFsChunks.md5();
+		}
+
+		/**
+		 * Append the given {@link DataBuffer} releasing it afterwards.
+		 *
+		 * @param buffer must not be {@literal null}.
+		 * @return the chunk documents completed by appending the buffer, can be empty.
+		 */
+		List<Document> append(DataBuffer buffer) {
+
+			try {
+
+				ByteBuffer source = buffer.asByteBuffer();
+
+				md5.update(source.duplicate());
+				length += source.remaining();
+
+				List<Document> chunks = Collections.emptyList();
+
+				while (source.hasRemaining()) {
+
+					if (current == null) {
+						current = new byte[chunkSize];
+						position = 0;
+					}
+
+					int count = Math.min(source.remaining(), chunkSize - position);
+					source.get(current, position, count);
+					position += count;
+
+					if (position == chunkSize) {
+
+						if (chunks.isEmpty()) {
+							chunks = new ArrayList<>();
+						}
+
+						chunks.add(toChunk(current));
+						current = null;
+					}
+				}
+
+				return chunks;
+			} finally {
+				DataBufferUtils.release(buffer);
+			}
+		}
+
+		/**
+		 * @return the trailing, partially filled chunk document or {@literal null} if there is none.
+		 */
+		Document flush() {
+
+			if (current == null || position == 0) {
+				return null;
+			}
+
+			Document chunk = toChunk(Arrays.copyOf(current, position));
+			current = null;
+
+			return chunk;
+		}
+
+		/**
+		 * Create the {@literal files} document for the content appended so far.
+		 *
+		 * @param filename can be {@literal null}.
+		 * @param metadata can be {@literal null}.
+		 * @return
+		 */
+		Document toFile(String filename, Document metadata) {
+			return GridFsChunks.file(filesId, filename, length, chunkSize, md5, metadata);
+		}
+
+		private Document toChunk(byte[] data) {
+
+			return GridFsChunks.chunk(filesId, index++, data);
+		}
+	}
+}
@@ -17,11 +17,16 @@ package org.springframework.data.mongodb.repository.support;
 
 import static org.springframework.data.mongodb.core.query.Criteria.*;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -29,6 +34,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.repository.MongoRepository;
@@ -38,6 +45,8 @@ import org.springframework.data.util.StreamUtils;
 import org.springframework.data.util.Streamable;
 import org.springframework.util.Assert;
 
+import com.mongodb.client.result.DeleteResult;
+
 /**
  * Repository base implementation for Mongo.
  *
@@ -51,6 +60,11 @@ public class SimpleMongoRepository<T, ID> implements MongoRepository<T, ID> {
 	private final MongoOperations mongoOperations;
 	private final MongoEntityInformation<T, ID> entityInformation;
 
+	private int findAllByIdChunkSize = 1000;
+	private Executor findAllByIdExecutor;
+	private int deleteAllChunkSize = 1000;
+	private boolean deleteAllVersionChecked;
+
 	/**
 	 * Creates a new {@link SimpleMongoRepository} for the given {@link MongoEntityInformation} and {@link MongoTemplate}.
 	 *
@@ -66,6 +80,55 @@ public class SimpleMongoRepository<T, ID> implements MongoRepository<T, ID> {
 		this.mongoOperations = mongoOperations;
 	}
 
+	/**
+	 * Configures the maximum number of ids per {@code $in} query issued by {@link #findAllById(Iterable)}. Larger id
+	 * lists are split into multiple queries. Defaults to {@literal 1000}.
+	 *
+	 * @param findAllByIdChunkSize must be greater than zero.
+	 */
+	public void setFindAllByIdChunkSize(int findAllByIdChunkSize) {
+
+		Assert.isTrue(findAllByIdChunkSize > 0, "Chunk size must be greater than zero!");
+
+		this.findAllByIdChunkSize = findAllByIdChunkSize;
+	}
+
+	/**
+	 * Configures the {@link Executor} to run the {@code $in} queries of {@link #findAllById(Iterable)} concurrently if
+	 * the ids span multiple chunks. Setting {@literal null} runs the queries one after another in the calling thread,
+	 * which is the default.
+	 *
+	 * @param findAllByIdExecutor can be {@literal null}.
+	 */
+	public void setFindAllByIdExecutor(Executor findAllByIdExecutor) {
+		this.findAllByIdExecutor = findAllByIdExecutor;
+	}
+
+	/**
+	 * Configures the maximum number of entities removed with a single query by {@link #deleteAll(Iterable)}. Larger
+	 * numbers of entities are split into multiple queries. Defaults to {@literal 1000}.
+	 *
+	 * @param deleteAllChunkSize must be greater than zero.
+	 */
+	public void setDeleteAllChunkSize(int deleteAllChunkSize) {
+
+		Assert.isTrue(deleteAllChunkSize > 0, "Chunk size must be greater than zero!");
+
+		this.deleteAllChunkSize = deleteAllChunkSize;
+	}
+
+	/**
+	 * Configures whether {@link #deleteAll(Iterable)} removes versioned entities only if their stored version still
+	 * matches. An {@link OptimisticLockingFailureException} is thrown if any of them is still present with a different
+	 * version, entities that do not exist (anymore) are ignored. Defaults to {@literal false}, removing entities by id
+	 * like {@link #delete(Object)} does.
+	 *
+	 * @param deleteAllVersionChecked
+	 */
+	public void setDeleteAllVersionChecked(boolean deleteAllVersionChecked) {
+		this.deleteAllVersionChecked = deleteAllVersionChecked;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.CrudRepository#save(java.lang.Object)
@@ -103,7 +166,8 @@ public class SimpleMongoRepository<T, ID> implements MongoRepository<T, ID> {
 			return result;
 
 		} else {
-			return source.stream().map(this::save).collect(Collectors.toList());
+			return mongoOperations.saveAll(source.stream().collect(Collectors.toList()),
+					entityInformation.getCollectionName());
 		}
 	}
 
@@ -175,7 +239,24 @@ public class SimpleMongoRepository<T, ID> implements MongoRepository<T, ID> {
 
 		Assert.notNull(entities, "The given Iterable of entities not be null!");
 
-		entities.forEach(this::delete);
+		MongoPersistentEntity<?> persistentEntity = deleteAllVersionChecked ? getPersistentEntity() : null;
+		List<T> chunk = new ArrayList<T>();
+
+		for (T entity : entities) {
+
+			Assert.notNull(entity, "The given entity must not be null!");
+
+			chunk.add(entity);
+
+			if (chunk.size() >= deleteAllChunkSize) {
+				deleteChunk(chunk, persistentEntity);
+				chunk.clear();
+			}
+		}
+
+		if (!chunk.isEmpty()) {
+			deleteChunk(chunk, persistentEntity);
+		}
 	}
 
 	/*
@@ -203,8 +284,33 @@ public class SimpleMongoRepository<T, ID> implements MongoRepository<T, ID> {
 	@Override
 	public Iterable<T> findAllById(Iterable<ID> ids) {
 
-		return findAll(new Query(new Criteria(entityInformation.getIdAttribute())
-				.in(Streamable.of(ids).stream().collect(StreamUtils.toUnmodifiableList()))));
+		Assert.notNull(ids, "The given Iterable of Id's must not be null!");
+
+		List<ID> idList = Streamable.of(ids).stream().collect(StreamUtils.toUnmodifiableList());
+
+		if (idList.size() <= findAllByIdChunkSize) {
+			return findAllByIdChunk(idList);
+		}
+
+		List<List<ID>> chunks = new ArrayList<List<ID>>();
+		for (int i = 0; i < idList.size(); i += findAllByIdChunkSize) {
+			chunks.add(idList.subList(i, Math.min(i + findAllByIdChunkSize, idList.size())));
+		}
+
+		if (findAllByIdExecutor == null) {
+			return chunks.stream().flatMap(chunk -> findAllByIdChunk(chunk).stream()).collect(Collectors.toList());
+		}
+
+		List<CompletableFuture<List<T>>> futures = chunks.stream()
+				.map(chunk -> CompletableFuture.supplyAsync(() -> findAllByIdChunk(chunk), findAllByIdExecutor))
+				.collect(Collectors.toList());
+
+		List<T> result = new ArrayList<T>(idList.size());
+		for (CompletableFuture<List<T>> future : futures) {
+			result.addAll(join(future));
+		}
+
+		return result;
 	}
 
 	/*
@@ -347,6 +453,54 @@ public class SimpleMongoRepository<T, ID> implements MongoRepository<T, ID> {
 		return mongoOperations.exists(q, example.getProbeType(), entityInformation.getCollectionName());
 	}
 
+	/**
+	 * Delete the given entities using a single {@code $in} query on their ids. Versioned entities are deleted with one
+	 * version-conditioned removal each, sent as a single bulk write.
+	 *
+	 * @param entities must not be {@literal null}.
+	 * @param persistentEntity can be {@literal null}.
+	 */
+	private void deleteChunk(List<T> entities, MongoPersistentEntity<?> persistentEntity) {
+
+		List<ID> ids = entities.stream().map(entityInformation::getRequiredId).collect(Collectors.toList());
+
+		if (persistentEntity == null || !persistentEntity.hasVersionProperty()) {
+
+			mongoOperations.remove(new Query(where(entityInformation.getIdAttribute()).in(ids)),
+					entityInformation.getJavaType(), entityInformation.getCollectionName());
+			return;
+		}
+
+		MongoPersistentProperty versionProperty = persistentEntity.getRequiredVersionProperty();
+		Criteria[] versionCriteria = entities.stream()
+				.map(entity -> getIdCriteria(entityInformation.getRequiredId(entity)).and(versionProperty.getName())
+						.is(persistentEntity.getPropertyAccessor(entity).getProperty(versionProperty)))
+				.toArray(Criteria[]::new);
+
+		DeleteResult result = mongoOperations.remove(new Query(new Criteria().orOperator(versionCriteria)),
+				entityInformation.getJavaType(), entityInformation.getCollectionName());
+
+		if (!result.wasAcknowledged() || result.getDeletedCount() == entities.size()) {
+			return;
+		}
+
+		Query remaining = new Query(where(entityInformation.getIdAttribute()).in(ids));
+		remaining.fields().include(entityInformation.getIdAttribute());
+
+		List<ID> modified = findAll(remaining).stream().map(entityInformation::getRequiredId)
+				.collect(Collectors.toList());
+
+		if (!modified.isEmpty()) {
+			throw new OptimisticLockingFailureException(
+					String.format("Cannot delete entities %s from collection %s. Have they been modified meanwhile?",
+							modified, entityInformation.getCollectionName()));
+		}
+	}
+
+	private MongoPersistentEntity<?> getPersistentEntity() {
+		return mongoOperations.getConverter().getMappingContext().getPersistentEntity(entityInformation.getJavaType());
+	}
+
 	private Query getIdQuery(Object id) {
 		return new Query(getIdCriteria(id));
 	}
@@ -355,6 +509,24 @@ public class SimpleMongoRepository<T, ID> implements MongoRepository<T, ID> {
 		return where(entityInformation.getIdAttribute()).is(id);
 	}
 
+	private List<T> findAllByIdChunk(List<ID> ids) {
+		return findAll(new Query(new Criteria(entityInformation.getIdAttribute()).in(ids)));
+	}
+
+	private static <S> S join(CompletableFuture<S> future) {
+
+		try {
+			return future.join();
+		} catch (CompletionException o_O) {
+
+			if (o_O.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) o_O.getCause();
+			}
+
+			throw o_O;
+		}
+	}
+
 	private List<T> findAll(Query query) {
 
 		if (query == null) {
@@ -28,9 +28,13 @@ import java.util.stream.Collectors;
 
 import org.reactivestreams.Publisher;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BatchInsertOptions;
 import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
@@ -39,6 +43,7 @@ import org.springframework.data.util.StreamUtils;
 import org.springframework.data.util.Streamable;
 import org.springframework.util.Assert;
 
+
 /**
  * Reactive repository base implementation for Mongo.
  *
@@ -53,6 +58,62 @@ public class SimpleReactiveMongoRepository<T, ID extends Serializable> implement
 	private final @NonNull MongoEntityInformation<T, ID> entityInformation;
 	private final @NonNull ReactiveMongoOperations mongoOperations;
 
+	private int findAllByIdBatchSize = 1000;
+	private int findAllByIdConcurrency = 4;
+	private int deleteAllChunkSize = 1000;
+	private boolean deleteAllVersionChecked;
+
+	/**
+	 * Configures the maximum number of ids per {@code $in} query issued by {@link #findAllById(Publisher)} and
+	 * {@link #findAllById(Iterable)}. Defaults to {@literal 1000}.
+	 *
+	 * @param findAllByIdBatchSize must be greater than zero.
+	 */
+	public void setFindAllByIdBatchSize(int findAllByIdBatchSize) {
+
+		Assert.isTrue(findAllByIdBatchSize > 0, "Batch size must be greater than zero!");
+
+		this.findAllByIdBatchSize = findAllByIdBatchSize;
+	}
+
+	/**
+	 * Configures the maximum number of {@code $in} queries issued concurrently by {@link #findAllById(Publisher)} and
+	 * {@link #findAllById(Iterable)}. Defaults to {@literal 4}.
+	 *
+	 * @param findAllByIdConcurrency must be greater than zero.
+	 */
+	public void setFindAllByIdConcurrency(int findAllByIdConcurrency) {
+
+		Assert.isTrue(findAllByIdConcurrency > 0, "Concurrency must be greater than zero!");
+
+		this.findAllByIdConcurrency = findAllByIdConcurrency;
+	}
+
+	/**
+	 * Configures the maximum number of entities removed with a single query by {@link #deleteAll(Publisher)} and
+	 * {@link #deleteAll(Iterable)}. Defaults to {@literal 1000}.
+	 *
+	 * @param deleteAllChunkSize must be greater than zero.
+	 */
+	public void setDeleteAllChunkSize(int deleteAllChunkSize) {
+
+		Assert.isTrue(deleteAllChunkSize > 0, "Chunk size must be greater than zero!");
+
+		this.deleteAllChunkSize = deleteAllChunkSize;
+	}
+
+	/**
+	 * Configures whether {@link #deleteAll(Publisher)} and {@link #deleteAll(Iterable)} remove versioned entities only
+	 * if their stored version still matches. An {@link OptimisticLockingFailureException} is emitted if any of them is
+	 * still present with a different version, entities that do not exist (anymore) are ignored. Defaults to
+	 * {@literal false}, removing entities by id like {@link #delete(Object)} does.
+	 *
+	 * @param deleteAllVersionChecked
+	 */
+	public void setDeleteAllVersionChecked(boolean deleteAllVersionChecked) {
+		this.deleteAllVersionChecked = deleteAllVersionChecked;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.reactive.ReactiveCrudRepository#findById(java.lang.Object)
@@ -158,8 +219,7 @@ public class SimpleReactiveMongoRepository<T, ID extends Serializable> implement
 
 		Assert.notNull(ids, "The given Iterable of Id's must not be null!");
 
-		return findAll(new Query(new Criteria(entityInformation.getIdAttribute())
-				.in(Streamable.of(ids).stream().collect(StreamUtils.toUnmodifiableList()))));
+		return findAllById(Flux.fromIterable(ids));
 	}
 
 	/*
@@ -171,7 +231,10 @@ public class SimpleReactiveMongoRepository<T, ID extends Serializable> implement
 
 		Assert.notNull(ids, "The given Publisher of Id's must not be null!");
 
-		return Flux.from(ids).buffer().flatMap(this::findAllById);
+		return Flux.from(ids) //
+				.buffer(findAllByIdBatchSize) //
+				.flatMap(chunk -> findAll(new Query(new Criteria(entityInformation.getIdAttribute()).in(chunk))),
+						findAllByIdConcurrency);
 	}
 
 	/*
@@ -270,7 +333,7 @@ public class SimpleReactiveMongoRepository<T, ID extends Serializable> implement
 
 		Assert.notNull(entities, "The given Publisher of entities must not be null!");
 
-		return Flux.from(entities).flatMap(entity -> mongoOperations.insert(entity, entityInformation.getCollectionName()));
+		return mongoOperations.insertAll(entities, entityInformation.getCollectionName(), BatchInsertOptions.defaults());
 	}
 
 	/*
@@ -302,7 +365,7 @@ public class SimpleReactiveMongoRepository<T, ID extends Serializable> implement
 
 		return source.stream().allMatch(it -> entityInformation.isNew(it)) ? //
 				mongoOperations.insertAll(source.stream().collect(Collectors.toList())) : //
-				Flux.fromIterable(entities).flatMap(this::save);
+				mongoOperations.saveAll(source.stream().collect(Collectors.toList()), entityInformation.getCollectionName());
 	}
 
 	/*
@@ -367,7 +430,7 @@ public class SimpleReactiveMongoRepository<T, ID extends Serializable> implement
 
 		Assert.notNull(entities, "The given Iterable of entities must not be null!");
 
-		return Flux.fromIterable(entities).flatMap(entity -> deleteById(entityInformation.getRequiredId(entity))).then();
+		return deleteAll(Flux.fromIterable(entities));
 	}
 
 	/*
@@ -380,8 +443,8 @@ public class SimpleReactiveMongoRepository<T, ID extends Serializable> implement
 		Assert.notNull(entityStream, "The given Publisher of entities must not be null!");
 
 		return Flux.from(entityStream)//
-				.map(it -> entityInformation.getRequiredId(it))//
-				.flatMap(this::deleteById)//
+				.window(deleteAllChunkSize)//
+				.concatMap(window -> window.collectList().flatMap(this::deleteChunk))//
 				.then();
 	}
 
@@ -394,6 +457,51 @@ public class SimpleReactiveMongoRepository<T, ID extends Serializable> implement
 		return mongoOperations.remove(new Query(), entityInformation.getCollectionName()).then(Mono.empty());
 	}
 
+	/**
+	 * Delete the given entities using a single {@code $in} query on their ids. If
+	 * {@link #setDeleteAllVersionChecked(boolean) version checked}, versioned entities are deleted with a single query
+	 * matching each id along with its version and entities left over are reported as modified.
+	 *
+	 * @param entities must not be {@literal null}.
+	 * @return
+	 */
+	private Mono<Void> deleteChunk(List<? extends T> entities) {
+
+		MongoPersistentEntity<?> persistentEntity = deleteAllVersionChecked ? mongoOperations.getConverter()
+				.getMappingContext().getPersistentEntity(entityInformation.getJavaType()) : null;
+		List<ID> ids = entities.stream().map(entityInformation::getRequiredId).collect(Collectors.toList());
+
+		if (persistentEntity == null || !persistentEntity.hasVersionProperty()) {
+
+			return mongoOperations.remove(new Query(where(entityInformation.getIdAttribute()).in(ids)),
+					entityInformation.getJavaType(), entityInformation.getCollectionName()).then();
+		}
+
+		MongoPersistentProperty versionProperty = persistentEntity.getRequiredVersionProperty();
+		Criteria[] versionCriteria = entities.stream()
+				.map(entity -> getIdCriteria(entityInformation.getRequiredId(entity)).and(versionProperty.getName())
+						.is(persistentEntity.getPropertyAccessor(entity).getProperty(versionProperty)))
+				.toArray(Criteria[]::new);
+
+		Query remaining = new Query(where(entityInformation.getIdAttribute()).in(ids));
+		remaining.fields().include(entityInformation.getIdAttribute());
+
+		return mongoOperations
+				.remove(new Query(new Criteria().orOperator(versionCriteria)), entityInformation.getJavaType(),
+						entityInformation.getCollectionName()) //
+				.filter(result -> result.wasAcknowledged() && result.getDeletedCount() < entities.size()) //
+				.flatMap(result -> findAll(remaining).map(entityInformation::getRequiredId).collectList()) //
+				.flatMap(modified -> modified.isEmpty() ? Mono.<Void> empty() //
+						: Mono.<Void> error(deleteConflict(modified)));
+	}
+
+	private OptimisticLockingFailureException deleteConflict(List<ID> modified) {
+
+		return new OptimisticLockingFailureException(
+				String.format("Cannot delete entities %s from collection %s. Have they been modified meanwhile?",
+						modified, entityInformation.getCollectionName()));
+	}
+
 	private Query getIdQuery(Object id) {
 		return new Query(getIdCriteria(id));
 	}
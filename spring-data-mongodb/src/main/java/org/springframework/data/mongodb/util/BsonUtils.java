@@ -15,10 +15,16 @@
  */
 package org.springframework.data.mongodb.util;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.Map;
 
+import org.bson.BsonValue;
 import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.bson.types.Binary;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
 
 import com.mongodb.BasicDBObject;
 import com.mongodb.DBObject;
@@ -55,4 +61,87 @@ public class BsonUtils {
 		}
 		throw new IllegalArgumentException("o_O what's that? Cannot add value to " + bson.getClass());
 	}
+
+	/**
+	 * Estimates the encoded BSON size of the given {@link Map} (typically a {@link Document}) without actually encoding
+	 * it. The estimate accounts for field names, type markers and value payloads of the common BSON types and falls back
+	 * to a fixed guess for values of unknown type. Use it for batching decisions only, not for enforcing server limits.
+	 *
+	 * @param document can be {@literal null}.
+	 * @return the estimated size in bytes.
+	 * @since 2.0
+	 */
+	public static long estimateSize(Map<String, ?> document) {
+
+		if (document == null) {
+			return 0;
+		}
+
+		// int32 length prefix and trailing 0x00
+		long size = 5;
+
+		for (Map.Entry<String, ?> entry : document.entrySet()) {
+
+			// type marker, cstring field name and its terminator
+			size += 2 + entry.getKey().length();
+			size += estimateValueSize(entry.getValue());
+		}
+
+		return size;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static long estimateValueSize(Object value) {
+
+		if (value == null || value instanceof Boolean) {
+			return 1;
+		}
+
+		if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return 4;
+		}
+
+		if (value instanceof Number || value instanceof Date) {
+			return value instanceof Decimal128 ? 16 : 8;
+		}
+
+		if (value instanceof ObjectId) {
+			return 12;
+		}
+
+		if (value instanceof CharSequence) {
+			// int32 length prefix, payload (assuming mostly single-byte UTF-8) and terminator
+			return 5 + ((CharSequence) value).length();
+		}
+
+		if (value instanceof Map) {
+			return estimateSize((Map<String, ?>) value);
+		}
+
+		if (value instanceof Collection) {
+
+			long size = 5;
+			int index = 0;
+
+			for (Object element : (Collection<?>) value) {
+				size += 2 + String.valueOf(index++).length() + estimateValueSize(element);
+			}
+
+			return size;
+		}
+
+		if (value instanceof byte[]) {
+			return 5 + ((byte[]) value).length;
+		}
+
+		if (value instanceof Binary) {
+			return 5 + ((Binary) value).length();
+		}
+
+		if (value instanceof BsonValue && ((BsonValue) value).isDocument()) {
+			return estimateSize(((BsonValue) value).asDocument());
+		}
+
+		return 16;
+	}
 }
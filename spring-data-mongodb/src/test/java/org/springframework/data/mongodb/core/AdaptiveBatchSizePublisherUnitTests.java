@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link AdaptiveBatchSizePublisher}.
+ *
+ * @author agent
+ */
+public class AdaptiveBatchSizePublisherUnitTests {
+
+	List<Long> requests = new CopyOnWriteArrayList<>();
+
+	@Test
+	public void shouldRequestMinBatchSizeForSmallDemand() {
+
+		StepVerifier.create(adapt(Flux.range(0, 100), AdaptiveBatchSize.between(10, 50)), 0) //
+				.thenRequest(5) //
+				.expectNext(0, 1, 2, 3, 4) //
+				.thenRequest(3) //
+				.expectNext(5, 6, 7) //
+				.thenCancel() //
+				.verify();
+
+		assertThat(requests).containsExactly(10L);
+	}
+
+	@Test
+	public void shouldCapUnboundedDemandAtMaxBatchSize() {
+
+		StepVerifier.create(adapt(Flux.range(0, 120), AdaptiveBatchSize.between(10, 50))) //
+				.expectNextCount(120) //
+				.verifyComplete();
+
+		assertThat(requests).containsExactly(50L, 50L, 50L);
+	}
+
+	@Test
+	public void shouldFollowDemandWithinBounds() {
+
+		StepVerifier.create(adapt(Flux.range(0, 100), AdaptiveBatchSize.between(10, 50)), 0) //
+				.thenRequest(20) //
+				.expectNextCount(20) //
+				.thenRequest(30) //
+				.expectNextCount(30) //
+				.thenCancel() //
+				.verify();
+
+		assertThat(requests).containsExactly(20L, 30L);
+	}
+
+	@Test
+	public void shouldPropagateErrorAfterBufferedElements() {
+
+		Flux<Integer> source = Flux.just(1, 2).concatWith(Flux.error(new IllegalStateException()));
+
+		StepVerifier.create(adapt(source, AdaptiveBatchSize.between(10, 50))) //
+				.expectNext(1, 2) //
+				.verifyError(IllegalStateException.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectMaxBelowMin() {
+		AdaptiveBatchSize.between(10, 5);
+	}
+
+	private <T> AdaptiveBatchSizePublisher<T> adapt(Flux<T> source, AdaptiveBatchSize batchSize) {
+		return new AdaptiveBatchSizePublisher<>(source.doOnRequest(requests::add), batchSize);
+	}
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.data.mongodb.core.query.Criteria.*;
+import static org.springframework.data.mongodb.core.query.Query.*;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.DefaultBulkOperations.BulkOperationContext;
+import org.springframework.data.mongodb.core.convert.DbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+
+/**
+ * Unit tests for {@link BufferingMongoOperations}.
+ *
+ * @author agent
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class BufferingMongoOperationsUnitTests {
+
+	@Mock MongoTemplate template;
+	@Mock MongoCollection<Document> collection;
+	@Mock DbRefResolver dbRefResolver;
+	@Captor ArgumentCaptor<List<WriteModel<Document>>> captor;
+
+	MappingMongoConverter converter;
+	BufferingMongoOperations operations;
+
+	@Before
+	public void setUp() {
+
+		MongoMappingContext mappingContext = new MongoMappingContext();
+		mappingContext.afterPropertiesSet();
+
+		converter = new MappingMongoConverter(dbRefResolver, mappingContext);
+		converter.afterPropertiesSet();
+
+		when(template.getConverter()).thenReturn(converter);
+		when(template.getCollection(anyString())).thenReturn(collection);
+		when(template.bulkOps(any(BulkMode.class), any(), anyString())).thenAnswer(invocation -> {
+
+			DefaultBulkOperations bulk = new DefaultBulkOperations(template, invocation.getArgument(2),
+					new BulkOperationContext(invocation.getArgument(0), Optional.empty(), new QueryMapper(converter),
+							new UpdateMapper(converter)));
+			return bulk;
+		});
+
+		operations = new BufferingMongoOperations(template,
+				WriteBufferOptions.defaults().maxOperations(2).flushInterval(Duration.ofHours(1)));
+	}
+
+	@After
+	public void tearDown() {
+		operations.destroy();
+	}
+
+	@Test
+	public void shouldFlushOnceMaxOperationsReached() {
+
+		CompletableFuture<Item> first = operations.insert(new Item(), "items");
+
+		verify(collection, never()).bulkWrite(anyList(), any(BulkWriteOptions.class));
+		assertThat(first).isNotDone();
+
+		CompletableFuture<Item> second = operations.insert(new Item(), "items");
+
+		verify(collection).bulkWrite(captor.capture(), any(BulkWriteOptions.class));
+
+		assertThat(captor.getValue()).hasSize(2).allMatch(InsertOneModel.class::isInstance);
+		assertThat(first).isCompleted();
+		assertThat(second).isCompleted();
+	}
+
+	@Test
+	public void shouldFlushPendingWritesOnDemand() {
+
+		CompletableFuture<Void> update = operations.updateFirst(query(where("name").is("foo")),
+				Update.update("name", "bar"), "items");
+
+		operations.flush();
+
+		verify(collection).bulkWrite(captor.capture(), any(BulkWriteOptions.class));
+
+		assertThat(captor.getValue()).hasSize(1).allMatch(UpdateOneModel.class::isInstance);
+		assertThat(update).isCompleted();
+	}
+
+	@Test
+	public void shouldBufferSaveOfEntityWithIdAsReplaceUpsert() {
+
+		Item item = new Item();
+		item.id = "id-1";
+
+		operations.save(item, "items");
+		operations.flush();
+
+		verify(collection).bulkWrite(captor.capture(), any(BulkWriteOptions.class));
+
+		ReplaceOneModel<Document> model = (ReplaceOneModel<Document>) captor.getValue().get(0);
+		assertThat(model.getFilter()).isEqualTo(new Document("_id", "id-1"));
+		assertThat(model.getOptions().isUpsert()).isTrue();
+	}
+
+	@Test
+	public void shouldOnlyFailFuturesOfFailedWrites() throws Exception {
+
+		BulkWriteError error = new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1);
+		when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenThrow(new MongoBulkWriteException(
+				BulkWriteResult.unacknowledged(), Collections.singletonList(error), null, new ServerAddress()));
+
+		CompletableFuture<Item> first = operations.insert(new Item(), "items");
+		CompletableFuture<Item> second = operations.insert(new Item(), "items");
+
+		assertThat(first).isCompleted();
+		assertThat(first.get()).isInstanceOf(Item.class);
+		assertThat(second).isCompletedExceptionally();
+
+		assertThatThrownBy(second::get).isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(DuplicateKeyException.class);
+	}
+
+	@Test
+	public void shouldFailAllFuturesOnGeneralError() {
+
+		when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenThrow(new IllegalStateException("o_O"));
+
+		CompletableFuture<Item> first = operations.insert(new Item(), "items");
+		CompletableFuture<Item> second = operations.insert(new Item(), "items");
+
+		assertThat(first).isCompletedExceptionally();
+		assertThat(second).isCompletedExceptionally();
+	}
+
+	@Test
+	public void shouldUseUnorderedBulkForWritesToDistinctDocuments() {
+
+		operations.insert(new Item(), "items");
+		operations.insert(new Item(), "items");
+
+		verify(template).bulkOps(eq(BulkMode.UNORDERED), any(), eq("items"));
+	}
+
+	@Test
+	public void shouldUseOrderedBulkForWritesToSameDocument() {
+
+		Item item = new Item();
+		item.id = "id-1";
+
+		operations.insert(item, "items");
+		operations.updateFirst(query(where("id").is("id-1")), Update.update("name", "bar"), Item.class, "items");
+
+		verify(template).bulkOps(eq(BulkMode.ORDERED), any(), eq("items"));
+		verify(collection).bulkWrite(captor.capture(), any(BulkWriteOptions.class));
+
+		assertThat(captor.getValue()).hasSize(2);
+		assertThat(captor.getValue().get(0)).isInstanceOf(InsertOneModel.class);
+		assertThat(captor.getValue().get(1)).isInstanceOf(UpdateOneModel.class);
+	}
+
+	@Test
+	public void shouldWriteWritesSkippedByFailingOrderedBulk() {
+
+		BulkWriteError error = new BulkWriteError(11000, "duplicate key", new BsonDocument(), 0);
+		when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenThrow(new MongoBulkWriteException(
+				BulkWriteResult.unacknowledged(), Collections.singletonList(error), null, new ServerAddress()))
+				.thenReturn(null);
+
+		Item item = new Item();
+		item.id = "id-1";
+
+		CompletableFuture<Item> insert = operations.insert(item, "items");
+		CompletableFuture<Void> update = operations.updateFirst(query(where("id").is("id-1")),
+				Update.update("name", "bar"), Item.class, "items");
+
+		verify(collection, times(2)).bulkWrite(captor.capture(), any(BulkWriteOptions.class));
+
+		assertThat(captor.getAllValues().get(1)).hasSize(1).allMatch(UpdateOneModel.class::isInstance);
+		assertThat(insert).isCompletedExceptionally();
+		assertThat(update).isCompleted();
+	}
+
+	@Test(expected = InvalidDataAccessApiUsageException.class)
+	public void shouldRejectSaveOfVersionedEntity() {
+		operations.save(new VersionedItem(), "items");
+	}
+
+	static class Item {
+
+		@Id String id;
+		String name;
+	}
+
+	static class VersionedItem {
+
+		@Id String id;
+		@Version Long version;
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.ServerAddress;
+
+/**
+ * Unit tests for {@link ChangeStreamOptions}.
+ *
+ * @author agent
+ */
+public class ChangeStreamOptionsUnitTests {
+
+	@Test
+	public void backoffShouldGrowExponentiallyUpToMax() {
+
+		ChangeStreamOptions options = ChangeStreamOptions.defaults().backoff(Duration.ofMillis(100),
+				Duration.ofSeconds(1));
+
+		assertThat(options.getBackoff(0)).isEqualTo(Duration.ofMillis(100));
+		assertThat(options.getBackoff(2)).isEqualTo(Duration.ofMillis(400));
+		assertThat(options.getBackoff(100)).isEqualTo(Duration.ofSeconds(1));
+		assertThat(ChangeStreamOptions.defaults().getMaxRetries()).isEqualTo(10);
+	}
+
+	@Test
+	public void shouldResumeOnResourceFailuresAndElections() {
+
+		assertThat(ChangeStreamOptions.isResumable(new DataAccessResourceFailureException("boom"))).isTrue();
+		assertThat(ChangeStreamOptions.isResumable(new MongoSocketReadException("boom", new ServerAddress())))
+				.isTrue();
+		assertThat(ChangeStreamOptions.isResumable(uncategorized(10107))).isTrue();
+	}
+
+	@Test
+	public void shouldNotResumeOnOtherErrors() {
+
+		assertThat(ChangeStreamOptions.isResumable(new InvalidDataAccessApiUsageException("boom"))).isFalse();
+		assertThat(ChangeStreamOptions.isResumable(uncategorized(136))).isFalse();
+		assertThat(ChangeStreamOptions.isResumable(new IllegalStateException())).isFalse();
+	}
+
+	private static UncategorizedMongoDbException uncategorized(int code) {
+		return new UncategorizedMongoDbException("boom", new MongoException(code, "boom"));
+	}
+}
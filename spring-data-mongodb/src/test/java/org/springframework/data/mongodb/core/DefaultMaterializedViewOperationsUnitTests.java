@@ -0,0 +1,244 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+
+import com.mongodb.client.result.UpdateResult;
+
+/**
+ * Unit tests for {@link DefaultMaterializedViewOperations}.
+ *
+ * @author agent
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DefaultMaterializedViewOperationsUnitTests {
+
+	static final String METADATA = DefaultMaterializedViewOperations.METADATA_COLLECTION;
+
+	@Mock MongoOperations mongoOperations;
+	@Mock BulkOperations bulkOperations;
+
+	MaterializedView view;
+
+	@Before
+	public void setUp() {
+
+		view = MaterializedView
+				.of("orderTotals", "orders", group("customer").sum("amount").as("total").max("date").as("last"))
+				.mergeBySum("total").mergeByMax("last");
+	}
+
+	@Test
+	public void firstRefreshShouldRebuildViewUsingOut() {
+
+		stubState(new Document("_id", "orderTotals"));
+		when(mongoOperations.findOne(any(Query.class), eq(Document.class), eq("orders")))
+				.thenReturn(new Document("_id", 5));
+
+		MaterializedViewStatus status = new DefaultMaterializedViewOperations(mongoOperations, view).refresh();
+
+		ArgumentCaptor<Aggregation> captor = ArgumentCaptor.forClass(Aggregation.class);
+		verify(mongoOperations).aggregate(captor.capture(), eq("orders"), eq(Document.class));
+		verify(mongoOperations, never()).aggregateStream(any(Aggregation.class), anyString(), any());
+
+		List<Document> pipeline = getPipeline(captor.getValue());
+
+		assertThat(pipeline.get(0), is(new Document("$match", new Document("_id", new Document("$lte", 5)))));
+		assertThat(pipeline.get(pipeline.size() - 1), is(new Document("$out", "orderTotals")));
+
+		assertThat(status.getHighWaterMark().orElse(null), is((Object) 5));
+		assertThat(status.getRefreshCount(), is(1L));
+
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoOperations, times(2)).updateFirst(any(Query.class), update.capture(), eq(METADATA));
+
+		Document stateUpdate = update.getAllValues().get(0).getUpdateObject();
+		assertThat(stateUpdate.get("$set", Document.class).get("highWaterMark"), is((Object) 5));
+		assertThat(stateUpdate.get("$unset", Document.class).containsKey("pendingHighWaterMark"), is(true));
+	}
+
+	@Test
+	public void refreshShouldMergeIncrementalResults() {
+
+		stubState(new Document("_id", "orderTotals").append("highWaterMark", 5).append("refreshCount", 1L));
+		when(mongoOperations.findOne(any(Query.class), eq(Document.class), eq("orders")))
+				.thenReturn(new Document("_id", 7));
+		when(mongoOperations.count(any(Query.class), eq("orders"))).thenReturn(2L);
+		when(mongoOperations.aggregateStream(any(Aggregation.class), eq("orders"), eq(Document.class)))
+				.thenReturn(iteratorOf(new Document("_id", "c1").append("total", 3).append("last", 9).append("label", "x")));
+		when(mongoOperations.bulkOps(BulkMode.UNORDERED, "orderTotals")).thenReturn(bulkOperations);
+
+		MaterializedViewStatus status = new DefaultMaterializedViewOperations(mongoOperations, view).refresh();
+
+		ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+		verify(mongoOperations).aggregateStream(aggregation.capture(), eq("orders"), eq(Document.class));
+		verify(mongoOperations, never()).aggregate(any(Aggregation.class), anyString(), any());
+
+		assertThat(getPipeline(aggregation.getValue()).get(0), is(new Document("$match",
+				new Document("_id", new Document("$gt", 5).append("$lte", 7)))));
+
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		InOrder inOrder = inOrder(mongoOperations, bulkOperations);
+		inOrder.verify(mongoOperations).updateFirst(any(Query.class),
+				eq(new Update().set("pendingHighWaterMark", 7)), eq(METADATA));
+		inOrder.verify(bulkOperations).upsert(any(Query.class), update.capture());
+		inOrder.verify(bulkOperations).execute();
+
+		Document updateObject = update.getValue().getUpdateObject();
+		assertThat(updateObject.get("$inc"), is(new Document("total", 3)));
+		assertThat(updateObject.get("$max"), is(new Document("last", 9)));
+		assertThat(updateObject.get("$set"), is(new Document("label", "x")));
+
+		assertThat(status.getHighWaterMark().orElse(null), is((Object) 7));
+		assertThat(status.getLastRefreshDocuments(), is(2L));
+		assertThat(status.getRefreshCount(), is(2L));
+	}
+
+	@Test
+	public void refreshWithoutNewDocumentsShouldRetainHighWaterMark() {
+
+		stubState(new Document("_id", "orderTotals").append("highWaterMark", 5));
+
+		MaterializedViewStatus status = new DefaultMaterializedViewOperations(mongoOperations, view).refresh();
+
+		verify(mongoOperations, never()).aggregateStream(any(Aggregation.class), anyString(), any());
+		verify(mongoOperations, never()).aggregate(any(Aggregation.class), anyString(), any());
+
+		assertThat(status.getHighWaterMark().orElse(null), is((Object) 5));
+		assertThat(status.getLastRefreshDocuments(), is(0L));
+	}
+
+	@Test(expected = InvalidDataAccessApiUsageException.class)
+	public void refreshShouldRejectResultsWithoutId() {
+
+		stubState(new Document("_id", "orderTotals").append("highWaterMark", 5));
+		when(mongoOperations.findOne(any(Query.class), eq(Document.class), eq("orders")))
+				.thenReturn(new Document("_id", 7));
+		when(mongoOperations.aggregateStream(any(Aggregation.class), eq("orders"), eq(Document.class)))
+				.thenReturn(iteratorOf(new Document("total", 3)));
+
+		new DefaultMaterializedViewOperations(mongoOperations, view).refresh();
+	}
+
+	@Test
+	public void refreshShouldRebuildViewIfPreviousRefreshDidNotComplete() {
+
+		stubState(new Document("_id", "orderTotals").append("highWaterMark", 5).append("pendingHighWaterMark", 7));
+		when(mongoOperations.findOne(any(Query.class), eq(Document.class), eq("orders")))
+				.thenReturn(new Document("_id", 7));
+
+		MaterializedViewStatus status = new DefaultMaterializedViewOperations(mongoOperations, view).refresh();
+
+		verify(mongoOperations).aggregate(any(Aggregation.class), eq("orders"), eq(Document.class));
+		verify(mongoOperations, never()).aggregateStream(any(Aggregation.class), anyString(), any());
+
+		assertThat(status.getHighWaterMark().orElse(null), is((Object) 7));
+	}
+
+	@Test
+	public void refreshShouldFailIfViewIsLocked() {
+
+		when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+				eq(Document.class), eq(METADATA))).thenThrow(new DuplicateKeyException("locked"));
+
+		try {
+			new DefaultMaterializedViewOperations(mongoOperations, view).refresh();
+			fail("Missing CannotAcquireLockException!");
+		} catch (CannotAcquireLockException e) {}
+
+		verify(mongoOperations, never()).aggregate(any(Aggregation.class), anyString(), any());
+		verify(mongoOperations, never()).aggregateStream(any(Aggregation.class), anyString(), any());
+		verify(mongoOperations, never()).updateFirst(any(Query.class), any(Update.class), anyString());
+	}
+
+	@Test
+	public void statusShouldReportPendingDocuments() {
+
+		when(mongoOperations.findOne(any(Query.class), eq(Document.class), eq(METADATA)))
+				.thenReturn(new Document("_id", "orderTotals").append("highWaterMark", 5).append("refreshCount", 3L));
+		when(mongoOperations.count(any(Query.class), eq("orders"))).thenReturn(42L);
+
+		MaterializedViewStatus status = new DefaultMaterializedViewOperations(mongoOperations, view).getStatus();
+
+		assertThat(status.getName(), is("orderTotals"));
+		assertThat(status.getRefreshCount(), is(3L));
+		assertThat(status.getPendingDocuments(), is(42L));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void viewShouldRejectOutStage() {
+		MaterializedView.of("view", "source", out("target"));
+	}
+
+	private void stubState(Document state) {
+
+		when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+				eq(Document.class), eq(METADATA))).thenReturn(state);
+		when(mongoOperations.updateFirst(any(Query.class), any(Update.class), eq(METADATA)))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Document> getPipeline(Aggregation aggregation) {
+		return (List<Document>) aggregation.toDocument("orders", Aggregation.DEFAULT_CONTEXT).get("pipeline");
+	}
+
+	private static CloseableIterator<Document> iteratorOf(Document... documents) {
+
+		Iterator<Document> iterator = Arrays.asList(documents).iterator();
+
+		return new CloseableIterator<Document>() {
+
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public Document next() {
+				return iterator.next();
+			}
+
+			@Override
+			public void close() {}
+		};
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.mockito.Mockito.any;
+import static org.springframework.data.mongodb.core.query.Criteria.*;
+import static org.springframework.data.mongodb.core.query.Query.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.DefaultBulkOperations.BulkOperationContext;
+import org.springframework.data.mongodb.core.convert.DbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteManyModel;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.reactivestreams.client.MongoCollection;
+
+/**
+ * Unit tests for {@link DefaultReactiveBulkOperations}.
+ *
+ * @author agent
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class DefaultReactiveBulkOperationsUnitTests {
+
+	@Mock ReactiveMongoTemplate template;
+	@Mock MongoCollection<Document> collection;
+	@Mock DbRefResolver dbRefResolver;
+	@Captor ArgumentCaptor<List<WriteModel<Document>>> captor;
+	MongoConverter converter;
+	MongoMappingContext mappingContext;
+
+	DefaultReactiveBulkOperations ops;
+
+	@Before
+	public void setUp() {
+
+		mappingContext = new MongoMappingContext();
+		mappingContext.afterPropertiesSet();
+
+		converter = new MappingMongoConverter(dbRefResolver, mappingContext);
+
+		when(template.getCollection(anyString())).thenReturn(collection);
+		when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+				.thenReturn(Mono.just(BulkWriteResult.unacknowledged()));
+
+		ops = new DefaultReactiveBulkOperations(template, "collection-1",
+				new BulkOperationContext(BulkMode.ORDERED,
+						Optional.of(mappingContext.getPersistentEntity(SomeDomainType.class)), new QueryMapper(converter),
+						new UpdateMapper(converter)));
+	}
+
+	@Test
+	public void executeShouldWriteAllOperationsUsingSingleBulkWrite() {
+
+		ops.updateOne(query(where("firstName").is("danerys")), Update.update("firstName", "queen danerys"))
+				.remove(query(where("firstName").is("joffrey")));
+
+		StepVerifier.create(ops.execute()).expectNextCount(1).verifyComplete();
+
+		verify(collection, times(1)).bulkWrite(captor.capture(), any());
+
+		assertThat(captor.getValue()).hasSize(2);
+
+		UpdateOneModel<Document> updateModel = (UpdateOneModel<Document>) captor.getValue().get(0);
+		assertThat(updateModel.getFilter()).isEqualTo(new Document("first_name", "danerys"));
+		assertThat(updateModel.getUpdate()).isEqualTo(new Document("$set", new Document("first_name", "queen danerys")));
+
+		DeleteManyModel<Document> deleteModel = (DeleteManyModel<Document>) captor.getValue().get(1);
+		assertThat(deleteModel.getFilter()).isEqualTo(new Document("first_name", "joffrey"));
+	}
+
+	@Test
+	public void executeShouldBeLazy() {
+
+		ops.insert(new Document("_id", 1)).execute();
+
+		verify(collection, never()).bulkWrite(anyList(), any());
+	}
+
+	@Test
+	public void executeShouldWriteStreamInBatches() {
+
+		Flux<WriteModel<Document>> models = Flux.range(0, 5)
+				.map(it -> new InsertOneModel<Document>(new Document("_id", it)));
+
+		StepVerifier.create(ops.execute(models, 2)).expectNextCount(3).verifyComplete();
+
+		verify(collection, times(3)).bulkWrite(captor.capture(), any());
+
+		assertThat(captor.getAllValues().get(0)).hasSize(2);
+		assertThat(captor.getAllValues().get(1)).hasSize(2);
+		assertThat(captor.getAllValues().get(2)).hasSize(1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void executeShouldRejectNonPositiveBatchSize() {
+		ops.execute(Flux.empty(), 0);
+	}
+
+	class SomeDomainType {
+
+		@Id String id;
+		@Field("first_name") String firstName;
+	}
+}
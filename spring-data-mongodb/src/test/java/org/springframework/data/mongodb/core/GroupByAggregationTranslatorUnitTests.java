@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.bson.Document;
+import org.junit.Test;
+import org.springframework.data.mongodb.core.mapreduce.GroupBy;
+
+/**
+ * Unit tests for {@link GroupByAggregationTranslator}.
+ *
+ * @author agent
+ */
+public class GroupByAggregationTranslatorUnitTests {
+
+	@Test
+	public void translatesCountingReduceFunction() {
+
+		List<Document> pipeline = translate(GroupBy.key("x").initialDocument("{ count: 0 }")
+				.reduceFunction("function(doc, prev) { prev.count += 1 }"));
+
+		assertThat(pipeline, hasSize(2));
+		assertThat(pipeline.get(0), is(new Document("$group", new Document("_id", new Document("x", "$x"))
+				.append("count", new Document("$sum", 1)).append(GroupByAggregationTranslator.COUNT_FIELD,
+						new Document("$sum", 1)))));
+		assertThat(pipeline.get(1), is(new Document("$project", new Document("_id", 0).append("x", "$_id.x")
+				.append("count", "$count").append(GroupByAggregationTranslator.COUNT_FIELD, 1))));
+	}
+
+	@Test
+	public void translatesSumMinMaxAndPassesThroughConstants() {
+
+		List<Document> pipeline = translate(GroupBy.key("a", "b")
+				.initialDocument("{ total: 10, lowest: 100, highest: 0, label: 'x' }")
+				.reduceFunction("function(curr, result) {\n result.total = result.total + curr.amount.value;\n"
+						+ " result.lowest = Math.min(result.lowest, curr.amount.value)\n"
+						+ " result.highest = Math.max(curr.amount.value, result.highest); }"));
+
+		Document group = pipeline.get(0).get("$group", Document.class);
+		assertThat(group.get("total"), is((Object) new Document("$sum", "$amount.value")));
+		assertThat(group.get("lowest"), is((Object) new Document("$min", "$amount.value")));
+		assertThat(group.get("highest"), is((Object) new Document("$max", "$amount.value")));
+
+		Document projection = pipeline.get(1).get("$project", Document.class);
+		assertThat(projection.get("total"), is((Object) new Document("$add", Arrays.asList(10, "$total"))));
+		assertThat(projection.get("lowest"), is((Object) new Document("$min", Arrays.asList(100, "$lowest"))));
+		assertThat(projection.get("label"), is((Object) new Document("$literal", "x")));
+	}
+
+	@Test
+	public void prependsMatchForCondition() {
+
+		Document groupByObject = GroupBy.key("x").initialDocument("{ count: 0 }")
+				.reduceFunction("function(doc, prev) { prev.count++ }").getGroupByObject();
+		groupByObject.put("cond", new Document("active", true));
+
+		List<Document> pipeline = translate(groupByObject);
+
+		assertThat(pipeline.get(0), is(new Document("$match", new Document("active", true))));
+	}
+
+	@Test
+	public void doesNotTranslateUnknownReduceStatements() {
+
+		assertThat(GroupByAggregationTranslator.translate(parseInitial(GroupBy.key("x").initialDocument("{ count: 0 }")
+				.reduceFunction("function(doc, prev) { if (doc.a > 1) { prev.count++ } }").getGroupByObject())),
+				is(Optional.empty()));
+	}
+
+	@Test
+	public void doesNotTranslateKeyFunctionOrFinalize() {
+
+		assertThat(GroupByAggregationTranslator.translate(parseInitial(GroupBy.keyFunction("function(doc) {}")
+				.initialDocument("{ count: 0 }").reduceFunction("function(doc, prev) { prev.count++ }")
+				.getGroupByObject())), is(Optional.empty()));
+
+		assertThat(GroupByAggregationTranslator.translate(parseInitial(GroupBy.key("x").initialDocument("{ count: 0 }")
+				.reduceFunction("function(doc, prev) { prev.count++ }").finalizeFunction("function(result) {}")
+				.getGroupByObject())), is(Optional.empty()));
+	}
+
+	@Test
+	public void doesNotTranslateAccumulationOfPropertiesMissingInInitialDocument() {
+
+		assertThat(GroupByAggregationTranslator.translate(parseInitial(GroupBy.key("x").initialDocument("{ count: 0 }")
+				.reduceFunction("function(doc, prev) { prev.total += doc.amount }").getGroupByObject())),
+				is(Optional.empty()));
+	}
+
+	private static List<Document> translate(GroupBy groupBy) {
+		return translate(groupBy.getGroupByObject());
+	}
+
+	private static List<Document> translate(Document groupByObject) {
+
+		Optional<List<Document>> pipeline = GroupByAggregationTranslator.translate(parseInitial(groupByObject));
+
+		assertThat(pipeline.isPresent(), is(true));
+		return pipeline.get();
+	}
+
+	private static Document parseInitial(Document groupByObject) {
+
+		if (groupByObject.get("initial") instanceof String) {
+			groupByObject.put("initial", Document.parse((String) groupByObject.get("initial")));
+		}
+
+		return groupByObject;
+	}
+}
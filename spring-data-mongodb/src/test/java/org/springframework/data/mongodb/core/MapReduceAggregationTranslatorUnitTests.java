@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Optional;
+
+import org.bson.Document;
+import org.junit.Test;
+import org.springframework.data.mongodb.core.mapreduce.MapReduceOptions;
+
+/**
+ * Unit tests for {@link MapReduceAggregationTranslator}.
+ *
+ * @author agent
+ */
+public class MapReduceAggregationTranslatorUnitTests {
+
+	@Test
+	public void translatesCountingMapReduce() {
+
+		Optional<Document> group = MapReduceAggregationTranslator.translate("function() { emit(this.category, 1); }",
+				"function(key, values) { return Array.sum(values); }");
+
+		assertThat(group, is(Optional.of(new Document("$group",
+				new Document("_id", "$category").append("value", new Document("$sum", 1))))));
+	}
+
+	@Test
+	public void translatesSummingLoops() {
+
+		Document expected = new Document("$group",
+				new Document("_id", "$address.city").append("value", new Document("$sum", "$order.amount")));
+
+		assertThat(MapReduceAggregationTranslator.translate("function () {\n emit(this.address.city, this.order.amount)\n}",
+				"function (key, vals) {\n var total = 0;\n vals.forEach(function (v) { total += v; });\n return total;\n}"),
+				is(Optional.of(expected)));
+
+		assertThat(MapReduceAggregationTranslator.translate("function () { emit(this.address.city, this.order.amount); }",
+				"function (key, vals) { var total = 0; for (var i = 0; i < vals.length; i++) { total += vals[i]; } "
+						+ "return total; }"),
+				is(Optional.of(expected)));
+	}
+
+	@Test
+	public void translatesMinMax() {
+
+		assertThat(MapReduceAggregationTranslator.translate("function() { emit(this.category, this.price); }",
+				"function(key, values) { return Math.max.apply(Math, values); }"),
+				is(Optional.of(new Document("$group",
+						new Document("_id", "$category").append("value", new Document("$max", "$price"))))));
+	}
+
+	@Test
+	public void doesNotTranslateUnknownShapes() {
+
+		assertThat(MapReduceAggregationTranslator.translate("function() { for (var i = 0; i < this.x.length; i++) "
+				+ "{ emit(this.x[i], 1); } }", "function(key, values) { return Array.sum(values); }"), is(Optional.empty()));
+
+		assertThat(MapReduceAggregationTranslator.translate("function() { emit(this.category, 1); }",
+				"function(key, values) { return values.length; }"), is(Optional.empty()));
+
+		assertThat(MapReduceAggregationTranslator.translate("function() { emit(this.category, 1); }",
+				"function(key, values) { return Array.sum(key); }"), is(Optional.empty()));
+	}
+
+	@Test
+	public void rejectsOptionsNotExpressibleAsAggregation() {
+
+		assertThat(MapReduceAggregationTranslator.isTranslatable(new MapReduceOptions().outputTypeInline()), is(true));
+		assertThat(MapReduceAggregationTranslator.isTranslatable(new MapReduceOptions().outputCollection("out")),
+				is(true));
+		assertThat(MapReduceAggregationTranslator.isTranslatable(
+				new MapReduceOptions().outputCollection("out").outputTypeMerge()), is(false));
+		assertThat(MapReduceAggregationTranslator.isTranslatable(
+				new MapReduceOptions().outputTypeInline().finalizeFunction("function(key, value) { return value; }")),
+				is(false));
+		assertThat(MapReduceAggregationTranslator.isTranslatable(
+				new MapReduceOptions().outputCollection("out").outputDatabase("other")), is(false));
+	}
+}
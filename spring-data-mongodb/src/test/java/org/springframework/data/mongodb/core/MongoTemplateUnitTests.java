@@ -23,11 +23,16 @@ import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
 import static org.springframework.data.mongodb.test.util.IsBsonObject.*;
 
 import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
+import org.bson.BsonDocument;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
@@ -47,18 +52,23 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Version;
 import org.springframework.data.convert.CustomConversions;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.GeoResult;
 import org.springframework.data.geo.Point;
 import org.springframework.data.mongodb.MongoDbFactory;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.PreparedAggregation;
 import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.MongoWriter;
 import org.springframework.data.mongodb.core.convert.QueryMapper;
 import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexCreator;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
@@ -66,26 +76,39 @@ import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventLis
 import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
 import org.springframework.data.mongodb.core.mapreduce.GroupBy;
 import org.springframework.data.mongodb.core.mapreduce.MapReduceOptions;
+import org.springframework.data.mongodb.core.mapreduce.MapReduceResults;
 import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.NearQuery;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.mongodb.CursorType;
 import com.mongodb.DB;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoClient;
 import com.mongodb.MongoException;
+import com.mongodb.MongoSocketReadException;
 import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.AggregateIterable;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MapReduceIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.CountOptions;
 import com.mongodb.client.model.DeleteOptions;
 import com.mongodb.client.model.FindOneAndDeleteOptions;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.result.UpdateResult;
 
@@ -108,6 +131,7 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
 	@Mock MongoCursor<Document> cursor;
 	@Mock FindIterable<Document> findIterable;
 	@Mock MapReduceIterable mapReduceIterable;
+	@Mock AggregateIterable<Document> aggregateIterable;
 
 	Document commandResultDocument = new Document();
 
@@ -133,6 +157,12 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
 		when(findIterable.limit(anyInt())).thenReturn(findIterable);
 		when(mapReduceIterable.collation(Mockito.any())).thenReturn(mapReduceIterable);
 		when(mapReduceIterable.iterator()).thenReturn(cursor);
+		when(collection.aggregate(Mockito.anyList())).thenReturn(aggregateIterable);
+		when(aggregateIterable.allowDiskUse(Mockito.any())).thenReturn(aggregateIterable);
+		when(aggregateIterable.useCursor(Mockito.any())).thenReturn(aggregateIterable);
+		when(aggregateIterable.batchSize(anyInt())).thenReturn(aggregateIterable);
+		when(aggregateIterable.collation(Mockito.any())).thenReturn(aggregateIterable);
+		when(aggregateIterable.iterator()).thenReturn(cursor);
 
 		this.mappingContext = new MongoMappingContext();
 		this.converter = new MappingMongoConverter(new DefaultDbRefResolver(factory), mappingContext);
@@ -337,6 +367,76 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
 		verify(collection, never()).deleteMany(Mockito.any(org.bson.Document.class));
 	}
 
+	@Test
+	public void streamAllAndRemoveShouldRemoveBatchBeforeEmittingElements() {
+
+		Mockito.when(cursor.hasNext()).thenReturn(true).thenReturn(true).thenReturn(false);
+		Mockito.when(cursor.next()).thenReturn(new org.bson.Document("_id", Integer.valueOf(0)))
+				.thenReturn(new org.bson.Document("_id", Integer.valueOf(1)));
+
+		CloseableIterator<VersionedEntity> iterator = template.streamAllAndRemove(new BasicQuery("{'foo':'bar'}"),
+				VersionedEntity.class);
+
+		assertThat(iterator.next().id, is(0));
+
+		ArgumentCaptor<org.bson.Document> queryCaptor = ArgumentCaptor.forClass(org.bson.Document.class);
+		verify(collection, times(1)).deleteMany(queryCaptor.capture(), Mockito.any());
+
+		Document idField = DocumentTestUtils.getAsDocument(queryCaptor.getValue(), "_id");
+		assertThat((List<Object>) idField.get("$in"),
+				IsIterableContainingInOrder.<Object> contains(Integer.valueOf(0), Integer.valueOf(1)));
+
+		assertThat(iterator.next().id, is(1));
+		assertThat(iterator.hasNext(), is(false));
+
+		iterator.close();
+		verify(cursor).close();
+	}
+
+	@Test
+	public void geoNearStreamShouldPushSkipAndLimitToServer() {
+
+		NearQuery query = NearQuery.near(0D, 0D).query(new BasicQuery("{}").collation(Collation.of("fr"))).num(10)
+				.skip(5);
+
+		template.geoNearStream(query, VersionedEntity.class).close();
+
+		ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+		verify(collection).aggregate(captor.capture());
+		verify(aggregateIterable).collation(eq(com.mongodb.client.model.Collation.builder().locale("fr").build()));
+
+		List<Document> pipeline = captor.getValue();
+		assertThat(pipeline, hasSize(2));
+
+		Document geoNear = DocumentTestUtils.getAsDocument(pipeline.get(0), "$geoNear");
+		assertThat(geoNear.get("num"), is((Object) 10L));
+		assertThat(geoNear.get("distanceField"), is((Object) MongoTemplate.GEO_NEAR_DISTANCE_FIELD));
+		assertThat(geoNear.containsKey("collation"), is(false));
+		assertThat(pipeline.get(1), is(new Document("$skip", 5L)));
+	}
+
+	@Test
+	public void geoNearStreamShouldConvertResultsWhileIterating() {
+
+		Mockito.when(cursor.hasNext()).thenReturn(true).thenReturn(false);
+		Mockito.when(cursor.next())
+				.thenReturn(new Document("_id", 1).append(MongoTemplate.GEO_NEAR_DISTANCE_FIELD, 2.5D));
+
+		CloseableIterator<GeoResult<VersionedEntity>> iterator = template.geoNearStream(NearQuery.near(0D, 0D),
+				VersionedEntity.class);
+
+		verify(cursor, never()).next();
+
+		GeoResult<VersionedEntity> result = iterator.next();
+
+		assertThat(result.getContent().id, is(1));
+		assertThat(result.getDistance().getValue(), is(2.5D));
+		assertThat(iterator.hasNext(), is(false));
+
+		iterator.close();
+		verify(cursor).close();
+	}
+
 	@Test // DATAMONGO-948
 	public void sortShouldBeTakenAsIsWhenExecutingQueryWithoutSpecificTypeInformation() {
 
@@ -358,25 +458,65 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
 	@Test // DATAMONGO-1166
 	public void aggregateShouldHonorReadPreferenceWhenSet() {
 
-		when(db.runCommand(Mockito.any(org.bson.Document.class), Mockito.any(ReadPreference.class), eq(Document.class)))
-				.thenReturn(mock(Document.class));
+		when(collection.withReadPreference(Mockito.any())).thenReturn(collection);
 		template.setReadPreference(ReadPreference.secondary());
 
 		template.aggregate(newAggregation(Aggregation.unwind("foo")), "collection-1", Wrapper.class);
 
-		verify(this.db, times(1)).runCommand(Mockito.any(org.bson.Document.class), eq(ReadPreference.secondary()),
-				eq(Document.class));
+		verify(collection).withReadPreference(eq(ReadPreference.secondary()));
 	}
 
 	@Test // DATAMONGO-1166
 	public void aggregateShouldIgnoreReadPreferenceWhenNotSet() {
 
-		when(db.runCommand(Mockito.any(org.bson.Document.class), eq(org.bson.Document.class)))
-				.thenReturn(mock(Document.class));
-
 		template.aggregate(newAggregation(Aggregation.unwind("foo")), "collection-1", Wrapper.class);
 
-		verify(this.db, times(1)).runCommand(Mockito.any(org.bson.Document.class), eq(org.bson.Document.class));
+		verify(collection, never()).withReadPreference(Mockito.any());
+	}
+
+	@Test
+	public void aggregateShouldReadResultsFromCursorUsingBatchSize() {
+
+		when(cursor.hasNext()).thenReturn(true).thenReturn(false);
+		when(cursor.next()).thenReturn(new Document("_id", 1));
+
+		AggregationResults<Document> results = template.aggregate(
+				newAggregation(Aggregation.unwind("foo")).withOptions(newAggregationOptions().cursorBatchSize(10).build()),
+				"collection-1", Document.class);
+
+		verify(aggregateIterable).useCursor(true);
+		verify(aggregateIterable).batchSize(10);
+		verify(db, never()).runCommand(Mockito.any(), Mockito.any(Class.class));
+
+		assertThat(results.getMappedResults(), hasSize(1));
+		assertThat(results.getRawResults().get("result", List.class), hasSize(1));
+	}
+
+	@Test
+	public void aggregateShouldNotReadBackOutputCollectionOfOutStage() {
+
+		AggregationResults<Document> results = template.aggregate(
+				newAggregation(Aggregation.unwind("foo"), Aggregation.out("target")), "collection-1", Document.class);
+
+		verify(aggregateIterable).toCollection();
+		verify(aggregateIterable, never()).iterator();
+
+		assertThat(results.getMappedResults(), is(empty()));
+		assertThat(results.getRawResults().get("ok"), is((Object) 1.0));
+	}
+
+	@Test
+	public void aggregateShouldNotRetainRawResultsIfSkipped() {
+
+		when(cursor.hasNext()).thenReturn(true).thenReturn(false);
+		when(cursor.next()).thenReturn(new Document("_id", 1));
+
+		AggregationResults<Document> results = template.aggregate(
+				newAggregation(Aggregation.unwind("foo")).withOptions(newAggregationOptions().skipRawResults().build()),
+				"collection-1", Document.class);
+
+		assertThat(results.getMappedResults(), hasSize(1));
+		assertThat(results.getRawResults().containsKey("result"), is(false));
 	}
 
 	@Test // DATAMONGO-1166
@@ -752,10 +892,26 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
 				.withOptions(newAggregationOptions().collation(Collation.of("fr")).build());
 		template.aggregate(aggregation, AutogenerateableId.class, Document.class);
 
-		ArgumentCaptor<Document> cmd = ArgumentCaptor.forClass(Document.class);
-		verify(db).runCommand(cmd.capture(), Mockito.any(Class.class));
+		verify(aggregateIterable).collation(eq(com.mongodb.client.model.Collation.builder().locale("fr").build()));
+	}
 
-		assertThat(cmd.getValue().get("collation", Document.class), equalTo(new Document("locale", "fr")));
+	@Test
+	public void preparedAggregationShouldExecuteBoundPipeline() {
+
+		PreparedAggregation prepared = template.prepareAggregation(newAggregation(VersionedEntity.class,
+				match(Criteria.where("id").is(parameter("id", Integer.class))),
+				lookup("other", "id", "_id", "joined")));
+
+		template.aggregate(prepared, Collections.singletonMap("id", 42), Document.class);
+		template.aggregate(prepared, Collections.singletonMap("id", 43), Document.class);
+
+		ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+		verify(collection, times(2)).aggregate(captor.capture());
+
+		assertThat(((List<Document>) captor.getAllValues().get(0)).get(0),
+				is(new Document("$match", new Document("_id", 42))));
+		assertThat(((List<Document>) captor.getAllValues().get(1)).get(0),
+				is(new Document("$match", new Document("_id", 43))));
 	}
 
 	@Test // DATAMONGO-1518
@@ -790,6 +946,332 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
 		assertThat(cmd.getValue().get("group", Document.class).get("collation", Document.class), equalTo(new Document("locale", "fr")));
 	}
 
+	@Test
+	public void groupShouldUseAggregationWhenPreferredAndTranslatable() {
+
+		template.group("collection-1", GroupBy.key("id").initialDocument("{ count: 0 }")
+				.reduceFunction("function(doc, prev) { prev.count++ }").preferAggregation(), AutogenerateableId.class);
+
+		verify(collection).aggregate(Mockito.anyList());
+		verify(db, never()).runCommand(Mockito.any(), Mockito.any(Class.class));
+	}
+
+	@Test
+	public void groupShouldFallBackToGroupCommandIfNotTranslatable() {
+
+		commandResultDocument.append("retval", Collections.emptySet());
+		template.group("collection-1", GroupBy.key("id").initialDocument("{ count: 0 }")
+				.reduceFunction("function(doc, prev) { prev.count = doc.count * 2 }").preferAggregation(),
+				AutogenerateableId.class);
+
+		verify(collection, never()).aggregate(Mockito.anyList());
+		verify(db).runCommand(Mockito.any(), Mockito.any(Class.class));
+	}
+
+	@Test
+	public void mapReduceShouldUseAggregationWhenPreferredAndTranslatable() {
+
+		template.mapReduce(new BasicQuery("{'foo':'bar'}").limit(10), "collection",
+				"function() { emit(this.category, 1) }", "function(key, values) { return Array.sum(values) }",
+				new MapReduceOptions().outputTypeInline().preferAggregation(), Wrapper.class);
+
+		ArgumentCaptor<List> pipeline = ArgumentCaptor.forClass(List.class);
+		verify(collection).aggregate(pipeline.capture());
+		verify(collection, never()).mapReduce(anyString(), anyString());
+
+		assertThat(pipeline.getValue().get(0), is(new Document("$match", new Document("foo", "bar"))));
+		assertThat(pipeline.getValue().get(1), is(new Document("$limit", 10)));
+		assertThat(((Document) pipeline.getValue().get(2)).get("$group", Document.class).get("value"),
+				is(new Document("$sum", 1)));
+	}
+
+	@Test
+	public void mapReduceUsingAggregationShouldReadOutputCollectionWithoutCounting() {
+
+		when(collection.find()).thenReturn(findIterable);
+
+		MapReduceResults<Wrapper> results = template.mapReduce("collection", "function() { emit(this.category, 1) }",
+				"function(key, values) { return Array.sum(values) }",
+				new MapReduceOptions().outputCollection("out").outputTypeReplace().preferAggregation(), Wrapper.class);
+
+		ArgumentCaptor<List> pipeline = ArgumentCaptor.forClass(List.class);
+		verify(collection).aggregate(pipeline.capture());
+		verify(aggregateIterable).toCollection();
+		verify(aggregateIterable, never()).iterator();
+		verify(db).getCollection("out", Document.class);
+		verify(collection, never()).count(any(), any());
+
+		assertThat(pipeline.getValue().get(1), is(new Document("$out", "out")));
+		assertThat(((Document) pipeline.getValue().get(0)).get("$group", Document.class)
+				.containsKey(GroupByAggregationTranslator.COUNT_FIELD), is(false));
+		assertThat(results.getOutputCollection(), is("out"));
+		assertThat(results.getCounts().getInputCount(), is(-1L));
+	}
+
+	@Test
+	public void mapReduceShouldFallBackToMapReduceIfNotTranslatable() {
+
+		template.mapReduce("collection", "function() { emit(this.category, 1) }",
+				"function(key, values) { return values.length }",
+				new MapReduceOptions().outputTypeInline().preferAggregation(), Wrapper.class);
+
+		verify(collection, never()).aggregate(Mockito.anyList());
+		verify(collection).mapReduce(anyString(), anyString());
+	}
+
+	@Test
+	public void insertAllShouldSplitElementsIntoChunksByCount() {
+
+		template.insertAll(Arrays.asList(new AutogenerateableId(), new AutogenerateableId(), new AutogenerateableId()),
+				BatchInsertOptions.defaults().maxChunkSize(2));
+
+		ArgumentCaptor<List> documents = ArgumentCaptor.forClass(List.class);
+		verify(collection, times(2)).insertMany(documents.capture(), Mockito.any(InsertManyOptions.class));
+
+		assertThat(documents.getAllValues().get(0), hasSize(2));
+		assertThat(documents.getAllValues().get(1), hasSize(1));
+	}
+
+	@Test
+	public void insertAllShouldSplitChunksByEstimatedSize() {
+
+		template.insertAll(Arrays.asList(new AutogenerateableId(), new AutogenerateableId()),
+				BatchInsertOptions.defaults().maxChunkBytes(1));
+
+		ArgumentCaptor<List> documents = ArgumentCaptor.forClass(List.class);
+		verify(collection, times(2)).insertMany(documents.capture(), Mockito.any(InsertManyOptions.class));
+
+		assertThat(documents.getAllValues().get(0), hasSize(1));
+		assertThat(documents.getAllValues().get(1), hasSize(1));
+	}
+
+	@Test
+	public void insertAllShouldWriteParallelChunksUnordered() {
+
+		template.insertAll(Arrays.asList(new AutogenerateableId(), new AutogenerateableId()),
+				BatchInsertOptions.defaults().maxChunkSize(1).parallelism(2).executor(Runnable::run));
+
+		ArgumentCaptor<InsertManyOptions> options = ArgumentCaptor.forClass(InsertManyOptions.class);
+		verify(collection, times(2)).insertMany(Mockito.anyList(), options.capture());
+
+		assertThat(options.getValue().isOrdered(), is(false));
+	}
+
+	@Test
+	public void insertAllShouldPassChunksToDoInsertBatch() {
+
+		List<Integer> batchSizes = new ArrayList<Integer>();
+
+		MongoTemplate recordingTemplate = new MongoTemplate(factory, converter) {
+
+			@Override
+			protected <T> void doInsertBatch(String collectionName, Collection<? extends T> batchToSave,
+					MongoWriter<T> writer) {
+
+				batchSizes.add(batchToSave.size());
+				super.doInsertBatch(collectionName, batchToSave, writer);
+			}
+		};
+
+		recordingTemplate.insertAll(
+				Arrays.asList(new AutogenerateableId(), new AutogenerateableId(), new AutogenerateableId()),
+				BatchInsertOptions.defaults().maxChunkSize(2));
+
+		assertThat(batchSizes, contains(2, 1));
+		verify(collection, times(2)).insertMany(Mockito.anyList(), Mockito.any(InsertManyOptions.class));
+	}
+
+	@Test
+	public void insertShouldApplyConfiguredBatchInsertOptions() {
+
+		template.setBatchInsertOptions(BatchInsertOptions.defaults().maxChunkSize(1));
+		template.insert(Arrays.asList(new AutogenerateableId(), new AutogenerateableId()), "collection-1");
+
+		ArgumentCaptor<InsertManyOptions> options = ArgumentCaptor.forClass(InsertManyOptions.class);
+		verify(collection, times(2)).insertMany(Mockito.anyList(), options.capture());
+
+		assertThat(options.getValue().isOrdered(), is(true));
+	}
+
+	@Test
+	public void saveAllShouldIssueSingleBulkWriteForNewAndExistingEntities() {
+
+		when(collection.bulkWrite(Mockito.anyList(), Mockito.any(BulkWriteOptions.class)))
+				.thenReturn(BulkWriteResult.acknowledged(1, 1, 0, 1, Collections.emptyList()));
+
+		VersionedEntity fresh = new VersionedEntity();
+		fresh.id = 1;
+
+		VersionedEntity existing = new VersionedEntity();
+		existing.id = 2;
+		existing.version = 1;
+
+		template.saveAll(Arrays.asList(fresh, existing), "collection-1");
+
+		ArgumentCaptor<List> models = ArgumentCaptor.forClass(List.class);
+		verify(collection).bulkWrite(models.capture(), Mockito.any(BulkWriteOptions.class));
+		verify(collection, never()).find(Mockito.any(Bson.class));
+
+		assertThat(models.getValue().get(0), instanceOf(InsertOneModel.class));
+		assertThat(models.getValue().get(1), instanceOf(ReplaceOneModel.class));
+
+		ReplaceOneModel<Document> replace = (ReplaceOneModel<Document>) models.getValue().get(1);
+		assertThat(replace.getFilter(), is((Bson) new Document("_id", 2).append("version", 1)));
+		assertThat(replace.getOptions().isUpsert(), is(false));
+		assertThat(fresh.version, is(0));
+		assertThat(existing.version, is(2));
+	}
+
+	@Test
+	public void saveAllShouldReportOptimisticLockingConflictsIndividually() {
+
+		VersionedEntity first = new VersionedEntity();
+		first.id = 1;
+		first.version = 1;
+
+		VersionedEntity second = new VersionedEntity();
+		second.id = 2;
+		second.version = 1;
+
+		when(collection.bulkWrite(Mockito.anyList(), Mockito.any(BulkWriteOptions.class)))
+				.thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, Collections.emptyList()));
+		when(collection.withReadPreference(ReadPreference.primary())).thenReturn(collection);
+		when(cursor.hasNext()).thenReturn(true, false);
+		when(cursor.next()).thenReturn(new Document("_id", 1).append("version", 2));
+
+		try {
+			template.saveAll(Arrays.asList(first, second), "collection-1");
+			fail("Missing BulkOptimisticLockingFailureException!");
+		} catch (BulkOptimisticLockingFailureException e) {
+
+			assertThat(e.getFailedObjects(), IsIterableContainingInOrder.contains((Object) second));
+			assertThat(e.getFailures(), hasSize(1));
+		}
+
+		ArgumentCaptor<Document> query = ArgumentCaptor.forClass(Document.class);
+		verify(collection).find(query.capture());
+
+		assertThat(query.getValue(), is(new Document("_id", new Document("$in", Arrays.asList(1, 2)))));
+		assertThat(first.version, is(2));
+		assertThat(second.version, is(1));
+	}
+
+	@Test
+	public void saveAllShouldReportDeletedEntitiesAsConflicts() {
+
+		VersionedEntity deleted = new VersionedEntity();
+		deleted.id = 1;
+		deleted.version = 1;
+
+		when(collection.bulkWrite(Mockito.anyList(), Mockito.any(BulkWriteOptions.class)))
+				.thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 0, Collections.emptyList()));
+		when(collection.withReadPreference(ReadPreference.primary())).thenReturn(collection);
+
+		try {
+			template.saveAll(Collections.singletonList(deleted), "collection-1");
+			fail("Missing BulkOptimisticLockingFailureException!");
+		} catch (BulkOptimisticLockingFailureException e) {
+			assertThat(e.getFailedObjects(), IsIterableContainingInOrder.contains((Object) deleted));
+		}
+
+		assertThat(deleted.version, is(1));
+	}
+
+	@Test
+	public void saveAllShouldNotReportHigherStoredVersionsAsConflicts() {
+
+		VersionedEntity updated = new VersionedEntity();
+		updated.id = 1;
+		updated.version = 1;
+
+		when(collection.bulkWrite(Mockito.anyList(), Mockito.any(BulkWriteOptions.class)))
+				.thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 0, Collections.emptyList()));
+		when(collection.withReadPreference(ReadPreference.primary())).thenReturn(collection);
+		when(cursor.hasNext()).thenReturn(true, false);
+		when(cursor.next()).thenReturn(new Document("_id", 1).append("version", 3));
+
+		assertThat(template.saveAll(Collections.singletonList(updated), "collection-1"),
+				IsIterableContainingInOrder.contains((Object) updated));
+		assertThat(updated.version, is(2));
+	}
+
+	@Test
+	public void saveAllShouldRethrowDuplicateKeyErrorsAndRollBackFailedVersionsOnly() {
+
+		VersionedEntity fresh = new VersionedEntity();
+		fresh.id = 1;
+
+		VersionedEntity duplicate = new VersionedEntity();
+		duplicate.id = 2;
+		duplicate.version = 1;
+
+		VersionedEntity existing = new VersionedEntity();
+		existing.id = 3;
+		existing.version = 1;
+
+		BulkWriteError error = new BulkWriteError(11000, "E11000 duplicate key error index: db.collection-1.$name_1",
+				new BsonDocument(), 1);
+		BulkWriteResult written = BulkWriteResult.acknowledged(1, 1, 0, 1, Collections.emptyList());
+		when(collection.bulkWrite(Mockito.anyList(), Mockito.any(BulkWriteOptions.class))).thenThrow(
+				new MongoBulkWriteException(written, Collections.singletonList(error), null, new ServerAddress()));
+
+		try {
+			template.saveAll(Arrays.asList(fresh, duplicate, existing), "collection-1");
+			fail("Missing DuplicateKeyException!");
+		} catch (DuplicateKeyException e) {}
+
+		assertThat(fresh.version, is(0));
+		assertThat(duplicate.version, is(1));
+		assertThat(existing.version, is(2));
+		verify(collection, never()).find(Mockito.any(Document.class));
+	}
+
+	@Test
+	public void tailShouldResumeAfterLastSeenIdOnResourceFailure() {
+
+		when(findIterable.cursorType(CursorType.TailableAwait)).thenReturn(findIterable);
+		when(findIterable.maxAwaitTime(anyLong(), any())).thenReturn(findIterable);
+		when(cursor.hasNext()).thenReturn(true).thenThrow(new MongoSocketReadException("boom", new ServerAddress()))
+				.thenReturn(true);
+		when(cursor.next()).thenReturn(new Document("_id", 1)).thenReturn(new Document("_id", 2));
+
+		CloseableIterator<Document> iterator = template.tail(new Query(), Document.class, "capped",
+				TailOptions.defaults().backoff(Duration.ZERO, Duration.ZERO));
+
+		assertThat(iterator.next(), is(new Document("_id", 1)));
+		assertThat(iterator.next(), is(new Document("_id", 2)));
+
+		iterator.close();
+
+		ArgumentCaptor<Document> captor = ArgumentCaptor.forClass(Document.class);
+		verify(collection, times(2)).find(captor.capture());
+
+		assertThat(captor.getAllValues().get(0), is(new Document()));
+		assertThat(captor.getAllValues().get(1), is(new Document("_id", new Document("$gt", 1))));
+		verify(cursor, times(2)).close();
+	}
+
+	@Test
+	public void tailBatchesShouldEmitAvailableDocumentsAtOnce() {
+
+		when(findIterable.cursorType(CursorType.TailableAwait)).thenReturn(findIterable);
+		when(findIterable.maxAwaitTime(anyLong(), any())).thenReturn(findIterable);
+		when(cursor.hasNext()).thenReturn(true);
+		when(cursor.next()).thenReturn(new Document("_id", 1));
+		when(cursor.tryNext()).thenReturn(new Document("_id", 2), new Document("_id", 3), null);
+
+		CloseableIterator<List<Document>> iterator = template.tailBatches(new Query(), Document.class, "capped",
+				TailOptions.defaults());
+
+		assertThat(iterator.next(), hasSize(3));
+		iterator.close();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void tailShouldRejectQueryWithLimit() {
+		template.tail(new Query().limit(10), Document.class, "capped", TailOptions.defaults());
+	}
+
 	class AutogenerateableId {
 
 		@Id BigInteger id;
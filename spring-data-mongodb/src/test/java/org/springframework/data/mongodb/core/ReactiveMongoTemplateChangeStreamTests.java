@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.Assume.*;
+import static org.springframework.data.mongodb.core.query.Criteria.*;
+
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.config.AbstractReactiveMongoConfiguration;
+import org.springframework.data.mongodb.test.util.MongoVersionRule;
+import org.springframework.data.util.Version;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.mongodb.reactivestreams.client.MongoClients;
+
+/**
+ * Integration tests for change streams via {@link ReactiveMongoTemplate}. Requires a MongoDB 3.6 server running as
+ * (single-node) replica set, e.g. {@code mongod --replSet rs0} initiated with {@code rs.initiate()}.
+ *
+ * @author agent
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+public class ReactiveMongoTemplateChangeStreamTests {
+
+	public static @ClassRule MongoVersionRule REQUIRES_AT_LEAST_3_6_0 = MongoVersionRule.atLeast(Version.parse("3.6.0"));
+
+	@Configuration
+	static class Config extends AbstractReactiveMongoConfiguration {
+
+		@Override
+		public com.mongodb.reactivestreams.client.MongoClient mongoClient() {
+			return MongoClients.create();
+		}
+
+		@Override
+		protected String getDatabaseName() {
+			return "change-stream-tests";
+		}
+	}
+
+	@Autowired ReactiveMongoTemplate template;
+
+	@Before
+	public void setUp() {
+
+		Document isMaster = template.executeCommand("{ isMaster: 1 }").block();
+		assumeTrue(isMaster.containsKey("setName"));
+
+		StepVerifier.create(template.dropCollection(Person.class)).verifyComplete();
+		StepVerifier.create(template.dropCollection(MongoResumeTokenStore.DEFAULT_COLLECTION)).verifyComplete();
+		StepVerifier.create(template.createCollection(Person.class)).expectNextCount(1).verifyComplete();
+	}
+
+	@Test
+	public void changeStreamShouldEmitMatchingChanges() {
+
+		StepVerifier.create(template.changeStream(Person.class, where("firstName").is("Walter"))) //
+				.thenAwait(Duration.ofMillis(500)) //
+				.then(() -> template.insertAll(Arrays.asList(new Person("Jesse"), new Person("Walter")))
+						.blockLast()) //
+				.consumeNextWith(event -> {
+
+					assertThat(event.getOperationType()).isEqualTo("insert");
+					assertThat(event.getBody().map(Person::getFirstName)).contains("Walter");
+					assertThat(event.getResumeToken()).isNotNull();
+				}) //
+				.thenCancel() //
+				.verify(Duration.ofSeconds(10));
+	}
+
+	@Test
+	public void changeStreamShouldResumeFromStoredToken() {
+
+		MongoResumeTokenStore store = new MongoResumeTokenStore(template);
+		ChangeStreamOptions options = ChangeStreamOptions.defaults().persistResumeToken(store, "people");
+
+		StepVerifier.create(template.changeStream(Person.class, null, options)) //
+				.thenAwait(Duration.ofMillis(500)) //
+				.then(() -> template.insert(new Person("Walter")).block()) //
+				.expectNextCount(1) //
+				.thenAwait(Duration.ofMillis(500)) //
+				.thenCancel() //
+				.verify(Duration.ofSeconds(10));
+
+		template.insert(new Person("Jesse")).block();
+
+		StepVerifier.create(template.changeStream(Person.class, null, options)) //
+				.consumeNextWith(event -> assertThat(event.getBody().map(Person::getFirstName)).contains("Jesse")) //
+				.thenCancel() //
+				.verify(Duration.ofSeconds(10));
+	}
+}
@@ -20,8 +20,20 @@ import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.any;
 import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+import static org.springframework.data.mongodb.core.query.Criteria.*;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.bson.Document;
 import org.junit.Before;
@@ -33,25 +45,33 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
 import org.springframework.data.mongodb.core.MongoTemplateUnitTests.AutogenerateableId;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate.NoOpDbRefResolver;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.PreparedAggregation;
 import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.NearQuery;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.mongodb.CursorType;
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.ServerAddress;
 import com.mongodb.client.model.DeleteOptions;
 import com.mongodb.client.model.FindOneAndDeleteOptions;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.reactivestreams.client.AggregatePublisher;
 import com.mongodb.reactivestreams.client.FindPublisher;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import com.mongodb.reactivestreams.client.MongoDatabase;
+import com.mongodb.reactivestreams.client.Success;
 
 /**
  * Unit tests for {@link ReactiveMongoTemplate}.
@@ -69,6 +89,7 @@ public class ReactiveMongoTemplateUnitTests {
 	@Mock MongoDatabase db;
 	@Mock MongoCollection collection;
 	@Mock FindPublisher findPublisher;
+	@Mock AggregatePublisher aggregatePublisher;
 	@Mock Publisher runCommandPublisher;
 
 	MongoExceptionTranslator exceptionTranslator = new MongoExceptionTranslator();
@@ -257,4 +278,293 @@ public class ReactiveMongoTemplateUnitTests {
 		assertThat(cmd.getValue().get("collation", Document.class), equalTo(new Document("locale", "fr")));
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void insertAllFromPublisherShouldWriteChunksAndEmitInSourceOrder() {
+
+		when(collection.insertMany(anyList())).thenReturn(Mono.just(Success.SUCCESS));
+
+		Person[] entities = { new Person("Walter"), new Person("Skyler"), new Person("Jesse"), new Person("Hank"),
+				new Person("Marie") };
+
+		StepVerifier
+				.create(template.insertAll(Flux.just(entities), "collection",
+						BatchInsertOptions.defaults().maxChunkSize(2).parallelism(2)))
+				.expectNext(entities).verifyComplete();
+
+		ArgumentCaptor<List<Document>> captor = ArgumentCaptor.forClass(List.class);
+		verify(collection, times(3)).insertMany(captor.capture());
+
+		assertThat(captor.getAllValues().get(0), hasSize(2));
+		assertThat(captor.getAllValues().get(1), hasSize(2));
+		assertThat(captor.getAllValues().get(2), hasSize(1));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void insertAllFromPublisherShouldConsumeFastSourceOnDemandOfSlowInserter() {
+
+		when(collection.insertMany(anyList()))
+				.thenAnswer(invocation -> Mono.delay(Duration.ofMillis(10)).then(Mono.just(Success.SUCCESS)));
+
+		List<Long> requests = new CopyOnWriteArrayList<>();
+		Flux<Person> source = Flux.range(0, 50).map(i -> new Person("Walter")).doOnRequest(requests::add);
+
+		StepVerifier
+				.create(template.insertAll(source, "collection",
+						BatchInsertOptions.defaults().maxChunkSize(5).maxWait(Duration.ofMillis(1)).parallelism(1)))
+				.expectNextCount(50).expectComplete().verify(Duration.ofSeconds(5));
+
+		verify(collection, atLeast(10)).insertMany(anyList());
+		assertThat(requests, everyItem(lessThanOrEqualTo(5L)));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void insertAllFromPublisherShouldSplitChunksExceedingMaxBytes() {
+
+		when(collection.insertMany(anyList())).thenReturn(Mono.just(Success.SUCCESS));
+
+		StepVerifier.create(template.insertAll(Flux.just(new Person("Walter"), new Person("Jesse")),
+				"collection", BatchInsertOptions.defaults().maxChunkBytes(1))).expectNextCount(2).verifyComplete();
+
+		verify(collection, times(2)).insertMany(anyList());
+	}
+
+	@Test
+	public void findShouldOffloadConversionPreservingOrder() {
+
+		emitDocuments(new Document("firstName", "Walter"), new Document("firstName", "Skyler"),
+				new Document("firstName", "Jesse"));
+
+		Scheduler scheduler = Schedulers.newParallel("conversion");
+
+		try {
+
+			template.setConversionOffloadOptions(
+					ConversionOffloadOptions.offloadTo(scheduler).batchThreshold(1).concurrency(3));
+
+			StepVerifier.create(template.find(new BasicQuery("{}"), Person.class, "person").map(Person::getFirstName))
+					.expectNext("Walter", "Skyler", "Jesse").verifyComplete();
+		} finally {
+			scheduler.dispose();
+		}
+
+		ConversionMetrics metrics = template.getConversionMetrics().get("person");
+
+		assertThat(metrics.getConversions(), is(3L));
+		assertThat(metrics.getOffloadedConversions(), is(2L));
+	}
+
+	@Test
+	public void findOneShouldConvertWithOffloadOptions() {
+
+		emitDocuments(new Document("firstName", "Walter"));
+
+		Scheduler scheduler = Schedulers.newParallel("conversion");
+
+		try {
+
+			template.setConversionOffloadOptions(ConversionOffloadOptions.offloadTo(scheduler).batchThreshold(0));
+
+			StepVerifier.create(template.findOne(new BasicQuery("{}"), Person.class, "person")) //
+					.consumeNextWith(person -> assertThat(person.getFirstName(), is("Walter"))) //
+					.verifyComplete();
+		} finally {
+			scheduler.dispose();
+		}
+
+		ConversionMetrics metrics = template.getConversionMetrics().get("person");
+
+		assertThat(metrics.getConversions(), is(1L));
+		assertThat(metrics.getOffloadedConversions(), is(1L));
+	}
+
+	@Test
+	public void findShouldNotRecordConversionMetricsByDefault() {
+
+		emitDocuments(new Document("firstName", "Walter"), new Document("firstName", "Jesse"));
+
+		StepVerifier.create(template.find(new BasicQuery("{}"), Person.class, "person")).expectNextCount(2)
+				.verifyComplete();
+
+		assertThat(template.getConversionMetrics().isEmpty(), is(true));
+	}
+
+	@Test
+	public void findShouldConvertInPlaceRecordingMetricsIfEnabled() {
+
+		emitDocuments(new Document("firstName", "Walter"), new Document("firstName", "Jesse"));
+
+		template.setConversionMetricsEnabled(true);
+
+		StepVerifier.create(template.find(new BasicQuery("{}"), Person.class, "person")).expectNextCount(2)
+				.verifyComplete();
+
+		ConversionMetrics metrics = template.getConversionMetrics().get("person");
+
+		assertThat(metrics.getConversions(), is(2L));
+		assertThat(metrics.getOffloadedConversions(), is(0L));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void tailShouldResumeAfterLastSeenIdOnResourceFailure() {
+
+		AtomicInteger subscriptions = new AtomicInteger();
+
+		when(findPublisher.cursorType(CursorType.TailableAwait)).thenReturn(findPublisher);
+		doAnswer(invocation -> {
+
+			Flux<Document> documents = subscriptions.getAndIncrement() == 0
+					? Flux.just(new Document("_id", 1)).concatWith(Flux.error(new MongoSocketReadException("boom",
+							new ServerAddress())))
+					: Flux.just(new Document("_id", 2)).concatWith(Flux.never());
+
+			documents.subscribe((Subscriber<Document>) invocation.getArgument(0));
+			return null;
+		}).when(findPublisher).subscribe(any());
+
+		StepVerifier
+				.create(template.tail(new Query(), Document.class, "capped",
+						TailOptions.defaults().backoff(Duration.ZERO, Duration.ZERO)))
+				.expectNext(new Document("_id", 1), new Document("_id", 2)).thenCancel().verify();
+
+		ArgumentCaptor<Document> captor = ArgumentCaptor.forClass(Document.class);
+		verify(collection, times(2)).find(captor.capture());
+
+		assertThat(captor.getAllValues().get(1), is(new Document("_id", new Document("$gt", 1))));
+	}
+
+	@Test
+	public void tailShouldNotResumeAfterNonResumableError() {
+
+		when(findPublisher.cursorType(CursorType.TailableAwait)).thenReturn(findPublisher);
+		doAnswer(invocation -> {
+			Flux.<Document> error(new IllegalStateException()).subscribe(invocation.<Subscriber<Document>> getArgument(0));
+			return null;
+		}).when(findPublisher).subscribe(any());
+
+		StepVerifier.create(template.tail(new Query(), Document.class, "capped", TailOptions.defaults()))
+				.verifyError(IllegalStateException.class);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void preparedAggregateShouldApplyCursorBatchSize() {
+
+		when(collection.aggregate(anyList())).thenReturn(aggregatePublisher);
+		when(aggregatePublisher.allowDiskUse(any())).thenReturn(aggregatePublisher);
+		when(aggregatePublisher.batchSize(anyInt())).thenReturn(aggregatePublisher);
+		emitEvents();
+
+		PreparedAggregation prepared = template.prepareAggregation(
+				newAggregation(Person.class, match(where("firstName").is(parameter("name", String.class))))
+						.withOptions(newAggregationOptions().cursorBatchSize(10).build()));
+
+		StepVerifier.create(template.aggregate(prepared, Collections.singletonMap("name", "Walter"), Person.class))
+				.verifyComplete();
+
+		verify(aggregatePublisher).batchSize(10);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void changeStreamShouldPushDownCriteriaAndMapFullDocument() {
+
+		when(collection.aggregate(anyList())).thenReturn(aggregatePublisher);
+		emitEvents(new Document("_id", new Document("_data", 1)).append("operationType", "insert")
+				.append("fullDocument", new Document("firstName", "Walter")));
+
+		StepVerifier.create(template.changeStream(Person.class, where("firstName").is("Walter"))) //
+				.consumeNextWith(event -> {
+
+					assertThat(event.getOperationType(), is("insert"));
+					assertThat(event.getResumeToken(), is(new Document("_data", 1)));
+					assertThat(event.getBody().map(Person::getFirstName).orElse(null), is("Walter"));
+				}).verifyComplete();
+
+		ArgumentCaptor<List<Document>> captor = ArgumentCaptor.forClass(List.class);
+		verify(collection).aggregate(captor.capture());
+
+		assertThat(captor.getValue().get(0),
+				is(new Document("$changeStream", new Document("fullDocument", "updateLookup"))));
+		assertThat(captor.getValue().get(1), is(new Document("$match", new Document("$or", Arrays
+				.asList(new Document("operationType", "delete"), new Document("fullDocument.firstName", "Walter"))))));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void changeStreamShouldPassUpdatesWithoutFullDocumentLookup() {
+
+		when(collection.aggregate(anyList())).thenReturn(aggregatePublisher);
+		emitEvents(new Document("_id", new Document("_data", 1)).append("operationType", "update"));
+
+		StepVerifier
+				.create(template.changeStream(Person.class, where("firstName").is("Walter"),
+						ChangeStreamOptions.defaults().fullDocumentLookup(false)))
+				.consumeNextWith(event -> assertThat(event.getBody().isPresent(), is(false))).verifyComplete();
+
+		ArgumentCaptor<List<Document>> captor = ArgumentCaptor.forClass(List.class);
+		verify(collection).aggregate(captor.capture());
+
+		Document operationTypes = new Document("operationType", new Document("$in", Arrays.asList("delete", "update")));
+		assertThat(captor.getValue().get(1), is(new Document("$match",
+				new Document("$or", Arrays.asList(operationTypes, new Document("fullDocument.firstName", "Walter"))))));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void changeStreamShouldResumeFromStoredTokenAndPersistTokens() {
+
+		ResumeTokenStore store = mock(ResumeTokenStore.class);
+		when(store.load("people")).thenReturn(Mono.just(new Document("_data", 1)));
+		when(store.save(anyString(), any())).thenReturn(Mono.empty());
+		when(collection.aggregate(anyList())).thenReturn(aggregatePublisher);
+		emitEvents(new Document("_id", new Document("_data", 2)).append("operationType", "delete"));
+
+		StepVerifier
+				.create(template.changeStream(Person.class, null,
+						ChangeStreamOptions.defaults().fullDocumentLookup(false).persistResumeToken(store, "people")))
+				.consumeNextWith(event -> assertThat(event.getBody().isPresent(), is(false))).verifyComplete();
+
+		ArgumentCaptor<List<Document>> captor = ArgumentCaptor.forClass(List.class);
+		verify(collection).aggregate(captor.capture());
+
+		assertThat(captor.getValue(), hasSize(1));
+		assertThat(captor.getValue().get(0),
+				is(new Document("$changeStream", new Document("resumeAfter", new Document("_data", 1)))));
+		verify(store).save("people", new Document("_data", 2));
+	}
+
+	@Test
+	public void prefixFieldNamesShouldPrefixNestedLogicalOperators() {
+
+		Document query = new Document("$or",
+				Arrays.asList(new Document("a", 1), new Document("b", new Document("$gt", 2))))
+						.append("c", 3);
+
+		assertThat(ReactiveMongoTemplate.prefixFieldNames(query, "fullDocument"),
+				is(new Document("$or",
+						Arrays.asList(new Document("fullDocument.a", 1),
+								new Document("fullDocument.b", new Document("$gt", 2)))).append("fullDocument.c", 3)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void emitEvents(Document... events) {
+
+		doAnswer(invocation -> {
+			Flux.just(events).subscribe((Subscriber<Document>) invocation.getArgument(0));
+			return null;
+		}).when(aggregatePublisher).subscribe(any());
+	}
+
+	@SuppressWarnings("unchecked")
+	private void emitDocuments(Document... documents) {
+
+		doAnswer(invocation -> {
+			Flux.just(documents).subscribe((Subscriber<Document>) invocation.getArgument(0));
+			return null;
+		}).when(findPublisher).subscribe(any());
+	}
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.bson.Document;
+import org.junit.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+
+import com.mongodb.MongoException;
+
+/**
+ * Unit tests for {@link TailOptions}.
+ *
+ * @author agent
+ */
+public class TailOptionsUnitTests {
+
+	@Test
+	public void backoffShouldGrowExponentiallyUpToMax() {
+
+		TailOptions options = TailOptions.defaults().backoff(Duration.ofMillis(100), Duration.ofSeconds(1));
+
+		assertThat(options.getBackoff(0)).isEqualTo(Duration.ofMillis(100));
+		assertThat(options.getBackoff(1)).isEqualTo(Duration.ofMillis(200));
+		assertThat(options.getBackoff(3)).isEqualTo(Duration.ofMillis(800));
+		assertThat(options.getBackoff(4)).isEqualTo(Duration.ofSeconds(1));
+		assertThat(options.getBackoff(100)).isEqualTo(Duration.ofSeconds(1));
+	}
+
+	@Test
+	public void resumeQueryShouldCombineQueryWithResumeCondition() {
+
+		TailOptions options = TailOptions.defaults().resumeFrom("seq");
+		Document query = new Document("type", "order");
+
+		assertThat(options.getResumeQuery(query, null)).isEqualTo(query);
+		assertThat(options.getResumeQuery(new Document(), 5)).isEqualTo(new Document("seq", new Document("$gt", 5)));
+		assertThat(options.getResumeQuery(query, 5)).isEqualTo(
+				new Document("$and", Arrays.asList(query, new Document("seq", new Document("$gt", 5)))));
+	}
+
+	@Test
+	public void resumeFieldsShouldIncludeResumeFieldInInclusiveProjections() {
+
+		TailOptions options = TailOptions.defaults().resumeFrom("seq");
+
+		assertThat(options.getResumeFields(new Document())).isEqualTo(new Document());
+		assertThat(options.getResumeFields(new Document("name", 1).append("_id", 0)))
+				.isEqualTo(new Document("name", 1).append("_id", 0).append("seq", 1));
+		assertThat(options.getResumeFields(new Document("payload", 0))).isEqualTo(new Document("payload", 0));
+	}
+
+	@Test
+	public void shouldResumeOnResourceFailuresOnly() {
+
+		assertThat(TailOptions.isResumable(new DataAccessResourceFailureException("boom"))).isTrue();
+		assertThat(TailOptions.isResumable(new InvalidDataAccessApiUsageException("boom"))).isFalse();
+		assertThat(TailOptions.isResumable(new IllegalStateException())).isFalse();
+	}
+
+	@Test
+	public void shouldResumeOnCursorDeathOnly() {
+
+		assertThat(TailOptions.isResumable(new UncategorizedMongoDbException("boom", new MongoException(43, "boom"))))
+				.isTrue();
+		assertThat(TailOptions.isResumable(new UncategorizedMongoDbException("boom", new MongoException(136, "boom"))))
+				.isTrue();
+		assertThat(TailOptions.isResumable(new UncategorizedMongoDbException("boom", new MongoException(2, "boom"))))
+				.isFalse();
+		assertThat(TailOptions.isResumable(new UncategorizedMongoDbException("boom", null))).isFalse();
+	}
+
+	@Test
+	public void shouldGiveUpAfterFiniteRetriesByDefault() {
+		assertThat(TailOptions.defaults().getMaxRetries()).isEqualTo(10);
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link TimedBatchPublisher}.
+ *
+ * @author agent
+ */
+public class TimedBatchPublisherUnitTests {
+
+	VirtualTimeScheduler timer = VirtualTimeScheduler.create();
+	List<Long> requests = new CopyOnWriteArrayList<>();
+
+	@Test
+	public void shouldEmitFullBatches() {
+
+		StepVerifier.create(batch(Flux.range(0, 10), 4)) //
+				.expectNext(Arrays.asList(0, 1, 2, 3), Arrays.asList(4, 5, 6, 7), Arrays.asList(8, 9)) //
+				.verifyComplete();
+	}
+
+	@Test
+	public void shouldRequestSingleBatchWithoutDemand() {
+
+		StepVerifier.create(batch(Flux.range(0, 100), 4), 0) //
+				.then(() -> timer.advanceTimeBy(Duration.ofSeconds(10))) //
+				.expectNoEvent(Duration.ZERO) //
+				.thenRequest(1) //
+				.expectNext(Arrays.asList(0, 1, 2, 3)) //
+				.thenCancel() //
+				.verify();
+
+		assertThat(requests).containsExactly(4L, 4L);
+	}
+
+	@Test
+	public void shouldEmitPartialBatchAfterMaxWait() {
+
+		StepVerifier.create(batch(Flux.just(1, 2).concatWith(Flux.never()), 4)) //
+				.then(() -> timer.advanceTimeBy(Duration.ofMillis(99))) //
+				.expectNoEvent(Duration.ZERO) //
+				.then(() -> timer.advanceTimeBy(Duration.ofMillis(1))) //
+				.expectNext(Arrays.asList(1, 2)) //
+				.thenCancel() //
+				.verify();
+	}
+
+	@Test
+	public void shouldHoldExpiredBatchUntilRequested() {
+
+		StepVerifier.create(batch(Flux.just(1, 2).concatWith(Flux.never()), 4), 0) //
+				.then(() -> timer.advanceTimeBy(Duration.ofSeconds(1))) //
+				.expectNoEvent(Duration.ZERO) //
+				.thenRequest(1) //
+				.expectNext(Arrays.asList(1, 2)) //
+				.thenCancel() //
+				.verify();
+	}
+
+	@Test
+	public void shouldPropagateErrorAfterPendingBatch() {
+
+		Flux<Integer> source = Flux.just(1, 2).concatWith(Flux.error(new IllegalStateException()));
+
+		StepVerifier.create(batch(source, 4)) //
+				.expectNext(Arrays.asList(1, 2)) //
+				.verifyError(IllegalStateException.class);
+	}
+
+	private Flux<List<Integer>> batch(Flux<Integer> source, int maxSize) {
+		return Flux.from(new TimedBatchPublisher<Integer>(source.doOnRequest(requests::add), maxSize,
+				Duration.ofMillis(100), timer));
+	}
+}
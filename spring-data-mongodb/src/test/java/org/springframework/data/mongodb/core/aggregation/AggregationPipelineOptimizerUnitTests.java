@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.aggregation;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+import static org.springframework.data.mongodb.core.query.Criteria.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.Test;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+/**
+ * Unit tests for {@link AggregationPipelineOptimizer}.
+ *
+ * @author agent
+ */
+public class AggregationPipelineOptimizerUnitTests {
+
+	@Test
+	public void mergesAdjacentMatchStages() {
+
+		List<Document> pipeline = render(newAggregation(match(where("a").is(1)), match(where("b").is(2))));
+
+		assertThat(pipeline, hasSize(1));
+		assertThat(pipeline.get(0), is(new Document("$match", new Document("a", 1).append("b", 2))));
+	}
+
+	@Test
+	public void mergesAdjacentMatchStagesOnSameFieldUsingAnd() {
+
+		List<Document> pipeline = render(newAggregation(match(where("a").gt(1)), match(where("a").lt(5))));
+
+		assertThat(pipeline, hasSize(1));
+		assertThat(pipeline.get(0), is(new Document("$match", new Document("$and",
+				Arrays.asList(new Document("a", new Document("$gt", 1)), new Document("a", new Document("$lt", 5)))))));
+	}
+
+	@Test
+	public void movesMatchOnPassedThroughFieldAheadOfProjection() {
+
+		List<Document> pipeline = render(newAggregation(project("a", "b"), match(where("a").is(1))));
+
+		assertThat(pipeline.get(0), is(new Document("$match", new Document("a", 1))));
+		assertThat(pipeline.get(1).containsKey("$project"), is(true));
+	}
+
+	@Test
+	public void doesNotMoveMatchOnComputedFieldAheadOfProjection() {
+
+		List<Document> pipeline = render(
+				newAggregation(project("a").and("b").as("renamed"), match(where("renamed").is(1))));
+
+		assertThat(pipeline.get(0).containsKey("$project"), is(true));
+		assertThat(pipeline.get(1).containsKey("$match"), is(true));
+	}
+
+	@Test
+	public void movesMatchAheadOfLookupNotTouchingReferencedFields() {
+
+		List<Document> pipeline = render(newAggregation(lookup("other", "localId", "_id", "joined"),
+				match(where("status").is("active"))));
+
+		assertThat(pipeline.get(0).containsKey("$match"), is(true));
+		assertThat(pipeline.get(1).containsKey("$lookup"), is(true));
+	}
+
+	@Test
+	public void doesNotMoveMatchOnLookupResultAheadOfLookup() {
+
+		List<Document> pipeline = render(
+				newAggregation(lookup("other", "localId", "_id", "joined"), match(where("joined.status").is("active"))));
+
+		assertThat(pipeline.get(0).containsKey("$lookup"), is(true));
+		assertThat(pipeline.get(1).containsKey("$match"), is(true));
+	}
+
+	@Test
+	public void doesNotMoveMatchOnUnwoundFieldAheadOfUnwind() {
+
+		List<Document> pipeline = render(newAggregation(unwind("items"), match(where("items.price").gt(10))));
+
+		assertThat(pipeline.get(0).containsKey("$unwind"), is(true));
+		assertThat(pipeline.get(1).containsKey("$match"), is(true));
+	}
+
+	@Test
+	public void doesNotMoveMatchWithWhereClause() {
+
+		List<Document> pipeline = render(
+				newAggregation(project("a"), match(new Criteria("$where").is("this.a > 1"))));
+
+		assertThat(pipeline.get(0).containsKey("$project"), is(true));
+	}
+
+	@Test
+	public void movesLimitAheadOfProjectionAndLookupToCoalesceWithSort() {
+
+		List<Document> pipeline = render(newAggregation(sort(Direction.ASC, "a"), project("a"),
+				lookup("other", "a", "_id", "joined"), limit(10)));
+
+		assertThat(pipeline.get(0).containsKey("$sort"), is(true));
+		assertThat(pipeline.get(1), is(new Document("$limit", 10L)));
+		assertThat(pipeline.get(2).containsKey("$project"), is(true));
+		assertThat(pipeline.get(3).containsKey("$lookup"), is(true));
+	}
+
+	@Test
+	public void removesNoOpStagesAndMergesSkipAndLimit() {
+
+		List<Document> pipeline = render(newAggregation(match(new Criteria()), skip(0L), skip(5L), skip(5L),
+				limit(20), limit(10)));
+
+		assertThat(pipeline, contains(new Document("$skip", 10L), new Document("$limit", 10L)));
+	}
+
+	@Test
+	public void retainsTypeOfTypedAggregation() {
+
+		TypedAggregation<Product> aggregation = newAggregation(Product.class, match(where("name").is("foo")))
+				.optimize();
+
+		assertThat(aggregation.getInputType(), is(equalTo(Product.class)));
+	}
+
+	@Test
+	public void explainListsRewritesAndPipeline() {
+
+		String explanation = newAggregation(match(where("a").is(1)), match(where("b").is(2))).explainOptimization();
+
+		assertThat(explanation, containsString("Merged adjacent $match stages at index 0 and 1"));
+		assertThat(explanation, containsString("0: { \"$match\""));
+	}
+
+	private static List<Document> render(Aggregation aggregation) {
+		return (List<Document>) aggregation.optimize().toDocument("collection", DEFAULT_CONTEXT).get("pipeline");
+	}
+}
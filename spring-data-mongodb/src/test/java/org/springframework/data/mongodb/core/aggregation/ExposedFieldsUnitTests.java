@@ -53,4 +53,33 @@ public class ExposedFieldsUnitTests {
 		fields = fields.and(new ExposedField("bar", true));
 		assertThat(fields.exposesSingleFieldOnly(), is(false));
 	}
+
+	@Test
+	public void looksUpFieldsByNameAndTarget() {
+
+		ExposedFields fields = ExposedFields.nonSynthetic(Fields.from(Fields.field("alias", "target")));
+
+		assertThat(fields.getField("alias").getName(), is("alias"));
+		assertThat(fields.getField("target").getName(), is("alias"));
+		assertThat(fields.getField("unknown"), is(nullValue()));
+	}
+
+	@Test
+	public void prefersSyntheticFieldsOnLookup() {
+
+		ExposedFields fields = ExposedFields.nonSynthetic(Fields.fields("foo"))
+				.and(new ExposedField(Fields.field("foo", "bar"), true));
+
+		assertThat(fields.getField("foo").isSynthetic(), is(true));
+	}
+
+	@Test
+	public void looksUpFieldsAddedAfterLookup() {
+
+		ExposedFields fields = ExposedFields.synthetic(Fields.fields("foo"));
+		assertThat(fields.getField("bar"), is(nullValue()));
+
+		fields = fields.and(new ExposedField("bar", true));
+		assertThat(fields.getField("bar").getName(), is("bar"));
+	}
 }
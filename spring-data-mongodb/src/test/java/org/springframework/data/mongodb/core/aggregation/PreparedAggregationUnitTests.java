@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.aggregation;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+import static org.springframework.data.mongodb.core.query.Criteria.*;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.mongodb.core.convert.DbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Unit tests for {@link PreparedAggregation}.
+ *
+ * @author agent
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class PreparedAggregationUnitTests {
+
+	MongoMappingContext context;
+	MappingMongoConverter converter;
+
+	@Mock DbRefResolver dbRefResolver;
+
+	@Before
+	public void setUp() {
+
+		this.context = new MongoMappingContext();
+		this.converter = new MappingMongoConverter(dbRefResolver, context);
+	}
+
+	@Test
+	public void mapsPipelineOnceAndSubstitutesBoundValues() {
+
+		PreparedAggregation prepared = prepare(newAggregation(Person.class,
+				match(where("name").is(parameter("name", String.class)).and("age").gt(parameter("minAge", Integer.class))),
+				limit(10)));
+
+		Map<String, Object> values = new HashMap<String, Object>();
+		values.put("name", "Walter");
+		values.put("minAge", 42);
+
+		List<Document> pipeline = getPipeline(prepared.bind(values));
+
+		assertThat(pipeline.get(0), is(new Document("$match",
+				new Document("n", "Walter").append("age", new Document("$gt", 42)))));
+		assertThat(pipeline.get(1), is(new Document("$limit", 10L)));
+	}
+
+	@Test
+	public void bindingDoesNotAlterPreparedPipeline() {
+
+		PreparedAggregation prepared = prepare(
+				newAggregation(Person.class, match(where("name").is(parameter("name", String.class)))));
+
+		getPipeline(prepared.bind(Collections.singletonMap("name", "Walter")));
+		List<Document> pipeline = getPipeline(prepared.bind(Collections.singletonMap("name", "Skyler")));
+
+		assertThat(pipeline.get(0), is(new Document("$match", new Document("n", "Skyler"))));
+	}
+
+	@Test
+	public void substitutesParametersWithinExpressions() {
+
+		PreparedAggregation prepared = prepare(newAggregation(Person.class, project()
+				.and(ComparisonOperators.valueOf("age").greaterThanValue(parameter("minAge", Integer.class))).as("adult")));
+
+		List<Document> pipeline = getPipeline(prepared.bind(Collections.singletonMap("minAge", 21)));
+
+		assertThat(pipeline.get(0),
+				is(new Document("$project", new Document("adult", new Document("$gt", Arrays.asList("$age", 21))))));
+	}
+
+	@Test
+	public void mapsBoundValuesAgainstDomainType() {
+
+		ObjectId id = new ObjectId();
+		PreparedAggregation prepared = prepare(
+				newAggregation(Person.class, match(where("id").is(parameter("id", String.class)))));
+
+		List<Document> pipeline = getPipeline(prepared.bind(Collections.singletonMap("id", id.toHexString())));
+
+		assertThat(pipeline.get(0), is(new Document("$match", new Document("_id", id))));
+	}
+
+	@Test
+	public void bindingDoesNotMapPipelineAgain() {
+
+		ObjectId id = new ObjectId();
+		AggregationOperationContext context = spy(
+				new TypeBasedAggregationOperationContext(Person.class, this.context, new QueryMapper(converter)));
+		PreparedAggregation prepared = newAggregation(Person.class,
+				match(where("id").is(parameter("id", String.class)).and("name").is(parameter("name", String.class))))
+						.prepare("person", context);
+
+		Map<String, Object> values = new HashMap<String, Object>();
+		values.put("id", id.toHexString());
+		values.put("name", "Walter");
+
+		clearInvocations(context);
+		List<Document> pipeline = getPipeline(prepared.bind(values));
+
+		assertThat(pipeline.get(0), is(new Document("$match", new Document("_id", id).append("n", "Walter"))));
+		verify(context, never()).getMappedObject(Mockito.any(Document.class));
+	}
+
+	@Test
+	public void bindsCollectionAsValuesOfIn() {
+
+		ObjectId first = new ObjectId();
+		ObjectId second = new ObjectId();
+		PreparedAggregation prepared = prepare(
+				newAggregation(Person.class, match(where("id").in(parameter("ids", Collection.class)))));
+
+		List<Document> pipeline = getPipeline(prepared
+				.bind(Collections.singletonMap("ids", Arrays.asList(first.toHexString(), second.toHexString())),
+						converter::convertToMongoType));
+
+		assertThat(pipeline.get(0),
+				is(new Document("$match", new Document("_id", new Document("$in", Arrays.asList(first, second))))));
+	}
+
+	@Test
+	public void exposesParametersInOrderOfOccurrence() {
+
+		PreparedAggregation prepared = prepare(newAggregation(Person.class,
+				match(where("age").gt(parameter("minAge", Integer.class)).lt(parameter("maxAge", Integer.class)))));
+
+		assertThat(prepared.getParameters(), contains(parameter("minAge", Integer.class),
+				parameter("maxAge", Integer.class)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsMissingParameterValue() {
+
+		prepare(newAggregation(Person.class, match(where("name").is(parameter("name", String.class)))))
+				.bind(Collections.<String, Object> emptyMap());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsValueOfWrongType() {
+
+		prepare(newAggregation(Person.class, match(where("name").is(parameter("name", String.class)))))
+				.bind(Collections.singletonMap("name", 42));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsUnknownParameter() {
+
+		prepare(newAggregation(Person.class, match(where("name").is(parameter("name", String.class)))))
+				.bind(Collections.singletonMap("unknown", "value"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsConflictingParameterDeclarations() {
+
+		prepare(newAggregation(Person.class, match(where("name").is(parameter("value", String.class))),
+				match(where("age").is(parameter("value", Integer.class)))));
+	}
+
+	private PreparedAggregation prepare(TypedAggregation<?> aggregation) {
+		return aggregation.prepare("person",
+				new TypeBasedAggregationOperationContext(aggregation.getInputType(), context, new QueryMapper(converter)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Document> getPipeline(Document command) {
+		return (List<Document>) command.get("pipeline");
+	}
+
+	static class Person {
+
+		String id;
+		@Field("n") String name;
+		int age;
+	}
+}
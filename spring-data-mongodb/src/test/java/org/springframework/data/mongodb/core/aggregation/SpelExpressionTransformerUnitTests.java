@@ -719,6 +719,37 @@ public class SpelExpressionTransformerUnitTests {
 		assertThat(transform("type(a)"), is(Document.parse("{ \"$type\" : \"$a\"}")));
 	}
 
+	@Test
+	public void reusesRenderedExpressionForSameFieldReferences() {
+
+		Object first = transformer.transform("a + b", Aggregation.DEFAULT_CONTEXT);
+		Object second = transformer.transform("a + b", Aggregation.DEFAULT_CONTEXT);
+
+		assertThat(second, is(first));
+		assertThat(second, is(not(sameInstance(first))));
+	}
+
+	@Test
+	public void rendersCachedExpressionAgainForDifferentFieldReferences() {
+
+		transformer.transform("a + 1", Aggregation.DEFAULT_CONTEXT);
+
+		AggregationOperationContext context = new ExposedFieldsAggregationOperationContext(
+				ExposedFields.synthetic(Fields.from(Fields.field("a", "nested.a"))), Aggregation.DEFAULT_CONTEXT);
+
+		assertThat(transformer.transform("a + 1", context),
+				is((Object) Document.parse("{ \"$add\" : [ \"$nested.a\" , 1]}")));
+		assertThat(transformer.transform("a + 1", Aggregation.DEFAULT_CONTEXT),
+				is((Object) Document.parse("{ \"$add\" : [ \"$a\" , 1]}")));
+	}
+
+	@Test
+	public void doesNotReuseRenderedExpressionForParameterizedExpressions() {
+
+		assertThat(transform("a + [0]", 1), is((Object) Document.parse("{ \"$add\" : [ \"$a\" , 1]}")));
+		assertThat(transform("a + [0]", 2), is((Object) Document.parse("{ \"$add\" : [ \"$a\" , 2]}")));
+	}
+
 	private Object transform(String expression, Object... params) {
 		Object result = transformer.transform(expression, Aggregation.DEFAULT_CONTEXT, params);
 		return result == null ? null : (!(result instanceof org.bson.Document) ? result.toString() : result);
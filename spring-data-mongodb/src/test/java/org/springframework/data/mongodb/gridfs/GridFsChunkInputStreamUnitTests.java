@@ -0,0 +1,179 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.mongodb.gridfs.GridFsChunkInputStream.Range;
+import org.springframework.util.StreamUtils;
+
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+/**
+ * Unit tests for {@link GridFsChunkInputStream}.
+ *
+ * @author agent
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class GridFsChunkInputStreamUnitTests {
+
+	@Mock MongoCollection<Document> chunks;
+	@Mock FindIterable<Document> findIterable;
+	@Mock MongoCursor<Document> cursor;
+
+	GridFSFile file = new GridFSFile(new BsonObjectId(new ObjectId()), "foo.bin", 10, 4, new Date(), null,
+			new Document());
+
+	@Test
+	public void rangeStartsAtChunkContainingPosition() {
+
+		Range range = new Range(file, 5, 4);
+
+		assertThat(range.firstChunk).isEqualTo(1);
+		assertThat(range.lastChunk).isEqualTo(2);
+		assertThat(range.skip).isEqualTo(1);
+		assertThat(range.length).isEqualTo(4);
+	}
+
+	@Test
+	public void rangeIsTruncatedToContentLength() {
+
+		Range range = new Range(file, 8, 100);
+
+		assertThat(range.firstChunk).isEqualTo(2);
+		assertThat(range.lastChunk).isEqualTo(2);
+		assertThat(range.length).isEqualTo(2);
+	}
+
+	@Test
+	public void rangeBeyondContentIsEmpty() {
+
+		Range range = new Range(file, 12, 4);
+
+		assertThat(range.length).isEqualTo(0);
+		assertThat(range.lastChunk).isLessThan(range.firstChunk);
+	}
+
+	@Test
+	public void readsOnlyChunksCoveringRange() throws IOException {
+
+		stubCursor();
+		when(cursor.next()).thenReturn(chunk(1, 4, 5, 6, 7), chunk(2, 8, 9));
+
+		try (InputStream stream = GridFsChunkInputStream.sequential(chunks, file, 5, 4)) {
+			assertThat(StreamUtils.copyToByteArray(stream)).isEqualTo(new byte[] { 5, 6, 7, 8 });
+		}
+
+		ArgumentCaptor<Bson> query = ArgumentCaptor.forClass(Bson.class);
+		verify(chunks).find(query.capture());
+
+		assertThat((Document) query.getValue()).containsEntry("files_id", file.getId()).containsEntry("n",
+				new Document("$gte", 1).append("$lte", 2));
+		verify(cursor).close();
+	}
+
+	@Test
+	public void readsRangeIntoByteBuffer() throws IOException {
+
+		stubCursor();
+		when(cursor.next()).thenReturn(chunk(0, 0, 1, 2, 3));
+
+		ByteBuffer buffer = ByteBuffer.allocate(8);
+
+		try (GridFsChunkInputStream channel = GridFsChunkInputStream.sequential(chunks, file, 1, 2)) {
+
+			assertThat(channel.read(buffer)).isEqualTo(2);
+			assertThat(channel.read(buffer)).isEqualTo(-1);
+		}
+
+		buffer.flip();
+		assertThat(buffer.get()).isEqualTo((byte) 1);
+		assertThat(buffer.get()).isEqualTo((byte) 2);
+	}
+
+	@Test(expected = MongoGridFSException.class)
+	public void rejectsMissingChunk() throws IOException {
+
+		stubCursor();
+		when(cursor.next()).thenReturn(chunk(2, 8, 9));
+
+		try (InputStream stream = GridFsChunkInputStream.sequential(chunks, file, 5, 4)) {
+			StreamUtils.copyToByteArray(stream);
+		}
+	}
+
+	@Test
+	public void prefetchingStartsWithFirstRead() throws IOException {
+
+		when(chunks.find(any(Bson.class))).thenReturn(findIterable);
+		when(findIterable.first()).thenReturn(chunk(1, 4, 5, 6, 7), chunk(2, 8, 9));
+
+		try (InputStream stream = GridFsChunkInputStream.prefetching(chunks, file, 5, 4, Runnable::run, 2)) {
+
+			verifyZeroInteractions(chunks);
+			assertThat(StreamUtils.copyToByteArray(stream)).isEqualTo(new byte[] { 5, 6, 7, 8 });
+		}
+
+		verify(chunks, times(2)).find(any(Bson.class));
+	}
+
+	@Test
+	public void prefetchingStreamClosedUnreadQueriesNothing() throws IOException {
+
+		GridFsChunkInputStream.prefetching(chunks, file, 0, 10, Runnable::run, 2).close();
+
+		verifyZeroInteractions(chunks);
+	}
+
+	private void stubCursor() {
+
+		when(chunks.find(any(Bson.class))).thenReturn(findIterable);
+		when(findIterable.sort(any(Bson.class))).thenReturn(findIterable);
+		when(findIterable.iterator()).thenReturn(cursor);
+		when(cursor.hasNext()).thenReturn(true);
+	}
+
+	private static Document chunk(int n, int... data) {
+
+		byte[] bytes = new byte[data.length];
+
+		for (int i = 0; i < data.length; i++) {
+			bytes[i] = (byte) data[i];
+		}
+
+		return GridFsChunks.chunk(new ObjectId(), n, bytes);
+	}
+}
@@ -19,30 +19,55 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assume.*;
 import static org.springframework.data.mongodb.core.query.Criteria.*;
 import static org.springframework.data.mongodb.core.query.Query.*;
 import static org.springframework.data.mongodb.gridfs.GridFsCriteria.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.bson.BsonObjectId;
 import org.bson.Document;
 import org.bson.types.ObjectId;
+import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.util.StreamUtils;
 
+import com.mongodb.MongoGridFSException;
 import com.mongodb.client.gridfs.GridFSFindIterable;
+import com.mongodb.client.gridfs.model.GridFSFile;
 
 /**
  * Integration tests for {@link GridFsTemplate}.
@@ -56,13 +81,29 @@ import com.mongodb.client.gridfs.GridFSFindIterable;
 @ContextConfiguration("classpath:gridfs/gridfs.xml")
 public class GridFsTemplateIntegrationTests {
 
+	public @Rule TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	Resource resource = new ClassPathResource("gridfs/gridfs.xml");
 
 	@Autowired GridFsOperations operations;
+	@Autowired MongoDbFactory dbFactory;
+	@Autowired MongoConverter converter;
+
+	ExecutorService executor = Executors.newFixedThreadPool(4);
+	GridFsTemplate parallelOperations;
 
 	@Before
 	public void setUp() {
+
 		operations.delete(null);
+
+		parallelOperations = new GridFsTemplate(dbFactory, converter);
+		parallelOperations.setTransferOptions(GridFsTransferOptions.parallel(executor, 4));
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
 	}
 
 	@Test // DATAMONGO-6
@@ -219,6 +260,180 @@ public class GridFsTemplateIntegrationTests {
 		assertThat(operations.getResource("someName").getContentType()).isEqualTo("contentType");
 	}
 
+	@Test
+	public void storesChunksInParallel() throws IOException {
+
+		byte[] content = randomBytes(GridFsChunks.DEFAULT_CHUNK_SIZE * 5 + 42);
+
+		ObjectId reference = parallelOperations.store(new ByteArrayInputStream(content), "foo.bin", "application/bin");
+
+		GridFsResource resource = operations.getResource("foo.bin");
+
+		assertThat(((BsonObjectId) resource.getId()).getValue()).isEqualTo(reference);
+		assertThat(resource.contentLength()).isEqualTo(content.length);
+		assertThat(resource.getContentType()).isEqualTo("application/bin");
+		assertThat(readFully(resource.getInputStream())).isEqualTo(content);
+	}
+
+	@Test
+	public void readsChunksInParallel() throws IOException {
+
+		byte[] content = randomBytes(GridFsChunks.DEFAULT_CHUNK_SIZE * 5 + 42);
+
+		operations.store(new ByteArrayInputStream(content), "foo.bin");
+
+		assertThat(readFully(parallelOperations.getResource("foo.bin").getInputStream())).isEqualTo(content);
+	}
+
+	@Test
+	public void storesEmptyContentInParallel() throws IOException {
+
+		parallelOperations.store(new ByteArrayInputStream(new byte[0]), "empty.bin");
+
+		assertThat(operations.getResource("empty.bin").contentLength()).isEqualTo(0);
+		assertThat(readFully(parallelOperations.getResource("empty.bin").getInputStream())).isEmpty();
+	}
+
+	@Test
+	public void readsByteRange() throws IOException {
+
+		byte[] content = randomBytes(GridFsChunks.DEFAULT_CHUNK_SIZE * 3 + 42);
+		int position = GridFsChunks.DEFAULT_CHUNK_SIZE + 17;
+		int length = GridFsChunks.DEFAULT_CHUNK_SIZE + 100;
+
+		operations.store(new ByteArrayInputStream(content), "foo.bin");
+
+		byte[] expected = Arrays.copyOfRange(content, position, position + length);
+
+		assertThat(readFully(operations.getResource("foo.bin").getInputStream(position, length))).isEqualTo(expected);
+		assertThat(readFully(parallelOperations.getResource("foo.bin").getInputStream(position, length)))
+				.isEqualTo(expected);
+	}
+
+	@Test
+	public void truncatesByteRangeToContentLength() throws IOException {
+
+		byte[] content = randomBytes(GridFsChunks.DEFAULT_CHUNK_SIZE + 42);
+
+		operations.store(new ByteArrayInputStream(content), "foo.bin");
+
+		GridFsResource resource = operations.getResource("foo.bin");
+
+		assertThat(readFully(resource.getInputStream(content.length - 10, 100)))
+				.isEqualTo(Arrays.copyOfRange(content, content.length - 10, content.length));
+		assertThat(readFully(resource.getInputStream(content.length + 10, 100))).isEmpty();
+	}
+
+	@Test
+	public void storesAndDownloadsFiles() throws IOException {
+
+		byte[] content = randomBytes(GridFsChunks.DEFAULT_CHUNK_SIZE * 3 + 42);
+		Path source = temporaryFolder.newFile("source.bin").toPath();
+		Path target = temporaryFolder.getRoot().toPath().resolve("target.bin");
+		Files.write(source, content);
+
+		ObjectId reference = operations.store(source, "foo.bin", "application/bin", null);
+
+		GridFsResource resource = operations.getResource("foo.bin");
+		assertThat(((BsonObjectId) resource.getId()).getValue()).isEqualTo(reference);
+		assertThat(resource.getContentType()).isEqualTo("application/bin");
+		assertThat(readFully(resource.getInputStream())).isEqualTo(content);
+
+		GridFSFile file = operations.findOne(query(whereFilename().is("foo.bin")));
+
+		assertThat(operations.download(file, target)).isEqualTo(content.length);
+		assertThat(Files.readAllBytes(target)).isEqualTo(content);
+	}
+
+	@Test
+	public void failedDownloadRetainsExistingTarget() throws IOException {
+
+		byte[] content = randomBytes(GridFsChunks.DEFAULT_CHUNK_SIZE * 3 + 42);
+		Path target = temporaryFolder.getRoot().toPath().resolve("target.bin");
+		Files.write(target, new byte[] { 1, 2, 3 });
+
+		ObjectId reference = operations.store(new ByteArrayInputStream(content), "foo.bin");
+		dbFactory.getDb().getCollection("fs.chunks").deleteMany(new Document("files_id", reference).append("n", 2));
+
+		GridFSFile file = operations.findOne(query(whereFilename().is("foo.bin")));
+
+		try {
+			operations.download(file, target);
+			fail("Missing chunk must fail the download!");
+		} catch (MongoGridFSException e) {
+			// expected
+		}
+
+		assertThat(Files.readAllBytes(target)).isEqualTo(new byte[] { 1, 2, 3 });
+		assertThat(temporaryFolder.getRoot().list()).containsExactly("target.bin");
+	}
+
+	@Test
+	public void downloadCreatesTargetWithDefaultPermissions() throws IOException {
+
+		assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+
+		Path target = temporaryFolder.getRoot().toPath().resolve("target.bin");
+		Set<PosixFilePermission> defaults = Files.getPosixFilePermissions(temporaryFolder.newFile().toPath());
+
+		operations.store(new ByteArrayInputStream(randomBytes(42)), "foo.bin");
+		operations.download(operations.findOne(query(whereFilename().is("foo.bin"))), target);
+
+		assertThat(Files.getPosixFilePermissions(target)).isEqualTo(defaults);
+	}
+
+	@Test
+	public void downloadRetainsPermissionsOfExistingTarget() throws IOException {
+
+		assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+
+		Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-rw-r--");
+		Path target = temporaryFolder.newFile("target.bin").toPath();
+		Files.setPosixFilePermissions(target, permissions);
+
+		operations.store(new ByteArrayInputStream(randomBytes(42)), "foo.bin");
+		operations.download(operations.findOne(query(whereFilename().is("foo.bin"))), target);
+
+		assertThat(Files.getPosixFilePermissions(target)).isEqualTo(permissions);
+	}
+
+	@Test
+	public void storesFileChannelFromCurrentPositionInParallel() throws IOException {
+
+		byte[] content = randomBytes(GridFsChunks.DEFAULT_CHUNK_SIZE * 3 + 42);
+		Path source = temporaryFolder.newFile("source.bin").toPath();
+		Files.write(source, content);
+
+		try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+
+			channel.position(100);
+			parallelOperations.store(channel, "foo.bin");
+
+			assertThat(channel.position()).isEqualTo(content.length);
+		}
+
+		GridFSFile file = operations.findOne(query(whereFilename().is("foo.bin")));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		parallelOperations.download(file, Channels.newChannel(out));
+
+		assertThat(out.toByteArray()).isEqualTo(Arrays.copyOfRange(content, 100, content.length));
+	}
+
+	private static byte[] randomBytes(int length) {
+
+		byte[] bytes = new byte[length];
+		new Random().nextBytes(bytes);
+		return bytes;
+	}
+
+	private static byte[] readFully(InputStream stream) throws IOException {
+
+		try (InputStream in = stream) {
+			return StreamUtils.copyToByteArray(in);
+		}
+	}
+
 	class Metadata {
 		String version;
 	}
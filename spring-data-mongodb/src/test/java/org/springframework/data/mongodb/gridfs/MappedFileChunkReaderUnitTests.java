@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate.MappedFileChunkReader;
+
+/**
+ * Unit tests for {@link MappedFileChunkReader}.
+ *
+ * @author agent
+ */
+public class MappedFileChunkReaderUnitTests {
+
+	public @Rule TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void readsChunksAcrossMappings() throws IOException {
+
+		byte[] content = new byte[1000];
+
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) i;
+		}
+
+		Path file = temporaryFolder.newFile().toPath();
+		Files.write(file, content);
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+			channel.position(10);
+
+			MappedFileChunkReader reader = new MappedFileChunkReader(channel);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			int chunks = 0;
+			byte[] chunk;
+
+			while ((chunk = reader.read(7)) != null) {
+
+				assertThat(chunk.length).isEqualTo(Math.min(7, 990 - chunks * 7));
+				out.write(chunk);
+				chunks++;
+			}
+
+			assertThat(chunks).isEqualTo(142);
+			assertThat(out.toByteArray()).isEqualTo(Arrays.copyOfRange(content, 10, content.length));
+			assertThat(channel.position()).isEqualTo(content.length);
+		}
+	}
+
+	@Test
+	public void returnsNullForEmptyFile() throws IOException {
+
+		Path file = temporaryFolder.newFile().toPath();
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			assertThat(new MappedFileChunkReader(channel).read(7)).isNull();
+		}
+	}
+}
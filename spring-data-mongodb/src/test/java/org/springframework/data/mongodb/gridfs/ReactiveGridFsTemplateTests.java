@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.*;
+import static org.springframework.data.mongodb.core.query.Query.*;
+import static org.springframework.data.mongodb.gridfs.GridFsCriteria.*;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.mongodb.config.AbstractReactiveMongoConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+
+/**
+ * Integration tests for {@link ReactiveGridFsTemplate}.
+ *
+ * @author agent
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+public class ReactiveGridFsTemplateTests {
+
+	@Configuration
+	static class Config extends AbstractReactiveMongoConfiguration {
+
+		@Override
+		public MongoClient mongoClient() {
+			return MongoClients.create();
+		}
+
+		@Override
+		protected String getDatabaseName() {
+			return "reactive-gridfs-tests";
+		}
+
+		@Bean
+		public ReactiveGridFsTemplate reactiveGridFsTemplate() throws Exception {
+			return new ReactiveGridFsTemplate(mongoDbFactory(), mappingMongoConverter());
+		}
+	}
+
+	DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+	@Autowired ReactiveGridFsOperations operations;
+
+	@Before
+	public void setUp() {
+		StepVerifier.create(operations.delete(null)).verifyComplete();
+	}
+
+	@Test
+	public void storesAndReadsContentSpanningMultipleChunks() {
+
+		byte[] content = randomBytes(GridFsChunks.DEFAULT_CHUNK_SIZE * 2 + 42);
+		Flux<DataBuffer> source = Flux.range(0, content.length / 1000 + 1) //
+				.map(i -> Arrays.copyOfRange(content, i * 1000, Math.min(content.length, i * 1000 + 1000))) //
+				.map(bufferFactory::wrap);
+
+		ObjectId id = operations.store(source, "foo.bin", "application/octet-stream").block();
+
+		StepVerifier.create(operations.findOne(query(where("_id").is(id)))) //
+				.consumeNextWith(file -> {
+
+					assertThat(file.getLength()).isEqualTo(content.length);
+					assertThat(file.getChunkSize()).isEqualTo(GridFsChunks.DEFAULT_CHUNK_SIZE);
+					assertThat(file.getFilename()).isEqualTo("foo.bin");
+				}) //
+				.verifyComplete();
+
+		ReactiveGridFsResource resource = operations.getResource("foo.bin").block();
+
+		assertThat(resource.getContentType()).isEqualTo("application/octet-stream");
+		assertThat(readFully(resource.getContent())).isEqualTo(content);
+	}
+
+	@Test
+	public void readsChunksOnDemand() {
+
+		byte[] content = randomBytes(GridFsChunks.DEFAULT_CHUNK_SIZE * 3);
+		operations.store(Flux.just(bufferFactory.wrap(content)), "foo.bin").block();
+
+		StepVerifier.create(operations.getResource("foo.bin").flatMapMany(ReactiveGridFsResource::getContent), 1) //
+				.consumeNextWith(buffer -> assertThat(buffer.readableByteCount())
+						.isEqualTo(GridFsChunks.DEFAULT_CHUNK_SIZE)) //
+				.thenRequest(2) //
+				.expectNextCount(2) //
+				.verifyComplete();
+	}
+
+	@Test
+	public void storesEmptyContent() {
+
+		operations.store(Flux.<DataBuffer> empty(), "empty.bin").block();
+
+		StepVerifier.create(operations.getResource("empty.bin").flatMapMany(ReactiveGridFsResource::getContent)) //
+				.verifyComplete();
+	}
+
+	@Test
+	public void findsResourcesByPattern() {
+
+		operations.store(Flux.just(bufferFactory.wrap(new byte[] { 1 })), "foo.xml").block();
+		operations.store(Flux.just(bufferFactory.wrap(new byte[] { 2 })), "bar.txt").block();
+
+		StepVerifier.create(operations.getResources("*.xml").map(ReactiveGridFsResource::getFilename)) //
+				.expectNext("foo.xml") //
+				.verifyComplete();
+	}
+
+	@Test
+	public void deletesFilesAndChunks() {
+
+		operations.store(Flux.just(bufferFactory.wrap(new byte[] { 1 })), "foo.xml").block();
+
+		StepVerifier.create(operations.delete(query(whereFilename().is("foo.xml")))).verifyComplete();
+		StepVerifier.create(operations.getResource("foo.xml")).verifyComplete();
+	}
+
+	private static byte[] randomBytes(int length) {
+
+		byte[] bytes = new byte[length];
+		new Random().nextBytes(bytes);
+		return bytes;
+	}
+
+	private static byte[] readFully(Flux<DataBuffer> content) {
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		content.toIterable().forEach(buffer -> {
+
+			byte[] bytes = new byte[buffer.readableByteCount()];
+			buffer.read(bytes);
+			out.write(bytes, 0, bytes.length);
+		});
+
+		return out.toByteArray();
+	}
+}
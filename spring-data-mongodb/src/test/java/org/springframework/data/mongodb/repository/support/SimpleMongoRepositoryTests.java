@@ -26,6 +26,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -108,6 +110,51 @@ public class SimpleMongoRepositoryTests {
 		assertThat(repository.findAll()).hasSize(all.size() - 1).doesNotContain(dave);
 	}
 
+	@Test
+	public void deleteAllShouldRemoveGivenEntities() {
+
+		repository.deleteAll(Arrays.asList(dave, boyd));
+
+		assertThat(repository.findAll()).hasSize(all.size() - 2).doesNotContain(dave, boyd);
+	}
+
+	@Test
+	public void deleteAllShouldRemoveGivenEntitiesInChunks() {
+
+		repository.setDeleteAllChunkSize(1);
+		repository.setDeleteAllVersionChecked(true);
+
+		repository.deleteAll(Arrays.asList(dave, new Person("Absent", "Person"), boyd));
+
+		assertThat(repository.findAll()).hasSize(all.size() - 2).doesNotContain(dave, boyd);
+	}
+
+	@Test
+	public void findAllByIdShouldQueryIdsInChunks() {
+
+		repository.setFindAllByIdChunkSize(2);
+
+		assertThat(repository.findAllById(Arrays.asList(oliver.getId(), dave.getId(), carter.getId(), boyd.getId(),
+				stefan.getId()))).hasSize(5).containsOnly(oliver, dave, carter, boyd, stefan);
+	}
+
+	@Test
+	public void findAllByIdShouldQueryChunksUsingExecutor() {
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		try {
+
+			repository.setFindAllByIdChunkSize(2);
+			repository.setFindAllByIdExecutor(executor);
+
+			assertThat(repository.findAllById(Arrays.asList(oliver.getId(), dave.getId(), carter.getId(), boyd.getId(),
+					stefan.getId()))).hasSize(5).containsOnly(oliver, dave, carter, boyd, stefan);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	@Test // DATAMONGO-1054
 	public void shouldInsertSingle() {
 
@@ -157,6 +204,19 @@ public class SimpleMongoRepositoryTests {
 		assertThatAllReferencePersonsWereStoredCorrectly(idToPerson, saved);
 	}
 
+	@Test
+	public void saveAllShouldInsertNewAndReplaceExistingEntities() {
+
+		Person newPerson = new Person("Dave", "Grohl", 48);
+		dave.setAge(43);
+
+		List<Person> saved = repository.saveAll(Arrays.asList(dave, newPerson));
+
+		assertThat(saved).containsExactly(dave, newPerson);
+		assertThat(repository.findAll()).hasSize(all.size() + 1);
+		assertThat(repository.findById(dave.getId()).get().getAge()).isEqualTo(43);
+	}
+
 	@Test // DATAMONGO-1245, DATAMONGO-1464
 	public void findByExampleShouldLookUpEntriesCorrectly() {
 
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository.support;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.UnicastProcessor;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.Person;
+import org.springframework.data.mongodb.repository.query.MongoEntityInformation;
+
+/**
+ * Unit tests for {@link SimpleReactiveMongoRepository}.
+ *
+ * @author agent
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SimpleReactiveMongoRepositoryUnitTests {
+
+	@Mock MongoEntityInformation<Person, String> entityInformation;
+	@Mock ReactiveMongoOperations operations;
+
+	SimpleReactiveMongoRepository<Person, String> repository;
+
+	@Before
+	public void setUp() {
+
+		when(entityInformation.getIdAttribute()).thenReturn("id");
+		when(entityInformation.getJavaType()).thenReturn(Person.class);
+		when(entityInformation.getCollectionName()).thenReturn("person");
+
+		repository = new SimpleReactiveMongoRepository<>(entityInformation, operations);
+	}
+
+	@Test
+	public void findAllByIdShouldQueryIdsInBatches() {
+
+		Person walter = new Person("Walter", "White");
+		Person jesse = new Person("Jesse", "Pinkman");
+
+		when(operations.find(any(Query.class), eq(Person.class), eq("person"))).thenReturn(Flux.just(walter),
+				Flux.just(jesse), Flux.empty());
+
+		repository.setFindAllByIdBatchSize(2);
+
+		StepVerifier.create(repository.findAllById(Flux.just("1", "2", "3", "4", "5"))) //
+				.expectNextCount(2) //
+				.verifyComplete();
+
+		ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+		verify(operations, times(3)).find(queries.capture(), eq(Person.class), eq("person"));
+
+		assertThat(queries.getAllValues()).extracting(SimpleReactiveMongoRepositoryUnitTests::getIds).containsExactly(
+				Arrays.asList("1", "2"), Arrays.asList("3", "4"), Arrays.asList("5"));
+	}
+
+	@Test
+	public void findAllByIdShouldLimitConcurrentQueries() {
+
+		List<UnicastProcessor<Person>> results = new ArrayList<>();
+		Person walter = new Person("Walter", "White");
+
+		when(operations.find(any(Query.class), eq(Person.class), eq("person"))).thenAnswer(invocation -> {
+
+			UnicastProcessor<Person> result = UnicastProcessor.create();
+			results.add(result);
+			return result;
+		});
+
+		repository.setFindAllByIdBatchSize(1);
+		repository.setFindAllByIdConcurrency(2);
+
+		StepVerifier.create(repository.findAllById(Arrays.asList("1", "2", "3", "4"))) //
+				.then(() -> assertThat(results).hasSize(2)) //
+				.then(() -> {
+
+					results.get(0).onNext(walter);
+					results.get(0).onComplete();
+				}) //
+				.expectNext(walter) //
+				.then(() -> assertThat(results).hasSize(3)) //
+				.then(() -> {
+
+					for (int i = 1; i < results.size(); i++) {
+						results.get(i).onComplete();
+					}
+				}) //
+				.verifyComplete();
+
+		assertThat(results).hasSize(4);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Object> getIds(Query query) {
+		return (List<Object>) ((Document) query.getQueryObject().get("id")).get("$in");
+	}
+}